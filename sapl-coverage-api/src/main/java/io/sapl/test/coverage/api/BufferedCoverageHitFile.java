@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.test.coverage.api;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers the hits recorded for one coverage hit file within this JVM.
+ * <p>
+ * Each distinct hit is kept in memory and appended to the file only once, so
+ * recording a hit never has to scan the file. Pending hits are appended in
+ * batches, before the hits of the file are read, and on shutdown of the JVM.
+ * The file keeps its format of one hit per line.
+ */
+@Slf4j
+final class BufferedCoverageHitFile {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final Map<Path, BufferedCoverageHitFile> BUFFERED_FILES = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> BUFFERED_FILES.values().forEach(BufferedCoverageHitFile::flushOnShutdown),
+                        "sapl-coverage-hit-flush"));
+    }
+
+    private final Path          filePath;
+    private final Set<String>   knownHits           = ConcurrentHashMap.newKeySet();
+    private final Queue<String> pendingHits         = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger numberOfPendingHits = new AtomicInteger();
+
+    private BufferedCoverageHitFile(Path filePath) {
+        this.filePath = filePath;
+        loadKnownHits();
+    }
+
+    /**
+     * @param filePath a coverage hit file
+     * @return the buffer of the file, shared by all recorders of this JVM
+     */
+    static BufferedCoverageHitFile of(Path filePath) {
+        return BUFFERED_FILES.computeIfAbsent(filePath, BufferedCoverageHitFile::new);
+    }
+
+    /**
+     * Appends the pending hits of the file, if it is buffered.
+     *
+     * @param filePath a coverage hit file
+     */
+    static void flushIfBuffered(Path filePath) {
+        var bufferedFile = BUFFERED_FILES.get(filePath);
+        if (bufferedFile != null)
+            bufferedFile.flush();
+    }
+
+    /**
+     * Forgets the known and pending hits of the file, if it is buffered. Used when
+     * the file is deleted.
+     *
+     * @param filePath a coverage hit file
+     */
+    static void discardIfBuffered(Path filePath) {
+        var bufferedFile = BUFFERED_FILES.remove(filePath);
+        if (bufferedFile != null)
+            bufferedFile.discard();
+    }
+
+    /**
+     * Records a hit, unless it is already known.
+     *
+     * @param hit the line representing the hit
+     */
+    void add(String hit) {
+        if (!knownHits.add(hit))
+            return;
+
+        pendingHits.add(hit);
+        if (numberOfPendingHits.incrementAndGet() >= BATCH_SIZE)
+            flush();
+    }
+
+    /**
+     * Appends all pending hits to the file.
+     */
+    synchronized void flush() {
+        if (pendingHits.isEmpty())
+            return;
+
+        if (!Files.exists(filePath))
+            log.warn("Expected File {} not found. Did something deleted this file during test runtime?", filePath);
+
+        var    lines = new StringBuilder();
+        String hit;
+        while ((hit = pendingHits.poll()) != null) {
+            numberOfPendingHits.decrementAndGet();
+            lines.append(hit).append(System.lineSeparator());
+        }
+
+        try {
+            var parent = filePath.getParent();
+            if (parent != null)
+                Files.createDirectories(parent);
+            Files.writeString(filePath, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Error writing File {}", filePath, e);
+        }
+    }
+
+    private void flushOnShutdown() {
+        // the coverage directory may have been removed on purpose, e.g., by a
+        // cleanup after the tests, and must not be restored
+        var parent = filePath.getParent();
+        if (parent != null && Files.isDirectory(parent))
+            flush();
+    }
+
+    private synchronized void discard() {
+        pendingHits.clear();
+        numberOfPendingHits.set(0);
+        knownHits.clear();
+    }
+
+    private void loadKnownHits() {
+        if (!Files.exists(filePath))
+            return;
+
+        try (Stream<String> lines = Files.lines(filePath)) {
+            lines.forEach(knownHits::add);
+        } catch (IOException e) {
+            log.error("Error reading File {}", filePath, e);
+        }
+    }
+
+}
@@ -20,10 +20,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
 
 import io.sapl.test.coverage.api.model.PolicyConditionHit;
 import io.sapl.test.coverage.api.model.PolicyHit;
@@ -61,28 +58,17 @@ public void recordPolicyConditionHit(PolicyConditionHit hit) {
     }
 
     private void addPossibleHit(@NonNull Path filePath, String lineToAdd) {
-        if (!Files.exists(filePath)) {
-            log.warn("Expected File {} not found. Did something deleted this file during test runtime?", filePath);
-            createCoverageHitFile(filePath);
-        }
-
-        try {
-            if (!doesLineExistsInFile(filePath, lineToAdd))
-                appendLineToFile(filePath, lineToAdd);
-        } catch (IOException e) {
-            log.error("Error writing File {}", filePath, e);
-        }
-    }
-
-    private boolean doesLineExistsInFile(Path filePathPolicySetHits, String lineToAdd) throws IOException {
-        try (Stream<String> stream = Files.lines(filePathPolicySetHits)) {
-            Optional<String> lineHavingTarget = stream.filter(l -> l.contains(lineToAdd)).findFirst();
-            return lineHavingTarget.isPresent();
-        }
+        BufferedCoverageHitFile.of(filePath).add(lineToAdd);
     }
 
-    private void appendLineToFile(Path filePathPolicySetHits, String lineToAdd) throws IOException {
-        Files.writeString(filePathPolicySetHits, lineToAdd + System.lineSeparator(), StandardOpenOption.APPEND);
+    /**
+     * Appends all pending hits to the coverage hit files. This happens
+     * automatically in batches, before reading hits, and on shutdown of the JVM.
+     */
+    void flush() {
+        BufferedCoverageHitFile.flushIfBuffered(filePathPolicySetHits);
+        BufferedCoverageHitFile.flushIfBuffered(filePathPolicyHits);
+        BufferedCoverageHitFile.flushIfBuffered(filePathPolicyConditionHits);
     }
 
     @Override
@@ -100,8 +86,10 @@ public List<PolicyConditionHit> readPolicyConditionHits() throws IOException {
         return readFileLines(filePathPolicyConditionHits).stream().map(PolicyConditionHit::fromString).toList();
     }
 
-    private List<String> readFileLines(Path filePathPolicySetHits) throws IOException {
-        return Files.readAllLines(filePathPolicySetHits);
+    private List<String> readFileLines(Path filePath) throws IOException {
+        BufferedCoverageHitFile.flushIfBuffered(filePath);
+        // concurrently running JVMs may have recorded the same hit
+        return Files.readAllLines(filePath).stream().distinct().toList();
     }
 
     @Override
@@ -112,6 +100,7 @@ public void cleanCoverageHitFiles() {
     }
 
     private void cleanCoverageHitFile(Path filePath) {
+        BufferedCoverageHitFile.discardIfBuffered(filePath);
         try {
             Files.deleteIfExists(filePath);
         } catch (IOException e) {
@@ -67,6 +67,7 @@ void testCoverageRecording(@TempDir Path tempDir) throws Exception {
         recorder.recordPolicyConditionHit(new PolicyConditionHit("set2", "policy22", 7, true));
         recorder.recordPolicyConditionHit(new PolicyConditionHit("set2", "policy22", 8, true));
         recorder.recordPolicyConditionHit(new PolicyConditionHit("set2", "policy22", 9, true));
+        recorder.flush();
 
         // assert
         List<String> resultPolicySetHits = Files.readAllLines(FILE_PATH_POLICY_SET_HITS);
@@ -121,4 +122,53 @@ void testCoverageWriting_FileNotExist(@TempDir Path tempDir) {
         Assertions.assertThatNoException();
     }
 
+    @Test
+    void testCoverageRecording_FlushesInBatches(@TempDir Path tempDir) throws Exception {
+        var recorder = new CoverageHitAPIFile(tempDir);
+        // arrange
+        Path FILE_PATH_POLICY_SET_HITS = tempDir.resolve("hits").resolve("_policySetHits.txt");
+        recorder.createCoverageHitFiles();
+
+        // act
+        for (var i = 0; i < BufferedCoverageHitFile.BATCH_SIZE; i++) {
+            recorder.recordPolicySetHit(new PolicySetHit("set" + i));
+            recorder.recordPolicySetHit(new PolicySetHit("set" + i));
+        }
+
+        // assert
+        Assertions.assertThat(Files.readAllLines(FILE_PATH_POLICY_SET_HITS))
+                .hasSize(BufferedCoverageHitFile.BATCH_SIZE);
+    }
+
+    @Test
+    void testCoverageRecording_KeepsHitsOfPreviousRuns(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path FILE_PATH_POLICY_SET_HITS = tempDir.resolve("hits").resolve("_policySetHits.txt");
+        Files.createDirectories(FILE_PATH_POLICY_SET_HITS.getParent());
+        Files.writeString(FILE_PATH_POLICY_SET_HITS, new PolicySetHit("set1") + System.lineSeparator());
+        var recorder = new CoverageHitAPIFile(tempDir);
+
+        // act
+        recorder.recordPolicySetHit(new PolicySetHit("set1"));
+        recorder.recordPolicySetHit(new PolicySetHit("set2"));
+        recorder.flush();
+
+        // assert
+        Assertions.assertThat(Files.readAllLines(FILE_PATH_POLICY_SET_HITS)).containsExactly("set1", "set2");
+    }
+
+    @Test
+    void testCoverageRecording_PendingHitsAreRead(@TempDir Path tempDir) throws Exception {
+        var recorder = new CoverageHitAPIFile(tempDir);
+        // arrange
+        recorder.createCoverageHitFiles();
+
+        // act
+        recorder.recordPolicyHit(new PolicyHit("set1", "policy11"));
+        var result = new CoverageHitAPIFile(tempDir).readPolicyHits();
+
+        // assert
+        Assertions.assertThat(result).containsExactly(new PolicyHit("set1", "policy11"));
+    }
+
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.api.interpreter;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Arithmetic, comparison and hashing of JSON numbers.
+ * <p>
+ * Numbers holding an integral value that fits into a long, e.g., numbers from
+ * JSON documents or integer literals, are processed with primitive long
+ * arithmetic. On overflow and for all other numbers, the operations fall back
+ * to BigDecimal arithmetic, i.e., the results are exactly the same as with
+ * BigDecimal arithmetic. Comparisons of double numbers are done on the primitive
+ * values as well.
+ */
+@UtilityClass
+public class NumericValues {
+
+    private static final int MAX_DIGITS_OF_LONG_WITHOUT_OVERFLOW = 18;
+
+    /**
+     * Checks if a number can be processed as a long. The check does not convert
+     * the number and may reject some integral numbers, e.g., 1.0 or 1E+3.
+     *
+     * @param number a JSON number
+     * @return true, if the value of the number is exactly represented by
+     *         {@link JsonNode#longValue()}
+     */
+    public static boolean isExactLong(JsonNode number) {
+        if (number.isInt() || number.isLong() || number.isShort())
+            return true;
+        if (number.isBigDecimal()) {
+            var decimal = number.decimalValue();
+            return decimal.scale() == 0 && decimal.precision() <= MAX_DIGITS_OF_LONG_WITHOUT_OVERFLOW;
+        }
+        if (number.isBigInteger())
+            return number.bigIntegerValue().bitLength() < Long.SIZE;
+        return false;
+    }
+
+    private static boolean isFiniteDouble(JsonNode number) {
+        return (number.isDouble() || number.isFloat()) && Double.isFinite(number.doubleValue());
+    }
+
+    /**
+     * @param left  a JSON number
+     * @param right a JSON number
+     * @return the same as {@code left.decimalValue().compareTo(right.decimalValue())}
+     */
+    public static int compare(JsonNode left, JsonNode right) {
+        if (isExactLong(left) && isExactLong(right))
+            return Long.compare(left.longValue(), right.longValue());
+
+        if (isFiniteDouble(left) && isFiniteDouble(right)) {
+            var l = left.doubleValue();
+            var r = right.doubleValue();
+            if (l < r)
+                return -1;
+            return l > r ? 1 : 0;
+        }
+        return left.decimalValue().compareTo(right.decimalValue());
+    }
+
+    /**
+     * @param number a JSON number
+     * @return true, if the number is zero
+     */
+    public static boolean isZero(JsonNode number) {
+        if (isExactLong(number))
+            return number.longValue() == 0L;
+        return number.decimalValue().signum() == 0;
+    }
+
+    /**
+     * Hash code consistent with {@link #compare(JsonNode, JsonNode)}, i.e.,
+     * numerically equal numbers have the same hash code regardless of their
+     * representation.
+     *
+     * @param number a JSON number
+     * @return the hash code of the numeric value
+     */
+    public static int hashCode(JsonNode number) {
+        if (isExactLong(number))
+            return Long.hashCode(number.longValue());
+
+        var decimal = number.decimalValue().stripTrailingZeros();
+        if (decimal.scale() <= 0 && fitsIntoLong(decimal))
+            return Long.hashCode(decimal.longValue());
+
+        return decimal.hashCode();
+    }
+
+    /**
+     * Normalizes a number into a key for hash based lookups, i.e., numerically
+     * equal numbers are mapped to equal keys regardless of their representation.
+     *
+     * @param number a JSON number
+     * @return a Long, if the number is an integral value that fits into a long,
+     *         else the BigDecimal value without trailing zeros
+     */
+    public static Object normalized(JsonNode number) {
+        if (isExactLong(number))
+            return number.longValue();
+
+        var decimal = number.decimalValue().stripTrailingZeros();
+        if (decimal.scale() <= 0 && fitsIntoLong(decimal))
+            return decimal.longValue();
+
+        return decimal;
+    }
+
+    private static boolean fitsIntoLong(BigDecimal integral) {
+        return integral.precision() - integral.scale() <= MAX_DIGITS_OF_LONG_WITHOUT_OVERFLOW
+                || integral.toBigInteger().bitLength() < Long.SIZE;
+    }
+
+    /**
+     * @param left  a number
+     * @param right a number
+     * @return the sum
+     */
+    public static Val add(Val left, Val right) {
+        var l = left.get();
+        var r = right.get();
+        if (isExactLong(l) && isExactLong(r)) {
+            var a   = l.longValue();
+            var b   = r.longValue();
+            var sum = a + b;
+            if (((a ^ sum) & (b ^ sum)) >= 0)
+                return Val.of(sum);
+        }
+        return Val.of(l.decimalValue().add(r.decimalValue()));
+    }
+
+    /**
+     * @param minuend    a number
+     * @param subtrahend a number
+     * @return the difference
+     */
+    public static Val subtract(Val minuend, Val subtrahend) {
+        var l = minuend.get();
+        var r = subtrahend.get();
+        if (isExactLong(l) && isExactLong(r)) {
+            var a          = l.longValue();
+            var b          = r.longValue();
+            var difference = a - b;
+            if (((a ^ b) & (a ^ difference)) >= 0)
+                return Val.of(difference);
+        }
+        return Val.of(l.decimalValue().subtract(r.decimalValue()));
+    }
+
+    /**
+     * @param left  a number
+     * @param right a number
+     * @return the product
+     */
+    public static Val multiply(Val left, Val right) {
+        var l = left.get();
+        var r = right.get();
+        if (isExactLong(l) && isExactLong(r)) {
+            var a       = l.longValue();
+            var b       = r.longValue();
+            var product = a * b;
+            if (Math.multiplyHigh(a, b) == (product >> (Long.SIZE - 1)))
+                return Val.of(product);
+        }
+        return Val.of(l.decimalValue().multiply(r.decimalValue()));
+    }
+
+    /**
+     * @param dividend a number
+     * @param divisor  a number other than zero
+     * @return the quotient
+     */
+    public static Val divide(Val dividend, Val divisor) {
+        var l = dividend.get();
+        var r = divisor.get();
+        if (isExactLong(l) && isExactLong(r)) {
+            var a = l.longValue();
+            var b = r.longValue();
+            if (b != 0L && a % b == 0L && !(a == Long.MIN_VALUE && b == -1L))
+                return Val.of(a / b);
+        }
+        return Val.of(l.decimalValue().divide(r.decimalValue()));
+    }
+
+    /**
+     * @param dividend a number
+     * @param divisor  a number other than zero
+     * @return the remainder of the division
+     */
+    public static Val remainder(Val dividend, Val divisor) {
+        var l = dividend.get();
+        var r = divisor.get();
+        if (isExactLong(l) && isExactLong(r) && r.longValue() != 0L)
+            return Val.of(l.longValue() % r.longValue());
+
+        return Val.of(l.decimalValue().remainder(r.decimalValue()));
+    }
+
+    /**
+     * @param value a number
+     * @return the negated number
+     */
+    public static Val negate(Val value) {
+        var number = value.get();
+        if (isExactLong(number) && number.longValue() != Long.MIN_VALUE)
+            return Val.of(-number.longValue());
+
+        return Val.of(number.decimalValue().negate());
+    }
+
+}
@@ -663,7 +663,7 @@ private static boolean notEqualBool(Val left, Val right) {
             return true;
         }
         if (left.isNumber() && right.isNumber()) {
-            return left.decimalValue().compareTo(right.decimalValue()) != 0;
+            return NumericValues.compare(left.get(), right.get()) != 0;
         } else {
             return !left.get().equals(right.get());
         }
@@ -711,7 +711,7 @@ public int hashCode() {
 
     private static int hashCodeOfJsonNode(JsonNode json) {
         if (json.isNumber())
-            return json.decimalValue().stripTrailingZeros().hashCode();
+            return NumericValues.hashCode(json);
 
         if (!json.isContainerNode())
             return json.hashCode();
@@ -1218,7 +1218,7 @@ public int compare(JsonNode o1, JsonNode o2) {
                 return 0;
             }
             if ((o1 instanceof NumericNode) && (o2 instanceof NumericNode)) {
-                return o1.decimalValue().compareTo(o2.decimalValue());
+                return NumericValues.compare(o1, o2);
             }
             return 1;
         }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.api.interpreter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+
+class NumericValuesTests {
+
+    private static final JsonNode[] NUMBERS = { Val.JSON.numberNode(0), Val.JSON.numberNode(-0.0D),
+            Val.JSON.numberNode(3), Val.JSON.numberNode(3L), Val.JSON.numberNode(3.0D), Val.JSON.numberNode(2.5F),
+            Val.JSON.numberNode(new BigDecimal("3.000")), Val.JSON.numberNode(new BigDecimal("3E+2")),
+            Val.JSON.numberNode(new BigDecimal("300")), Val.JSON.numberNode(new BigDecimal("0.1")),
+            Val.JSON.numberNode(0.1D), Val.JSON.numberNode(Long.MAX_VALUE), Val.JSON.numberNode(Long.MIN_VALUE),
+            Val.JSON.numberNode(new BigDecimal(Long.MAX_VALUE)),
+            Val.JSON.numberNode(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+            Val.JSON.numberNode(new BigDecimal("12345678901234567890.5")) };
+
+    @Test
+    void when_comparingNumbers_then_sameResultAsDecimalComparison() {
+        for (var left : NUMBERS)
+            for (var right : NUMBERS)
+                assertThat(NumericValues.compare(left, right))
+                        .as("compare %s and %s", left, right)
+                        .isEqualTo(left.decimalValue().compareTo(right.decimalValue()));
+    }
+
+    @Test
+    void when_numbersAreNumericallyEqual_then_sameHashCode() {
+        for (var left : NUMBERS)
+            for (var right : NUMBERS)
+                if (left.decimalValue().compareTo(right.decimalValue()) == 0)
+                    assertThat(NumericValues.hashCode(left)).as("hash of %s and %s", left, right)
+                            .isEqualTo(NumericValues.hashCode(right));
+    }
+
+    @Test
+    void when_numbersAreNumericallyEqual_then_sameNormalizedKey() {
+        for (var left : NUMBERS)
+            for (var right : NUMBERS)
+                assertThat(NumericValues.normalized(left).equals(NumericValues.normalized(right)))
+                        .as("keys of %s and %s", left, right)
+                        .isEqualTo(left.decimalValue().compareTo(right.decimalValue()) == 0);
+    }
+
+    @Test
+    void when_calculating_then_sameResultAsDecimalArithmetic() {
+        for (var left : NUMBERS) {
+            for (var right : NUMBERS) {
+                var l = Val.of(left);
+                var r = Val.of(right);
+                var a = left.decimalValue();
+                var b = right.decimalValue();
+                assertThat(NumericValues.add(l, r)).isEqualTo(Val.of(a.add(b)));
+                assertThat(NumericValues.subtract(l, r)).isEqualTo(Val.of(a.subtract(b)));
+                assertThat(NumericValues.multiply(l, r)).isEqualTo(Val.of(a.multiply(b)));
+                if (b.signum() != 0) {
+                    assertThat(NumericValues.remainder(l, r)).isEqualTo(Val.of(a.remainder(b)));
+                }
+            }
+            assertThat(NumericValues.negate(Val.of(left))).isEqualTo(Val.of(left.decimalValue().negate()));
+        }
+    }
+
+    @Test
+    void when_longArithmeticOverflows_then_resultIsExact() {
+        var max = Val.of(Long.MAX_VALUE);
+        var min = Val.of(Long.MIN_VALUE);
+        var one = Val.of(1L);
+        assertThat(NumericValues.add(max, one).decimalValue())
+                .isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE));
+        assertThat(NumericValues.subtract(min, one).decimalValue())
+                .isEqualTo(BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE));
+        assertThat(NumericValues.multiply(max, max).decimalValue())
+                .isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE).pow(2));
+        assertThat(NumericValues.divide(min, Val.of(-1L)).decimalValue())
+                .isEqualTo(BigDecimal.valueOf(Long.MIN_VALUE).negate());
+        assertThat(NumericValues.negate(min).decimalValue()).isEqualTo(BigDecimal.valueOf(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    void when_dividing_then_integralQuotientsStayIntegral() throws JsonProcessingException {
+        assertThat(NumericValues.divide(Val.of(12), Val.of(4)).get().isIntegralNumber()).isTrue();
+        assertThat(NumericValues.divide(Val.of(12), Val.of(4))).isEqualTo(Val.of(3));
+        assertThat(NumericValues.divide(Val.of(10), Val.of(4))).isEqualTo(Val.ofJson("2.5"));
+    }
+
+    @Test
+    void when_calculating_then_nodeTypeDependsOnPathTaken() {
+        var three   = Val.of(3);
+        var two     = Val.of(2);
+        var decimal = Val.of(new BigDecimal("2"));
+        var half    = Val.of(new BigDecimal("0.5"));
+        var max     = Val.of(Long.MAX_VALUE);
+
+        assertThat(NumericValues.add(three, two).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.subtract(three, two).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.multiply(three, two).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.divide(Val.of(6), two).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.remainder(three, two).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.negate(three).get()).isInstanceOf(LongNode.class);
+        assertThat(NumericValues.add(three, decimal).get()).isInstanceOf(LongNode.class);
+
+        assertThat(NumericValues.add(max, Val.of(1L)).get()).isInstanceOf(DecimalNode.class);
+        assertThat(NumericValues.add(three, half).get()).isInstanceOf(DecimalNode.class);
+        assertThat(NumericValues.divide(three, two).get()).isInstanceOf(DecimalNode.class);
+        assertThat(NumericValues.multiply(three, Val.of(2.0D)).get()).isInstanceOf(DecimalNode.class);
+    }
+
+    @Test
+    void when_checkingZero_then_allRepresentationsOfZeroAreZero() {
+        assertThat(NumericValues.isZero(Val.JSON.numberNode(0))).isTrue();
+        assertThat(NumericValues.isZero(Val.JSON.numberNode(0.0D))).isTrue();
+        assertThat(NumericValues.isZero(Val.JSON.numberNode(new BigDecimal("0.00")))).isTrue();
+        assertThat(NumericValues.isZero(Val.JSON.numberNode(new BigDecimal("0.01")))).isFalse();
+    }
+
+    @Test
+    void when_numberIsIntegralWithinLongRange_then_isExactLong() {
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(5))).isTrue();
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(new BigDecimal("5")))).isTrue();
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(BigInteger.TEN))).isTrue();
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(5.0D))).isFalse();
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(new BigDecimal("5.5")))).isFalse();
+        assertThat(NumericValues.isExactLong(Val.JSON.numberNode(BigInteger.TWO.pow(64)))).isFalse();
+    }
+
+}
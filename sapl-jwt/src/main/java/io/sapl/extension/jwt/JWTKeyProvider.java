@@ -18,39 +18,62 @@
 package io.sapl.extension.jwt;
 
 import java.security.interfaces.RSAPublicKey;
-import java.time.Instant;
+import java.text.ParseException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
 
-import lombok.Getter;
 import lombok.experimental.StandardException;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
 /**
  * Class for retrieving public keys from the JWT Authorization Server
+ * <p>
+ * The key server either answers with the encoded public key of the requested
+ * key id, or with a JWKS document containing all keys of the server. Keys of a
+ * JWKS document are cached as soon as the document has been fetched, single
+ * keys are cached after a signature has been verified with them.
+ * <p>
+ * Concurrent requests for the same key share a single request to the key
+ * server. Cached keys are refreshed in the background shortly before they
+ * expire, and key ids missing in a JWKS document of the server are remembered
+ * for a short time, so that neither key rotation nor tokens with unknown key
+ * ids cause a burst of requests to the key server. Failed requests, i.e., error
+ * responses or bodies which cannot be parsed, are never remembered.
  */
 @Slf4j
 public class JWTKeyProvider {
 
     private static final String JWT_KEY_SERVER_HTTP_ERROR = "Error trying to retrieve a public key: ";
 
+    private static final String JWT_KEY_REFRESH_ERROR = "Error trying to refresh a public key: ";
+
     private static final String JWT_KEY_CACHING_ERROR = "The provided caching configuration was not understood: ";
 
-    static final String PUBLIC_KEY_URI_KEY     = "uri";
-    static final String PUBLIC_KEY_METHOD_KEY  = "method";
-    static final String KEY_CACHING_TTL_MILLIS = "keyCachingTtlMillis";
-    static final long   DEFAULT_CACHING_TTL    = 300000L;
+    static final String PUBLIC_KEY_URI_KEY                = "uri";
+    static final String PUBLIC_KEY_METHOD_KEY             = "method";
+    static final String KEY_CACHING_TTL_MILLIS            = "keyCachingTtlMillis";
+    static final String UNKNOWN_KEY_CACHING_TTL_MILLIS    = "unknownKeyCachingTtlMillis";
+    static final long   DEFAULT_CACHING_TTL               = 300000L;
+    static final long   DEFAULT_UNKNOWN_KEY_CACHING_TTL   = 10000L;
+    static final double REFRESH_AHEAD_FRACTION_OF_TTL     = 0.8D;
+    static final int    MAXIMUM_NUMBER_OF_UNKNOWN_KEY_IDS = 10000;
 
     /**
      * Exception indication a caching error.
@@ -60,10 +83,13 @@ public static class CachingException extends Exception {
 		private static final long serialVersionUID = 2862097120464678488L;
     }
 
-    private final Map<String, RSAPublicKey> keyCache;
-    private final Queue<CacheEntry>         cachingTimes;
-    private final WebClient                 webClient;
-    private long                            lastTTL = DEFAULT_CACHING_TTL;
+    private final Map<String, CacheEntry>        keyCache;
+    private final Map<String, Long>              unknownKeyIds;
+    private final Map<String, Mono<FetchedKeys>> pendingRequests;
+    private final UriBuilderFactory              uriBuilderFactory;
+    private final WebClient                      webClient;
+    private volatile long                        lastTTL           = DEFAULT_CACHING_TTL;
+    private volatile long                        lastUnknownKeyTTL = DEFAULT_UNKNOWN_KEY_CACHING_TTL;
 
     /**
      * Creates a JWTKeyProvider.
@@ -71,9 +97,11 @@ public static class CachingException extends Exception {
      * @param builder a WebClient builder.
      */
     public JWTKeyProvider(WebClient.Builder builder) {
-        webClient    = builder.build();
-        keyCache     = new ConcurrentHashMap<>();
-        cachingTimes = new ConcurrentLinkedQueue<>();
+        webClient         = builder.build();
+        keyCache          = new ConcurrentHashMap<>();
+        unknownKeyIds     = new ConcurrentHashMap<>();
+        pendingRequests   = new ConcurrentHashMap<>();
+        uriBuilderFactory = new DefaultUriBuilderFactory();
     }
 
     /**
@@ -96,20 +124,24 @@ public Mono<RSAPublicKey> provide(String kid, JsonNode jPublicKeyServer) throws
             sMethod = jMethod.textValue();
 
         var sUri = jUri.textValue();
-        var lTTL = DEFAULT_CACHING_TTL;
-        var jTTL = jPublicKeyServer.get(KEY_CACHING_TTL_MILLIS);
+
+        setTtlMillis(ttlMillis(jPublicKeyServer.get(KEY_CACHING_TTL_MILLIS), DEFAULT_CACHING_TTL));
+        setUnknownKeyTtlMillis(
+                ttlMillis(jPublicKeyServer.get(UNKNOWN_KEY_CACHING_TTL_MILLIS), DEFAULT_UNKNOWN_KEY_CACHING_TTL));
+        return fetchPublicKey(kid, sUri, sMethod);
+    }
+
+    private static long ttlMillis(JsonNode jTTL, long defaultTTL) throws CachingException {
         // nested if-statement in order to cover all possible branches during testing
         // (e.g. null && canConvertToLong not possible)
         if (jTTL != null) {
             if (jTTL.canConvertToLong()) {
-                lTTL = jTTL.longValue();
+                return jTTL.longValue();
             } else {
                 throw new CachingException(JWT_KEY_CACHING_ERROR + jTTL);
             }
         }
-
-        setTtlMillis(lTTL);
-        return fetchPublicKey(kid, sUri, sMethod);
+        return defaultTTL;
     }
 
     /**
@@ -123,8 +155,8 @@ public void cache(String kid, RSAPublicKey pubKey) {
         if (isCached(kid))
             return;
 
-        keyCache.put(kid, pubKey);
-        cachingTimes.add(new CacheEntry(kid));
+        keyCache.put(kid, new CacheEntry(pubKey));
+        unknownKeyIds.remove(kid);
     }
 
     /**
@@ -134,8 +166,7 @@ public void cache(String kid, RSAPublicKey pubKey) {
      * @return true, if the cache contains the key with the given id.
      */
     public boolean isCached(String kid) {
-        pruneCache();
-        return keyCache.containsKey(kid);
+        return cachedEntry(kid, System.currentTimeMillis()) != null;
     }
 
     /**
@@ -147,6 +178,16 @@ public void setTtlMillis(long newTtlMillis) {
         lastTTL = newTtlMillis >= 0L ? newTtlMillis : DEFAULT_CACHING_TTL;
     }
 
+    /**
+     * Sets the TTL of remembered unknown key ids.
+     *
+     * @param newTtlMillis time for which a key id unknown to the key server is
+     *                     not requested again.
+     */
+    public void setUnknownKeyTtlMillis(long newTtlMillis) {
+        lastUnknownKeyTTL = newTtlMillis >= 0L ? newTtlMillis : DEFAULT_UNKNOWN_KEY_CACHING_TTL;
+    }
+
     /**
      * Fetches public key from remote authentication server
      *
@@ -156,13 +197,65 @@ public void setTtlMillis(long newTtlMillis) {
      * @return public key or empty
      */
     private Mono<RSAPublicKey> fetchPublicKey(String kid, String publicKeyURI, String publicKeyRequestMethod) {
-        final ResponseSpec response;
+        var now = System.currentTimeMillis();
 
         // return cached key if present
-        if (isCached(kid)) {
-            return Mono.just(keyCache.get(kid));
+        var cached = cachedEntry(kid, now);
+        if (cached != null) {
+            if (cached.isDueForRefresh(now, lastTTL))
+                refreshAhead(kid, cached, publicKeyURI, publicKeyRequestMethod);
+            return Mono.just(cached.getKey());
         }
 
+        if (isKnownToBeUnknown(kid, now))
+            return Mono.empty();
+
+        return fetchKeys(kid, publicKeyURI, publicKeyRequestMethod).flatMap(fetchedKeys -> {
+            cacheDocument(fetchedKeys);
+            var key = fetchedKeys.keyFor(kid);
+            if (key == null) {
+                // only a valid JWKS document proves that the server does not know the key
+                if (fetchedKeys.isDocument())
+                    rememberUnknownKeyId(kid);
+                return Mono.empty();
+            }
+            return Mono.just(key);
+        });
+    }
+
+    /**
+     * Starts a background request for a cached key which is about to expire. The
+     * request is started only once per cache entry. A key from a JWKS document
+     * replaces the entry, a single key only renews the entry if the key server
+     * still returns the same key.
+     */
+    private void refreshAhead(String kid, CacheEntry cached, String publicKeyURI, String publicKeyRequestMethod) {
+        if (!cached.markRefreshRequested())
+            return;
+
+        fetchKeys(kid, publicKeyURI, publicKeyRequestMethod).subscribe(fetchedKeys -> {
+            cacheDocument(fetchedKeys);
+            var key = fetchedKeys.keyFor(kid);
+            if (!fetchedKeys.isDocument() && isSameKey(cached.getKey(), key))
+                keyCache.replace(kid, cached, new CacheEntry(key));
+        }, error -> log.trace(JWT_KEY_REFRESH_ERROR + error.getMessage()));
+    }
+
+    /**
+     * Requests the keys from the key server. Concurrent requests to the same URI
+     * share a single request.
+     */
+    private Mono<FetchedKeys> fetchKeys(String kid, String publicKeyURI, String publicKeyRequestMethod) {
+        var method     = "post".equalsIgnoreCase(publicKeyRequestMethod) ? "POST " : "GET ";
+        var requestKey = method + uriBuilderFactory.expand(publicKeyURI, kid);
+        return pendingRequests.computeIfAbsent(requestKey,
+                key -> requestKeys(kid, publicKeyURI, publicKeyRequestMethod)
+                        .doFinally(signal -> pendingRequests.remove(key)).cache());
+    }
+
+    private Mono<FetchedKeys> requestKeys(String kid, String publicKeyURI, String publicKeyRequestMethod) {
+        final ResponseSpec response;
+
         if ("post".equalsIgnoreCase(publicKeyRequestMethod)) {
             // POST request
             response = webClient.post().uri(publicKeyURI, kid).retrieve();
@@ -172,42 +265,158 @@ private Mono<RSAPublicKey> fetchPublicKey(String kid, String publicKeyURI, Strin
         }
 
         return response.onStatus(HttpStatusCode::isError, this::handleHttpError).bodyToMono(String.class)
-                .map(JWTEncodingDecodingUtils::encodedX509ToRSAPublicKey).filter(Optional::isPresent)
-                .map(Optional::get);
+                .map(JWTKeyProvider::parseKeys).defaultIfEmpty(FetchedKeys.FAILED)
+                .onErrorReturn(KeyServerException.class, FetchedKeys.FAILED);
+    }
+
+    private static boolean isSameKey(RSAPublicKey cachedKey, RSAPublicKey fetchedKey) {
+        return fetchedKey != null && cachedKey.getModulus().equals(fetchedKey.getModulus())
+                && cachedKey.getPublicExponent().equals(fetchedKey.getPublicExponent());
     }
 
     private Mono<? extends Throwable> handleHttpError(ClientResponse response) {
         log.trace(JWT_KEY_SERVER_HTTP_ERROR + response.statusCode());
-        return Mono.empty();
+        return Mono.just(new KeyServerException(JWT_KEY_SERVER_HTTP_ERROR + response.statusCode()));
+    }
+
+    private static FetchedKeys parseKeys(String body) {
+        if (body.stripLeading().startsWith("{"))
+            return parseJwks(body);
+
+        return new FetchedKeys(JWTEncodingDecodingUtils.encodedX509ToRSAPublicKey(body).orElse(null), null);
+    }
+
+    private static FetchedKeys parseJwks(String body) {
+        JWKSet jwks;
+        try {
+            jwks = JWKSet.parse(body);
+        } catch (ParseException e) {
+            log.trace(JWT_KEY_SERVER_HTTP_ERROR + e.getMessage());
+            return FetchedKeys.FAILED;
+        }
+
+        var keys = new HashMap<String, RSAPublicKey>();
+        for (var jwk : jwks.getKeys()) {
+            if (jwk instanceof RSAKey rsaKey && rsaKey.getKeyID() != null
+                    && (rsaKey.getKeyUse() == null || KeyUse.SIGNATURE.equals(rsaKey.getKeyUse()))) {
+                toRSAPublicKey(rsaKey).ifPresent(key -> keys.put(rsaKey.getKeyID(), key));
+            }
+        }
+        return new FetchedKeys(null, Map.copyOf(keys));
+    }
+
+    private static Optional<RSAPublicKey> toRSAPublicKey(RSAKey rsaKey) {
+        try {
+            return Optional.of(rsaKey.toRSAPublicKey());
+        } catch (JOSEException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void cacheDocument(FetchedKeys fetchedKeys) {
+        if (!fetchedKeys.isDocument())
+            return;
+
+        fetchedKeys.document().forEach((kid, key) -> {
+            keyCache.put(kid, new CacheEntry(key));
+            unknownKeyIds.remove(kid);
+        });
+    }
+
+    /**
+     * @return the cache entry of the key, if present and not expired
+     */
+    private CacheEntry cachedEntry(String kid, long now) {
+        var entry = keyCache.get(kid);
+        if (entry == null)
+            return null;
+
+        if (entry.isExpired(now, lastTTL)) {
+            keyCache.remove(kid, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isKnownToBeUnknown(String kid, long now) {
+        var expiry = unknownKeyIds.get(kid);
+        if (expiry == null)
+            return false;
+
+        if (expiry <= now) {
+            unknownKeyIds.remove(kid, expiry);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberUnknownKeyId(String kid) {
+        if (lastUnknownKeyTTL == 0L)
+            return;
+
+        var now = System.currentTimeMillis();
+        if (unknownKeyIds.size() >= MAXIMUM_NUMBER_OF_UNKNOWN_KEY_IDS) {
+            unknownKeyIds.values().removeIf(expiry -> expiry <= now);
+            if (unknownKeyIds.size() >= MAXIMUM_NUMBER_OF_UNKNOWN_KEY_IDS)
+                unknownKeyIds.clear();
+        }
+        unknownKeyIds.put(kid, now + lastUnknownKeyTTL);
+    }
+
+    /**
+     * Error response of the key server.
+     */
+    @StandardException
+    private static class KeyServerException extends RuntimeException {
+        private static final long serialVersionUID = -3410329914327457129L;
     }
 
     /**
-     * remove all keys from cache, that are older than ttlMillis before now
+     * The keys returned by the key server. Either a single key or the keys of a
+     * JWKS document by their key id. Neither is present if the request failed.
      */
-    private void pruneCache() {
-        var pruneTime   = Instant.now().minusMillis(lastTTL);
-        var oldestEntry = cachingTimes.peek();
-        while (oldestEntry != null && oldestEntry.wasCachedBefore(pruneTime)) {
-            keyCache.remove(oldestEntry.getKeyId());
-            cachingTimes.poll();
-            oldestEntry = cachingTimes.peek();
+    private record FetchedKeys(RSAPublicKey key, Map<String, RSAPublicKey> document) {
+
+        static final FetchedKeys FAILED = new FetchedKeys(null, null);
+
+        boolean isDocument() {
+            return document != null;
+        }
+
+        RSAPublicKey keyFor(String kid) {
+            return isDocument() ? document.get(kid) : key;
         }
+
     }
 
     private static class CacheEntry {
 
-        @Getter
-        private final String keyId;
+        private final RSAPublicKey  key;
+        private final long          cachingTime;
+        private final AtomicBoolean refreshRequested = new AtomicBoolean();
 
-        private final Instant cachingTime;
+        CacheEntry(RSAPublicKey key) {
+            this.key    = key;
+            cachingTime = System.currentTimeMillis();
+        }
+
+        RSAPublicKey getKey() {
+            return key;
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now - cachingTime > ttlMillis;
+        }
 
-        CacheEntry(String keyId) {
-            this.keyId  = keyId;
-            cachingTime = Instant.now();
+        boolean isDueForRefresh(long now, long ttlMillis) {
+            return now - cachingTime > (long) (ttlMillis * REFRESH_AHEAD_FRACTION_OF_TTL);
         }
 
-        boolean wasCachedBefore(Instant instant) {
-            return cachingTime.isBefore(instant);
+        /**
+         * @return true, if no refresh has been requested for this entry before
+         */
+        boolean markRefreshRequested() {
+            return refreshRequested.compareAndSet(false, true);
         }
 
     }
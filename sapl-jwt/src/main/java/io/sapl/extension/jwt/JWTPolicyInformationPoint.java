@@ -17,6 +17,7 @@
  */
 package io.sapl.extension.jwt;
 
+import java.nio.charset.StandardCharsets;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
 import java.time.Duration;
@@ -24,6 +25,13 @@
 import java.util.Map;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSVerifier;
@@ -49,7 +57,8 @@
  * Public keys must be fetched from the trusted authentication server for
  * validating signatures. For this purpose, the url and http method for fetching
  * public keys need to be specified in the {@code pdp.json} configuration file
- * as in the following example:
+ * as in the following example. The server may either answer with the requested
+ * public key or with a JWKS document containing all of its keys:
  *
  * <pre>
  * {@code
@@ -59,7 +68,8 @@
  *		                    "publicKeyServer": {
  *                                               "uri":    "http://authz-server:9000/public-key/{id}",
  *                                               "method": "POST",
- *                                               "keyCachingTtlMillis": 300000
+ *                                               "keyCachingTtlMillis": 300000,
+ *                                               "unknownKeyCachingTtlMillis": 10000
  *                                             },
  *					        "whitelist" : {
  *								            "key id" : "public key"
@@ -69,6 +79,12 @@
  * }
  * }
  * </pre>
+ * <p>
+ * Tokens with a valid signature are cached by the hash of the token and the
+ * JWT configuration, so that a token presented repeatedly is parsed and
+ * verified only once. A token is cached until it expires, but not longer than
+ * the key caching TTL of the key server, so that a rotated or revoked key is
+ * noticed. The validity in time is still evaluated on each use.
  */
 @Slf4j
 @PolicyInformationPoint(name = JWTPolicyInformationPoint.NAME, description = JWTPolicyInformationPoint.DESCRIPTION)
@@ -84,6 +100,8 @@ public class JWTPolicyInformationPoint {
 
     private static final String VALIDITY_DOCS = "The token's validity state";
 
+    static final long VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE = 10000L;
+
     /**
      * Possible states of validity a JWT can have
      */
@@ -122,7 +140,22 @@ enum ValidityState {
 
     }
 
-    private final JWTKeyProvider keyProvider;
+    /**
+     * Key of a verified token. The JWT configuration is part of the key, as the
+     * outcome of the verification depends on the whitelist and key server.
+     */
+    private record TokenCacheKey(HashCode tokenHash, JsonNode jwtConfig) {
+    }
+
+    /**
+     * Claims of a token with a valid signature, which may be used until the given
+     * point in time in epoch milliseconds.
+     */
+    private record VerifiedToken(JWTClaimsSet claims, long cachedUntil) {
+    }
+
+    private final JWTKeyProvider                      keyProvider;
+    private final Cache<TokenCacheKey, VerifiedToken> verifiedTokens;
 
     /**
      * Constructor
@@ -130,7 +163,19 @@ enum ValidityState {
      * @param jwtKeyProvider a JWTKeyProvider
      */
     public JWTPolicyInformationPoint(JWTKeyProvider jwtKeyProvider) {
-        this.keyProvider = jwtKeyProvider;
+        this.keyProvider    = jwtKeyProvider;
+        this.verifiedTokens = CacheBuilder.newBuilder().maximumSize(VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE).recordStats()
+                .build();
+    }
+
+    /**
+     * Statistics of the verified token cache. Each hit is a token whose parsing
+     * and signature verification has been saved.
+     *
+     * @return the statistics of the verified token cache.
+     */
+    public CacheStats getVerifiedTokenCacheStats() {
+        return verifiedTokens.stats();
     }
 
     /**
@@ -165,6 +210,14 @@ private Flux<ValidityState> validityState(@Text Val rawToken, Map<String, Val> v
         if (rawToken == null || !rawToken.isTextual())
             return Flux.just(ValidityState.MALFORMED);
 
+        var cacheKey      = tokenCacheKey(rawToken.getText(), variables);
+        var verifiedToken = verifiedTokens.getIfPresent(cacheKey);
+        if (verifiedToken != null) {
+            if (verifiedToken.cachedUntil() > System.currentTimeMillis())
+                return validateTime(verifiedToken.claims());
+            verifiedTokens.invalidate(cacheKey);
+        }
+
         SignedJWT    signedJwt;
         JWTClaimsSet claims;
         try {
@@ -187,10 +240,58 @@ private Flux<ValidityState> validityState(@Text Val rawToken, Map<String, Val> v
             if (Boolean.FALSE.equals(isValid))
                 return Flux.just(ValidityState.UNTRUSTED);
 
+            cacheVerifiedToken(cacheKey, claims, keyCachingTtlMillis(signedJwt, variables));
             return validateTime(claims);
         });
     }
 
+    private static TokenCacheKey tokenCacheKey(String rawToken, Map<String, Val> variables) {
+        var tokenHash = Hashing.sha256().hashString(rawToken, StandardCharsets.UTF_8);
+        var jwtConfig = variables.get(JWT_KEY);
+        if (jwtConfig == null || !jwtConfig.isDefined())
+            return new TokenCacheKey(tokenHash, NullNode.getInstance());
+
+        return new TokenCacheKey(tokenHash, jwtConfig.get());
+    }
+
+    /**
+     * Caches the claims of a token with a valid signature until the token
+     * expires or the TTL of the verifying key has passed, whichever comes first.
+     * Expired tokens are not cached, as they can never become valid again.
+     */
+    private void cacheVerifiedToken(TokenCacheKey cacheKey, JWTClaimsSet claims, long keyTtlMillis) {
+        var now         = System.currentTimeMillis();
+        var cachedUntil = keyTtlMillis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + keyTtlMillis;
+        var exp         = claims.getExpirationTime();
+        if (exp != null)
+            cachedUntil = Math.min(cachedUntil, exp.getTime());
+
+        if (cachedUntil <= now)
+            return;
+
+        verifiedTokens.put(cacheKey, new VerifiedToken(claims, cachedUntil));
+    }
+
+    /**
+     * @return the time a key used for verifying the token may be cached. Keys
+     *         from the whitelist do not expire, keys of the key server expire
+     *         after the configured key caching TTL.
+     */
+    private static long keyCachingTtlMillis(SignedJWT signedJwt, Map<String, Val> variables) {
+        var jwtConfig = variables.get(JWT_KEY).get();
+        var keyId     = signedJwt.getHeader().getKeyID();
+        var whitelist = jwtConfig.get(WHITELIST_VARIABLES_KEY);
+        if (whitelist != null && whitelist.get(keyId) != null
+                && JWTEncodingDecodingUtils.jsonNodeToKey(whitelist.get(keyId)).isPresent())
+            return Long.MAX_VALUE;
+
+        var ttl = jwtConfig.path(PUBLIC_KEY_VARIABLES_KEY).path(JWTKeyProvider.KEY_CACHING_TTL_MILLIS);
+        if (ttl.canConvertToLong() && ttl.longValue() >= 0L)
+            return ttl.longValue();
+
+        return JWTKeyProvider.DEFAULT_CACHING_TTL;
+    }
+
     private Mono<Boolean> validateSignature(SignedJWT signedJwt, Map<String, Val> variables) {
 
         var jwtConfig = variables.get(JWT_KEY);
@@ -27,6 +27,10 @@ enum DispatchMode {
      * Dispatcher returns the true Base64-encoded key, matching the kid
      */
     Basic,
+    /**
+     * Dispatcher returns a JWKS document containing all keys, for any kid
+     */
+    Jwks,
     /**
      * Dispatcher returns a wrong Base64Url-encoded key, not matching the kid
      */
@@ -17,6 +17,7 @@
  */
 package io.sapl.extension.jwt;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -25,6 +26,7 @@
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -37,6 +39,7 @@
 
 import io.sapl.extension.jwt.JWTKeyProvider.CachingException;
 import okhttp3.mockwebserver.MockWebServer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -79,6 +82,8 @@ public static void teardown() throws IOException {
     @BeforeEach
     void setup() {
         provider = new JWTKeyProvider(builder);
+        dispatcher.setDispatchMode(DispatchMode.True);
+        dispatcher.setResponseDelayMillis(0L);
     }
 
     /*
@@ -230,4 +235,109 @@ void provide_withUriBogusEnvironment_shouldBeEmpty() throws CachingException {
         StepVerifier.create(mono).verifyComplete();
     }
 
+    /*
+     * TEST REQUESTS TO THE KEY SERVER
+     */
+
+    @Test
+    void provide_concurrentlyForSameKid_shouldRequestKeyOnlyOnce() throws CachingException {
+        dispatcher.setResponseDelayMillis(JWTTestUtility.synchronousTimeUnit);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        var concurrentKeys = Flux.merge(provider.provide(kid, serverNode), provider.provide(kid, serverNode),
+                provider.provide(kid, serverNode));
+        StepVerifier.create(concurrentKeys).expectNextMatches(KeyTestUtility.keyValidator(keyPair))
+                .expectNextMatches(KeyTestUtility.keyValidator(keyPair))
+                .expectNextMatches(KeyTestUtility.keyValidator(keyPair)).verifyComplete();
+        assertEquals(1, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_usingJwks_shouldCacheAllKeysOfDocument() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Jwks);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide(kid, serverNode)).expectNextMatches(KeyTestUtility.keyValidator(keyPair))
+                .verifyComplete();
+        assertTrue(provider.isCached(kid));
+        assertTrue(provider.isCached(otherKid));
+        StepVerifier.create(provider.provide(otherKid, serverNode))
+                .expectNextMatches(KeyTestUtility.keyValidator(otherKeyPair)).verifyComplete();
+        assertEquals(1, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_usingJwksWithoutKid_shouldBeEmpty() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Jwks);
+        var serverNode = JsonTestUtility.serverNode(server, null, null);
+        StepVerifier.create(provider.provide("unknown kid", serverNode)).verifyComplete();
+        assertFalse(provider.isCached("unknown kid"));
+    }
+
+    @Test
+    void provide_unknownKidTwice_shouldRequestKeyOnlyOnce() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Jwks);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide("unknown kid", serverNode)).verifyComplete();
+        StepVerifier.create(provider.provide("unknown kid", serverNode)).verifyComplete();
+        assertEquals(1, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_unknownKidAfterUnknownKeyTTL_shouldRequestKeyAgain() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Jwks);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null)
+                .put(JWTKeyProvider.UNKNOWN_KEY_CACHING_TTL_MILLIS, JWTTestUtility.synchronousTimeUnit);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide("unknown kid", serverNode)).verifyComplete();
+        Mono.delay(JWTTestUtility.twoSynchronousUnitDuration()).block();
+        StepVerifier.create(provider.provide("unknown kid", serverNode)).verifyComplete();
+        assertEquals(2, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_afterErrorResponse_shouldRequestKeyAgain() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Unknown);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide(kid, serverNode)).verifyComplete();
+        dispatcher.setDispatchMode(DispatchMode.True);
+        StepVerifier.create(provider.provide(kid, serverNode)).expectNextMatches(KeyTestUtility.keyValidator(keyPair))
+                .verifyComplete();
+        assertEquals(2, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_afterUnparsableResponse_shouldRequestKeyAgain() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.Bogus);
+        var serverNode     = JsonTestUtility.serverNode(server, null, null);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide(kid, serverNode)).verifyComplete();
+        StepVerifier.create(provider.provide(kid, serverNode)).verifyComplete();
+        assertEquals(2, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void provide_withInvalidUnknownKeyTTL_shouldThrowCachingException() {
+        var serverNode = JsonTestUtility.serverNode(server, null, null)
+                .put(JWTKeyProvider.UNKNOWN_KEY_CACHING_TTL_MILLIS, "invalid TTL format");
+        assertThrows(CachingException.class, () -> provider.provide(kid, serverNode));
+    }
+
+    @Test
+    void provide_keyAboutToExpire_shouldBeRefreshedInBackground() throws CachingException {
+        var ttl        = 10 * JWTTestUtility.synchronousTimeUnit;
+        var serverNode = JsonTestUtility.serverNode(server, null, ttl);
+        provider.setTtlMillis(ttl);
+        provider.cache(kid, (RSAPublicKey) keyPair.getPublic());
+        Mono.delay(Duration.ofMillis(9 * JWTTestUtility.synchronousTimeUnit)).block();
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        StepVerifier.create(provider.provide(kid, serverNode)).expectNextMatches(KeyTestUtility.keyValidator(keyPair))
+                .verifyComplete();
+        Mono.delay(Duration.ofMillis(3 * JWTTestUtility.synchronousTimeUnit)).block();
+        assertTrue(provider.isCached(kid));
+        assertEquals(1, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
 }
@@ -18,6 +18,7 @@
 package io.sapl.extension.jwt;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.security.KeyPair;
@@ -390,4 +391,69 @@ void validity_withNbfAfterNowAndExpAfterNbf_shouldBeImmatureThenValidThenExpired
                 .expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.EXPIRED.toString())).verifyComplete();
     }
 
+    /*
+     * TEST VERIFIED TOKEN CACHE
+     */
+
+    @Test
+    void validity_sameTokenTwice_shouldVerifySignatureOnlyOnce() throws JOSEException {
+        dispatcher.setDispatchMode(DispatchMode.True);
+        var variables = JsonTestUtility.publicKeyUriVariables(server, null);
+        var header    = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        var claims    = new JWTClaimsSet.Builder().notBeforeTime(JWTTestUtility.timeOneUnitBeforeNow()).build();
+        var source    = JWTTestUtility.buildAndSignJwt(header, claims, keyPair);
+        var flux      = Flux.concat(jwtPolicyInformationPoint.validity(source, variables),
+                Flux.defer(() -> jwtPolicyInformationPoint.validity(source, variables)));
+        StepVerifier.create(flux).expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.VALID.toString()))
+                .expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.VALID.toString())).verifyComplete();
+        assertEquals(1L, jwtPolicyInformationPoint.getVerifiedTokenCacheStats().hitCount());
+    }
+
+    @Test
+    void validity_sameTokenAfterKeyCachingTTL_shouldVerifySignatureAgain() throws JOSEException {
+        dispatcher.setDispatchMode(DispatchMode.True);
+        var jwtNode        = MAPPER.createObjectNode().set(JWTPolicyInformationPoint.PUBLIC_KEY_VARIABLES_KEY,
+                JsonTestUtility.serverNode(server, null, JWTTestUtility.synchronousTimeUnit));
+        var variables      = Map.of("jwt", Val.of(jwtNode));
+        var header         = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        var claims         = new JWTClaimsSet.Builder().notBeforeTime(JWTTestUtility.timeOneUnitBeforeNow()).build();
+        var source         = JWTTestUtility.buildAndSignJwt(header, claims, keyPair);
+        var requestsBefore = dispatcher.getNumberOfRequests();
+        var flux           = Flux.concat(jwtPolicyInformationPoint.validity(source, variables),
+                Mono.delay(JWTTestUtility.twoSynchronousUnitDuration()).thenMany(
+                        Flux.defer(() -> jwtPolicyInformationPoint.validity(source, variables))));
+        StepVerifier.create(flux).expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.VALID.toString()))
+                .expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.VALID.toString())).verifyComplete();
+        assertEquals(2, dispatcher.getNumberOfRequests() - requestsBefore);
+    }
+
+    @Test
+    void validity_sameTokenWithOtherConfiguration_shouldNotUseVerifiedToken() throws JOSEException {
+        var variables = JsonTestUtility.publicKeyWhitelistVariables(kid, keyPair, kid2, keyPair2);
+        var header    = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        var claims    = new JWTClaimsSet.Builder().build();
+        var source    = JWTTestUtility.buildAndSignJwt(header, claims, keyPair);
+        var flux      = Flux.concat(jwtPolicyInformationPoint.validity(source, variables),
+                Flux.defer(() -> jwtPolicyInformationPoint.validity(source, Map.of())));
+        StepVerifier.create(flux).expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.VALID.toString()))
+                .expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.UNTRUSTED.toString())).verifyComplete();
+        assertEquals(0L, jwtPolicyInformationPoint.getVerifiedTokenCacheStats().hitCount());
+    }
+
+    @Test
+    void validity_untrustedTokenTwice_shouldNotBeCached() throws JOSEException {
+        dispatcher.setDispatchMode(DispatchMode.True);
+        var variables      = JsonTestUtility.publicKeyUriVariables(server, null);
+        var header         = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        var claims         = new JWTClaimsSet.Builder().build();
+        var tamperedClaims = new JWTClaimsSet.Builder().jwtID("").build();
+        var originalJWT    = JWTTestUtility.buildAndSignJwt(header, claims, keyPair);
+        var source         = JWTTestUtility.replacePayload(originalJWT, tamperedClaims);
+        var flux           = Flux.concat(jwtPolicyInformationPoint.validity(source, variables),
+                Flux.defer(() -> jwtPolicyInformationPoint.validity(source, variables)));
+        StepVerifier.create(flux).expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.UNTRUSTED.toString()))
+                .expectNext(Val.of(JWTPolicyInformationPoint.ValidityState.UNTRUSTED.toString())).verifyComplete();
+        assertEquals(0L, jwtPolicyInformationPoint.getVerifiedTokenCacheStats().hitCount());
+    }
+
 }
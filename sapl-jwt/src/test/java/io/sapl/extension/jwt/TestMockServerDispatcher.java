@@ -17,11 +17,18 @@
  */
 package io.sapl.extension.jwt;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jetbrains.annotations.NotNull;
 
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+
 import lombok.Setter;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
@@ -33,9 +40,14 @@ class TestMockServerDispatcher extends Dispatcher {
 
     private final Map<String, String> kidToPubKeyMap;
 
+    private final AtomicInteger numberOfRequests = new AtomicInteger();
+
     @Setter
     private DispatchMode dispatchMode = DispatchMode.True;
 
+    @Setter
+    private long responseDelayMillis = 0L;
+
     public TestMockServerDispatcher(String kidPath, Map<String, String> kidToPubKeyMap) {
         this.kidPath        = kidPath;
         this.kidToPubKeyMap = new HashMap<>(kidToPubKeyMap);
@@ -44,10 +56,22 @@ public TestMockServerDispatcher(String kidPath, Map<String, String> kidToPubKeyM
     @NotNull
     @Override
     public MockResponse dispatch(RecordedRequest request) {
+        numberOfRequests.incrementAndGet();
+        return dispatchKey(request).setHeadersDelay(responseDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    int getNumberOfRequests() {
+        return numberOfRequests.get();
+    }
+
+    private MockResponse dispatchKey(RecordedRequest request) {
         var path = request.getPath();
         if (path == null || !path.startsWith(kidPath))
             return new MockResponse().setResponseCode(404);
 
+        if (dispatchMode == DispatchMode.Jwks)
+            return this.dispatchJwks();
+
         String requestedId = path.substring(kidPath.length());
 
         if (!kidToPubKeyMap.containsKey(requestedId))
@@ -67,6 +91,13 @@ private MockResponse dispatchTrueKey(String requestedId) {
         return new MockResponse().setBody(kidToPubKeyMap.get(requestedId));
     }
 
+    private MockResponse dispatchJwks() {
+        var keys = new ArrayList<JWK>();
+        kidToPubKeyMap.forEach((kid, encodedKey) -> JWTEncodingDecodingUtils.encodedX509ToRSAPublicKey(encodedKey)
+                .ifPresent(publicKey -> keys.add(new RSAKey.Builder(publicKey).keyID(kid).build())));
+        return new MockResponse().setBody(new JWKSet(keys).toString());
+    }
+
     private MockResponse dispatchWrongKey() {
         return new MockResponse()
                 .setBody(Base64DataUtil.encodePublicKeyToBase64URLPrimary(Base64DataUtil.generateRSAKeyPair()));
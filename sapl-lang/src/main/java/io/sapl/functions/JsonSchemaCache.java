@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.functions;
+
+import java.util.HashMap;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.resource.MapSchemaLoader;
+
+/**
+ * Caches compiled JSON schemas shared by all policies and by the validation of
+ * parameters annotated with {@link io.sapl.api.validation.Schema}.
+ * <p>
+ * Compiled schemas are looked up by the content of the schema and of the
+ * external schemas it may reference. Schemas which cannot be compiled are
+ * cached as well and reject every value. The hit and miss counts of the cache
+ * are available via {@link #stats()}.
+ */
+public final class JsonSchemaCache {
+
+    static final int MAXIMUM_NUMBER_OF_COMPILED_SCHEMAS = 1_000;
+
+    private static final String          ID              = "$id";
+    private static final JsonNode        NO_EXTERNALS    = JsonNodeFactory.instance.arrayNode();
+    private static final JsonSchemaCache SHARED_INSTANCE = new JsonSchemaCache(MAXIMUM_NUMBER_OF_COMPILED_SCHEMAS);
+
+    private final Cache<SchemaKey, Predicate<JsonNode>> compiledSchemas;
+
+    private record SchemaKey(JsonNode schema, JsonNode externalSchemas) {}
+
+    JsonSchemaCache(long maximumSize) {
+        compiledSchemas = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * @return the cache shared by all PDPs of the JVM
+     */
+    public static JsonSchemaCache shared() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * @param validationSubject a JSON value
+     * @param schema            a JSON schema
+     * @param externalSchemas   an array of schemas referenced by the schema via
+     *                          their $id field. Any other value is treated as no
+     *                          external schemas.
+     * @return true, if the value complies with the schema
+     */
+    public boolean isCompliant(JsonNode validationSubject, JsonNode schema, JsonNode externalSchemas) {
+        return compliance(schema, externalSchemas).test(validationSubject);
+    }
+
+    /**
+     * Returns the compiled schema, compiling it only if it is not yet cached.
+     *
+     * @param schema          a JSON schema
+     * @param externalSchemas an array of schemas referenced by the schema via
+     *                        their $id field. Any other value is treated as no
+     *                        external schemas.
+     * @return a predicate testing the compliance of values with the schema
+     */
+    public Predicate<JsonNode> compliance(JsonNode schema, JsonNode externalSchemas) {
+        var externals = externalSchemas != null && externalSchemas.isArray() ? externalSchemas : NO_EXTERNALS;
+        var key       = new SchemaKey(schema, externals);
+        var compiled  = compiledSchemas.getIfPresent(key);
+        if (compiled == null) {
+            var ownKey = new SchemaKey(schema.deepCopy(), externals.deepCopy());
+            compiled = compile(ownKey.schema(), ownKey.externalSchemas());
+            compiledSchemas.put(ownKey, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache
+     */
+    public CacheStats stats() {
+        return compiledSchemas.stats();
+    }
+
+    /**
+     * @return the number of cached schemas
+     */
+    public long size() {
+        return compiledSchemas.size();
+    }
+
+    private static Predicate<JsonNode> compile(JsonNode schema, JsonNode externalSchemas) {
+        var schemaMap = new HashMap<String, String>();
+        for (var externalSchema : externalSchemas) {
+            if (externalSchema.has(ID)) {
+                schemaMap.put(externalSchema.get(ID).asText(), externalSchema.toString());
+            }
+        }
+
+        var schemaLoader  = new MapSchemaLoader(schemaMap);
+        var schemaFactory = JsonSchemaFactory.builder().schemaLoaders(schemaLoaders -> schemaLoaders.add(schemaLoader))
+                .addMetaSchema(JsonMetaSchema.getV202012()).defaultMetaSchemaURI(JsonMetaSchema.getV202012().getUri())
+                .build();
+
+        JsonSchema validator;
+        try {
+            validator = schemaFactory.getSchema(schema);
+        } catch (JsonSchemaException e) {
+            return node -> false;
+        }
+        return node -> {
+            try {
+                return validator.validate(node).isEmpty();
+            } catch (JsonSchemaException e) {
+                return false;
+            }
+        };
+    }
+
+}
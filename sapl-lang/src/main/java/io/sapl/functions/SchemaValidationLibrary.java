@@ -17,12 +17,7 @@
  */
 package io.sapl.functions;
 
-import java.util.HashMap;
-
-import com.networknt.schema.JsonMetaSchema;
 import com.networknt.schema.JsonSchemaException;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.resource.MapSchemaLoader;
 
 import io.sapl.api.functions.Function;
 import io.sapl.api.functions.FunctionLibrary;
@@ -52,8 +47,6 @@ public class SchemaValidationLibrary {
             }
             """;
 
-    private static final String ID = "$id";
-
     @Function(docs = IS_COMPLIANT_WITH_SCHEMA_VAL_DOC, schema = RETURNS_BOOLEAN)
     public static Val isCompliant(Val validationSubject, @JsonObject Val jsonSchema) {
         return isCompliantWithExternalSchemas(validationSubject, jsonSchema, Val.ofEmptyArray());
@@ -69,24 +62,9 @@ public static Val isCompliantWithExternalSchemas(Val validationSubject, @JsonObj
             return Val.FALSE;
         }
 
-        var schemaMap = new HashMap<String, String>();
-        if (externals.isArray()) {
-            for (var externalSchema : externals.getArrayNode()) {
-                if (externalSchema.has(ID)) {
-                    schemaMap.put(externalSchema.get(ID).asText(), externalSchema.toString());
-                }
-            }
-        }
-
-        var schemaLoader  = new MapSchemaLoader(schemaMap);
-        var schemaFactory = JsonSchemaFactory.builder().schemaLoaders(schemaLoaders -> schemaLoaders.add(schemaLoader))
-                .addMetaSchema(JsonMetaSchema.getV202012()).defaultMetaSchemaURI(JsonMetaSchema.getV202012().getUri())
-                .build();
-
         try {
-            var validator = schemaFactory.getSchema(jsonSchema.getJsonNode());
-            var messages  = validator.validate(validationSubject.get());
-            return Val.of(messages.isEmpty());
+            return Val.of(JsonSchemaCache.shared().isCompliant(validationSubject.get(), jsonSchema.getJsonNode(),
+                    externals.isArray() ? externals.getArrayNode() : null));
         } catch (JsonSchemaException e) {
             return Val.FALSE;
         }
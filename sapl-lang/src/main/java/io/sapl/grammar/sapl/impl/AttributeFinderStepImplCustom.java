@@ -17,7 +17,6 @@
  */
 package io.sapl.grammar.sapl.impl;
 
-import static io.sapl.interpreter.context.AuthorizationContext.getAttributeContext;
 import static io.sapl.interpreter.context.AuthorizationContext.getImports;
 import static io.sapl.interpreter.context.AuthorizationContext.getVariables;
 
@@ -28,9 +27,11 @@
 import io.sapl.grammar.sapl.AttributeFinderStep;
 import io.sapl.grammar.sapl.FilterStatement;
 import io.sapl.grammar.sapl.impl.util.FunctionUtil;
+import io.sapl.grammar.sapl.impl.util.LinkedAttributeFinder;
 import io.sapl.grammar.sapl.impl.util.TargetExpressionUtil;
 import lombok.NonNull;
 import reactor.core.publisher.Flux;
+import reactor.util.context.ContextView;
 
 /**
  * Implements the application of an attribute finder step to a previous value.
@@ -44,35 +45,53 @@ public class AttributeFinderStepImplCustom extends AttributeFinderStepImpl {
     private static final String UNDEFINED_VALUE_ERROR                     = "Undefined value handed over as left-hand parameter to policy information point";
     private static final String EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR        = "Attribute resolution error. Attributes are not allowed in target.";
 
+    private volatile LinkedAttributeFinder linkedAttributeFinder;
+
     @Override
     public Flux<Val> apply(@NonNull Val parentValue) {
 
         return Flux.deferContextual(ctxView -> {
-            var attributeName = FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(), getImports(ctxView));
-
             if (parentValue.isError()) {
                 return Flux.just(parentValue.withTrace(AttributeFinderStep.class, false,
-                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
             if (TargetExpressionUtil.isInTargetExpression(this)) {
                 return Flux.just(Val.error(EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR).withTrace(AttributeFinderStep.class,
-                        false, Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        false,
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
             if (parentValue.isUndefined()) {
                 return Flux.just(Val.error(UNDEFINED_VALUE_ERROR).withTrace(AttributeFinderStep.class, false,
-                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
 
-            var attributeContext = getAttributeContext(ctxView);
-            var variables        = getVariables(ctxView);
+            var attributeFinder = link(ctxView);
+            var variables       = getVariables(ctxView);
             // @formatter:off
-			return attributeContext
-					.evaluateAttribute(attributeName, parentValue, getArguments(), variables)
+			return attributeFinder.callSite()
+					.evaluate(parentValue, variables)
 					.distinctUntilChanged();
 			// @formatter:on
         });
     }
 
+    private String attributeName(ContextView ctxView) {
+        return FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(), getImports(ctxView));
+    }
+
+    /**
+     * Keeps the call site of the attribute finder between evaluations with the
+     * same attribute context and imports.
+     */
+    private LinkedAttributeFinder link(ContextView ctxView) {
+        var linked = linkedAttributeFinder;
+        if (linked == null || !linked.isLinkedWith(ctxView)) {
+            linked                = LinkedAttributeFinder.linkAttribute(ctxView, getIdSteps(), getArguments());
+            linkedAttributeFinder = linked;
+        }
+        return linked;
+    }
+
     @Override
     public Flux<Val> applyFilterStatement(@NonNull Val parentValue, int stepId, @NonNull FilterStatement statement) {
         return Val.errorFlux(ATTRIBUTE_FINDER_STEP_NOT_PERMITTED_ERROR);
@@ -23,9 +23,11 @@
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.AttributeFinderStep;
 import io.sapl.grammar.sapl.impl.util.FunctionUtil;
+import io.sapl.grammar.sapl.impl.util.LinkedAttributeFinder;
 import io.sapl.grammar.sapl.impl.util.TargetExpressionUtil;
 import io.sapl.interpreter.context.AuthorizationContext;
 import reactor.core.publisher.Flux;
+import reactor.util.context.ContextView;
 
 /**
  * Implements the evaluation of an environment attribute.
@@ -34,19 +36,34 @@ public class BasicEnvironmentAttributeImplCustom extends BasicEnvironmentAttribu
 
     private static final String EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR = "Attribute resolution error. Attributes not allowed in target.";
 
+    private volatile LinkedAttributeFinder linkedAttributeFinder;
+
     @Override
     public Flux<Val> evaluate() {
         return Flux.deferContextual(ctxView -> {
-            var attributeName = FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(),
-                    AuthorizationContext.getImports(ctxView));
-
-            if (TargetExpressionUtil.isInTargetExpression(this))
+            if (TargetExpressionUtil.isInTargetExpression(this)) {
+                var attributeName = FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(),
+                        AuthorizationContext.getImports(ctxView));
                 return Flux.just(Val.error(EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR).withTrace(AttributeFinderStep.class,
                         false, Map.of(Trace.ATTRIBUTE, Val.of(attributeName))));
+            }
 
-            return AuthorizationContext.getAttributeContext(ctxView).evaluateEnvironmentAttribute(attributeName,
-                    getArguments(), AuthorizationContext.getVariables(ctxView)).distinctUntilChanged();
+            return link(ctxView).callSite().evaluate(Val.UNDEFINED, AuthorizationContext.getVariables(ctxView))
+                    .distinctUntilChanged();
         });
     }
 
+    /**
+     * Keeps the call site of the attribute finder between evaluations with the
+     * same attribute context and imports.
+     */
+    private LinkedAttributeFinder link(ContextView ctxView) {
+        var linked = linkedAttributeFinder;
+        if (linked == null || !linked.isLinkedWith(ctxView)) {
+            linked                = LinkedAttributeFinder.linkEnvironmentAttribute(ctxView, getIdSteps(), getArguments());
+            linkedAttributeFinder = linked;
+        }
+        return linked;
+    }
+
 }
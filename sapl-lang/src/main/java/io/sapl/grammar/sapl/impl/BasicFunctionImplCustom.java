@@ -17,8 +17,13 @@
  */
 package io.sapl.grammar.sapl.impl;
 
+import java.util.Map;
+
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.impl.util.FunctionUtil;
+import io.sapl.interpreter.context.AuthorizationContext;
+import io.sapl.interpreter.functions.FunctionCallSite;
+import io.sapl.interpreter.functions.FunctionContext;
 import reactor.core.publisher.Flux;
 
 /**
@@ -30,11 +35,37 @@
  */
 public class BasicFunctionImplCustom extends BasicFunctionImpl {
 
+    private record LinkedFunction(FunctionContext functionContext, Map<String, String> imports,
+            FunctionCallSite callSite) {
+        boolean linkedWith(FunctionContext functionContext, Map<String, String> imports) {
+            return this.functionContext == functionContext && this.imports == imports;
+        }
+    }
+
+    private volatile LinkedFunction linkedFunction;
+
     @Override
     public Flux<Val> evaluate() {
-        return FunctionUtil.combineArgumentFluxes(arguments)
-                .concatMap(parameters -> FunctionUtil.evaluateFunctionMono(fsteps, parameters))
-                .switchMap(v -> resolveStepsFiltersAndSubTemplates(steps).apply(v));
+        return Flux.deferContextual(ctx -> {
+            var callSite = link(AuthorizationContext.functionContext(ctx), AuthorizationContext.getImports(ctx));
+            return FunctionUtil.combineArgumentFluxes(arguments).map(callSite::evaluate)
+                    .switchMap(v -> resolveStepsFiltersAndSubTemplates(steps).apply(v));
+        });
+    }
+
+    /**
+     * Binds the function to a call site of the function context. The name of the
+     * function only depends on the imports, so the call site is kept for as long
+     * as the node is evaluated with the same function context and imports.
+     */
+    private FunctionCallSite link(FunctionContext functionContext, Map<String, String> imports) {
+        var linked = linkedFunction;
+        if (linked != null && linked.linkedWith(functionContext, imports))
+            return linked.callSite();
+
+        var callSite = functionContext.bind(FunctionUtil.resolveAbsoluteFunctionName(fsteps, imports));
+        linkedFunction = new LinkedFunction(functionContext, imports, callSite);
+        return callSite;
     }
 
 }
@@ -19,9 +19,9 @@
 
 import static io.sapl.grammar.sapl.impl.util.OperatorUtil.arithmeticOperator;
 
-import java.math.BigDecimal;
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.Div;
@@ -45,9 +45,9 @@ public Flux<Val> evaluate() {
 
     private Val divide(Val dividend, Val divisor) {
         var trace = Map.<String, Val>of(Trace.DIVIDEND, dividend, Trace.DIVISOR, divisor);
-        if (divisor.decimalValue().compareTo(BigDecimal.ZERO) == 0)
+        if (NumericValues.isZero(divisor.get()))
             return Val.error(DIVISION_BY_ZERO_ERROR).withTrace(Div.class, false, trace);
-        return Val.of(dividend.decimalValue().divide(divisor.decimalValue())).withTrace(Div.class, false, trace);
+        return NumericValues.divide(dividend, divisor).withTrace(Div.class, false, trace);
     }
 
 }
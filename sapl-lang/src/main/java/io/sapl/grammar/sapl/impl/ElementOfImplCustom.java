@@ -17,45 +17,152 @@
  */
 package io.sapl.grammar.sapl.impl;
 
+import static io.sapl.grammar.sapl.impl.util.OperatorUtil.errorOrDo;
 import static io.sapl.grammar.sapl.impl.util.OperatorUtil.operator;
 
 import java.util.Map;
+import java.util.Optional;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
+import io.sapl.grammar.sapl.Array;
+import io.sapl.grammar.sapl.BasicValue;
 import io.sapl.grammar.sapl.ElementOf;
+import io.sapl.grammar.sapl.Expression;
+import io.sapl.grammar.sapl.FalseLiteral;
+import io.sapl.grammar.sapl.NullLiteral;
+import io.sapl.grammar.sapl.NumberLiteral;
+import io.sapl.grammar.sapl.StringLiteral;
+import io.sapl.grammar.sapl.TrueLiteral;
+import io.sapl.grammar.sapl.impl.util.HashedArray;
 import reactor.core.publisher.Flux;
 
 /**
  * Implements the evaluation of the 'in-array' operation. It checks if a value
  * is contained in an array.
  * <p>
+ * If the array is a literal only containing numbers, strings, booleans or null,
+ * it is hashed once and every check is a hash lookup. Large arrays which are
+ * repeatedly evaluated to the same JSON value, e.g., PDP variables, are hashed
+ * when encountered the second time and the hashed array is reused for as long
+ * as the value remains the same.
+ * <p>
  * Grammar: {@code Comparison returns Expression: Prefixed
  * (({ElementOf.left=current} 'in') right=Prefixed)? ;}
  */
 public class ElementOfImplCustom extends ElementOfImpl {
 
+    static final int MINIMAL_SIZE_OF_HASHED_ARRAYS = 16;
+
+    private static final ConstantHaystack NO_CONSTANT_HAYSTACK = new ConstantHaystack(null, null);
+
+    private volatile ConstantHaystack constantHaystack;
+    private volatile HashedHaystack   hashedHaystack;
+    private volatile JsonNode         lastHaystack;
+
+    private record ConstantHaystack(Val haystack, HashedArray hashedArray) {}
+
+    private record HashedHaystack(JsonNode haystack, HashedArray hashedArray) {}
+
     @Override
     public Flux<Val> evaluate() {
-        return operator(this, this::tracedElementOf);
+        var constant = constantHaystack();
+        if (constant.isPresent()) {
+            var haystack = constant.get();
+            return getLeft().evaluate().map(errorOrDo(needle -> tracedElementOf(needle, haystack.haystack(),
+                    needle.isDefined() && haystack.hashedArray().contains(needle.get()))));
+        }
+        return operator(this, (needle, haystack) -> tracedElementOf(needle, haystack, elementOf(needle, haystack)));
+    }
+
+    /**
+     * @return the hashed array, if the haystack of the operator is an array
+     *         literal only containing numbers, strings, booleans or null
+     */
+    public Optional<HashedArray> getConstantHaystack() {
+        return constantHaystack().map(ConstantHaystack::hashedArray);
+    }
+
+    private Optional<ConstantHaystack> constantHaystack() {
+        var constant = constantHaystack;
+        if (constant == null) {
+            var array = constantArray(getRight());
+            constant         = array == null ? NO_CONSTANT_HAYSTACK
+                    : new ConstantHaystack(Val.of(array).withTrace(Array.class), HashedArray.of(array));
+            constantHaystack = constant;
+        }
+        return constant == NO_CONSTANT_HAYSTACK ? Optional.empty() : Optional.of(constant);
     }
 
-    private Val tracedElementOf(Val needle, Val haystack) {
-        return elementOf(needle, haystack).withTrace(ElementOf.class, false,
+    private static JsonNode constantArray(Expression expression) {
+        if (!(expression instanceof BasicValue basicValue) || !hasNoStepsFilterOrSubtemplate(basicValue)
+                || !(basicValue.getValue() instanceof Array array))
+            return null;
+
+        var result = Val.JSON.arrayNode();
+        for (var item : array.getItems()) {
+            var literal = constantScalar(item);
+            if (literal == null)
+                return null;
+            result.add(literal);
+        }
+        return result;
+    }
+
+    private static JsonNode constantScalar(Expression expression) {
+        if (!(expression instanceof BasicValue basicValue) || !hasNoStepsFilterOrSubtemplate(basicValue))
+            return null;
+
+        var value = basicValue.getValue();
+        if (value instanceof NumberLiteral number)
+            return Val.JSON.numberNode(number.getNumber());
+        if (value instanceof StringLiteral string)
+            return Val.JSON.textNode(string.getString());
+        if (value instanceof TrueLiteral)
+            return Val.JSON.booleanNode(true);
+        if (value instanceof FalseLiteral)
+            return Val.JSON.booleanNode(false);
+        if (value instanceof NullLiteral)
+            return Val.JSON.nullNode();
+        return null;
+    }
+
+    private static boolean hasNoStepsFilterOrSubtemplate(BasicValue basicValue) {
+        return basicValue.getSteps().isEmpty() && basicValue.getFilter() == null
+                && basicValue.getSubtemplate() == null;
+    }
+
+    private static Val tracedElementOf(Val needle, Val haystack, boolean isElementOf) {
+        return Val.of(isElementOf).withTrace(ElementOf.class, false,
                 Map.of(Trace.NEEDLE, needle, Trace.HAYSTACK, haystack));
     }
 
-    private Val elementOf(Val needle, Val haystack) {
+    private boolean elementOf(Val needle, Val haystack) {
         if (needle.isUndefined() || haystack.isUndefined() || !haystack.isArray())
-            return Val.FALSE;
+            return false;
+
+        var array  = haystack.get();
+        var hashed = hashedHaystack;
+        if (hashed != null && hashed.haystack() == array)
+            return hashed.hashedArray().contains(needle.get());
+
+        if (array.size() >= MINIMAL_SIZE_OF_HASHED_ARRAYS) {
+            if (lastHaystack == array) {
+                hashed         = new HashedHaystack(array, HashedArray.of(array));
+                hashedHaystack = hashed;
+                return hashed.hashedArray().contains(needle.get());
+            }
+            lastHaystack = array;
+        }
 
-        for (JsonNode arrayItem : haystack.get())
+        for (JsonNode arrayItem : array)
             if (needleAndArrayElementAreEquivalent(needle, arrayItem))
-                return Val.TRUE;
+                return true;
 
-        return Val.FALSE;
+        return false;
     }
 
     private boolean needleAndArrayElementAreEquivalent(Val needle, JsonNode arrayItem) {
@@ -68,7 +175,7 @@ private boolean bothValuesAreNumbers(Val needle, JsonNode arrayItem) {
     }
 
     private boolean bothNumbersAreEqual(Val needle, JsonNode arrayItem) {
-        return needle.get().decimalValue().compareTo(arrayItem.decimalValue()) == 0;
+        return NumericValues.compare(needle.get(), arrayItem) == 0;
     }
 
 }
@@ -21,6 +21,7 @@
 
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.Equals;
@@ -57,7 +58,7 @@ private Val equals(Val left, Val right) {
     }
 
     private boolean bothNumbersAreEqual(Val left, Val right) {
-        return left.decimalValue().compareTo(right.decimalValue()) == 0;
+        return NumericValues.compare(left.get(), right.get()) == 0;
     }
 
     private boolean bothValuesAreNumbers(Val left, Val right) {
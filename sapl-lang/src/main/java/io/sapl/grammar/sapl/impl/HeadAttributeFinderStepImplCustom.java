@@ -26,10 +26,12 @@
 import io.sapl.grammar.sapl.FilterStatement;
 import io.sapl.grammar.sapl.HeadAttributeFinderStep;
 import io.sapl.grammar.sapl.impl.util.FunctionUtil;
+import io.sapl.grammar.sapl.impl.util.LinkedAttributeFinder;
 import io.sapl.grammar.sapl.impl.util.TargetExpressionUtil;
 import io.sapl.interpreter.context.AuthorizationContext;
 import lombok.NonNull;
 import reactor.core.publisher.Flux;
+import reactor.util.context.ContextView;
 
 /**
  * Implements the application of a head attribute finder step to a previous
@@ -41,29 +43,47 @@ public class HeadAttributeFinderStepImplCustom extends HeadAttributeFinderStepIm
     private static final String UNDEFINED_VALUE_ERROR                     = "Undefined value handed over as parameter to policy information point";
     private static final String EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR        = "Attribute resolution error. Attributes not allowed in target.";
 
+    private volatile LinkedAttributeFinder linkedAttributeFinder;
+
     @Override
     public Flux<Val> apply(@NonNull Val parentValue) {
 
         return Flux.deferContextual(ctxView -> {
-            var attributeName = FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(), getImports(ctxView));
-
             if (parentValue.isError()) {
                 return Flux.just(parentValue.withTrace(HeadAttributeFinderStep.class, false,
-                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
             if (TargetExpressionUtil.isInTargetExpression(this)) {
                 return Flux.just(Val.error(EXTERNAL_ATTRIBUTE_IN_TARGET_ERROR).withTrace(HeadAttributeFinderStep.class,
-                        false, Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        false,
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
             if (parentValue.isUndefined()) {
                 return Flux.just(Val.error(UNDEFINED_VALUE_ERROR).withTrace(HeadAttributeFinderStep.class, false,
-                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName))));
+                        Map.of(Trace.PARENT_VALUE, parentValue, Trace.ATTRIBUTE, Val.of(attributeName(ctxView)))));
             }
-            return AuthorizationContext.getAttributeContext(ctxView).evaluateAttribute(attributeName, parentValue,
-                    getArguments(), AuthorizationContext.getVariables(ctxView)).take(1);
+            return link(ctxView).callSite().evaluate(parentValue, AuthorizationContext.getVariables(ctxView))
+                    .take(1);
         });
     }
 
+    private String attributeName(ContextView ctxView) {
+        return FunctionUtil.resolveAbsoluteFunctionName(getIdSteps(), getImports(ctxView));
+    }
+
+    /**
+     * Keeps the call site of the attribute finder between evaluations with the
+     * same attribute context and imports.
+     */
+    private LinkedAttributeFinder link(ContextView ctxView) {
+        var linked = linkedAttributeFinder;
+        if (linked == null || !linked.isLinkedWith(ctxView)) {
+            linked                = LinkedAttributeFinder.linkAttribute(ctxView, getIdSteps(), getArguments());
+            linkedAttributeFinder = linked;
+        }
+        return linked;
+    }
+
     @Override
     public Flux<Val> applyFilterStatement(@NonNull Val parentValue, int stepId, @NonNull FilterStatement statement) {
         return Val.errorFlux(ATTRIBUTE_FINDER_STEP_NOT_PERMITTED_ERROR);
@@ -21,6 +21,7 @@
 
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.Minus;
@@ -34,7 +35,7 @@ public Flux<Val> evaluate() {
     }
 
     private Val subtract(Val minuend, Val subtrahend) {
-        return Val.of(minuend.decimalValue().subtract(subtrahend.decimalValue())).withTrace(Minus.class, false,
+        return NumericValues.subtract(minuend, subtrahend).withTrace(Minus.class, false,
                 Map.of(Trace.MINUEND, minuend, Trace.SUBTRAHEND, subtrahend));
     }
 
@@ -21,6 +21,7 @@
 
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.MoreEquals;
@@ -40,7 +41,7 @@ public Flux<Val> evaluate() {
     }
 
     private Val moreOrEqual(Val left, Val right) {
-        return Val.of(left.decimalValue().compareTo(right.decimalValue()) >= 0).withTrace(MoreEquals.class, false,
+        return Val.of(NumericValues.compare(left.get(), right.get()) >= 0).withTrace(MoreEquals.class, false,
                 Map.of(Trace.LEFT, left, Trace.RIGHT, right));
     }
 
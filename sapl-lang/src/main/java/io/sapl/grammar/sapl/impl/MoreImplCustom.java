@@ -21,6 +21,7 @@
 
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.More;
@@ -41,7 +42,7 @@ public Flux<Val> evaluate() {
     }
 
     private Val moreThan(Val left, Val right) {
-        return Val.of(left.decimalValue().compareTo(right.decimalValue()) > 0).withTrace(More.class, false,
+        return Val.of(NumericValues.compare(left.get(), right.get()) > 0).withTrace(More.class, false,
                 Map.of(Trace.LEFT, left, Trace.RIGHT, right));
     }
 
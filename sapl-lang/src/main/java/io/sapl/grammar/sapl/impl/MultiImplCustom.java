@@ -21,6 +21,7 @@
 
 import java.util.Map;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.Multi;
@@ -34,7 +35,7 @@ public Flux<Val> evaluate() {
     }
 
     private Val multiply(Val left, Val right) {
-        return Val.of(left.decimalValue().multiply(right.decimalValue())).withTrace(Multi.class, false,
+        return NumericValues.multiply(left, right).withTrace(Multi.class, false,
                 Map.of(Trace.LEFT, left, Trace.RIGHT, right));
     }
 
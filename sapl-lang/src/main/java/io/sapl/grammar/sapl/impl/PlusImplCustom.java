@@ -23,6 +23,7 @@
 
 import com.fasterxml.jackson.databind.node.TextNode;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Trace;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.Plus;
@@ -39,7 +40,7 @@ public Flux<Val> evaluate() {
 
     private Val plus(Val left, Val right) {
         if (left.isNumber() && right.isNumber())
-            return Val.of(left.get().decimalValue().add(right.get().decimalValue())).withTrace(Plus.class, false,
+            return NumericValues.add(left, right).withTrace(Plus.class, false,
                     Map.of(Trace.LEFT, left, Trace.RIGHT, right));
 
         var lStr = left.orElse(UNDEFINED).asText();
@@ -35,12 +35,55 @@
 import io.sapl.grammar.sapl.impl.util.ImportsUtil;
 import io.sapl.grammar.sapl.impl.util.MatchingUtil;
 import io.sapl.interpreter.DocumentEvaluationResult;
+import io.sapl.interpreter.functions.FunctionContext;
+import io.sapl.interpreter.pip.AttributeContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
 public class SAPLImplCustom extends SAPLImpl {
 
+    private record ResolvedImports(AttributeContext attributeContext, long attributeGeneration,
+            FunctionContext functionContext, long functionGeneration, Map<String, String> imports) {
+        boolean resolvedWith(AttributeContext attributeContext, long attributeGeneration,
+                FunctionContext functionContext, long functionGeneration) {
+            return this.attributeContext == attributeContext && this.attributeGeneration == attributeGeneration
+                    && this.functionContext == functionContext && this.functionGeneration == functionGeneration;
+        }
+    }
+
+    private volatile ResolvedImports resolvedImports;
+
+    /**
+     * The imports only depend on the document and the libraries offered by the
+     * attribute and function context. Thus, they are resolved once and are only
+     * resolved again when the document is used with different contexts, e.g.,
+     * after a configuration change of the PDP, or when libraries have been loaded
+     * into the contexts since, see {@link AttributeContext#generation()}. Imports
+     * are not cached for contexts which do not track their generation.
+     *
+     * @param attributeContext the attribute context
+     * @param functionContext  the function context
+     * @return an immutable map from the imported names to the fully qualified
+     *         names
+     */
+    public Map<String, String> resolveImports(AttributeContext attributeContext, FunctionContext functionContext) {
+        var attributeGeneration = attributeContext.generation();
+        var functionGeneration  = functionContext.generation();
+        if (attributeGeneration < 0L || functionGeneration < 0L)
+            return ImportsUtil.resolveImports(this, attributeContext, functionContext);
+
+        var resolved = resolvedImports;
+        if (resolved != null
+                && resolved.resolvedWith(attributeContext, attributeGeneration, functionContext, functionGeneration))
+            return resolved.imports();
+
+        var imports = ImportsUtil.resolveImports(this, attributeContext, functionContext);
+        resolvedImports = new ResolvedImports(attributeContext, attributeGeneration, functionContext,
+                functionGeneration, imports);
+        return imports;
+    }
+
     @Override
     public Mono<Val> matches() {
         // this does not use the implicit expression to not disrupt hit recording with
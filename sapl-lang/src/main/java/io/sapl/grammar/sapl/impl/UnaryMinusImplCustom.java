@@ -19,6 +19,7 @@
 
 import static io.sapl.grammar.sapl.impl.util.OperatorUtil.arithmeticOperator;
 
+import io.sapl.api.interpreter.NumericValues;
 import io.sapl.api.interpreter.Val;
 import io.sapl.grammar.sapl.UnaryMinus;
 import reactor.core.publisher.Flux;
@@ -31,7 +32,7 @@ public Flux<Val> evaluate() {
     }
 
     private Val negate(Val value) {
-        return Val.of(value.decimalValue().negate()).withTrace(UnaryMinus.class, true, value);
+        return NumericValues.negate(value).withTrace(UnaryMinus.class, true, value);
     }
 
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.grammar.sapl.impl.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.sapl.api.interpreter.NumericValues;
+
+/**
+ * A JSON array as a hash set for membership checks with the semantics of the
+ * 'in' operator, i.e., numbers are compared by their numeric value and all
+ * other values by equality of the JSON values.
+ */
+public final class HashedArray {
+
+    private final Set<Object> elements;
+
+    private HashedArray(Set<Object> elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * @param array a JSON array
+     * @return the array as a hash set
+     */
+    public static HashedArray of(JsonNode array) {
+        var elements = new HashSet<Object>((int) (array.size() / .75F) + 1);
+        for (var element : array) {
+            elements.add(key(element));
+        }
+        return new HashedArray(elements);
+    }
+
+    /**
+     * @param needle a JSON value
+     * @return true, if the array contains the value
+     */
+    public boolean contains(JsonNode needle) {
+        return elements.contains(key(needle));
+    }
+
+    /**
+     * @return the number of distinct elements of the array
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    private static Object key(JsonNode value) {
+        return value.isNumber() ? NumericValues.normalized(value) : value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        return obj instanceof HashedArray other && elements.equals(other.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return elements.hashCode();
+    }
+
+}
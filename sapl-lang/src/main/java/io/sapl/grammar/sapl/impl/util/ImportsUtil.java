@@ -27,6 +27,7 @@
 import io.sapl.grammar.sapl.LibraryImport;
 import io.sapl.grammar.sapl.SAPL;
 import io.sapl.grammar.sapl.WildcardImport;
+import io.sapl.grammar.sapl.impl.SAPLImplCustom;
 import io.sapl.interpreter.context.AuthorizationContext;
 import io.sapl.interpreter.functions.FunctionContext;
 import io.sapl.interpreter.pip.AttributeContext;
@@ -58,13 +59,41 @@ private static Map<String, String> fetchImportsFromParents(EObject startNode, At
         return fetchImportsFromParents(startNode.eContainer(), attributeContext, functionContext);
     }
 
+    /**
+     * Returns the imports of a document. The imports of a parsed document are
+     * resolved once per attribute and function context and are cached in the
+     * document.
+     *
+     * @param sapl             a SAPL document
+     * @param attributeContext the attribute context
+     * @param functionContext  the function context
+     * @return an immutable map from the imported names to the fully qualified
+     *         names
+     */
     public static Map<String, String> fetchImports(SAPL sapl, AttributeContext attributeContext,
             FunctionContext functionContext) {
+        if (sapl instanceof SAPLImplCustom document)
+            return document.resolveImports(attributeContext, functionContext);
+
+        return resolveImports(sapl, attributeContext, functionContext);
+    }
+
+    /**
+     * Resolves the imports of a document without caching.
+     *
+     * @param sapl             a SAPL document
+     * @param attributeContext the attribute context
+     * @param functionContext  the function context
+     * @return an immutable map from the imported names to the fully qualified
+     *         names
+     */
+    public static Map<String, String> resolveImports(SAPL sapl, AttributeContext attributeContext,
+            FunctionContext functionContext) {
         var imports = new HashMap<String, String>();
         for (var anImport : sapl.getImports()) {
             addImport(anImport, imports, attributeContext, functionContext);
         }
-        return imports;
+        return Map.copyOf(imports);
     }
 
     private static void addImport(Import anImport, Map<String, String> imports, AttributeContext attributeContext,
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.grammar.sapl.impl.util;
+
+import java.util.Map;
+
+import io.sapl.grammar.sapl.Arguments;
+import io.sapl.interpreter.context.AuthorizationContext;
+import io.sapl.interpreter.pip.AttributeContext;
+import io.sapl.interpreter.pip.AttributeFinderCallSite;
+import reactor.util.context.ContextView;
+
+/**
+ * The call site of an attribute finder step or environment attribute, together
+ * with the attribute context and imports it has been bound with. The fully
+ * qualified attribute name only depends on the imports, so the call site stays
+ * valid for as long as the expression is evaluated with the same attribute
+ * context and imports.
+ *
+ * @param attributeContext the attribute context the call site was bound with
+ * @param imports          the imports the attribute name was resolved with
+ * @param callSite         the call site of the attribute finder
+ */
+public record LinkedAttributeFinder(AttributeContext attributeContext, Map<String, String> imports,
+        AttributeFinderCallSite callSite) {
+
+    /**
+     * @param ctx the evaluation context
+     * @return true, if the call site is bound to the attribute context and imports
+     *         of the evaluation context
+     */
+    public boolean isLinkedWith(ContextView ctx) {
+        return attributeContext == AuthorizationContext.getAttributeContext(ctx)
+                && imports == AuthorizationContext.getImports(ctx);
+    }
+
+    /**
+     * Binds an attribute finder step to the attribute context of the evaluation
+     * context.
+     *
+     * @param ctx       the evaluation context
+     * @param idSteps   the steps of the attribute name
+     * @param arguments the arguments of the attribute finder step
+     * @return the linked attribute finder
+     */
+    public static LinkedAttributeFinder linkAttribute(ContextView ctx, Iterable<String> idSteps,
+            Arguments arguments) {
+        var attributeContext = AuthorizationContext.getAttributeContext(ctx);
+        var imports          = AuthorizationContext.getImports(ctx);
+        var attributeName    = FunctionUtil.resolveAbsoluteFunctionName(idSteps, imports);
+        return new LinkedAttributeFinder(attributeContext, imports,
+                attributeContext.bindAttribute(attributeName, arguments));
+    }
+
+    /**
+     * Binds an environment attribute to the attribute context of the evaluation
+     * context.
+     *
+     * @param ctx       the evaluation context
+     * @param idSteps   the steps of the attribute name
+     * @param arguments the arguments of the attribute
+     * @return the linked environment attribute finder
+     */
+    public static LinkedAttributeFinder linkEnvironmentAttribute(ContextView ctx, Iterable<String> idSteps,
+            Arguments arguments) {
+        var attributeContext = AuthorizationContext.getAttributeContext(ctx);
+        var imports          = AuthorizationContext.getImports(ctx);
+        var attributeName    = FunctionUtil.resolveAbsoluteFunctionName(idSteps, imports);
+        return new LinkedAttributeFinder(attributeContext, imports,
+                attributeContext.bindEnvironmentAttribute(attributeName, arguments));
+    }
+
+}
@@ -29,6 +29,7 @@
 import io.sapl.grammar.sapl.PolicyElement;
 import io.sapl.interpreter.CombinedDecision;
 import io.sapl.interpreter.DocumentEvaluationResult;
+import io.sapl.interpreter.context.AuthorizationContext;
 import io.sapl.prp.MatchingDocument;
 import lombok.experimental.UtilityClass;
 import reactor.core.publisher.Flux;
@@ -57,12 +58,22 @@ public static Flux<CombinedDecision> eagerlyCombinePolicyElements(
                 .apply(Arrays.copyOf(decisionObjects, decisionObjects.length, DocumentEvaluationResult[].class)));
     }
 
+    /*
+     * The decisions of the matching documents are combined whenever one of them
+     * emits. Emissions only changing the traces of a document, e.g., due to an
+     * attribute update not affecting its decision, do not change the combined
+     * authorization decision. Thus, if the consumer does not read the traces, they
+     * are dropped before triggering the combination of all documents.
+     */
     private static List<Flux<DocumentEvaluationResult>> eagerMatchingDocumentsDecisionFluxes(
             Collection<MatchingDocument> matchingDocuments) {
         var documentDecisions = new ArrayList<Flux<DocumentEvaluationResult>>(matchingDocuments.size());
         for (var matchingDocument : matchingDocuments) {
-            documentDecisions.add(matchingDocument.document().sapl().getPolicyElement().evaluate()
-                    .map(result -> result.withTargetResult(matchingDocument.targetExpressionResult())));
+            var results = matchingDocument.document().sapl().getPolicyElement().evaluate()
+                    .map(result -> result.withTargetResult(matchingDocument.targetExpressionResult()));
+            documentDecisions.add(Flux.deferContextual(ctx -> AuthorizationContext.isDecisionOnly(ctx)
+                    ? results.distinctUntilChanged(result -> DecisionKey.of(result.getAuthorizationDecision()))
+                    : results));
         }
         return documentDecisions;
     }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.combinators;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+
+/**
+ * Key for detecting repeated authorization decisions in streams. The
+ * structural hash of the decision is calculated once, when the key is created.
+ * Thus, comparing a new decision with the previous one costs one hash
+ * calculation, and a deep comparison only happens if the hashes are equal.
+ *
+ * @param decision an authorization decision
+ * @param hash     the hash code of the decision
+ */
+public record DecisionKey(AuthorizationDecision decision, int hash) {
+
+    /**
+     * @param decision an authorization decision
+     * @return the key of the decision
+     */
+    public static DecisionKey of(AuthorizationDecision decision) {
+        return new DecisionKey(decision, decision.hashCode());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof DecisionKey otherKey) || hash != otherKey.hash)
+            return false;
+        return decision == otherKey.decision || decision.equals(otherKey.decision);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
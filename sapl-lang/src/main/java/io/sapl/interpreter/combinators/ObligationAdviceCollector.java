@@ -31,17 +31,14 @@ public class ObligationAdviceCollector {
 
     private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
 
+    /*
+     * The arrays are only created when the first constraint for a decision is
+     * registered, as most decisions do not carry any constraints.
+     */
     final Map<Decision, ArrayNode> obligations = new EnumMap<>(Decision.class);
 
     final Map<Decision, ArrayNode> advice = new EnumMap<>(Decision.class);
 
-    public ObligationAdviceCollector() {
-        obligations.put(Decision.DENY, JSON.arrayNode());
-        obligations.put(Decision.PERMIT, JSON.arrayNode());
-        advice.put(Decision.DENY, JSON.arrayNode());
-        advice.put(Decision.PERMIT, JSON.arrayNode());
-    }
-
     public void registerDecisionsObligationsAndAdvice(AuthorizationDecision authzDecision) {
         if (authzDecision.getDecision() != Decision.PERMIT && authzDecision.getDecision() != Decision.DENY)
             return;
@@ -50,12 +47,13 @@ public void registerDecisionsObligationsAndAdvice(AuthorizationDecision authzDec
     }
 
     private void registerAdviceIfPresent(AuthorizationDecision authzDecision) {
-        authzDecision.getAdvice().ifPresent(newAdvice -> advice.get(authzDecision.getDecision()).addAll(newAdvice));
+        authzDecision.getAdvice().ifPresent(newAdvice -> advice
+                .computeIfAbsent(authzDecision.getDecision(), decision -> JSON.arrayNode()).addAll(newAdvice));
     }
 
     private void registerObligationIfPresent(AuthorizationDecision authzDecision) {
-        authzDecision.getObligations()
-                .ifPresent(newObligations -> obligations.get(authzDecision.getDecision()).addAll(newObligations));
+        authzDecision.getObligations().ifPresent(newObligations -> obligations
+                .computeIfAbsent(authzDecision.getDecision(), decision -> JSON.arrayNode()).addAll(newObligations));
     }
 
     public void add(AuthorizationDecision authzDecision) {
@@ -63,15 +61,17 @@ public void add(AuthorizationDecision authzDecision) {
     }
 
     public Optional<ArrayNode> getObligations(Decision decision) {
-        if ((decision == Decision.PERMIT || decision == Decision.DENY) && !obligations.get(decision).isEmpty())
-            return Optional.of(obligations.get(decision));
-        return Optional.empty();
+        return nonEmpty(obligations.get(decision));
     }
 
     public Optional<ArrayNode> getAdvice(Decision decision) {
-        if ((decision == Decision.PERMIT || decision == Decision.DENY) && !advice.get(decision).isEmpty())
-            return Optional.of(advice.get(decision));
-        return Optional.empty();
+        return nonEmpty(advice.get(decision));
+    }
+
+    private static Optional<ArrayNode> nonEmpty(ArrayNode constraints) {
+        if (constraints == null || constraints.isEmpty())
+            return Optional.empty();
+        return Optional.of(constraints);
     }
 
 }
@@ -17,11 +17,17 @@
  */
 package io.sapl.interpreter.context;
 
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.api.interpreter.Val;
@@ -49,6 +55,9 @@ public class AuthorizationContext {
     private static final String RESOURCE      = "resource";
     private static final String ENVIRONMENT   = "environment";
     private static final String RELATIVE_NODE = "relativeNode";
+    private static final String DECISION_ONLY = "decisionOnly";
+
+    private static final List<String> SUBSCRIPTION_VARIABLE_NAMES = List.of(SUBJECT, ACTION, RESOURCE, ENVIRONMENT);
 
     public static Map<String, String> getImports(ContextView ctx) {
         return ctx.getOrDefault(IMPORTS, Collections.emptyMap());
@@ -87,12 +96,15 @@ public Context setAttributeContext(Context ctx, AttributeContext attributeContex
     }
 
     public static Context setVariables(@NonNull Context ctx, Map<String, Val> environmentVariables) {
-        Map<String, Val> variables = new HashMap<>(ctx.getOrDefault(VARIABLES, new HashMap<>()));
-        for (var variable : environmentVariables.entrySet()) {
-            var name = variable.getKey();
+        for (var name : environmentVariables.keySet()) {
             assertVariableNameNotReserved(name);
-            variables.put(name, variable.getValue());
         }
+        Map<String, Val> existingVariables = ctx.getOrDefault(VARIABLES, null);
+        if (existingVariables == null || existingVariables.isEmpty()) {
+            return ctx.put(VARIABLES, Map.copyOf(environmentVariables));
+        }
+        Map<String, Val> variables = new HashMap<>(existingVariables);
+        variables.putAll(environmentVariables);
         return ctx.put(VARIABLES, variables);
     }
 
@@ -102,7 +114,7 @@ public Context setVariable(@NonNull Context ctx, String name, Val value) {
         if (value.isError())
             throw new PolicyEvaluationException(value.getMessage());
 
-        Map<String, Val> variables = new HashMap<>(ctx.getOrDefault(VARIABLES, new HashMap<>()));
+        Map<String, Val> variables = new HashMap<>(ctx.getOrDefault(VARIABLES, Map.of()));
 
         if (value.isUndefined())
             variables.remove(name);
@@ -117,16 +129,18 @@ private void assertVariableNameNotReserved(String name) {
         }
     }
 
+    /**
+     * Adds the subject, action, resource and environment of the subscription to
+     * the variables. The variables already in the context are not copied, and the
+     * values of the subscription are only wrapped when they are accessed.
+     *
+     * @param ctx                       a context
+     * @param authorizationSubscription an authorization subscription
+     * @return the context with the subscription variables
+     */
     public Context setSubscriptionVariables(@NonNull Context ctx, AuthorizationSubscription authorizationSubscription) {
-
-        Map<String, Val> variables = new HashMap<>(
-                Objects.requireNonNull(ctx.getOrDefault(VARIABLES, new HashMap<>())));
-
-        variables.put(SUBJECT, Val.of(authorizationSubscription.getSubject()));
-        variables.put(ACTION, Val.of(authorizationSubscription.getAction()));
-        variables.put(RESOURCE, Val.of(authorizationSubscription.getResource()));
-        variables.put(ENVIRONMENT, Val.of(authorizationSubscription.getEnvironment()));
-        return ctx.put(VARIABLES, variables);
+        Map<String, Val> variables = Objects.requireNonNull(ctx.getOrDefault(VARIABLES, Map.of()));
+        return ctx.put(VARIABLES, new SubscriptionVariables(variables, authorizationSubscription));
     }
 
     @SuppressWarnings("unchecked")
@@ -163,4 +177,95 @@ public Context setImports(Context ctx, Map<String, String> imports) {
         return ctx.put(IMPORTS, imports);
     }
 
+    /**
+     * Marks an evaluation whose consumer only reads the authorization decisions
+     * and not their traces. Then, emissions only changing traces may be dropped.
+     *
+     * @param ctx a context
+     * @return the context of an evaluation only interested in decisions
+     */
+    public Context setDecisionOnly(Context ctx) {
+        return ctx.put(DECISION_ONLY, Boolean.TRUE);
+    }
+
+    public static boolean isDecisionOnly(ContextView ctx) {
+        return ctx.getOrDefault(DECISION_ONLY, Boolean.FALSE);
+    }
+
+    /**
+     * Read-only view of variables overlaid with the variables of an authorization
+     * subscription. Copying the view, e.g., when setting another variable, wraps
+     * the values of the subscription and builds the entries at most once.
+     */
+    private static final class SubscriptionVariables extends AbstractMap<String, Val> {
+
+        private final Map<String, Val>          variables;
+        private final JsonNode[]                subscriptionValues;
+        private final AtomicReferenceArray<Val> subscriptionVariables;
+
+        private volatile Set<Entry<String, Val>> entries;
+
+        private SubscriptionVariables(Map<String, Val> variables, AuthorizationSubscription subscription) {
+            this.variables             = variables;
+            this.subscriptionValues    = new JsonNode[] { subscription.getSubject(), subscription.getAction(),
+                    subscription.getResource(), subscription.getEnvironment() };
+            this.subscriptionVariables = new AtomicReferenceArray<>(SUBSCRIPTION_VARIABLE_NAMES.size());
+        }
+
+        @Override
+        public Val get(Object name) {
+            var index = subscriptionVariableIndex(name);
+            if (index >= 0)
+                return subscriptionVariable(index);
+            return variables.get(name);
+        }
+
+        @Override
+        public boolean containsKey(Object name) {
+            return subscriptionVariableIndex(name) >= 0 || variables.containsKey(name);
+        }
+
+        @Override
+        public int size() {
+            var size = variables.size();
+            for (var name : SUBSCRIPTION_VARIABLE_NAMES) {
+                if (!variables.containsKey(name))
+                    size++;
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, Val>> entrySet() {
+            var value = entries;
+            if (value == null) {
+                var copy = new HashMap<>(variables);
+                for (var index = 0; index < SUBSCRIPTION_VARIABLE_NAMES.size(); index++) {
+                    copy.put(SUBSCRIPTION_VARIABLE_NAMES.get(index), subscriptionVariable(index));
+                }
+                value   = Collections.unmodifiableMap(copy).entrySet();
+                entries = value;
+            }
+            return value;
+        }
+
+        private static int subscriptionVariableIndex(Object name) {
+            return name instanceof String ? SUBSCRIPTION_VARIABLE_NAMES.indexOf(name) : -1;
+        }
+
+        /**
+         * Wraps the value of the subscription variable at the index of
+         * SUBSCRIPTION_VARIABLE_NAMES on first access.
+         */
+        private Val subscriptionVariable(int index) {
+            var value = subscriptionVariables.get(index);
+            if (value == null) {
+                value = Val.of(subscriptionValues[index]);
+                subscriptionVariables.set(index, value);
+            }
+            return value;
+        }
+
+    }
+
 }
@@ -17,9 +17,12 @@
  */
 package io.sapl.interpreter.functions;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,6 +33,8 @@
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -44,6 +49,7 @@
 import io.sapl.interpreter.pip.LibraryEntryMetadata;
 import io.sapl.interpreter.validation.IllegalParameterType;
 import io.sapl.interpreter.validation.ParameterTypeValidator;
+import io.sapl.interpreter.validation.ParameterValidator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -54,6 +60,7 @@
 @NoArgsConstructor
 public class AnnotationFunctionContext implements FunctionContext {
 
+    private static final String FUNCTION_NAME                                  = "functionName";
     private static final int    VAR_ARGS                                       = -1;
     private static final String UNKNOWN_FUNCTION_ERROR                         = "Unknown function %s";
     private static final String ILLEGAL_NUMBER_OF_PARAMETERS_ERROR             = "Illegal number of parameters. Function expected %d but got %d";
@@ -62,9 +69,14 @@ public class AnnotationFunctionContext implements FunctionContext {
     private static final String ILLEGAL_RETURN_TYPE_FOR_IMPORT_ERROR           = "Function does not return a Val. Cannot be loaded. Type was: %s.";
     private static final String MULTIPLE_SCHEMA_ANNOTATIONS_NOT_ALLOWED        = "Function has both a schema and a schemaPath annotation. Multiple schema annotations are not allowed.";
 
+    private static final String[] PARAMETER_NAMES = IntStream.range(0, 16).mapToObj(i -> "parameter[" + i + "]")
+            .toArray(String[]::new);
+
     private final Collection<LibraryDocumentation> documentation = new ConcurrentLinkedQueue<>();
     private final Map<String, FunctionMetadata>    functions     = new ConcurrentHashMap<>();
+    private final Map<String, LinkedFunction>      callSites     = new ConcurrentHashMap<>();
     private final Map<String, Collection<String>>  libraries     = new ConcurrentHashMap<>();
+    private final AtomicLong                       generation    = new AtomicLong();
 
     private List<String> codeTemplateCache;
 
@@ -110,61 +122,51 @@ public final void loadLibraries(FunctionLibrarySupplier librariesSupplier) throw
 
     @Override
     public Val evaluate(String function, Val... parameters) {
-        var functionTrace = new ExpressionArgument[parameters.length + 1];
-        functionTrace[0] = new ExpressionArgument("functionName", Val.of(function));
-        for (var parameter = 0; parameter < parameters.length; parameter++) {
-            functionTrace[parameter + 1] = new ExpressionArgument("parameter[" + parameter + "]",
-                    parameters[parameter]);
-        }
-        var metadata = functions.get(function);
-        if (metadata == null)
-            return Val.error(UNKNOWN_FUNCTION_ERROR, function).withTrace(FunctionContext.class, false, functionTrace);
-
-        var funParams = metadata.getFunction().getParameters();
-
-        if (metadata.isVarArgsParameters()) {
-            return evaluateVarArgsFunction(metadata, funParams, parameters).withTrace(FunctionContext.class, false,
-                    functionTrace);
-        }
-        if (metadata.getNumberOfParameters() == parameters.length) {
-            return evaluateFixedParametersFunction(metadata, funParams, parameters).withTrace(FunctionContext.class,
-                    false, functionTrace);
-        }
-        return Val.error(ILLEGAL_NUMBER_OF_PARAMETERS_ERROR, metadata.getNumberOfParameters(), parameters.length)
-                .withTrace(FunctionContext.class, false, functionTrace);
+        return bind(function).evaluate(parameters);
     }
 
-    private Val evaluateFixedParametersFunction(FunctionMetadata metadata, Parameter[] funParams, Val... parameters) {
-        for (int i = 0; i < parameters.length; i++) {
-            try {
-                ParameterTypeValidator.validateType(parameters[i], funParams[i]);
-            } catch (IllegalParameterType e) {
-                return Val.error(e);
-            }
-        }
-        return invokeFunction(metadata, (Object[]) parameters);
+    /**
+     * Returns the call site of a function. The call sites of loaded functions are
+     * linked when the library is loaded, i.e., the method handle of the function
+     * and the validators of its parameters are only created once.
+     *
+     * @param function the fully qualified function name
+     * @return a call site for the function
+     */
+    @Override
+    public FunctionCallSite bind(String function) {
+        var callSite = callSites.get(function);
+        if (callSite != null)
+            return callSite;
+
+        return parameters -> {
+            var loadedCallSite = callSites.get(function);
+            if (loadedCallSite != null)
+                return loadedCallSite.evaluate(parameters);
+
+            return Val.error(UNKNOWN_FUNCTION_ERROR, function).withTrace(FunctionContext.class, false,
+                    functionTrace(new ExpressionArgument(FUNCTION_NAME, Val.of(function)), parameters));
+        };
     }
 
-    private Val evaluateVarArgsFunction(FunctionMetadata metadata, Parameter[] funParams, Val... parameters) {
-        for (Val parameter : parameters) {
-            try {
-                ParameterTypeValidator.validateType(parameter, funParams[0]);
-            } catch (IllegalParameterType e) {
-                return Val.error(e);
-            }
+    private static ExpressionArgument[] functionTrace(ExpressionArgument functionName, Val... parameters) {
+        var functionTrace = new ExpressionArgument[parameters.length + 1];
+        functionTrace[0] = functionName;
+        for (var parameter = 0; parameter < parameters.length; parameter++) {
+            functionTrace[parameter + 1] = new ExpressionArgument(parameterName(parameter), parameters[parameter]);
         }
-        return invokeFunction(metadata, (Object[]) new Object[] { parameters });
+        return functionTrace;
     }
 
-    private Val invokeFunction(FunctionMetadata metadata, Object... parameters) {
-        try {
-            return (Val) metadata.getFunction().invoke(metadata.getLibrary(), parameters);
-        } catch (Throwable e) {
-            return invocationExceptionToError(e, metadata, parameters);
-        }
+    private static String parameterName(int parameter) {
+        if (parameter < PARAMETER_NAMES.length)
+            return PARAMETER_NAMES[parameter];
+
+        return "parameter[" + parameter + "]";
     }
 
-    private Val invocationExceptionToError(Throwable e, LibraryEntryMetadata metadata, Object... parameters) {
+    private static Val invocationExceptionToError(Throwable e, LibraryEntryMetadata metadata,
+            Object... parameters) {
         var params = new StringBuilder();
         for (var i = 0; i < parameters.length; i++) {
             params.append(parameters[i]);
@@ -190,6 +192,19 @@ public final void loadLibrary(Class<?> libraryType) throws InitializationExcepti
     }
 
     public final void loadLibrary(Object library, Class<?> libraryType) throws InitializationException {
+        try {
+            importLibrary(library, libraryType);
+        } finally {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    private void importLibrary(Object library, Class<?> libraryType) throws InitializationException {
         var libAnnotation = libraryType.getAnnotation(FunctionLibrary.class);
 
         if (libAnnotation == null) {
@@ -252,6 +267,7 @@ private void importFunction(Object library, String libName, LibraryDocumentation
 
         var funMeta = new FunctionMetadata(libName, funName, processedSchemaDefinition, library, parameters, method);
         functions.put(funMeta.fullyQualifiedName(), funMeta);
+        callSites.put(funMeta.fullyQualifiedName(), new LinkedFunction(funMeta));
         libMeta.documentation.put(funMeta.getDocumentationCodeTemplate(), funAnnotation.docs());
 
         libraries.get(libName).add(funName);
@@ -285,6 +301,77 @@ public Collection<String> providedFunctionsOfLibrary(String libraryName) {
             return new HashSet<>();
     }
 
+    /**
+     * Call site of a loaded function. The parameters are validated with the
+     * validators compiled from the parameter annotations and the function is
+     * invoked by a method handle of the type {@code (Val[])Val}.
+     */
+    private static final class LinkedFunction implements FunctionCallSite {
+
+        private final FunctionMetadata     metadata;
+        private final ExpressionArgument   functionName;
+        private final ParameterValidator[] validators;
+        private final MethodHandle         invoker;
+
+        LinkedFunction(FunctionMetadata metadata) {
+            var method = metadata.getFunction();
+            this.metadata     = metadata;
+            this.functionName = new ExpressionArgument(FUNCTION_NAME, Val.of(metadata.fullyQualifiedName()));
+            this.validators   = Arrays.stream(method.getParameters()).map(ParameterTypeValidator::validatorFor)
+                    .toArray(ParameterValidator[]::new);
+            this.invoker      = invoker(metadata.getLibrary(), method, metadata.getNumberOfParameters());
+        }
+
+        @Override
+        public Val evaluate(Val... parameters) {
+            return invoke(parameters).withTrace(FunctionContext.class, false, functionTrace(functionName, parameters));
+        }
+
+        private Val invoke(Val... parameters) {
+            try {
+                if (metadata.isVarArgsParameters()) {
+                    for (var parameter : parameters)
+                        validators[0].validate(parameter);
+                } else if (metadata.getNumberOfParameters() == parameters.length) {
+                    for (var i = 0; i < parameters.length; i++)
+                        validators[i].validate(parameters[i]);
+                } else {
+                    return Val.error(ILLEGAL_NUMBER_OF_PARAMETERS_ERROR, metadata.getNumberOfParameters(),
+                            parameters.length);
+                }
+            } catch (IllegalParameterType e) {
+                return Val.error(e);
+            }
+
+            try {
+                return (Val) invoker.invokeExact(parameters);
+            } catch (Throwable e) {
+                var arguments = metadata.isVarArgsParameters() ? new Object[] { parameters } : (Object[]) parameters;
+                return invocationExceptionToError(e, metadata, arguments);
+            }
+        }
+
+        private static MethodHandle invoker(Object library, Method method, int numberOfParameters) {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            } catch (IllegalAccessException e) {
+                var failure = MethodHandles.throwException(Val.class, IllegalAccessException.class).bindTo(e);
+                return MethodHandles.dropArguments(failure, 0, Val[].class);
+            }
+
+            if (!Modifier.isStatic(method.getModifiers()))
+                handle = handle.bindTo(library);
+
+            if (numberOfParameters == VAR_ARGS)
+                return handle.asType(MethodType.methodType(Val.class, Val[].class));
+
+            return handle.asType(MethodType.methodType(Val.class, Collections.nCopies(numberOfParameters, Val.class)))
+                    .asSpreader(Val[].class, numberOfParameters);
+        }
+
+    }
+
     /**
      * Metadata for individual functions.
      */
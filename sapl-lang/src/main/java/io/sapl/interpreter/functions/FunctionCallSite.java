@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.functions;
+
+import io.sapl.api.interpreter.Val;
+
+/**
+ * A function of a {@link FunctionContext} bound to its fully qualified name.
+ * Policy expressions keep the call site to skip the name lookup on repeated
+ * evaluations.
+ */
+@FunctionalInterface
+public interface FunctionCallSite {
+
+    /**
+     * @param parameters the function parameters
+     * @return the result of the function, or an error
+     */
+    Val evaluate(Val... parameters);
+
+}
@@ -30,6 +30,17 @@ public interface FunctionContext extends LibraryFunctionProvider {
 
     Val evaluate(String function, Val... parameters);
 
+    /**
+     * Binds a function to a call site. Evaluating the call site is equivalent to
+     * calling {@link #evaluate(String, Val...)} with the function name.
+     *
+     * @param function the fully qualified function name
+     * @return a call site for the function
+     */
+    default FunctionCallSite bind(String function) {
+        return parameters -> evaluate(function, parameters);
+    }
+
     Collection<LibraryDocumentation> getDocumentation();
 
     List<String> getCodeTemplates();
@@ -17,26 +17,23 @@
  */
 package io.sapl.interpreter.pip;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
-import org.reactivestreams.Publisher;
-
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.sapl.api.interpreter.Val;
@@ -49,6 +46,7 @@
 import io.sapl.interpreter.InitializationException;
 import io.sapl.interpreter.SchemaLoadingUtil;
 import io.sapl.interpreter.validation.ParameterTypeValidator;
+import io.sapl.interpreter.validation.ParameterValidator;
 import lombok.NoArgsConstructor;
 import reactor.core.publisher.Flux;
 
@@ -72,8 +70,12 @@ public class AnnotationAttributeContext implements AttributeContext {
 
     private final Map<String, Collection<AttributeFinderMetadata>> attributeMetadataByAttributeName = new HashMap<>();
 
+    private final Map<AttributeFinderMetadata, AttributeFinderInvoker> invokers = new IdentityHashMap<>();
+
     private final Collection<PolicyInformationPointDocumentation> pipDocumentations = new LinkedList<>();
 
+    private final AtomicLong generation = new AtomicLong();
+
     private List<String> functionsCache;
 
     private List<String> templatesCacheEnvironment;
@@ -124,27 +126,60 @@ public final void loadPolicyInformationPoints(PolicyInformationPointSupplier pip
     @Override
     public Flux<Val> evaluateAttribute(String attributeName, Val leftHandValue, Arguments arguments,
             Map<String, Val> variables) {
-        var attributeMetadata = lookupAttribute(attributeName, numberOfArguments(arguments), false);
-        if (attributeMetadata == null)
-            return Flux.just(Val.error(UNKNOWN_ATTRIBUTE_ERROR, attributeName));
-        return evaluateAttribute(attributeName, attributeMetadata, leftHandValue, arguments, variables);
+        return bindAttribute(attributeName, arguments).evaluate(leftHandValue, variables);
     }
 
     @Override
     public Flux<Val> evaluateEnvironmentAttribute(String attributeName, Arguments arguments,
             Map<String, Val> variables) {
-        var attributeMetadata = lookupAttribute(attributeName, numberOfArguments(arguments), true);
-        if (attributeMetadata == null)
-            return Flux.just(Val.error(UNKNOWN_ATTRIBUTE_ERROR, attributeName));
-        return evaluateEnvironmentAttribute(attributeName, attributeMetadata, arguments, variables);
+        return bindEnvironmentAttribute(attributeName, arguments).evaluate(Val.UNDEFINED, variables);
+    }
+
+    /**
+     * Looks up the attribute finder matching the name and number of arguments of
+     * an attribute finder step once. The returned call site directly invokes the
+     * linked attribute finder method.
+     *
+     * @param attributeName the fully qualified attribute name
+     * @param arguments     the arguments of the attribute finder step
+     * @return a call site for the attribute finder
+     */
+    @Override
+    public AttributeFinderCallSite bindAttribute(String attributeName, Arguments arguments) {
+        return bind(attributeName, arguments, false);
     }
 
-    private Flux<Val> evaluateEnvironmentAttribute(String attributeName, AttributeFinderMetadata attributeMetadata,
-            Arguments arguments, Map<String, Val> variables) {
-        var pip    = attributeMetadata.getPolicyInformationPoint();
-        var method = attributeMetadata.getFunction();
-        return attributeFinderArguments(attributeMetadata, arguments, variables)
-                .switchMap(invokeAttributeFinderMethod(attributeName, pip, method));
+    /**
+     * Looks up the environment attribute finder matching the name and number of
+     * arguments of an attribute once. The returned call site directly invokes the
+     * linked attribute finder method.
+     *
+     * @param attributeName the fully qualified attribute name
+     * @param arguments     the arguments of the attribute
+     * @return a call site for the environment attribute finder
+     */
+    @Override
+    public AttributeFinderCallSite bindEnvironmentAttribute(String attributeName, Arguments arguments) {
+        return bind(attributeName, arguments, true);
+    }
+
+    private AttributeFinderCallSite bind(String attributeName, Arguments arguments, boolean environmentAttribute) {
+        var attributeMetadata = lookupAttribute(attributeName, numberOfArguments(arguments), environmentAttribute);
+        if (attributeMetadata == null)
+            return (leftHandValue, variables) -> {
+                if (lookupAttribute(attributeName, numberOfArguments(arguments), environmentAttribute) == null)
+                    return Flux.just(Val.error(UNKNOWN_ATTRIBUTE_ERROR, attributeName));
+
+                return bind(attributeName, arguments, environmentAttribute).evaluate(leftHandValue, variables);
+            };
+
+        var invoker = invokers.get(attributeMetadata);
+        if (environmentAttribute)
+            return (leftHandValue, variables) -> attributeFinderArguments(attributeMetadata, invoker, arguments,
+                    variables).switchMap(invoker::invoke);
+
+        return (leftHandValue, variables) -> attributeFinderArguments(attributeMetadata, invoker, leftHandValue,
+                arguments, variables).switchMap(invoker::invoke);
     }
 
     private AttributeFinderMetadata lookupAttribute(String attributeName, int numberOfParameters,
@@ -164,41 +199,8 @@ else if (candidate.numberOfParameters == numberOfParameters)
         return varArgsMatch;
     }
 
-    private Flux<Val> evaluateAttribute(String attributeName, AttributeFinderMetadata attributeMetadata,
-            Val leftHandValue, Arguments arguments, Map<String, Val> variables) {
-
-        var pip    = attributeMetadata.getPolicyInformationPoint();
-        var method = attributeMetadata.getFunction();
-
-        return attributeFinderArguments(attributeMetadata, leftHandValue, arguments, variables)
-                .switchMap(invokeAttributeFinderMethod(attributeName, pip, method));
-    }
-
-    @SuppressWarnings("unchecked")
-    private Function<Object[], Publisher<? extends Val>> invokeAttributeFinderMethod(String attributeName, Object pip,
-            Method method) {
-        return invocationParameters -> {
-            try {
-                return ((Flux<Val>) method.invoke(pip, invocationParameters)).map(val -> {
-                    var trace = new HashMap<String, Val>();
-                    trace.put("attribute", Val.of(attributeName));
-                    for (int i = 0; i < invocationParameters.length; i++) {
-                        if (invocationParameters[i] instanceof Val)
-                            trace.put("argument[" + i + "]", (Val) (invocationParameters[i]));
-                        if (invocationParameters[i] instanceof Map) {
-                            trace.put("argument[" + i + "]", Val.of("VARIABLES OMITTED"));
-                        }
-                    }
-                    trace.put("timestamp", Val.of(Instant.now().toString()));
-                    return val.withTrace(AttributeContext.class, false, trace);
-                });
-            } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
-                return Flux.just(ErrorUtil.causeOrMessage(e));
-            }
-        };
-    }
-
-    private List<Flux<Val>> validatedArguments(AttributeFinderMetadata attributeMetadata, Arguments arguments) {
+    private List<Flux<Val>> validatedArguments(AttributeFinderMetadata attributeMetadata,
+            AttributeFinderInvoker invoker, Arguments arguments) {
         var argumentFluxes                   = new ArrayList<Flux<Val>>(arguments.getArgs().size());
         var indexOfArgumentParameterOfMethod = 0;
         if (!attributeMetadata.isEnvironmentAttribute())
@@ -207,19 +209,19 @@ private List<Flux<Val>> validatedArguments(AttributeFinderMetadata attributeMeta
             indexOfArgumentParameterOfMethod++; // skip variablesMap
 
         for (var argument : arguments.getArgs()) {
-            Parameter parameter;
+            ParameterValidator validator;
             if (attributeMetadata.isVarArgsParameters()) {
-                parameter = attributeMetadata.function.getParameters()[indexOfArgumentParameterOfMethod];
+                validator = invoker.validator(indexOfArgumentParameterOfMethod);
             } else {
-                parameter = attributeMetadata.function.getParameters()[indexOfArgumentParameterOfMethod++];
+                validator = invoker.validator(indexOfArgumentParameterOfMethod++);
             }
-            argumentFluxes.add(ParameterTypeValidator.validateType(argument.evaluate(), parameter));
+            argumentFluxes.add(ParameterTypeValidator.validateType(argument.evaluate(), validator));
         }
         return argumentFluxes;
     }
 
-    private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attributeMetadata, Arguments arguments,
-            Map<String, Val> variables) {
+    private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attributeMetadata,
+            AttributeFinderInvoker invoker, Arguments arguments, Map<String, Val> variables) {
 
         var numberOfInvocationParameters = numberOfInvocationParametersForAttribute(attributeMetadata, arguments);
 
@@ -232,7 +234,7 @@ private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attribut
                 invocationArguments[argumentIndex] = new Val[0];
             return Flux.<Object[]>just(invocationArguments);
         }
-        var argumentFluxes = validatedArguments(attributeMetadata, arguments);
+        var argumentFluxes = validatedArguments(attributeMetadata, invoker, arguments);
 
         return Flux.combineLatest(argumentFluxes,
                 argumentCombiner(attributeMetadata, variables, numberOfInvocationParameters, Optional.empty()));
@@ -271,8 +273,8 @@ private Object[] combineArguments(AttributeFinderMetadata attributeMetadata, Map
         return invocationArguments;
     }
 
-    private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attributeMetadata, Val leftHandValue,
-            Arguments arguments, Map<String, Val> variables) {
+    private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attributeMetadata,
+            AttributeFinderInvoker invoker, Val leftHandValue, Arguments arguments, Map<String, Val> variables) {
 
         var numberOfInvocationParameters = numberOfInvocationParametersForAttribute(attributeMetadata, arguments);
 
@@ -287,7 +289,7 @@ private Flux<Object[]> attributeFinderArguments(AttributeFinderMetadata attribut
             return Flux.<Object[]>just(invocationArguments);
         }
 
-        var argumentFluxes = validatedArguments(attributeMetadata, arguments);
+        var argumentFluxes = validatedArguments(attributeMetadata, invoker, arguments);
 
         return Flux.combineLatest(argumentFluxes, argumentCombiner(attributeMetadata, variables,
                 numberOfInvocationParameters, Optional.of(leftHandValue)));
@@ -345,6 +347,19 @@ public final void loadPolicyInformationPoint(Class<?> pipClass) throws Initializ
     }
 
     private void loadPolicyInformationPoint(Object pip, Class<?> pipClass) throws InitializationException {
+        try {
+            importPolicyInformationPoint(pip, pipClass);
+        } finally {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    private void importPolicyInformationPoint(Object pip, Class<?> pipClass) throws InitializationException {
         var pipAnnotation = pipClass.getAnnotation(PolicyInformationPoint.class);
 
         if (pipAnnotation == null)
@@ -413,6 +428,7 @@ private void importAttribute(Object policyInformationPoint, String pipName,
         var namedAttributes = attributeMetadataByAttributeName.computeIfAbsent(name, k -> new ArrayList<>());
         assertNoNameCollision(namedAttributes, metadata);
         namedAttributes.add(metadata);
+        invokers.put(metadata, new AttributeFinderInvoker(metadata));
         attributeNamesByPipName.get(pipName).add(attributeName);
         pipDocumentation.documentation.put(metadata.getDocumentationCodeTemplate(), documentation);
     }
@@ -34,6 +34,32 @@ Flux<Val> evaluateAttribute(String attributeName, Val leftHandValue, Arguments a
 
     Flux<Val> evaluateEnvironmentAttribute(String attributeName, Arguments arguments, Map<String, Val> variables);
 
+    /**
+     * Binds an attribute finder step to a call site. Evaluating the call site is
+     * equivalent to calling
+     * {@link #evaluateAttribute(String, Val, Arguments, Map)}.
+     *
+     * @param attributeName the fully qualified attribute name
+     * @param arguments     the arguments of the attribute finder step
+     * @return a call site for the attribute finder
+     */
+    default AttributeFinderCallSite bindAttribute(String attributeName, Arguments arguments) {
+        return (leftHandValue, variables) -> evaluateAttribute(attributeName, leftHandValue, arguments, variables);
+    }
+
+    /**
+     * Binds an environment attribute to a call site. Evaluating the call site is
+     * equivalent to calling
+     * {@link #evaluateEnvironmentAttribute(String, Arguments, Map)}.
+     *
+     * @param attributeName the fully qualified attribute name
+     * @param arguments     the arguments of the attribute
+     * @return a call site for the environment attribute finder
+     */
+    default AttributeFinderCallSite bindEnvironmentAttribute(String attributeName, Arguments arguments) {
+        return (leftHandValue, variables) -> evaluateEnvironmentAttribute(attributeName, arguments, variables);
+    }
+
     Collection<PolicyInformationPointDocumentation> getDocumentation();
 
     List<String> getEnvironmentAttributeCodeTemplates();
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.pip;
+
+import java.util.Map;
+
+import io.sapl.api.interpreter.Val;
+import reactor.core.publisher.Flux;
+
+/**
+ * An attribute finder of an {@link AttributeContext} bound to its fully
+ * qualified name and the arguments of the attribute finder step. Policy
+ * expressions keep the call site to skip the lookup of the attribute finder on
+ * repeated evaluations.
+ */
+@FunctionalInterface
+public interface AttributeFinderCallSite {
+
+    /**
+     * @param leftHandValue the left-hand value of the attribute finder step.
+     *                      Ignored for environment attributes.
+     * @param variables     the variables of the current evaluation
+     * @return the attribute stream
+     */
+    Flux<Val> evaluate(Val leftHandValue, Map<String, Val> variables);
+
+}
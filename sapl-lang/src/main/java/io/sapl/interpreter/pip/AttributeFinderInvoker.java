@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.pip;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+import io.sapl.api.interpreter.ExpressionArgument;
+import io.sapl.api.interpreter.Trace;
+import io.sapl.api.interpreter.Val;
+import io.sapl.interpreter.validation.ParameterTypeValidator;
+import io.sapl.interpreter.validation.ParameterValidator;
+import reactor.core.publisher.Flux;
+
+/**
+ * Invoker of an attribute finder method, linked when the policy information
+ * point is loaded. Holds a method handle of the type {@code (Object[])Flux}
+ * and the validators compiled from the parameter annotations.
+ */
+final class AttributeFinderInvoker {
+
+    private static final Val VARIABLES_OMITTED = Val.of("VARIABLES OMITTED");
+
+    private final ExpressionArgument   attribute;
+    private final ParameterValidator[] validators;
+    private final MethodHandle         handle;
+
+    AttributeFinderInvoker(AttributeFinderMetadata metadata) {
+        var method = metadata.getFunction();
+        this.attribute  = new ExpressionArgument(Trace.ATTRIBUTE, Val.of(metadata.fullyQualifiedName()));
+        this.validators = Arrays.stream(method.getParameters()).map(ParameterTypeValidator::validatorFor)
+                .toArray(ParameterValidator[]::new);
+        this.handle     = handleOf(metadata);
+    }
+
+    /**
+     * @param indexOfParameter index of a parameter of the attribute finder method
+     * @return the validator of the parameter
+     */
+    ParameterValidator validator(int indexOfParameter) {
+        return validators[indexOfParameter];
+    }
+
+    /**
+     * Invokes the attribute finder. The arguments of the trace are collected once
+     * per invocation, only the timestamp is added per emitted value.
+     *
+     * @param invocationParameters the parameters of the attribute finder method
+     * @return the attribute stream
+     */
+    @SuppressWarnings("unchecked")
+    Flux<Val> invoke(Object[] invocationParameters) {
+        Flux<Val> attributeStream;
+        try {
+            attributeStream = (Flux<Val>) handle.invokeExact(invocationParameters);
+        } catch (Throwable e) {
+            return Flux.just(Val.error(e.getMessage()));
+        }
+        var traceArguments = traceArguments(invocationParameters);
+        return attributeStream.map(val -> val.withTrace(AttributeContext.class, false, withTimestamp(traceArguments)));
+    }
+
+    private ExpressionArgument[] traceArguments(Object[] invocationParameters) {
+        var traceArguments = new ExpressionArgument[invocationParameters.length + 1];
+        var index          = 0;
+        traceArguments[index++] = attribute;
+        for (int i = 0; i < invocationParameters.length; i++) {
+            if (invocationParameters[i] instanceof Val argument)
+                traceArguments[index++] = new ExpressionArgument("argument[" + i + "]", argument);
+            if (invocationParameters[i] instanceof Map)
+                traceArguments[index++] = new ExpressionArgument("argument[" + i + "]", VARIABLES_OMITTED);
+        }
+        return Arrays.copyOf(traceArguments, index);
+    }
+
+    private static ExpressionArgument[] withTimestamp(ExpressionArgument[] traceArguments) {
+        var trace = Arrays.copyOf(traceArguments, traceArguments.length + 1);
+        trace[traceArguments.length] = new ExpressionArgument(Trace.TIMESTAMP, Val.of(Instant.now().toString()));
+        return trace;
+    }
+
+    private static MethodHandle handleOf(AttributeFinderMetadata metadata) {
+        var          method = metadata.getFunction();
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            var failure = MethodHandles.throwException(Flux.class, IllegalAccessException.class).bindTo(e);
+            return MethodHandles.dropArguments(failure, 0, Object[].class);
+        }
+
+        if (!Modifier.isStatic(method.getModifiers()))
+            handle = handle.bindTo(metadata.getPolicyInformationPoint());
+
+        return handle.asType(handle.type().changeReturnType(Flux.class)).asSpreader(Object[].class,
+                method.getParameterCount());
+    }
+
+}
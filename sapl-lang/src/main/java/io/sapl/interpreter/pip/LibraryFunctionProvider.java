@@ -29,4 +29,16 @@ public interface LibraryFunctionProvider {
 
     Collection<String> getAllFullyQualifiedFunctions();
 
+    /**
+     * The generation changes whenever libraries are loaded into the provider.
+     * Thus, results derived from the offered libraries stay valid as long as the
+     * generation is the same.
+     *
+     * @return the current generation, or a negative number, if the provider does
+     *         not track changes of its libraries
+     */
+    default long generation() {
+        return -1L;
+    }
+
 }
@@ -21,8 +21,10 @@
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -36,7 +38,7 @@
 import io.sapl.api.validation.Number;
 import io.sapl.api.validation.Schema;
 import io.sapl.api.validation.Text;
-import io.sapl.functions.SchemaValidationLibrary;
+import io.sapl.functions.JsonSchemaCache;
 import lombok.experimental.UtilityClass;
 import reactor.core.publisher.Flux;
 
@@ -49,31 +51,71 @@ public class ParameterTypeValidator {
     private static final Set<Class<?>> VALIDATION_ANNOTATIONS = Set.of(Number.class, Int.class, Long.class, Bool.class,
             Text.class, Array.class, JsonObject.class, Schema.class);
 
-    public static void validateType(Val parameterValue, Parameter parameterType) throws IllegalParameterType {
-        if (hasNoValidationAnnotations(parameterType))
-            return;
-
-        if (parameterValue.isError())
-            throw new IllegalParameterType(String.format(ILLEGAL_PARAMETER_TYPE_ERROR, "error",
-                    listAllowedTypes(parameterType.getAnnotations())));
-
-        if (parameterValue.isUndefined())
-            throw new IllegalParameterType(String.format(ILLEGAL_PARAMETER_TYPE_ERROR, "undefined",
-                    listAllowedTypes(parameterType.getAnnotations())));
+    private static final ParameterValidator NO_VALIDATION = value -> {};
 
-        validateJsonNodeType(parameterValue.get(), parameterType);
+    /**
+     * Validates a value against the validation annotations of a parameter.
+     *
+     * @param parameterValue a value
+     * @param parameterType  the parameter the value is passed to
+     * @throws IllegalParameterType if the value does not match the annotations
+     */
+    public static void validateType(Val parameterValue, Parameter parameterType) throws IllegalParameterType {
+        validatorFor(parameterType).validate(parameterValue);
     }
 
     public static Flux<Val> validateType(Flux<Val> parameterFlux, Parameter parameterType) {
-        if (hasNoValidationAnnotations(parameterType))
+        return validateType(parameterFlux, validatorFor(parameterType));
+    }
+
+    /**
+     * Replaces values not matching a compiled validator with errors.
+     *
+     * @param parameterFlux the values passed to a parameter
+     * @param validator     the validator of the parameter
+     * @return the values, with invalid values replaced by errors
+     */
+    public static Flux<Val> validateType(Flux<Val> parameterFlux, ParameterValidator validator) {
+        if (validator == NO_VALIDATION)
             return parameterFlux;
-        return parameterFlux.map(mapInvalidToError(parameterType));
+        return parameterFlux.map(mapInvalidToError(validator));
+    }
+
+    /**
+     * Compiles the validation annotations of a parameter into a validator. The
+     * annotations are only read once, so the validator can be kept with the
+     * function or attribute finder and be applied to every invocation.
+     *
+     * @param parameterType a parameter of a function or attribute finder
+     * @return a validator for the values passed to the parameter
+     */
+    public static ParameterValidator validatorFor(Parameter parameterType) {
+        var annotations = parameterType.getAnnotations();
+        if (hasNoValidationAnnotations(annotations))
+            return NO_VALIDATION;
+
+        var declaredTypes = listAllowedTypes(annotations);
+        moveSchemaAnnotationToTheEndIfItExists(annotations);
+        var         allowedTypes = listAllowedTypes(annotations);
+        var         typeChecks   = new ArrayList<Predicate<JsonNode>>(annotations.length);
+        SchemaCheck schemaCheck  = null;
+        for (var annotation : annotations) {
+            if (annotation instanceof Schema schemaAnnotation) {
+                schemaCheck = schemaCheck(schemaAnnotation);
+                break;
+            }
+            var typeCheck = typeCheck(annotation);
+            if (typeCheck != null)
+                typeChecks.add(typeCheck);
+        }
+        var checks = new TypeChecks(List.copyOf(typeChecks), schemaCheck, declaredTypes, allowedTypes);
+        return checks::validate;
     }
 
-    private static Function<Val, Val> mapInvalidToError(Parameter parameterType) {
+    private static Function<Val, Val> mapInvalidToError(ParameterValidator validator) {
         return val -> {
             try {
-                validateType(val, parameterType);
+                validator.validate(val);
             } catch (IllegalParameterType e) {
                 return Val.error(e);
             }
@@ -81,54 +123,75 @@ private static Function<Val, Val> mapInvalidToError(Parameter parameterType) {
         };
     }
 
-    private static void validateJsonNodeType(JsonNode node, Parameter parameterType) throws IllegalParameterType {
-        Annotation[] annotations = parameterType.getAnnotations();
-        String       errorText;
-        moveSchemaAnnotationToTheEndIfItExists(annotations);
+    private record TypeChecks(List<Predicate<JsonNode>> typeChecks, SchemaCheck schemaCheck, String declaredTypes,
+            String allowedTypes) {
 
-        for (Annotation annotation : annotations) {
-            if (nodeContentsMatchesTypeGivenByAnnotation(node, annotation))
-                return;
-            if (annotation instanceof Schema schemaAnnotation) {
-                if (nodeCompliantWithSchema(node, schemaAnnotation)) {
+        void validate(Val parameterValue) throws IllegalParameterType {
+            if (parameterValue.isError())
+                throw new IllegalParameterType(String.format(ILLEGAL_PARAMETER_TYPE_ERROR, "error", declaredTypes));
+
+            if (parameterValue.isUndefined())
+                throw new IllegalParameterType(
+                        String.format(ILLEGAL_PARAMETER_TYPE_ERROR, "undefined", declaredTypes));
+
+            var node = parameterValue.get();
+            for (var typeCheck : typeChecks)
+                if (typeCheck.test(node))
                     return;
-                } else {
-                    errorText = schemaAnnotation.errorText();
-                    if (!"".equals(errorText))
-                        throw new IllegalParameterType(errorText);
-                    throw new IllegalParameterType(
-                            String.format(NON_COMPLIANT_WITH_SCHEMA_ERROR, node.toString(), schemaAnnotation.value()));
-                }
+
+            if (schemaCheck != null) {
+                schemaCheck.validate(node);
+                return;
             }
-        }
 
-        throw new IllegalParameterType(String.format(ILLEGAL_PARAMETER_TYPE_ERROR, node.getNodeType().toString(),
-                listAllowedTypes(annotations)));
+            throw new IllegalParameterType(
+                    String.format(ILLEGAL_PARAMETER_TYPE_ERROR, node.getNodeType().toString(), allowedTypes));
+        }
     }
 
-    private static boolean nodeContentsMatchesTypeGivenByAnnotation(JsonNode node, Annotation annotation) {
-        return (Number.class.isAssignableFrom(annotation.getClass()) && node.isNumber())
-                || (Int.class.isAssignableFrom(annotation.getClass()) && node.isNumber() && node.canConvertToInt())
-                || (Long.class.isAssignableFrom(annotation.getClass()) && node.isNumber() && node.canConvertToLong())
-                || (Bool.class.isAssignableFrom(annotation.getClass()) && node.isBoolean())
-                || (Text.class.isAssignableFrom(annotation.getClass()) && node.isTextual())
-                || (Array.class.isAssignableFrom(annotation.getClass()) && node.isArray())
-                || (JsonObject.class.isAssignableFrom(annotation.getClass()) && node.isObject());
+    private static Predicate<JsonNode> typeCheck(Annotation annotation) {
+        if (annotation instanceof Number)
+            return JsonNode::isNumber;
+        if (annotation instanceof Int)
+            return node -> node.isNumber() && node.canConvertToInt();
+        if (annotation instanceof Long)
+            return node -> node.isNumber() && node.canConvertToLong();
+        if (annotation instanceof Bool)
+            return JsonNode::isBoolean;
+        if (annotation instanceof Text)
+            return JsonNode::isTextual;
+        if (annotation instanceof Array)
+            return JsonNode::isArray;
+        if (annotation instanceof JsonObject)
+            return JsonNode::isObject;
+        return null;
     }
 
-    private static boolean nodeCompliantWithSchema(JsonNode node, Schema schemaAnnotation) {
-        var schema = schemaAnnotation.value();
-        if ("".equals(schema))
-            return true;
+    private static SchemaCheck schemaCheck(Schema schemaAnnotation) {
+        var schemaDefinition = schemaAnnotation.value();
+        var errorText        = schemaAnnotation.errorText();
+        if ("".equals(schemaDefinition))
+            return node -> {};
+
+        Predicate<JsonNode> compliance;
         try {
-            return SchemaValidationLibrary.isCompliant(Val.of(node), Val.ofJson(schema)).getBoolean();
+            compliance = JsonSchemaCache.shared().compliance(Val.ofJson(schemaDefinition).get(), null);
         } catch (JsonProcessingException e) {
-            return false;
+            compliance = node -> false;
         }
+        var isCompliant = compliance;
+        return node -> {
+            if (isCompliant.test(node))
+                return;
+            if (!"".equals(errorText))
+                throw new IllegalParameterType(errorText);
+            throw new IllegalParameterType(
+                    String.format(NON_COMPLIANT_WITH_SCHEMA_ERROR, node.toString(), schemaDefinition));
+        };
     }
 
-    private static boolean hasNoValidationAnnotations(Parameter parameterType) {
-        for (var annotation : parameterType.getAnnotations())
+    private static boolean hasNoValidationAnnotations(Annotation[] annotations) {
+        for (var annotation : annotations)
             if (isTypeValidationAnnotation(annotation))
                 return false;
 
@@ -176,4 +239,10 @@ private static int indexOfSchemaAnnotation(Annotation[] annotations) {
 
         return index;
     }
+
+    @FunctionalInterface
+    private interface SchemaCheck {
+        void validate(JsonNode node) throws IllegalParameterType;
+    }
+
 }
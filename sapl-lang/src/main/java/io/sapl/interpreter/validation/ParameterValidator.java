@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.validation;
+
+import io.sapl.api.interpreter.Val;
+
+/**
+ * Validates the values passed to a parameter of a function or attribute finder.
+ * Created once per parameter by {@link ParameterTypeValidator#validatorFor}.
+ */
+@FunctionalInterface
+public interface ParameterValidator {
+
+    /**
+     * @param parameterValue a value passed to the parameter
+     * @throws IllegalParameterType if the value does not match the validation
+     *                              annotations of the parameter
+     */
+    void validate(Val parameterValue) throws IllegalParameterType;
+
+}
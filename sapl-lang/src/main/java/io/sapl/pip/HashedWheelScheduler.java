@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A {@link Scheduler} for coarse-grained deadlines, based on a hashed timer
+ * wheel.
+ * <p>
+ * All delayed tasks are kept in the buckets of a single wheel, which is
+ * advanced by one timer thread once per tick. Scheduling and cancelling a task
+ * take constant time, independent of the number of pending tasks. Deadlines are
+ * rounded up to the next tick, i.e., a task runs up to one tick late. Delays
+ * longer than one rotation of the wheel are handled by counting the remaining
+ * rotations of a task. Expired tasks are handed over to a delegate scheduler,
+ * so no task ever runs on the timer thread.
+ * <p>
+ * PIPs can use this scheduler instead of the default parallel scheduler, if a
+ * large number of pending time based state transitions is expected and a
+ * resolution of a few milliseconds is sufficient.
+ */
+@Slf4j
+public final class HashedWheelScheduler implements Scheduler {
+
+    public static final Duration DEFAULT_TICK_DURATION   = Duration.ofMillis(10L);
+    public static final int      DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final int           MAXIMUM_TRANSFERS_PER_TICK = 100_000;
+    private static final AtomicInteger NUMBER_OF_INSTANCES        = new AtomicInteger();
+
+    private final long               tickNanos;
+    private final int                mask;
+    private final List<Set<Timeout>> wheel;
+    private final Queue<Timeout>     newTimeouts       = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout>     cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Scheduler          delegate;
+    private final long               startTime;
+    private final Thread             timerThread;
+    private volatile boolean         disposed;
+
+    /**
+     * Creates a scheduler with a tick duration of 10 ms and 512 ticks per wheel,
+     * running expired tasks on the parallel scheduler.
+     */
+    public HashedWheelScheduler() {
+        this(DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL, Schedulers.parallel());
+    }
+
+    /**
+     * @param tickDuration  the resolution of the deadlines
+     * @param ticksPerWheel the number of buckets of the wheel, a power of two
+     * @param delegate      the scheduler running the tasks
+     */
+    public HashedWheelScheduler(Duration tickDuration, int ticksPerWheel, Scheduler delegate) {
+        if (tickDuration.isNegative() || tickDuration.isZero())
+            throw new IllegalArgumentException("The tick duration must be positive, but was: " + tickDuration);
+        if (Integer.bitCount(ticksPerWheel) != 1 || ticksPerWheel < 0)
+            throw new IllegalArgumentException(
+                    "The number of ticks per wheel must be a power of two, but was: " + ticksPerWheel);
+
+        this.tickNanos = tickDuration.toNanos();
+        this.mask      = ticksPerWheel - 1;
+        this.wheel     = new ArrayList<>(ticksPerWheel);
+        for (var i = 0; i < ticksPerWheel; i++) {
+            wheel.add(new HashSet<>());
+        }
+        this.delegate    = delegate;
+        this.startTime   = System.nanoTime();
+        this.timerThread = new Thread(this::run, "sapl-timer-wheel-" + NUMBER_OF_INSTANCES.incrementAndGet());
+        this.timerThread.setDaemon(true);
+        this.timerThread.start();
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return delegate.schedule(task);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (delay <= 0)
+            return schedule(task);
+
+        return newTimeout(task, unit.toNanos(delay), delegate::schedule, null);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return newPeriodicTask(task, unit.toNanos(initialDelay), unit.toNanos(period), delegate::schedule, null);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new WheelWorker();
+    }
+
+    /**
+     * Stops the timer thread. Pending tasks are dropped. The delegate scheduler
+     * is not disposed.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        LockSupport.unpark(timerThread);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - startTime;
+    }
+
+    private Timeout newTimeout(Runnable task, long delayNanos, Executor executor, Disposable.Composite parent) {
+        if (disposed)
+            throw Exceptions.failWithRejected();
+
+        var timeout = new Timeout(task, elapsedNanos() + delayNanos, executor, parent);
+        if (parent != null && !parent.add(timeout))
+            throw Exceptions.failWithRejected();
+
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private PeriodicTask newPeriodicTask(Runnable task, long initialDelayNanos, long periodNanos, Executor executor,
+            Disposable.Composite parent) {
+        var periodicTask = new PeriodicTask(task, Math.max(periodNanos, tickNanos), executor, parent);
+        if (parent != null && !parent.add(periodicTask))
+            throw Exceptions.failWithRejected();
+
+        periodicTask.start(initialDelayNanos);
+        return periodicTask;
+    }
+
+    private void run() {
+        var tick = 0L;
+        while (waitForEndOfTick(tick)) {
+            removeCancelledTimeouts();
+            transferNewTimeouts(tick);
+            expireTimeouts(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+        wheel.forEach(Set::clear);
+        newTimeouts.clear();
+        cancelledTimeouts.clear();
+    }
+
+    private boolean waitForEndOfTick(long tick) {
+        var endOfTick = (tick + 1) * tickNanos;
+        var sleep     = endOfTick - elapsedNanos();
+        while (sleep > 0 && !disposed) {
+            LockSupport.parkNanos(sleep);
+            sleep = endOfTick - elapsedNanos();
+        }
+        return !disposed;
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null)
+                timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void transferNewTimeouts(long tick) {
+        for (var i = 0; i < MAXIMUM_TRANSFERS_PER_TICK; i++) {
+            var timeout = newTimeouts.poll();
+            if (timeout == null)
+                return;
+            if (timeout.isDisposed())
+                continue;
+
+            var expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.size();
+            timeout.bucket          = wheel.get((int) (Math.max(expirationTick, tick) & mask));
+            timeout.bucket.add(timeout);
+        }
+    }
+
+    private void expireTimeouts(Set<Timeout> bucket) {
+        var iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            var timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                iterator.remove();
+                timeout.bucket = null;
+                timeout.expire();
+            }
+        }
+    }
+
+    private final class Timeout implements Disposable {
+
+        private static final int PENDING   = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED   = 2;
+
+        private final Runnable             task;
+        private final long                 deadline;
+        private final Executor             executor;
+        private final Disposable.Composite parent;
+        private final AtomicInteger        state = new AtomicInteger(PENDING);
+
+        // only accessed by the timer thread
+        private long         remainingRounds;
+        private Set<Timeout> bucket;
+
+        private Timeout(Runnable task, long deadline, Executor executor, Disposable.Composite parent) {
+            this.task     = task;
+            this.deadline = deadline;
+            this.executor = executor;
+            this.parent   = parent;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED))
+                return;
+
+            if (parent != null)
+                parent.remove(this);
+
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                log.warn("Expired task could not be handed over to the scheduler: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!state.compareAndSet(PENDING, CANCELLED))
+                return;
+
+            if (parent != null)
+                parent.remove(this);
+
+            cancelledTimeouts.add(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state.get() != PENDING;
+        }
+
+    }
+
+    private final class PeriodicTask implements Disposable, Runnable {
+
+        private final Runnable             task;
+        private final long                 periodNanos;
+        private final Executor             executor;
+        private final Disposable.Composite parent;
+        private volatile Timeout           next;
+        private volatile boolean           cancelled;
+        private long                       nextDeadline;
+
+        private PeriodicTask(Runnable task, long periodNanos, Executor executor, Disposable.Composite parent) {
+            this.task        = task;
+            this.periodNanos = periodNanos;
+            this.executor    = executor;
+            this.parent      = parent;
+        }
+
+        private void start(long initialDelayNanos) {
+            nextDeadline = elapsedNanos() + Math.max(initialDelayNanos, 0L);
+            scheduleNext();
+        }
+
+        private void scheduleNext() {
+            next = newTimeout(this, nextDeadline - elapsedNanos(), executor, null);
+            if (cancelled)
+                next.dispose();
+        }
+
+        @Override
+        public void run() {
+            if (cancelled)
+                return;
+
+            task.run();
+            nextDeadline += periodNanos;
+            if (!cancelled && !disposed)
+                scheduleNext();
+        }
+
+        @Override
+        public void dispose() {
+            cancelled = true;
+            if (parent != null)
+                parent.remove(this);
+
+            var timeout = next;
+            if (timeout != null)
+                timeout.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+    }
+
+    private final class WheelWorker implements Worker {
+
+        private final Worker               delegateWorker = delegate.createWorker();
+        private final Disposable.Composite tasks          = Disposables.composite();
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            return delegateWorker.schedule(task);
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            if (delay <= 0)
+                return schedule(task);
+
+            return newTimeout(task, unit.toNanos(delay), delegateWorker::schedule, tasks);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return newPeriodicTask(task, unit.toNanos(initialDelay), unit.toNanos(period), delegateWorker::schedule,
+                    tasks);
+        }
+
+        @Override
+        public void dispose() {
+            tasks.dispose();
+            delegateWorker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return tasks.isDisposed();
+        }
+
+    }
+
+}
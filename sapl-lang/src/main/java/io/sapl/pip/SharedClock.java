@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Shares the timers of time based attributes between all subscriptions.
+ * <p>
+ * Periodic updates are driven by one timer per distinct update interval which
+ * is multicast to all subscribers. Attributes which change their value at
+ * fixed checkpoints are evaluated once per distinct set of checkpoints, and
+ * subscribers joining later receive the current value and all following
+ * changes. Timers are released as soon as the last subscriber cancels.
+ * <p>
+ * A slow subscriber of periodic updates skips ticks instead of stalling the
+ * shared timer, i.e., it receives the latest tick as soon as it requests more.
+ */
+@RequiredArgsConstructor
+class SharedClock {
+
+    private final Clock               clock;
+    private final Supplier<Scheduler> scheduler;
+
+    private final Map<Duration, Flux<Instant>> tickers = new ConcurrentHashMap<>();
+    private final Map<Object, Flux<Boolean>>   states  = new ConcurrentHashMap<>();
+
+    /**
+     * @return the current instant of the underlying clock
+     */
+    Instant instant() {
+        return clock.instant();
+    }
+
+    /**
+     * @param interval the time between two updates
+     * @return the current instant, followed by the instants of the shared ticks
+     *         of the interval
+     */
+    Flux<Instant> ticks(Duration interval) {
+        var sharedTicks = tickers.computeIfAbsent(interval, this::sharedTicks);
+        return Flux.concat(Mono.fromSupplier(clock::instant), sharedTicks);
+    }
+
+    private Flux<Instant> sharedTicks(Duration interval) {
+        var sharedTicks = new AtomicReference<Flux<Instant>>();
+        sharedTicks.set(Flux.interval(interval, scheduler.get()).onBackpressureLatest().map(tick -> clock.instant())
+                .doFinally(signal -> tickers.remove(interval, sharedTicks.get())).share());
+        return sharedTicks.get();
+    }
+
+    /**
+     * @param checkpoints a key identifying the attribute and its checkpoints
+     * @param changes     creates the changes of the attribute, starting with its
+     *                    current value
+     * @return the shared changes of the attribute. A subscriber joining later
+     *         starts with the latest value.
+     */
+    Flux<Boolean> state(Object checkpoints, Supplier<Flux<Boolean>> changes) {
+        return states.computeIfAbsent(checkpoints, key -> sharedState(key, changes));
+    }
+
+    private Flux<Boolean> sharedState(Object checkpoints, Supplier<Flux<Boolean>> changes) {
+        var sharedState = new AtomicReference<Flux<Boolean>>();
+        sharedState.set(Flux.defer(changes).doFinally(signal -> states.remove(checkpoints, sharedState.get()))
+                .replay(1).refCount());
+        return sharedState.get();
+    }
+
+}
@@ -27,6 +27,7 @@
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.Temporal;
+import java.util.function.Supplier;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.api.interpreter.Val;
@@ -34,10 +35,10 @@
 import io.sapl.api.pip.PolicyInformationPoint;
 import io.sapl.api.validation.Number;
 import io.sapl.api.validation.Text;
-import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-@RequiredArgsConstructor
 @PolicyInformationPoint(name = TimePolicyInformationPoint.NAME, description = TimePolicyInformationPoint.DESCRIPTION)
 public class TimePolicyInformationPoint {
 
@@ -50,7 +51,40 @@ public class TimePolicyInformationPoint {
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME
             .withZone(ZoneId.from(ZoneOffset.UTC));
 
-    private final Clock clock;
+    private final Clock               clock;
+    private final Supplier<Scheduler> scheduler;
+    private final SharedClock         sharedClock;
+
+    /**
+     * Time based attributes of all subscriptions using this PIP share their
+     * timers, which run on the parallel scheduler.
+     *
+     * @param clock the clock providing the current time
+     */
+    public TimePolicyInformationPoint(Clock clock) {
+        this(clock, Schedulers::parallel);
+    }
+
+    /**
+     * Time based attributes of all subscriptions using this PIP share their
+     * timers, which run on the given scheduler, e.g., a
+     * {@link HashedWheelScheduler} for a large number of pending deadlines.
+     *
+     * @param clock     the clock providing the current time
+     * @param scheduler the scheduler for the timers
+     */
+    public TimePolicyInformationPoint(Clock clock, Scheduler scheduler) {
+        this(clock, () -> scheduler);
+    }
+
+    private TimePolicyInformationPoint(Clock clock, Supplier<Scheduler> scheduler) {
+        this.clock       = clock;
+        this.scheduler   = scheduler;
+        this.sharedClock = new SharedClock(clock, scheduler);
+    }
+
+    private record Checkpoints(String attribute, Temporal first, Temporal second) {
+    }
 
     @EnvironmentAttribute(docs = "Emits the current date and time as an ISO8601 String in UTC. The first time is emitted instantly. After that the time is updated once every second.")
     public Flux<Val> now() {
@@ -61,7 +95,7 @@ public Flux<Val> now() {
     public Flux<Val> now(@Number Val updateIntervalInMillis) {
         try {
             var interval = valMsToNonZeroDuration(updateIntervalInMillis);
-            return instantNow(interval).map(ISO_FORMATTER::format).map(Val::of);
+            return sharedClock.ticks(interval).map(ISO_FORMATTER::format).map(Val::of);
         } catch (PolicyEvaluationException e) {
             return Flux.error(e);
         }
@@ -74,12 +108,6 @@ private Duration valMsToNonZeroDuration(Val val) {
         return duration;
     }
 
-    private Flux<Instant> instantNow(Duration pollIntervalInMillis) {
-        var first     = Flux.just(clock.instant());
-        var following = Flux.just(0).repeat().delayElements(pollIntervalInMillis).map(tick -> clock.instant());
-        return Flux.concat(first, following);
-    }
-
     @EnvironmentAttribute(docs = "Returns the system default time-zone.")
     public Flux<Val> systemTimeZone() {
         return Val.fluxOf(ZoneId.systemDefault().toString());
@@ -87,12 +115,17 @@ public Flux<Val> systemTimeZone() {
 
     @EnvironmentAttribute(docs = "Returns true, if the current time in ISO UTC is after the provided time parameter, also in ISO UTC.")
     public Flux<Val> nowIsAfter(@Text Val time) {
-        return nowIsAfter(valToInstant(time)).map(Val::of);
+        return sharedNowIsAfter(valToInstant(time)).map(Val::of);
     }
 
     @EnvironmentAttribute(docs = "Returns true, if the current local time in UTC (e.g., \"17:00\") is before the provided checkpoint time.")
     public Flux<Val> localTimeIsAfter(@Text Val checkpoint) {
-        return localTimeIsAfter(LocalTime.parse(checkpoint.getText())).map(Val::of);
+        return sharedLocalTimeIsAfter(LocalTime.parse(checkpoint.getText())).map(Val::of);
+    }
+
+    private Flux<Boolean> sharedLocalTimeIsAfter(LocalTime checkpoint) {
+        return sharedClock.state(new Checkpoints("localTimeIsAfter", checkpoint, null),
+                () -> localTimeIsAfter(checkpoint));
     }
 
     private Flux<Boolean> localTimeIsAfter(LocalTime checkpoint) {
@@ -136,7 +169,8 @@ private Flux<Boolean> afterCheckpointEventsFollowingDays(LocalTime checkpoint) {
     public Flux<Val> localTimeIsBetween(@Text Val startTime, @Text Val endTime) {
         var localStartTime = LocalTime.parse(startTime.getText());
         var localEndTime   = LocalTime.parse(endTime.getText());
-        return nowIsBetween(localStartTime, localEndTime).map(Val::of);
+        return sharedClock.state(new Checkpoints("localTimeIsBetween", localStartTime, localEndTime),
+                () -> nowIsBetween(localStartTime, localEndTime)).map(Val::of);
     }
 
     private Flux<Boolean> nowIsBetween(LocalTime t1, LocalTime t2) {
@@ -174,7 +208,7 @@ private Flux<Boolean> nowIsBetweenAscendingTimes(LocalTime start, LocalTime end)
             var initial                = Flux.just(Boolean.FALSE);
             var timeTillIntervalStarts = Duration
                     .ofMillis(MILLIS.between(now, LocalTime.MAX) + MILLIS.between(LocalTime.MIN, start));
-            var tillStart              = Flux.just(Boolean.TRUE).delayElements(timeTillIntervalStarts);
+            var tillStart              = Flux.just(Boolean.TRUE).delayElements(timeTillIntervalStarts, scheduler.get());
             initialStates = Flux.concat(initial, tillStart);
         } else {
             // starts inside of interval
@@ -182,7 +216,7 @@ private Flux<Boolean> nowIsBetweenAscendingTimes(LocalTime start, LocalTime end)
             var tillIntervalEnd        = boolAfterTimeDifference(false, now, end);
             var timeTillIntervalStarts = Duration
                     .ofMillis(MILLIS.between(end, LocalTime.MAX) + MILLIS.between(LocalTime.MIN, start));
-            var tillStart              = Flux.just(Boolean.TRUE).delayElements(timeTillIntervalStarts);
+            var tillStart              = Flux.just(Boolean.TRUE).delayElements(timeTillIntervalStarts, scheduler.get());
             initialStates = Flux.concat(initial, tillIntervalEnd, tillStart);
         }
 
@@ -194,36 +228,36 @@ private Flux<Boolean> nowIsBetweenAscendingTimes(LocalTime start, LocalTime end)
     }
 
     private Flux<Boolean> boolAfterTimeDifference(boolean val, Temporal start, Temporal end) {
-        return Flux.just(val).delayElements(Duration.ofMillis(MILLIS.between(start, end)));
+        return Flux.just(val).delayElements(Duration.ofMillis(MILLIS.between(start, end)), scheduler.get());
     }
 
     @EnvironmentAttribute(docs = "Returns true while the current local time in UTC is before the provided checkpoint time.")
     public Flux<Val> localTimeIsBefore(@Text Val checkpoint) {
-        return localTimeIsAfter(LocalTime.parse(checkpoint.getText())).map(this::negate).map(Val::of);
+        return sharedLocalTimeIsAfter(LocalTime.parse(checkpoint.getText())).map(this::negate).map(Val::of);
     }
 
     @EnvironmentAttribute(docs = "Returns true, while the current UTC time is before the provided checkpoint time.")
     public Flux<Val> nowIsBefore(@Text Val time) {
-        return nowIsBefore(valToInstant(time)).map(Val::of);
+        return sharedNowIsAfter(valToInstant(time)).map(this::negate).map(Val::of);
     }
 
     private Instant valToInstant(Val val) {
         return Instant.parse(val.getText());
     }
 
-    private Flux<Boolean> nowIsAfter(Instant anInstant) {
-        return isAfter(anInstant, clock.instant());
+    private Flux<Boolean> sharedNowIsAfter(Instant anInstant) {
+        return sharedClock.state(new Checkpoints("nowIsAfter", anInstant, null), () -> nowIsAfter(anInstant));
     }
 
-    private Flux<Boolean> nowIsBefore(Instant anInstant) {
-        return isAfter(anInstant, clock.instant()).map(this::negate);
+    private Flux<Boolean> nowIsAfter(Instant anInstant) {
+        return isAfter(anInstant, clock.instant());
     }
 
     private Flux<Boolean> isAfter(Instant instantA, Instant instantB) {
         if (instantB.isAfter(instantA))
             return Flux.just(Boolean.TRUE);
         var initial  = Flux.just(Boolean.FALSE);
-        var eventual = Flux.just(Boolean.TRUE).delayElements(Duration.between(instantB, instantA));
+        var eventual = Flux.just(Boolean.TRUE).delayElements(Duration.between(instantB, instantA), scheduler.get());
         return Flux.concat(initial, eventual);
     }
 
@@ -231,7 +265,8 @@ private Flux<Boolean> isAfter(Instant instantA, Instant instantB) {
     public Flux<Val> nowIsBetween(@Text Val startTime, @Text Val endTime) {
         var start = valToInstant(startTime);
         var end   = valToInstant(endTime);
-        return nowIsBetween(start, end).map(Val::of);
+        return sharedClock.state(new Checkpoints("nowIsBetween", start, end), () -> nowIsBetween(start, end))
+                .map(Val::of);
     }
 
     public Flux<Boolean> nowIsBetween(Instant start, Instant end) {
@@ -241,13 +276,13 @@ public Flux<Boolean> nowIsBetween(Instant start, Instant end) {
 
         if (now.isAfter(start)) {
             var initial  = Flux.just(Boolean.TRUE);
-            var eventual = Flux.just(Boolean.FALSE).delayElements(Duration.between(now, end));
+            var eventual = Flux.just(Boolean.FALSE).delayElements(Duration.between(now, end), scheduler.get());
             return Flux.concat(initial, eventual);
         }
 
         var initial         = Flux.just(Boolean.FALSE);
-        var duringIsBetween = Flux.just(Boolean.TRUE).delayElements(Duration.between(now, start));
-        var eventual        = Flux.just(Boolean.FALSE).delayElements(Duration.between(start, end));
+        var duringIsBetween = Flux.just(Boolean.TRUE).delayElements(Duration.between(now, start), scheduler.get());
+        var eventual        = Flux.just(Boolean.FALSE).delayElements(Duration.between(start, end), scheduler.get());
 
         return Flux.concat(initial, duringIsBetween, eventual);
     }
@@ -259,8 +294,8 @@ public Flux<Val> toggle(@Number Val trueDurationMs, @Number Val falseDurationMs)
 
     private Flux<Boolean> toggle(Duration trueDurationMs, Duration falseDurationMs) {
         var initial       = Flux.just(Boolean.TRUE);
-        var waitTillFalse = Flux.just(Boolean.FALSE).delayElements(trueDurationMs);
-        var waitTillTrue  = Flux.just(Boolean.TRUE).delayElements(falseDurationMs);
+        var waitTillFalse = Flux.just(Boolean.FALSE).delayElements(trueDurationMs, scheduler.get());
+        var waitTillTrue  = Flux.just(Boolean.TRUE).delayElements(falseDurationMs, scheduler.get());
         var repeatingTail = Flux.concat(waitTillFalse, waitTillTrue).repeat();
         return Flux.concat(initial, repeatingTail);
     }
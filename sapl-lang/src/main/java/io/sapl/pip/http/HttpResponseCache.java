@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip.http;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient.RequestHeadersSpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.sapl.api.interpreter.PolicyEvaluationException;
+import io.sapl.api.interpreter.Val;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the responses of HTTP GET requests shared by all policies and
+ * subscriptions using the HTTP PIP.
+ * <p>
+ * A response is reused without contacting the server as long as it is fresh
+ * according to its Cache-Control max-age directive or its Expires header.
+ * Responses marked with no-store are never cached. Once a response is stale and
+ * carries an ETag, it is revalidated with a conditional request using
+ * If-None-Match, and a 304 Not Modified response reuses the cached body.
+ * Identical requests that are in flight at the same time share a single
+ * exchange with the server.
+ */
+class HttpResponseCache {
+
+    static final int MAXIMUM_NUMBER_OF_CACHED_RESPONSES = 1_000;
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE  = "max-age=";
+
+    private final Cache<JsonNode, CachedResponse>     responses       = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_NUMBER_OF_CACHED_RESPONSES).build();
+    private final Map<JsonNode, Mono<CachedResponse>> pendingRequests = new ConcurrentHashMap<>();
+
+    private record CachedResponse(Val body, String eTag, long expiresAt) {
+        boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+    }
+
+    /**
+     * @param requestSettings the settings of a GET request
+     * @return the key identifying the response to the request, ignoring the
+     *         polling settings
+     */
+    static JsonNode cacheKey(Val requestSettings) {
+        var settings = requestSettings.get();
+        if (!(settings instanceof ObjectNode objectNode))
+            return settings;
+
+        var key = objectNode.deepCopy();
+        key.remove(ReactiveWebClient.POLLING_INTERVAL);
+        key.remove(ReactiveWebClient.REPEAT_TIMES);
+        return key;
+    }
+
+    /**
+     * Returns the response to a request, either from the cache or by exchanging
+     * the request with the server.
+     *
+     * @param key      the key of the request, see {@link #cacheKey(Val)}
+     * @param request  the prepared request. The cache manages its If-None-Match
+     *                 header.
+     * @param readBody reads the body of a successful response
+     * @return the body of the response
+     */
+    Mono<Val> get(JsonNode key, RequestHeadersSpec<?> request, Function<ClientResponse, Mono<Val>> readBody) {
+        return Mono.defer(() -> {
+            var cached = responses.getIfPresent(key);
+            if (cached != null && cached.isFresh(System.currentTimeMillis()))
+                return Mono.just(cached.body());
+
+            return pendingRequests.computeIfAbsent(key, k -> exchange(k, request, readBody, cached)
+                    .doFinally(signal -> pendingRequests.remove(k)).cache()).map(CachedResponse::body);
+        });
+    }
+
+    private Mono<CachedResponse> exchange(JsonNode key, RequestHeadersSpec<?> request,
+            Function<ClientResponse, Mono<Val>> readBody, CachedResponse cached) {
+        var eTag = cached == null ? null : cached.eTag();
+        return request.headers(headers -> setIfNoneMatch(headers, eTag)).exchangeToMono(response -> {
+            var headers = response.headers().asHttpHeaders();
+            if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                var eTagOfResponse = headers.getETag() == null ? cached.eTag() : headers.getETag();
+                return Mono.just(store(key, cached.body(), eTagOfResponse, headers));
+            }
+            if (response.statusCode().isError()) {
+                return response.createException()
+                        .flatMap(error -> Mono.error(new PolicyEvaluationException(error.getMessage())));
+            }
+            return readBody.apply(response).map(body -> store(key, body, headers.getETag(), headers));
+        });
+    }
+
+    private CachedResponse store(JsonNode key, Val body, String eTag, HttpHeaders headers) {
+        var now      = System.currentTimeMillis();
+        var response = new CachedResponse(body, eTag, expiresAt(headers, now));
+        if (isStorable(headers) && (response.isFresh(now) || eTag != null)) {
+            responses.put(key, response);
+        } else {
+            responses.invalidate(key);
+        }
+        return response;
+    }
+
+    private static void setIfNoneMatch(HttpHeaders headers, String eTag) {
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        } else {
+            headers.remove(HttpHeaders.IF_NONE_MATCH);
+        }
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        for (var directive : cacheControlDirectives(headers)) {
+            if (NO_STORE.equals(directive))
+                return false;
+        }
+        return true;
+    }
+
+    private static long expiresAt(HttpHeaders headers, long now) {
+        for (var directive : cacheControlDirectives(headers)) {
+            if (NO_CACHE.equals(directive))
+                return now;
+            if (directive.startsWith(MAX_AGE))
+                return now + maxAgeMillis(directive.substring(MAX_AGE.length()));
+        }
+        return Math.max(now, headers.getExpires());
+    }
+
+    private static long maxAgeMillis(String maxAge) {
+        try {
+            return Long.parseLong(maxAge.replace("\"", "")) * 1000L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static String[] cacheControlDirectives(HttpHeaders headers) {
+        var cacheControl = headers.getCacheControl();
+        if (cacheControl == null)
+            return new String[0];
+
+        var directives = cacheControl.split(",");
+        for (var i = 0; i < directives.length; i++) {
+            directives[i] = directives[i].trim().toLowerCase(Locale.ROOT);
+        }
+        return directives;
+    }
+
+}
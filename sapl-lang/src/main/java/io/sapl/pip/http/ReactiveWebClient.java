@@ -23,6 +23,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
@@ -73,12 +74,18 @@ public class ReactiveWebClient {
     private static final JsonNodeFactory JSON             = JsonNodeFactory.instance;
     private static final TextNode        APPLICATION_JSON = JSON.textNode(MediaType.APPLICATION_JSON.toString());
 
-    private final ObjectMapper mapper;
+    private final ObjectMapper      mapper;
+    private final HttpResponseCache responseCache = new HttpResponseCache();
 
     /**
      * <p>
      * Connects to an HTTP service and produces a Flux&lt;Val&gt;
      * </p>
+     * <p>
+     * Polled GET requests are answered from a response cache shared by all
+     * subscriptions, honoring the Cache-Control, Expires, and ETag headers of the
+     * responses. A new value is only emitted if the body of the response changed.
+     * </p>
      *
      * @param method          the @see HttpMethod to execute and a @see Val
      *                        containing the settings
@@ -114,10 +121,10 @@ public Flux<Val> httpRequest(HttpMethod method, Val requestSettings) {
         case MediaType.TEXT_EVENT_STREAM_VALUE:
             return retrieveSSE(client).map(Val::of).onErrorResume(this::mapError);
         case MediaType.APPLICATION_JSON_VALUE:
-            return poll(exchangeToMono(JsonNode.class, client).map(Val::of).onErrorResume(this::mapError),
+            return poll(request(method, requestSettings, client, JsonNode.class, Val::of), method,
                     pollingIntervallMs, repetitions);
         default:
-            return poll(exchangeToMono(String.class, client).map(Val::of).onErrorResume(this::mapError),
+            return poll(request(method, requestSettings, client, String.class, Val::of), method,
                     pollingIntervallMs, repetitions);
         }
     }
@@ -199,8 +206,21 @@ private Flux<JsonNode> retrieveSSE(RequestHeadersSpec<?> client) {
         return client.retrieve().bodyToFlux(type).map(ServerSentEvent::data);
     }
 
-    private Flux<Val> poll(Mono<Val> in, long pollingInterval, long repeatTimes) {
-        return in.repeatWhen((Repeat.times(repeatTimes - 1).fixedBackoff(Duration.ofMillis(pollingInterval))));
+    private Flux<Val> poll(Mono<Val> in, HttpMethod method, long pollingInterval, long repeatTimes) {
+        var responses = in.repeatWhen((Repeat.times(repeatTimes - 1).fixedBackoff(Duration.ofMillis(pollingInterval))));
+        if (method == HttpMethod.GET) {
+            return responses.distinctUntilChanged();
+        }
+        return responses;
+    }
+
+    private <T> Mono<Val> request(HttpMethod method, Val requestSettings, RequestHeadersSpec<?> client,
+            Class<T> bodyType, Function<T, Val> toVal) {
+        if (method != HttpMethod.GET) {
+            return exchangeToMono(bodyType, client).map(toVal).onErrorResume(this::mapError);
+        }
+        return responseCache.get(HttpResponseCache.cacheKey(requestSettings), client,
+                response -> response.bodyToMono(bodyType).map(toVal)).onErrorResume(this::mapError);
     }
 
     private <T> Mono<T> exchangeToMono(Class<T> clazz, RequestHeadersSpec<?> in) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.grammar.sapl.BasicIdentifier;
+import io.sapl.grammar.sapl.EscapedKeyStep;
+import io.sapl.grammar.sapl.KeyStep;
+import io.sapl.grammar.sapl.Step;
+
+/**
+ * The paths of the authorization subscription referenced by a set of
+ * documents, i.e., the chains of key steps directly following the identifiers
+ * subject, action, resource and environment.
+ * <p>
+ * A reference is followed as long as the steps are key steps. Any other step,
+ * e.g., an index, a wildcard, an expression or an attribute finder, as well as
+ * an identifier without steps or a schema for the subscription element, marks
+ * the whole value at that point as referenced.
+ * <p>
+ * Pruning a subscription removes all fields that none of the documents can
+ * read, e.g., timestamps or request ids. The pruned subscription leads to the
+ * same decisions as the original one, unless an attribute finder reads
+ * unreferenced fields from the variables of the evaluation.
+ */
+public final class ReferencedSubscriptionPaths {
+
+    /**
+     * All paths are referenced, i.e., pruning leaves subscriptions unchanged.
+     */
+    public static final ReferencedSubscriptionPaths ALL = new ReferencedSubscriptionPaths(PathNode.whole(),
+            PathNode.whole(), PathNode.whole(), PathNode.whole());
+
+    private static final String SUBJECT     = "subject";
+    private static final String ACTION      = "action";
+    private static final String RESOURCE    = "resource";
+    private static final String ENVIRONMENT = "environment";
+
+    private static final Set<String>     SUBSCRIPTION_ELEMENTS = Set.of(SUBJECT, ACTION, RESOURCE, ENVIRONMENT);
+    private static final JsonNodeFactory JSON                  = JsonNodeFactory.instance;
+
+    private final PathNode subject;
+    private final PathNode action;
+    private final PathNode resource;
+    private final PathNode environment;
+
+    private ReferencedSubscriptionPaths(PathNode subject, PathNode action, PathNode resource, PathNode environment) {
+        this.subject     = subject;
+        this.action      = action;
+        this.resource    = resource;
+        this.environment = environment;
+    }
+
+    /**
+     * Collects the subscription paths referenced by the documents.
+     *
+     * @param documents the documents of a policy retrieval point
+     * @return the referenced paths, or {@link #ALL}, if any document is invalid
+     */
+    public static ReferencedSubscriptionPaths of(Collection<Document> documents) {
+        var roots = new HashMap<String, PathNode>();
+        for (var document : documents) {
+            if (document.isInvalid() || document.sapl() == null)
+                return ALL;
+
+            for (var schema : document.sapl().getSchemas()) {
+                root(roots, schema.getSubscriptionElement()).markWhole();
+            }
+            var contents = document.sapl().eAllContents();
+            while (contents.hasNext()) {
+                if (contents.next() instanceof BasicIdentifier identifier
+                        && SUBSCRIPTION_ELEMENTS.contains(identifier.getIdentifier())) {
+                    root(roots, identifier.getIdentifier()).add(keyPrefix(identifier.getSteps()));
+                }
+            }
+        }
+        return new ReferencedSubscriptionPaths(roots.get(SUBJECT), roots.get(ACTION), roots.get(RESOURCE),
+                roots.get(ENVIRONMENT));
+    }
+
+    private static PathNode root(Map<String, PathNode> roots, String subscriptionElement) {
+        return roots.computeIfAbsent(subscriptionElement, element -> new PathNode());
+    }
+
+    private static List<String> keyPrefix(List<Step> steps) {
+        var prefix = new ArrayList<String>(steps.size());
+        for (var step : steps) {
+            if (step instanceof KeyStep keyStep) {
+                prefix.add(keyStep.getId());
+            } else if (step instanceof EscapedKeyStep escapedKeyStep) {
+                prefix.add(escapedKeyStep.getId());
+            } else {
+                break;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * @param authorizationSubscription an authorization subscription
+     * @return the subscription only containing the referenced paths.
+     *         Unreferenced subscription elements are replaced by null. Referenced
+     *         values are shared with the original subscription.
+     */
+    public AuthorizationSubscription prune(AuthorizationSubscription authorizationSubscription) {
+        if (this == ALL)
+            return authorizationSubscription;
+
+        return new AuthorizationSubscription(prune(authorizationSubscription.getSubject(), subject),
+                prune(authorizationSubscription.getAction(), action),
+                prune(authorizationSubscription.getResource(), resource),
+                prune(authorizationSubscription.getEnvironment(), environment));
+    }
+
+    private static JsonNode prune(JsonNode value, PathNode paths) {
+        if (value == null)
+            return null;
+        if (paths == null)
+            return JSON.nullNode();
+        if (paths.isWhole() || !value.isObject())
+            return value;
+
+        var pruned = JSON.objectNode();
+        for (var child : paths.children().entrySet()) {
+            var field = value.get(child.getKey());
+            if (field != null)
+                pruned.set(child.getKey(), prune(field, child.getValue()));
+        }
+        return pruned;
+    }
+
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean                     whole;
+
+        static PathNode whole() {
+            var node = new PathNode();
+            node.whole = true;
+            return node;
+        }
+
+        boolean isWhole() {
+            return whole;
+        }
+
+        Map<String, PathNode> children() {
+            return children;
+        }
+
+        void markWhole() {
+            whole = true;
+            children.clear();
+        }
+
+        void add(List<String> path) {
+            var node = this;
+            for (var key : path) {
+                if (node.whole)
+                    return;
+                node = node.children.computeIfAbsent(key, k -> new PathNode());
+            }
+            node.markWhole();
+        }
+
+    }
+
+}
@@ -26,6 +26,8 @@
 
 import com.google.common.base.Objects;
 
+import io.sapl.grammar.sapl.impl.ElementOfImplCustom;
+
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
@@ -39,6 +41,9 @@
  * equivalent. This the case for functions and attribute finders. These have to
  * be explicitly handled and imports must be resolved before comparing or
  * hashing.
+ * <p>
+ * c) The 'in' operator with an array literal of constants as haystack is
+ * compared and hashed by its hashed array, i.e., by the set of its elements.
  */
 @UtilityClass
 public class EquivalenceAndHashUtil {
@@ -50,6 +55,13 @@ public static int semanticHash(@NonNull EObject thiz, @NonNull Map<String, Strin
         var hash = HASH_SEED_PRIME;
         hash = PRIME * hash + thiz.eClass().hashCode(); // else literals all return
                                                         // HASH_SEED_PRIME and collide
+        if (thiz instanceof ElementOfImplCustom elementOf) {
+            var haystack = elementOf.getConstantHaystack();
+            if (haystack.isPresent()) {
+                hash = PRIME * hash + semanticHash(elementOf.getLeft(), imports);
+                return PRIME * hash + haystack.get().hashCode();
+            }
+        }
         EList<EStructuralFeature> features = thiz.eClass().getEAllStructuralFeatures();
         for (EStructuralFeature feature : features) {
             var featureInstance = thiz.eGet(feature);
@@ -92,6 +104,14 @@ public boolean areEquivalent(@NonNull EObject thiz, @NonNull Map<String, String>
         if (thiz.eClass() != that.eClass()) {
             return false;
         }
+        if (thiz instanceof ElementOfImplCustom thizElementOf && that instanceof ElementOfImplCustom thatElementOf) {
+            var thizHaystack = thizElementOf.getConstantHaystack();
+            var thatHaystack = thatElementOf.getConstantHaystack();
+            if (thizHaystack.isPresent() || thatHaystack.isPresent()) {
+                return thizHaystack.equals(thatHaystack) && areEquivalent(thizElementOf.getLeft(), thizImports,
+                        thatElementOf.getLeft(), thatImports);
+            }
+        }
         EList<EStructuralFeature> features = thiz.eClass().getEAllStructuralFeatures();
         for (EStructuralFeature feature : features) {
             var thisFeatureInstance = thiz.eGet(feature);
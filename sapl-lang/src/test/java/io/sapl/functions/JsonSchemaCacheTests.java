@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.functions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class JsonSchemaCacheTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String SCHEMA = """
+            {
+                "type": "object",
+                "properties": {
+                    "name": { "type": "string" },
+                    "age" : { "type": "integer" }
+                }
+            }
+            """;
+
+    private static final String SCHEMA_WITH_REFERENCE = """
+            {
+                "$schema": "https://json-schema.org/draft/2020-12/schema",
+                "type": "object",
+                "properties": { "x": { "$ref": "https://example.com/number" } }
+            }
+            """;
+
+    @Test
+    void when_sameSchemaIsUsedTwice_then_itIsCompiledOnce() throws JsonProcessingException {
+        var cache = new JsonSchemaCache(10);
+
+        assertThat(cache.isCompliant(json("{ \"name\": \"Alice\", \"age\": 25 }"), json(SCHEMA), null)).isTrue();
+        assertThat(cache.isCompliant(json("{ \"name\": \"Alice\", \"age\": \"25\" }"), json(SCHEMA), null)).isFalse();
+
+        assertThat(cache.size()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void when_externalSchemasDiffer_then_schemaIsCompiledPerExternalSchemas() throws JsonProcessingException {
+        var cache         = new JsonSchemaCache(10);
+        var schema        = json(SCHEMA_WITH_REFERENCE);
+        var subject       = json("{ \"x\": 1 }");
+        var numbers       = json("[ { \"$id\": \"https://example.com/number\", \"type\": \"integer\" } ]");
+        var texts         = json("[ { \"$id\": \"https://example.com/number\", \"type\": \"string\" } ]");
+        var sameAsNumbers = json("[ { \"$id\": \"https://example.com/number\", \"type\": \"integer\" } ]");
+
+        assertThat(cache.isCompliant(subject, schema, numbers)).isTrue();
+        assertThat(cache.isCompliant(subject, schema, texts)).isFalse();
+        assertThat(cache.isCompliant(subject, schema, sameAsNumbers)).isTrue();
+
+        assertThat(cache.size()).isEqualTo(2L);
+    }
+
+    @Test
+    void when_cachedSchemaIsModifiedByCaller_then_cacheIsNotAffected() throws JsonProcessingException {
+        var cache  = new JsonSchemaCache(10);
+        var schema = json(SCHEMA);
+        cache.compliance(schema, null);
+
+        ((ObjectNode) schema).put("type", "string");
+
+        assertThat(cache.isCompliant(json("{}"), json(SCHEMA), null)).isTrue();
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void when_moreSchemasThanMaximumSize_then_cacheIsBounded() throws JsonProcessingException {
+        var cache = new JsonSchemaCache(2);
+        for (var i = 0; i < 5; i++) {
+            cache.compliance(json("{ \"maxLength\": " + i + " }"), null);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(2L);
+    }
+
+    @Test
+    void when_shared_then_sameInstance() {
+        assertThat(JsonSchemaCache.shared()).isSameAs(JsonSchemaCache.shared());
+    }
+
+    private static JsonNode json(String json) throws JsonProcessingException {
+        return MAPPER.readTree(json);
+    }
+
+}
@@ -20,6 +20,9 @@
 import static io.sapl.testutil.TestUtil.assertExpressionEvaluatesTo;
 import static io.sapl.testutil.TestUtil.assertExpressionReturnsErrors;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 
 class EagerOperatorsTests {
@@ -639,6 +642,22 @@ void evaluateElementOfNumbersTrue2() {
         assertExpressionEvaluatesTo("1 in [2, 1.000]", "true");
     }
 
+    @Test
+    void evaluateElementOfLargeConstantArray() {
+        var haystack = IntStream.range(0, 5000).mapToObj(i -> "\"t" + i + "\"").collect(Collectors.joining(","));
+        assertExpressionEvaluatesTo("\"t4711\" in [" + haystack + "]", "true");
+        assertExpressionEvaluatesTo("\"t5000\" in [" + haystack + "]", "false");
+        assertExpressionEvaluatesTo("4711 in [" + haystack + "]", "false");
+    }
+
+    @Test
+    void evaluateElementOfConstantArrayWithNumbers() {
+        assertExpressionEvaluatesTo("1 in [2, 1.0, \"a\", true, null]", "true");
+        assertExpressionEvaluatesTo("1.00 in [2, 1, \"a\", true, null]", "true");
+        assertExpressionEvaluatesTo("true in [2, 1, \"a\", true, null]", "true");
+        assertExpressionEvaluatesTo("[1] in [2, 1, \"a\", true, null]", "false");
+    }
+
     @Test
     void evaluateElementOfLeftError() {
         assertExpressionReturnsErrors("(10/0) in []");
@@ -21,6 +21,7 @@
 import static io.sapl.testutil.TestUtil.assertExpressionReturnsErrors;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -94,7 +95,7 @@ void applyWithSomeStreamData() {
     }
 
     private static AttributeContext mockAttributeContext(Flux<Val> stream) {
-        var attributeCtx = mock(AttributeContext.class);
+        var attributeCtx = mock(AttributeContext.class, CALLS_REAL_METHODS);
         when(attributeCtx.evaluateAttribute(eq(FULLY_QUALIFIED_ATTRIBUTE), any(), any(), any())).thenReturn(stream);
         return attributeCtx;
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.grammar.sapl.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.sapl.api.interpreter.NumericValues;
+import io.sapl.api.interpreter.Val;
+
+/**
+ * Compares quota style arithmetic and comparisons, i.e., {@code (used + 1) * 2
+ * <= limit}, on numbers as read from JSON documents using BigDecimal arithmetic
+ * and using {@link NumericValues}. The GC profiler reports the allocation rate
+ * per operation. Not executed by the test suite. Run the main method from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumericOperatorBenchmark {
+
+    private Val used;
+    private Val one;
+    private Val two;
+    private Val limit;
+
+    @Setup
+    public void setup() {
+        used  = Val.of(41);
+        one   = Val.of(1);
+        two   = Val.of(2);
+        limit = Val.of(100_000L);
+    }
+
+    @Benchmark
+    public boolean decimalArithmetic() {
+        var sum     = Val.of(used.decimalValue().add(one.decimalValue()));
+        var product = Val.of(sum.decimalValue().multiply(two.decimalValue()));
+        return product.decimalValue().compareTo(limit.decimalValue()) <= 0;
+    }
+
+    @Benchmark
+    public boolean primitiveArithmetic() {
+        var sum     = NumericValues.add(used, one);
+        var product = NumericValues.multiply(sum, two);
+        return NumericValues.compare(product.get(), limit.get()) <= 0;
+    }
+
+    @Benchmark
+    public int decimalHashCode() {
+        return used.decimalValue().stripTrailingZeros().hashCode();
+    }
+
+    @Benchmark
+    public int primitiveHashCode() {
+        return NumericValues.hashCode(used.get());
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NumericOperatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+
+}
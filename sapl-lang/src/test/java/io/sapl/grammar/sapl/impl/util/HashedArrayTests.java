@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.grammar.sapl.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.sapl.api.interpreter.Val;
+
+class HashedArrayTests {
+
+    @Test
+    void when_numbersAreNumericallyEqual_then_contained() throws JsonProcessingException {
+        var array = HashedArray.of(json("[1, 2.50, 1E+3, 12345678901234567890]"));
+
+        assertThat(array.contains(json("1.0"))).isTrue();
+        assertThat(array.contains(json("2.5"))).isTrue();
+        assertThat(array.contains(json("1000"))).isTrue();
+        assertThat(array.contains(json("12345678901234567890"))).isTrue();
+        assertThat(array.contains(json("3"))).isFalse();
+        assertThat(array.contains(json("\"1\""))).isFalse();
+    }
+
+    @Test
+    void when_valuesAreNoNumbers_then_comparedByEquality() throws JsonProcessingException {
+        var array = HashedArray.of(json("[\"a\", true, null, [1], {\"key\":\"value\"}]"));
+
+        assertThat(array.contains(json("\"a\""))).isTrue();
+        assertThat(array.contains(json("true"))).isTrue();
+        assertThat(array.contains(json("null"))).isTrue();
+        assertThat(array.contains(json("[1]"))).isTrue();
+        assertThat(array.contains(json("{\"key\":\"value\"}"))).isTrue();
+        assertThat(array.contains(json("false"))).isFalse();
+        assertThat(array.contains(json("\"b\""))).isFalse();
+    }
+
+    @Test
+    void when_arraysHaveSameElements_then_equal() throws JsonProcessingException {
+        var array = HashedArray.of(json("[1, \"a\", 2]"));
+        var same  = HashedArray.of(json("[\"a\", 2.0, 1, 1]"));
+        var other = HashedArray.of(json("[\"a\", 2]"));
+
+        assertThat(array).isEqualTo(same).hasSameHashCodeAs(same).isNotEqualTo(other);
+        assertThat(same.size()).isEqualTo(3);
+    }
+
+    private static JsonNode json(String json) throws JsonProcessingException {
+        return Val.ofJson(json).get();
+    }
+
+}
@@ -19,11 +19,18 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import io.sapl.functions.FilterFunctionLibrary;
+import io.sapl.interpreter.DefaultSAPLInterpreter;
+import io.sapl.interpreter.InitializationException;
+import io.sapl.interpreter.functions.AnnotationFunctionContext;
 import io.sapl.interpreter.functions.FunctionContext;
 import io.sapl.interpreter.pip.AttributeContext;
 import reactor.util.context.Context;
@@ -37,4 +44,62 @@ void nullReturnsEmptyImportMap() {
         assertThat((Map<String, Object>) ImportsUtil.loadImportsIntoContext(null, ctx).get("imports")).isEmpty();
     }
 
+    @Test
+    void importsAreResolvedOncePerContexts() {
+        var document         = new DefaultSAPLInterpreter().parse("import filter.blacken policy \"p\" permit");
+        var attributeContext = mock(AttributeContext.class);
+        var functionContext  = mock(FunctionContext.class);
+        when(functionContext.isProvidedFunction("filter.blacken")).thenReturn(Boolean.TRUE);
+
+        var first  = ImportsUtil.fetchImports(document, attributeContext, functionContext);
+        var second = ImportsUtil.fetchImports(document, attributeContext, functionContext);
+
+        assertThat(first).containsExactly(Map.entry("blacken", "filter.blacken"));
+        assertThat(second).isSameAs(first);
+        verify(functionContext, times(1)).isProvidedFunction("filter.blacken");
+    }
+
+    @Test
+    void importsAreResolvedAgainForOtherContexts() {
+        var document         = new DefaultSAPLInterpreter().parse("import filter.blacken policy \"p\" permit");
+        var attributeContext = mock(AttributeContext.class);
+        var functionContext  = mock(FunctionContext.class);
+        var otherContext     = mock(FunctionContext.class);
+        when(functionContext.isProvidedFunction("filter.blacken")).thenReturn(Boolean.TRUE);
+        when(otherContext.isProvidedFunction("filter.blacken")).thenReturn(Boolean.TRUE);
+
+        ImportsUtil.fetchImports(document, attributeContext, functionContext);
+        ImportsUtil.fetchImports(document, attributeContext, otherContext);
+
+        verify(otherContext, times(1)).isProvidedFunction("filter.blacken");
+    }
+
+    @Test
+    void importsAreResolvedAgainAfterLibraryIsLoaded() throws InitializationException {
+        var document         = new DefaultSAPLInterpreter().parse("import filter.* policy \"p\" permit");
+        var attributeContext = mock(AttributeContext.class);
+        var functionContext  = new AnnotationFunctionContext();
+
+        var before = ImportsUtil.fetchImports(document, attributeContext, functionContext);
+        functionContext.loadLibrary(FilterFunctionLibrary.class);
+        var after = ImportsUtil.fetchImports(document, attributeContext, functionContext);
+
+        assertThat(before).isEmpty();
+        assertThat(after).containsEntry("blacken", "filter.blacken");
+    }
+
+    @Test
+    void importsAreNotCachedForContextsWithoutGeneration() {
+        var document         = new DefaultSAPLInterpreter().parse("import filter.blacken policy \"p\" permit");
+        var attributeContext = mock(AttributeContext.class);
+        var functionContext  = mock(FunctionContext.class);
+        when(functionContext.generation()).thenReturn(-1L);
+        when(functionContext.isProvidedFunction("filter.blacken")).thenReturn(Boolean.TRUE);
+
+        ImportsUtil.fetchImports(document, attributeContext, functionContext);
+        ImportsUtil.fetchImports(document, attributeContext, functionContext);
+
+        verify(functionContext, times(2)).isProvidedFunction("filter.blacken");
+    }
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.interpreter.combinators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.sapl.api.interpreter.Val;
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.Decision;
+import io.sapl.grammar.sapl.CombiningAlgorithm;
+import io.sapl.grammar.sapl.SAPL;
+import io.sapl.interpreter.CombinedDecision;
+import io.sapl.interpreter.DocumentEvaluationResult;
+import io.sapl.interpreter.context.AuthorizationContext;
+import io.sapl.prp.Document;
+import io.sapl.prp.MatchingDocument;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class BasicCombiningAlgorithmTests {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    @Test
+    void when_documentRepeatsItsDecisionAndOnlyDecisionsAreRead_then_documentsAreNotCombinedAgain() {
+        var combinations = new AtomicInteger();
+        var documents    = List.of(
+                matchingDocument(Flux.just(result(AuthorizationDecision.NOT_APPLICABLE))),
+                matchingDocument(Flux.just(result(permitWithObligation()), result(permitWithObligation()),
+                        result(AuthorizationDecision.DENY))));
+
+        var combined = BasicCombiningAlgorithm.eagerlyCombineMatchingDocuments(documents, results -> {
+            combinations.incrementAndGet();
+            return CombinedDecision.of(results[1].getAuthorizationDecision(), CombiningAlgorithm.DENY_OVERRIDES);
+        }, CombiningAlgorithm.DENY_OVERRIDES, AuthorizationDecision.NOT_APPLICABLE)
+                .map(decision -> decision.getAuthorizationDecision().getDecision())
+                .contextWrite(AuthorizationContext::setDecisionOnly);
+
+        StepVerifier.create(combined).expectNext(Decision.PERMIT, Decision.DENY).verifyComplete();
+        assertThat(combinations).hasValue(2);
+    }
+
+    @Test
+    void when_documentRepeatsItsDecisionAndTracesAreRead_then_documentsAreCombinedAgain() {
+        var combinations = new AtomicInteger();
+        var documents    = List.of(
+                matchingDocument(Flux.just(result(AuthorizationDecision.NOT_APPLICABLE))),
+                matchingDocument(Flux.just(result(permitWithObligation()), result(permitWithObligation()),
+                        result(AuthorizationDecision.DENY))));
+
+        var combined = BasicCombiningAlgorithm.eagerlyCombineMatchingDocuments(documents, results -> {
+            combinations.incrementAndGet();
+            return CombinedDecision.of(results[1].getAuthorizationDecision(), CombiningAlgorithm.DENY_OVERRIDES);
+        }, CombiningAlgorithm.DENY_OVERRIDES, AuthorizationDecision.NOT_APPLICABLE)
+                .map(decision -> decision.getAuthorizationDecision().getDecision());
+
+        StepVerifier.create(combined).expectNext(Decision.PERMIT, Decision.PERMIT, Decision.DENY).verifyComplete();
+        assertThat(combinations).hasValue(3);
+    }
+
+    @Test
+    void when_documentOnlyChangesItsTraceAndTracesAreRead_then_combinationUsesItsLatestResult() {
+        var firstResult      = result(AuthorizationDecision.NOT_APPLICABLE);
+        var traceOnlyUpdate  = result(AuthorizationDecision.NOT_APPLICABLE);
+        var combinedSnapshot = new ArrayList<DocumentEvaluationResult>();
+        var documents        = List.of(matchingDocument(Flux.just(firstResult, traceOnlyUpdate)),
+                matchingDocument(Flux.just(result(AuthorizationDecision.PERMIT), result(AuthorizationDecision.DENY))));
+
+        var combined = BasicCombiningAlgorithm.eagerlyCombineMatchingDocuments(documents, results -> {
+            combinedSnapshot.add(results[0]);
+            return CombinedDecision.of(results[1].getAuthorizationDecision(), CombiningAlgorithm.DENY_OVERRIDES);
+        }, CombiningAlgorithm.DENY_OVERRIDES, AuthorizationDecision.NOT_APPLICABLE);
+
+        StepVerifier.create(combined).expectNextCount(2).verifyComplete();
+        assertThat(combinedSnapshot).containsExactly(traceOnlyUpdate, traceOnlyUpdate);
+    }
+
+    @Test
+    void when_documentOnlyChangesItsTraceAndOnlyDecisionsAreRead_then_combinationKeepsItsPreviousResult() {
+        var firstResult      = result(AuthorizationDecision.NOT_APPLICABLE);
+        var traceOnlyUpdate  = result(AuthorizationDecision.NOT_APPLICABLE);
+        var combinedSnapshot = new ArrayList<DocumentEvaluationResult>();
+        var documents        = List.of(matchingDocument(Flux.just(firstResult, traceOnlyUpdate)),
+                matchingDocument(Flux.just(result(AuthorizationDecision.PERMIT), result(AuthorizationDecision.DENY))));
+
+        var combined = BasicCombiningAlgorithm.eagerlyCombineMatchingDocuments(documents, results -> {
+            combinedSnapshot.add(results[0]);
+            return CombinedDecision.of(results[1].getAuthorizationDecision(), CombiningAlgorithm.DENY_OVERRIDES);
+        }, CombiningAlgorithm.DENY_OVERRIDES, AuthorizationDecision.NOT_APPLICABLE)
+                .contextWrite(AuthorizationContext::setDecisionOnly);
+
+        StepVerifier.create(combined).expectNextCount(2).verifyComplete();
+        assertThat(combinedSnapshot).containsExactly(firstResult, firstResult);
+    }
+
+    @Test
+    void when_decisionsAreEqual_then_keysAreEqual() {
+        var key = DecisionKey.of(permitWithObligation());
+
+        assertThat(key).isEqualTo(DecisionKey.of(permitWithObligation()))
+                .hasSameHashCodeAs(DecisionKey.of(permitWithObligation()))
+                .isNotEqualTo(DecisionKey.of(AuthorizationDecision.PERMIT));
+    }
+
+    private static AuthorizationDecision permitWithObligation() {
+        return AuthorizationDecision.PERMIT.withObligations(JSON.arrayNode().add(JSON.objectNode().put("type", "log")));
+    }
+
+    private static DocumentEvaluationResult result(AuthorizationDecision decision) {
+        var result = mock(DocumentEvaluationResult.class);
+        when(result.getAuthorizationDecision()).thenReturn(decision);
+        when(result.withTargetResult(any())).thenReturn(result);
+        return result;
+    }
+
+    private static MatchingDocument matchingDocument(Flux<DocumentEvaluationResult> results) {
+        var sapl = mock(SAPL.class, RETURNS_DEEP_STUBS);
+        when(sapl.getPolicyElement().evaluate()).thenReturn(results);
+        return new MatchingDocument(new Document("id", "name", sapl, null, null), Val.TRUE);
+    }
+
+}
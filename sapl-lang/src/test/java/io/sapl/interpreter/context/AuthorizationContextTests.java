@@ -17,11 +17,19 @@
  */
 package io.sapl.interpreter.context;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import io.sapl.api.interpreter.Val;
+import io.sapl.api.pdp.AuthorizationSubscription;
 import reactor.util.context.Context;
 
 class AuthorizationContextTests {
@@ -38,4 +46,71 @@ void when_setReservedVariableName_then_throw() {
         assertThatThrownBy(() -> AuthorizationContext.setVariable(ctx, "environment", Val.NULL)).hasMessage(
                 String.format(AuthorizationContext.CANNOT_OVERWRITE_REQUEST_VARIABLE_S_ERROR, "environment"));
     }
+
+    @Test
+    void when_variablesSetAndMapModifiedAfterwards_then_contextIsUnchanged() {
+        var variables = new HashMap<String, Val>();
+        variables.put("variable", Val.TRUE);
+        var ctx = AuthorizationContext.setVariables(Context.empty(), variables);
+        variables.put("other", Val.FALSE);
+
+        assertThat(AuthorizationContext.getVariables(ctx)).containsOnlyKeys("variable");
+    }
+
+    @Test
+    void when_subscriptionVariablesSet_then_subscriptionAndOtherVariablesAreVisible() {
+        var subscription = AuthorizationSubscription.of("alice", "read", "file");
+        var variable     = Val.of("value");
+        var ctx          = AuthorizationContext.setVariables(Context.empty(), Map.of("variable", variable));
+        ctx = AuthorizationContext.setSubscriptionVariables(ctx, subscription);
+
+        assertThat(AuthorizationContext.getVariable(ctx, "subject")).isEqualTo(Val.of("alice"));
+        assertThat(AuthorizationContext.getVariable(ctx, "action")).isEqualTo(Val.of("read"));
+        assertThat(AuthorizationContext.getVariable(ctx, "resource")).isEqualTo(Val.of("file"));
+        assertThat(AuthorizationContext.getVariable(ctx, "environment")).isEqualTo(Val.UNDEFINED);
+        assertThat(AuthorizationContext.getVariable(ctx, "variable")).isSameAs(variable);
+        assertThat(AuthorizationContext.getVariable(ctx, "subject"))
+                .isSameAs(AuthorizationContext.getVariable(ctx, "subject"));
+        assertThat(AuthorizationContext.getVariables(ctx)).containsOnlyKeys("subject", "action", "resource",
+                "environment", "variable").doesNotContainKey(null);
+    }
+
+    @Test
+    void when_variableSetAfterSubscriptionVariables_then_allVariablesAreVisible() {
+        var subscription = AuthorizationSubscription.of("alice", "read", "file");
+        var ctx          = AuthorizationContext.setSubscriptionVariables(Context.empty(), subscription);
+        ctx = AuthorizationContext.setVariable(ctx, "variable", Val.TRUE);
+
+        assertThat(AuthorizationContext.getVariable(ctx, "subject")).isEqualTo(Val.of("alice"));
+        assertThat(AuthorizationContext.getVariable(ctx, "variable")).isEqualTo(Val.TRUE);
+    }
+
+    @Test
+    void when_variablesSetRepeatedly_then_subscriptionIsWrappedAndCopiedOnce() {
+        var subscription = spy(AuthorizationSubscription.of("alice", "read", "file"));
+        var ctx          = AuthorizationContext.setSubscriptionVariables(Context.empty(), subscription);
+        var variables    = AuthorizationContext.getVariables(ctx);
+
+        assertThat(variables).hasSize(4);
+        var first  = AuthorizationContext.setVariable(ctx, "first", Val.TRUE);
+        var second = AuthorizationContext.setVariable(ctx, "second", Val.FALSE);
+
+        assertThat(AuthorizationContext.getVariables(first)).containsOnlyKeys("subject", "action", "resource",
+                "environment", "first");
+        assertThat(AuthorizationContext.getVariables(second)).containsOnlyKeys("subject", "action", "resource",
+                "environment", "second");
+        assertThat(variables.entrySet()).isSameAs(variables.entrySet());
+        verify(subscription, times(1)).getSubject();
+        verify(subscription, times(1)).getEnvironment();
+    }
+
+    @Test
+    void when_subscriptionVariablesModified_then_throw() {
+        var subscription = AuthorizationSubscription.of("alice", "read", "file");
+        var variables    = AuthorizationContext
+                .getVariables(AuthorizationContext.setSubscriptionVariables(Context.empty(), subscription));
+
+        assertThatThrownBy(() -> variables.put("subject", Val.NULL)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
 }
@@ -85,6 +85,14 @@ void givenMockLibraryWhenListingFunctionsTheMockFunctionIsAvailable() throws Ini
         assertThat(context.providedFunctionsOfLibrary(MockLibrary.LIBRARY_NAME), hasItems(MockLibrary.FUNCTION_NAME));
     }
 
+    @Test
+    void givenNoLibrariesWhenLoadingLibraryThenGenerationChanges() throws InitializationException {
+        var context = new AnnotationFunctionContext();
+        var before  = context.generation();
+        context.loadLibrary(new MockLibrary());
+        assertThat(context.generation() > before, is(true));
+    }
+
     @Test
     void givenNoLibrariesWhenListingFunctionForALibraryCollectionIsEmpty() {
         assertThat(new AnnotationFunctionContext().providedFunctionsOfLibrary("unknown"), empty());
@@ -136,6 +144,42 @@ void simpleFunctionCallNoParametersBadParameterNumberReturnsError() throws Initi
         assertThat(context.evaluate(MockLibrary.LIBRARY_NAME + "." + MockLibrary.FUNCTION_NAME, Val.TRUE), valError());
     }
 
+    @Test
+    void when_functionIsBound_then_callSiteIsLinkedOnceAndEvaluatesFunction() throws InitializationException {
+        var context  = new AnnotationFunctionContext(() -> List.of(new MockLibrary()), List::of);
+        var callSite = context.bind(MockLibrary.LIBRARY_NAME + ".helloTwoArgs");
+        assertAll(() -> assertThat(context.bind(MockLibrary.LIBRARY_NAME + ".helloTwoArgs"), is(callSite)),
+                () -> assertThat(callSite.evaluate(Val.TRUE, Val.FALSE), is(MockLibrary.RETURN_VALUE)),
+                () -> assertThat(callSite.evaluate(Val.TRUE), valError()));
+    }
+
+    @Test
+    void when_boundFunctionIsCalledRepeatedly_then_parametersAreValidatedEachTime() throws InitializationException {
+        var context = new AnnotationFunctionContext(() -> List.of(new ValidationLibrary()), List::of);
+        var fixed   = context.bind("validate.fixed");
+        var varArgs = context.bind("validate.varArgs");
+        assertAll(() -> assertThat(fixed.evaluate(Val.of("")), is(Val.UNDEFINED)),
+                () -> assertThat(fixed.evaluate(Val.of(0)), valError()),
+                () -> assertThat(varArgs.evaluate(Val.of(""), Val.of("")), is(Val.UNDEFINED)),
+                () -> assertThat(varArgs.evaluate(Val.of(""), Val.of(1)), valError()));
+    }
+
+    @Test
+    void when_unknownFunctionIsBound_then_callSiteEvaluatesFunctionOnceLoaded() throws InitializationException {
+        var context  = new AnnotationFunctionContext();
+        var callSite = context.bind(MockLibrary.LIBRARY_NAME + "." + MockLibrary.FUNCTION_NAME);
+        assertThat(callSite.evaluate(), valError("Unknown function test.lib.helloTest"));
+        context.loadLibrary(new MockLibrary());
+        assertThat(callSite.evaluate(), is(MockLibrary.RETURN_VALUE));
+    }
+
+    @Test
+    void when_functionThrows_then_errorContainsExceptionMessage() throws InitializationException {
+        var context = new AnnotationFunctionContext(() -> List.of(new ValidationLibrary()), List::of);
+        assertThat(context.evaluate("validate.failing", Val.TRUE),
+                valError("Error during evaluation of function validate.failing(true): failing"));
+    }
+
     @Test
     void loadedFunctionShouldBeProvided() throws InitializationException {
         var context = new AnnotationFunctionContext(() -> List.of(new MockLibrary()), List::of);
@@ -250,6 +294,11 @@ public static Val varArgs(@Text Val... args) {
             return Val.UNDEFINED;
         }
 
+        @Function
+        public static Val failing(Val arg) {
+            throw new IllegalStateException("failing");
+        }
+
     }
 
     @Test
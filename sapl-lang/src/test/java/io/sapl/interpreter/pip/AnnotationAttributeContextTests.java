@@ -180,6 +180,25 @@ public Flux<Val> x(Val leftHand) {
         assertThat(new ArrayList<>(ctx.getDocumentation()).get(0).getName(), is("PIP"));
     }
 
+    @Test
+    void when_pipLoaded_then_generationChanges() {
+        @PolicyInformationPoint
+        class PIP {
+
+            @Attribute
+            public Flux<Val> x(Val leftHand) {
+                return null;
+            }
+
+        }
+
+        var pip    = new PIP();
+        var ctx    = new AnnotationAttributeContext();
+        var before = ctx.generation();
+        assertDoesNotThrow(() -> ctx.loadPolicyInformationPoint(pip));
+        assertThat(ctx.generation() > before, is(true));
+    }
+
     @Test
     void when_noPip_providedIsEmpty() {
         var ctx = new AnnotationAttributeContext();
@@ -786,6 +805,50 @@ public Flux<Val> attribute(Val leftHand) {
                 .expectNextMatches(valErrorText("INTENDED ERROR FROM TEST")).verifyComplete();
     }
 
+    @Test
+    void when_attributeIsBound_then_callSiteEvaluatesAttributeWithTrace() throws InitializationException {
+        @PolicyInformationPoint(name = "test")
+        class PIP {
+
+            @Attribute
+            public Flux<Val> attribute(Val leftHand) {
+                return Flux.just(leftHand, Val.of("OK"));
+            }
+
+        }
+
+        var attributeCtx = new AnnotationAttributeContext(() -> List.of(new PIP()), List::of);
+        var callSite     = attributeCtx.bindAttribute("test.attribute", null);
+        for (var i = 0; i < 2; i++) {
+            StepVerifier.create(callSite.evaluate(Val.of("left"), Map.of())).expectNextMatches(val -> {
+                var arguments = val.getTrace().get("trace").get("arguments");
+                var attribute = arguments.get("attribute").get("value").asText();
+                return "left".equals(val.getText()) && "test.attribute".equals(attribute)
+                        && arguments.has("argument[0]") && arguments.has("timestamp");
+            }).expectNext(Val.of("OK")).verifyComplete();
+        }
+    }
+
+    @Test
+    void when_unknownAttributeIsBound_then_callSiteEvaluatesAttributeOnceLoaded() throws InitializationException {
+        @PolicyInformationPoint(name = "test")
+        class PIP {
+
+            @EnvironmentAttribute
+            public Flux<Val> envAttribute() {
+                return Flux.just(Val.of("OK"));
+            }
+
+        }
+
+        var attributeCtx = new AnnotationAttributeContext();
+        var callSite     = attributeCtx.bindEnvironmentAttribute("test.envAttribute", null);
+        StepVerifier.create(callSite.evaluate(Val.UNDEFINED, Map.of()))
+                .expectNextMatches(valErrorText("Unknown attribute test.envAttribute")).verifyComplete();
+        attributeCtx.loadPolicyInformationPoint(new PIP());
+        StepVerifier.create(callSite.evaluate(Val.UNDEFINED, Map.of())).expectNext(Val.of("OK")).verifyComplete();
+    }
+
     private Predicate<Val> valErrorText(String errorMessage) {
         return val -> val.isError() && errorMessage.equals(val.getMessage());
     }
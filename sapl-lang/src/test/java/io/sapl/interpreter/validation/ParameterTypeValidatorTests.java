@@ -21,6 +21,8 @@
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.annotation.Annotation;
@@ -35,6 +37,7 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -106,6 +109,17 @@ void theGivenValue_YieldsExpectedValidation(ValidationTestSpecification testSpec
             assertThrows(IllegalParameterType.class, () -> validateType(testSpec.getGivenValue(), parameter));
     }
 
+    @Test
+    void when_validatorIsCompiled_then_annotationsAreReadOnce() throws IllegalParameterType {
+        var parameter = mockParameter(Set.of(Text.class, Bool.class));
+        var validator = ParameterTypeValidator.validatorFor(parameter);
+        validator.validate(Val.of(""));
+        validator.validate(Val.TRUE);
+        assertThrows(IllegalParameterType.class, () -> validator.validate(Val.of(1)));
+        assertThrows(IllegalParameterType.class, () -> validator.validate(Val.UNDEFINED));
+        verify(parameter, times(1)).getAnnotations();
+    }
+
     private static Parameter mockParameter(Set<Class<?>> annotationClasses) {
         var parameter         = mock(Parameter.class);
         var mockedAnnotations = new ArrayList<Annotation>(annotationClasses.size());
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares scheduling and cancelling a large number of pending deadlines, e.g.,
+ * token expiry or time window transitions, on the default parallel scheduler
+ * and on the {@link HashedWheelScheduler}. Not executed by the test suite. Run
+ * the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashedWheelSchedulerBenchmark {
+
+    private static final Runnable NOOP = () -> {
+        // NOOP
+    };
+
+    @Param({ "1000", "100000" })
+    private int numberOfDeadlines;
+
+    private Scheduler    parallelScheduler;
+    private Scheduler    wheelScheduler;
+    private Disposable[] deadlines;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        parallelScheduler = Schedulers.newParallel("benchmark-parallel");
+        wheelScheduler    = new HashedWheelScheduler();
+        deadlines         = new Disposable[numberOfDeadlines];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelScheduler.dispose();
+        wheelScheduler.dispose();
+    }
+
+    @Benchmark
+    public Disposable[] scheduleAndCancelOnParallelScheduler() {
+        return scheduleAndCancel(parallelScheduler);
+    }
+
+    @Benchmark
+    public Disposable[] scheduleAndCancelOnHashedWheelScheduler() {
+        return scheduleAndCancel(wheelScheduler);
+    }
+
+    private Disposable[] scheduleAndCancel(Scheduler scheduler) {
+        for (var i = 0; i < numberOfDeadlines; i++) {
+            deadlines[i] = scheduler.schedule(NOOP, 60_000L + i, TimeUnit.MILLISECONDS);
+        }
+        for (var deadline : deadlines) {
+            deadline.dispose();
+        }
+        return deadlines;
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HashedWheelSchedulerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class HashedWheelSchedulerTests {
+
+    private HashedWheelScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new HashedWheelScheduler(Duration.ofMillis(1L), 8, Schedulers.parallel());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void when_delayedTask_then_runsNotBeforeDeadline() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var start = System.nanoTime();
+        scheduler.schedule(latch::countDown, 30L, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(1L, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30L));
+    }
+
+    @Test
+    void when_delayLongerThanOneRotation_then_runsNotBeforeDeadline() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var start = System.nanoTime();
+        scheduler.schedule(latch::countDown, 50L, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(1L, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50L));
+    }
+
+    @Test
+    void when_taskDisposed_then_doesNotRun() throws InterruptedException {
+        var cancelledTaskRan = new AtomicBoolean(false);
+        var latch            = new CountDownLatch(1);
+        scheduler.schedule(() -> cancelledTaskRan.set(true), 10L, TimeUnit.MILLISECONDS).dispose();
+        scheduler.schedule(latch::countDown, 30L, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(1L, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledTaskRan).isFalse();
+    }
+
+    @Test
+    void when_workerDisposed_then_pendingTasksDoNotRun() throws InterruptedException {
+        var cancelledTaskRan = new AtomicBoolean(false);
+        var latch            = new CountDownLatch(1);
+        var worker           = scheduler.createWorker();
+        worker.schedule(() -> cancelledTaskRan.set(true), 10L, TimeUnit.MILLISECONDS);
+        worker.dispose();
+        scheduler.schedule(latch::countDown, 30L, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(1L, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledTaskRan).isFalse();
+        assertThat(worker.isDisposed()).isTrue();
+    }
+
+    @Test
+    void when_usedForDelay_then_emitsAfterDelay() {
+        StepVerifier.create(Mono.delay(Duration.ofMillis(20L), scheduler)).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    void when_usedForInterval_then_emitsPeriodically() {
+        StepVerifier.create(Flux.interval(Duration.ofMillis(5L), scheduler).take(3L)).expectNext(0L, 1L, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void when_disposed_then_rejectsDelayedTasks() {
+        scheduler.dispose();
+        assertThat(scheduler.isDisposed()).isTrue();
+        assertThatThrownBy(() -> scheduler.schedule(() -> {}, 10L, TimeUnit.MILLISECONDS))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void when_invalidSettings_then_throws() {
+        var parallel = Schedulers.parallel();
+        assertThatThrownBy(() -> new HashedWheelScheduler(Duration.ZERO, 8, parallel))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HashedWheelScheduler(Duration.ofMillis(1L), 7, parallel))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -20,6 +20,8 @@
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Clock;
@@ -36,6 +38,8 @@
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.api.interpreter.Val;
 import io.sapl.interpreter.pip.AnnotationAttributeContext;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 class TimePolicyInformationPointTests {
@@ -58,6 +62,28 @@ void now_EmitsUpdates() {
                 .expectNext(Val.of(nowPlusOne.toString()), Val.of(nowPlusTwo.toString())).thenCancel().verify();
     }
 
+    @Test
+    void now_subscriptionsShareTimer() {
+        var now   = Instant.parse("2021-11-08T13:00:00Z");
+        var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now);
+        var sut = new TimePolicyInformationPoint(clock);
+        StepVerifier.withVirtualTime(() -> Flux.merge(sut.now().take(3), sut.now().take(3))).expectNextCount(2)
+                .thenAwait(Duration.ofSeconds(2)).expectNextCount(4).verifyComplete();
+        // one initial time per subscription and one per shared tick
+        verify(clock, times(4)).instant();
+    }
+
+    @Test
+    void now_slowSubscriber_skipsTicksInsteadOfFailing() {
+        var now   = Instant.parse("2021-11-08T13:00:00Z");
+        var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now);
+        var sut = new TimePolicyInformationPoint(clock);
+        StepVerifier.withVirtualTime(sut::now, 1L).expectNextCount(1).thenAwait(Duration.ofSeconds(1000L))
+                .thenRequest(1L).expectNextCount(1).thenCancel().verify();
+    }
+
     @Test
     void now_zeroDelay_Fails() {
         var clock = mock(Clock.class);
@@ -86,6 +112,19 @@ void nowIsAfterTest() {
                 .thenAwait(Duration.ofMinutes(91L)).expectNext(Val.TRUE).verifyComplete();
     }
 
+    @Test
+    void nowIsAfterAndNowIsBefore_shareCheckpoint() {
+        var startingTime = Instant.parse("2021-11-08T13:00:00Z");
+        var checkpoint   = Val.of("2021-11-08T14:30:00Z");
+        var clock        = mock(Clock.class);
+        when(clock.instant()).thenReturn(startingTime);
+        var sut = new TimePolicyInformationPoint(clock);
+        StepVerifier.withVirtualTime(() -> Flux.merge(sut.nowIsAfter(checkpoint), sut.nowIsBefore(checkpoint)))
+                .expectNext(Val.FALSE, Val.TRUE).thenAwait(Duration.ofMinutes(91L)).expectNextCount(2)
+                .verifyComplete();
+        verify(clock, times(1)).instant();
+    }
+
     @Test
     void localTimeIsAlwaysAfterMidnightTest() {
         var startingTime = Instant.parse("2021-11-08T13:00:00Z");
@@ -379,4 +418,16 @@ void toggleTest() {
                 .expectNext(Val.TRUE).thenCancel().verify();
     }
 
+    @Test
+    void toggle_onHashedWheelScheduler() {
+        var scheduler = new HashedWheelScheduler(Duration.ofMillis(1L), 64, Schedulers.parallel());
+        try {
+            var sut = new TimePolicyInformationPoint(mock(Clock.class), scheduler);
+            StepVerifier.create(sut.toggle(Val.of(20L), Val.of(20L)).take(3L))
+                    .expectNext(Val.TRUE, Val.FALSE, Val.TRUE).verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
 }
@@ -17,6 +17,7 @@
  */
 package io.sapl.pip.http;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
@@ -36,6 +37,7 @@
 import io.sapl.api.interpreter.Val;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 class ReactiveWebClientTests {
@@ -85,7 +87,8 @@ void testGet() throws JsonProcessingException {
         mockBackEnd.enqueue(DEFAULT_RESPONSE);
         var httpTestRequest = defaultRequest(MediaType.APPLICATION_JSON_VALUE);
         var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
-        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectNext(DEFAULT_BODY).expectComplete().verify();
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectComplete().verify();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(2);
     }
 
     @Test
@@ -133,7 +136,6 @@ void when_httpError_then_valError() throws JsonProcessingException {
         var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest);
         // @formatter:off
         StepVerifier.create(response)
-                    .expectNextMatches(this::isServerError)
                     .expectNextMatches(this::isServerError)
                     .verifyComplete();
         // @formatter:on
@@ -152,7 +154,7 @@ void when_fetchingXML_then_isInTextVal() throws JsonProcessingException {
         mockBackEnd.enqueue(mockResponse);
         var httpTestRequest = defaultRequest(MediaType.APPLICATION_XML_VALUE);
         var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::getText);
-        StepVerifier.create(response).expectNext(minimalXML).expectNext(minimalXML).expectComplete().verify();
+        StepVerifier.create(response).expectNext(minimalXML).expectComplete().verify();
     }
 
     @Test
@@ -164,8 +166,7 @@ void when_returningXMLWhenExpectingJson_then_isInTextVal() throws JsonProcessing
         mockBackEnd.enqueue(mockResponse);
         var httpTestRequest = defaultRequest(MediaType.APPLICATION_JSON_VALUE);
         var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest);
-        StepVerifier.create(response).expectNextMatches(this::isContentTypeError)
-                .expectNextMatches(this::isContentTypeError).verifyComplete();
+        StepVerifier.create(response).expectNextMatches(this::isContentTypeError).verifyComplete();
     }
 
     private boolean isContentTypeError(Val v) {
@@ -185,7 +186,7 @@ void when_pollingIntervallNotDefined_fallsBackToDefaultAndWorks() throws JsonPro
                 """;
         var httpTestRequest = Val.ofJson(String.format(template, baseUrl, MediaType.APPLICATION_JSON_VALUE));
         var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
-        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectNext(DEFAULT_BODY).expectComplete().verify();
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectComplete().verify();
     }
 
     @Test
@@ -266,6 +267,85 @@ void testDelete() throws JsonProcessingException {
         StepVerifier.create(response).expectNext(DEFAULT_BODY).expectNext(DEFAULT_BODY).expectComplete().verify();
     }
 
+    @Test
+    void when_getResponsesDiffer_then_eachChangeIsEmitted() throws JsonProcessingException {
+        var changedBody = "{\"message\":\"changed\"}";
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        mockBackEnd.enqueue(new MockResponse().setBody(changedBody).addHeader("Content-Type",
+                MediaType.APPLICATION_JSON_VALUE));
+        var httpTestRequest = defaultRequest(MediaType.APPLICATION_JSON_VALUE);
+        var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectNext(changedBody).expectComplete().verify();
+    }
+
+    @Test
+    void when_responseIsFresh_then_noFurtherRequestIsSent() throws JsonProcessingException {
+        mockBackEnd.enqueue(new MockResponse().setBody(DEFAULT_BODY)
+                .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE).addHeader("Cache-Control", "max-age=60"));
+        var httpTestRequest = fastPollingRequest(3);
+        var response        = new ReactiveWebClient(MAPPER).httpRequest(HttpMethod.GET, httpTestRequest)
+                .map(Val::toString);
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectComplete().verify();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void when_responseIsNoStore_then_everyPollSendsRequest() throws JsonProcessingException {
+        var noStoreResponse = new MockResponse().setBody(DEFAULT_BODY)
+                .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("Cache-Control", "no-store, max-age=60");
+        mockBackEnd.enqueue(noStoreResponse);
+        mockBackEnd.enqueue(noStoreResponse);
+        var httpTestRequest = fastPollingRequest(2);
+        var response        = new ReactiveWebClient(MAPPER).httpRequest(HttpMethod.GET, httpTestRequest)
+                .map(Val::toString);
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectComplete().verify();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void when_responseHasETag_then_revalidatedWithConditionalRequest()
+            throws JsonProcessingException, InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setBody(DEFAULT_BODY)
+                .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE).addHeader("Cache-Control", "no-cache")
+                .addHeader("ETag", "\"v1\""));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"v1\""));
+        var httpTestRequest = fastPollingRequest(2);
+        var response        = new ReactiveWebClient(MAPPER).httpRequest(HttpMethod.GET, httpTestRequest)
+                .map(Val::toString);
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).expectComplete().verify();
+
+        var firstRequest  = mockBackEnd.takeRequest(1, TimeUnit.SECONDS);
+        var secondRequest = mockBackEnd.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(firstRequest.getHeader("If-None-Match")).isNull();
+        assertThat(secondRequest.getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void when_identicalRequestsInFlight_then_singleRequestIsSent() throws JsonProcessingException {
+        mockBackEnd.enqueue(DEFAULT_RESPONSE.clone().setBodyDelay(200, TimeUnit.MILLISECONDS));
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        var httpTestRequest = fastPollingRequest(1);
+        var client          = new ReactiveWebClient(MAPPER);
+        var first           = client.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        var second          = client.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        StepVerifier.create(Flux.merge(first, second)).expectNext(DEFAULT_BODY, DEFAULT_BODY).expectComplete()
+                .verify();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(1);
+    }
+
+    private Val fastPollingRequest(int repetitions) throws JsonProcessingException {
+        var template = """
+                {
+                    "baseUrl" : "%s",
+                    "accept" : "application/json",
+                    "pollingIntervalMs" : 10,
+                    "repetitions" : %d
+                }
+                """;
+        return Val.ofJson(String.format(template, baseUrl, repetitions));
+    }
+
     @Test
     void testSSE() throws JsonProcessingException {
         var eventStream = "id:id1\nevent:event1\ndata:" + DEFAULT_BODY + "\n\n" + "id:id2\nevent:event2\ndata:"
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.interpreter.DefaultSAPLInterpreter;
+
+class ReferencedSubscriptionPathsTests {
+
+    private static final DefaultSAPLInterpreter INTERPRETER = new DefaultSAPLInterpreter();
+    private static final ObjectMapper           MAPPER      = new ObjectMapper();
+
+    private static final String SUBSCRIPTION = """
+            {
+              "subject"     : { "name": "alice", "role": "doctor", "session": { "id": 17, "started": "today" } },
+              "action"      : "read",
+              "resource"    : { "type": "record", "owner": "bob", "requestId": "abc", "items": [ { "a": 1 } ] },
+              "environment" : { "timestamp": "2024-01-01T00:00:00Z" }
+            }
+            """;
+
+    @Test
+    void when_keyStepsOnly_then_onlyReferencedFieldsRemain() throws JsonProcessingException {
+        var sut = paths("""
+                policy "p" permit resource.type == "record" where subject.session.id == 17; action == "read";
+                """);
+
+        var pruned = sut.prune(subscription());
+
+        assertThat(pruned.getSubject()).isEqualTo(json("{ \"session\": { \"id\": 17 } }"));
+        assertThat(pruned.getAction()).isEqualTo(json("\"read\""));
+        assertThat(pruned.getResource()).isEqualTo(json("{ \"type\": \"record\" }"));
+        assertThat(pruned.getEnvironment().isNull()).isTrue();
+    }
+
+    @Test
+    void when_identifierWithoutKeyStep_then_wholeElementRemains() throws JsonProcessingException {
+        var sut = paths("""
+                policy "p" permit where var r = resource; r.owner == subject["name"];
+                """, """
+                policy "q" deny where resource.items[0].a == 1;
+                """);
+
+        var original = subscription();
+        var pruned   = sut.prune(original);
+
+        assertThat(pruned.getSubject()).isEqualTo(json("{ \"name\": \"alice\" }"));
+        assertThat(pruned.getResource()).isSameAs(original.getResource());
+        assertThat(pruned.getAction().isNull()).isTrue();
+    }
+
+    @Test
+    void when_schemaForElement_then_wholeElementRemains() throws JsonProcessingException {
+        var sut = paths("""
+                environment schema { "type": "object" }
+                policy "p" permit
+                """);
+
+        var original = subscription();
+        var pruned   = sut.prune(original);
+
+        assertThat(pruned.getEnvironment()).isSameAs(original.getEnvironment());
+        assertThat(pruned.getSubject().isNull()).isTrue();
+    }
+
+    @Test
+    void when_subscriptionsDifferInUnreferencedFields_then_prunedSubscriptionsAreEqual()
+            throws JsonProcessingException {
+        var sut   = paths("policy \"p\" permit subject.role == \"doctor\"");
+        var other = subscription();
+        ((ObjectNode) other.getResource()).put("requestId", "xyz");
+        ((ObjectNode) other.getEnvironment()).put("timestamp", "now");
+
+        assertThat(sut.prune(other)).isEqualTo(sut.prune(subscription()));
+    }
+
+    @Test
+    void when_referencedValueIsNoObject_then_valueRemains() throws JsonProcessingException {
+        var sut = paths("policy \"p\" permit action.verb == \"read\"");
+
+        assertThat(sut.prune(subscription()).getAction()).isEqualTo(json("\"read\""));
+    }
+
+    @Test
+    void when_invalidDocument_then_nothingIsPruned() throws JsonProcessingException {
+        var documents = List.of(INTERPRETER.parseDocument("policy \"p\" permit subject.role == \"doctor\""),
+                INTERPRETER.parseDocument("policy \"q\" permit where ;;"));
+
+        var sut          = ReferencedSubscriptionPaths.of(documents);
+        var subscription = subscription();
+
+        assertThat(sut).isSameAs(ReferencedSubscriptionPaths.ALL);
+        assertThat(sut.prune(subscription)).isSameAs(subscription);
+    }
+
+    private static ReferencedSubscriptionPaths paths(String... documents) {
+        return ReferencedSubscriptionPaths
+                .of(List.of(documents).stream().map(INTERPRETER::parseDocument).toList());
+    }
+
+    private static AuthorizationSubscription subscription() throws JsonProcessingException {
+        return MAPPER.readValue(SUBSCRIPTION, AuthorizationSubscription.class);
+    }
+
+    private static JsonNode json(String json) throws JsonProcessingException {
+        return MAPPER.readTree(json);
+    }
+
+}
@@ -146,4 +146,27 @@ void testFeaturesAreEquivalent() throws IOException {
 
     }
 
+    @Test
+    void when_elementOfConstantArraysWithSameElements_then_equivalentAndSameHash() throws Exception {
+        var expA = expression("resource.tenant in [\"t1\", \"t2\", 3]");
+        var expB = expression("resource.tenant in [3.0, \"t2\", \"t1\", \"t1\"]");
+        var expC = expression("resource.tenant in [\"t1\", \"t2\"]");
+        var expD = expression("subject.tenant in [\"t1\", \"t2\", 3]");
+
+        assertThat(EquivalenceAndHashUtil.areEquivalent(expA, EMPTY_MAP, expB, EMPTY_MAP), is(true));
+        assertThat(EquivalenceAndHashUtil.semanticHash(expA, EMPTY_MAP),
+                is(EquivalenceAndHashUtil.semanticHash(expB, EMPTY_MAP)));
+        assertThat(EquivalenceAndHashUtil.areEquivalent(expA, EMPTY_MAP, expC, EMPTY_MAP), is(false));
+        assertThat(EquivalenceAndHashUtil.areEquivalent(expA, EMPTY_MAP, expD, EMPTY_MAP), is(false));
+    }
+
+    @Test
+    void when_elementOfConstantAndVariableArray_then_notEquivalent() throws Exception {
+        var expA = expression("resource.tenant in [\"t1\"]");
+        var expB = expression("resource.tenant in [subject.tenant]");
+
+        assertThat(EquivalenceAndHashUtil.areEquivalent(expA, EMPTY_MAP, expB, EMPTY_MAP), is(false));
+        assertThat(EquivalenceAndHashUtil.areEquivalent(expB, EMPTY_MAP, expA, EMPTY_MAP), is(false));
+    }
+
 }
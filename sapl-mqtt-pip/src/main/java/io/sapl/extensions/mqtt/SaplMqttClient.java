@@ -21,6 +21,7 @@
 import static io.sapl.extensions.mqtt.util.ConfigUtility.getConfigValueOrDefault;
 import static io.sapl.extensions.mqtt.util.ConfigUtility.getMqttBrokerConfig;
 import static io.sapl.extensions.mqtt.util.ConfigUtility.getPassword;
+import static io.sapl.extensions.mqtt.util.ConfigUtility.getQos;
 import static io.sapl.extensions.mqtt.util.DefaultResponseUtility.getDefaultResponseConfig;
 import static io.sapl.extensions.mqtt.util.DefaultResponseUtility.getDefaultVal;
 import static io.sapl.extensions.mqtt.util.ErrorUtility.emitValueOnRetry;
@@ -36,17 +37,19 @@
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopicFilter;
 import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
@@ -57,20 +60,25 @@
 import com.hivemq.client.mqtt.mqtt5.reactor.Mqtt5ReactorClient;
 
 import io.sapl.api.interpreter.Val;
-import io.sapl.extensions.mqtt.util.DefaultResponseConfig;
 import io.sapl.extensions.mqtt.util.ErrorUtility;
 import io.sapl.extensions.mqtt.util.MqttClientValues;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.util.function.Tuple2;
-import reactor.util.function.Tuple4;
 import reactor.util.function.Tuples;
 
 /**
  * This mqtt client allows the user to receive mqtt messages of subscribed
  * topics from a mqtt broker.
+ * <p>
+ * One mqtt client connection is established per broker configuration. All
+ * message fluxes subscribing to the same topic filter with the same qos level
+ * at the same broker share a single subscription at the broker. A message flux
+ * joining such a shared subscription receives the latest message of the topic
+ * filter right away.
  */
 @Slf4j
 public class SaplMqttClient {
@@ -90,14 +98,25 @@ public class SaplMqttClient {
     private static final String ENVIRONMENT_MQTT_PIP_CONFIG = "mqttPipConfig";
     private static final String ENVIRONMENT_USERNAME        = "username";
     private static final String ENVIRONMENT_QOS             = "defaultQos";
+    private static final String ENVIRONMENT_MAX_CONNECTIONS = "maxBrokerConnections";
+    private static final String ENVIRONMENT_BUFFER_SIZE     = "messageBufferSize";
     private static final String DEFAULT_CLIENT_ID           = "mqtt_pip";
     private static final String DEFAULT_USERNAME            = "";
     private static final String DEFAULT_BROKER_ADDRESS      = "localhost";
     private static final int    DEFAULT_BROKER_PORT         = 1883;
-    private static final int    DEFAULT_QOS                 = 0;              // AT_MOST_ONCE
+    private static final int    DEFAULT_QOS                 = 0;                 // AT_MOST_ONCE
+    private static final int    DEFAULT_MAX_CONNECTIONS     = Integer.MAX_VALUE; // no limit
+    private static final int    DEFAULT_BUFFER_SIZE         = 0;                 // only the latest message
 
-    static final ConcurrentHashMap<Integer, MqttClientValues>   MQTT_CLIENT_CACHE             = new ConcurrentHashMap<>();
-    static final ConcurrentHashMap<UUID, DefaultResponseConfig> DEFAULT_RESPONSE_CONFIG_CACHE = new ConcurrentHashMap<>();
+    static final ConcurrentHashMap<Integer, MqttClientValues>               MQTT_CLIENT_CACHE        = new ConcurrentHashMap<>();
+    static final ConcurrentHashMap<TopicSubscriptionKey, Flux<Mqtt5Publish>> TOPIC_SUBSCRIPTION_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies a subscription at a broker which is shared by all message fluxes
+     * subscribing to the topic filter with the same qos level.
+     */
+    record TopicSubscriptionKey(int brokerConfigHash, String topicFilter, MqttQos qos) {
+    }
 
     /**
      * This method returns a reactive stream of mqtt messages of one or many
@@ -171,8 +190,8 @@ private Flux<Val> buildMqttMessageFlux(Val topic, Val qos, Val mqttPipConfig, Js
         Sinks.Many<Val> emitterUndefined = Sinks.many().multicast().directAllOrNothing();
 
         var mqttMessageFlux = buildFluxOfConfigParams(qos, mqttPipConfig, pipMqttClientConfig)
-                .map(params -> getConnectionAndSubscription(topic, pipMqttClientConfig, params))
-                .switchMap(this::connectAndSubscribe).map(this::getValFromMqttPublishMessage).share()
+                .switchMap(params -> subscribeToTopics(topic, pipMqttClientConfig, params))
+                .map(this::getValFromMqttPublishMessage).share()
                 .retryWhen(getRetrySpec(pipMqttClientConfig).doBeforeRetry(
                         retrySignal -> emitValueOnRetry(pipMqttClientConfig, emitterUndefined, retrySignal)));
 
@@ -181,22 +200,11 @@ private Flux<Val> buildMqttMessageFlux(Val topic, Val qos, Val mqttPipConfig, Js
 
     private Flux<Val> addDefaultValueToMessageFlux(JsonNode pipMqttClientConfig, Val mqttPipConfig,
             Flux<Val> messageFlux) {
-        var messageFluxUuid = UUID.randomUUID();
-        return Flux
-                .merge(messageFlux, Mono.just(mqttPipConfig)
-                        .map(pipConfigParams -> determineDefaultResponse(messageFluxUuid, pipMqttClientConfig,
-                                pipConfigParams))
-                        .delayUntil(val -> Mono.just(val)
-                                .delayElement(Duration.ofMillis(DEFAULT_RESPONSE_CONFIG_CACHE.get(messageFluxUuid)
-                                        .getDefaultResponseTimeout())))
-                        .takeUntilOther(messageFlux))
-                .doFinally(signalType -> DEFAULT_RESPONSE_CONFIG_CACHE.remove(messageFluxUuid));
-    }
-
-    private Val determineDefaultResponse(UUID messageFluxUuid, JsonNode pipMqttClientConfig, Val pipConfigParams) {
-        var defaultResponseConfig = getDefaultResponseConfig(pipMqttClientConfig, pipConfigParams);
-        DEFAULT_RESPONSE_CONFIG_CACHE.put(messageFluxUuid, defaultResponseConfig);
-        return getDefaultVal(defaultResponseConfig);
+        return Flux.merge(messageFlux,
+                Mono.fromCallable(() -> getDefaultResponseConfig(pipMqttClientConfig, mqttPipConfig))
+                        .flatMap(defaultResponseConfig -> Mono.just(getDefaultVal(defaultResponseConfig))
+                                .delayElement(Duration.ofMillis(defaultResponseConfig.getDefaultResponseTimeout())))
+                        .takeUntilOther(messageFlux));
     }
 
     private Val getValFromMqttPublishMessage(Mqtt5Publish publishMessage) {
@@ -228,30 +236,77 @@ private Flux<Tuple2<Val, Val>> buildFluxOfConfigParams(Val qos, Val mqttPipConfi
         return Flux.just(Tuples.of(qos, Val.of(mqttBrokerConfig)));
     }
 
-    private Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, Integer> getConnectionAndSubscription(
-            Val topic, JsonNode pipMqttClientConfig, Tuple2<Val, Val> params) {
+    private Flux<Mqtt5Publish> subscribeToTopics(Val topic, JsonNode pipMqttClientConfig, Tuple2<Val, Val> params) {
         var mqttBrokerConfig = params.getT2().getObjectNode();
         var brokerConfigHash = mqttBrokerConfig.hashCode();
         var clientValues     = getOrBuildMqttClientValues(mqttBrokerConfig, brokerConfigHash, pipMqttClientConfig);
         var qos              = params.getT1();
-        var mqttSubscription = buildMqttSubscription(brokerConfigHash, topic, qos);
+        var bufferSize       = getConfigValueOrDefault(pipMqttClientConfig, ENVIRONMENT_BUFFER_SIZE,
+                DEFAULT_BUFFER_SIZE);
+
+        var topicSubscriptions = new ArrayList<Flux<Mqtt5Publish>>();
+        for (var topicFilter : getTopicFilters(topic)) {
+            var sharedSubscription = getOrBuildSharedTopicSubscription(clientValues, brokerConfigHash, topicFilter,
+                    qos);
+            topicSubscriptions.add(limitBuffer(sharedSubscription, bufferSize));
+        }
+        return Flux.merge(topicSubscriptions);
+    }
+
+    private List<String> getTopicFilters(Val topic) {
+        if (!topic.isArray()) {
+            return List.of(topic.getText());
+        }
+        var topicFilters = new ArrayList<String>();
+        for (var topicNode : topic.getArrayNode()) {
+            topicFilters.add(topicNode.asText());
+        }
+        return topicFilters;
+    }
 
-        return Tuples.of(clientValues.getMqttReactorClient(), clientValues.getClientConnection(), mqttSubscription,
-                brokerConfigHash);
+    /**
+     * Messages of high-rate topics are dropped for a message flux which cannot
+     * keep up, so that neither the shared subscription nor the other message
+     * fluxes are slowed down. By default, only the latest message is kept.
+     */
+    private Flux<Mqtt5Publish> limitBuffer(Flux<Mqtt5Publish> sharedSubscription, int bufferSize) {
+        if (bufferSize > 0) {
+            return sharedSubscription.onBackpressureBuffer(bufferSize, BufferOverflowStrategy.DROP_OLDEST);
+        }
+        return sharedSubscription.onBackpressureLatest();
     }
 
-    private Flux<Mqtt5Publish> connectAndSubscribe(
-            Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, Integer> buildParams) {
-        var clientConnection = buildParams.getT2();
-        var mqttSubscription = buildParams.getT3();
-        var brokerConfigHash = buildParams.getT4();
-        return clientConnection.thenMany(mqttSubscription).doOnError(ErrorUtility::isErrorRelevantToRemoveClientCache,
-                throwable -> MQTT_CLIENT_CACHE.remove(brokerConfigHash));
+    private Flux<Mqtt5Publish> getOrBuildSharedTopicSubscription(MqttClientValues clientValues, int brokerConfigHash,
+            String topicFilter, Val qos) {
+        var key = new TopicSubscriptionKey(brokerConfigHash, topicFilter, getQos(qos));
+        return TOPIC_SUBSCRIPTION_CACHE.computeIfAbsent(key,
+                topicSubscriptionKey -> buildSharedTopicSubscription(clientValues, topicSubscriptionKey, qos));
     }
 
-    private Flux<Mqtt5Publish> buildMqttSubscription(int brokerConfigHash, Val topic, Val qos) {
+    /**
+     * Builds the subscription of a topic filter at the broker, which is shared by
+     * all subscribers and replays the latest message to new subscribers. The
+     * subscription at the broker is established with the first subscriber and
+     * cancelled with the last one. The shared subscription is removed from the
+     * cache before an error is propagated, so that retries build a new one.
+     */
+    private Flux<Mqtt5Publish> buildSharedTopicSubscription(MqttClientValues clientValues, TopicSubscriptionKey key,
+            Val qos) {
+        var sharedSubscription = new AtomicReference<Flux<Mqtt5Publish>>();
+        var topic              = Val.of(key.topicFilter());
+        var mqttSubscription   = buildMqttSubscription(clientValues, key.brokerConfigHash(), topic, qos);
+        sharedSubscription.set(clientValues.getClientConnection().thenMany(mqttSubscription)
+                .doOnError(ErrorUtility::isErrorRelevantToRemoveClientCache,
+                        throwable -> MQTT_CLIENT_CACHE.remove(key.brokerConfigHash()))
+                .doOnTerminate(() -> TOPIC_SUBSCRIPTION_CACHE.remove(key, sharedSubscription.get()))
+                .doOnCancel(() -> TOPIC_SUBSCRIPTION_CACHE.remove(key, sharedSubscription.get())).replay(1)
+                .refCount());
+        return sharedSubscription.get();
+    }
+
+    private Flux<Mqtt5Publish> buildMqttSubscription(MqttClientValues mqttClientValues, int brokerConfigHash,
+            Val topic, Val qos) {
         var topicSubscription = buildTopicSubscription(topic, qos);
-        var mqttClientValues  = Objects.requireNonNull(MQTT_CLIENT_CACHE.get(brokerConfigHash));
         var mqttClientReactor = mqttClientValues.getMqttReactorClient();
         return mqttClientReactor
                 // FluxWithSingle is a combination of the single 'subscription acknowledgement'
@@ -273,23 +328,23 @@ private Flux<Mqtt5Publish> buildMqttSubscription(int brokerConfigHash, Val topic
 
     private MqttClientValues getOrBuildMqttClientValues(ObjectNode mqttBrokerConfig, int brokerConfigHash,
             JsonNode pipMqttClientConfig) {
-        var clientValues = MQTT_CLIENT_CACHE.get(brokerConfigHash);
-        if (clientValues == null) {
-            clientValues = buildClientValues(mqttBrokerConfig, brokerConfigHash, pipMqttClientConfig);
-        }
-        return clientValues;
+        return MQTT_CLIENT_CACHE.computeIfAbsent(brokerConfigHash, hash -> {
+            var maxConnections = getConfigValueOrDefault(pipMqttClientConfig, ENVIRONMENT_MAX_CONNECTIONS,
+                    DEFAULT_MAX_CONNECTIONS);
+            if (MQTT_CLIENT_CACHE.size() >= maxConnections) {
+                throw new IllegalStateException(
+                        "The maximum number of " + maxConnections + " mqtt broker connections is reached.");
+            }
+            return buildClientValues(mqttBrokerConfig, pipMqttClientConfig);
+        });
     }
 
-    private MqttClientValues buildClientValues(ObjectNode mqttBrokerConfig, int brokerConfigHash,
-            JsonNode pipMqttClientConfig) {
+    private MqttClientValues buildClientValues(ObjectNode mqttBrokerConfig, JsonNode pipMqttClientConfig) {
         var clientId             = getConfigValueOrDefault(mqttBrokerConfig, ENVIRONMENT_CLIENT_ID,
                 getConfigValueOrDefault(pipMqttClientConfig, ENVIRONMENT_CLIENT_ID, DEFAULT_CLIENT_ID));
         var mqttClientReactor    = buildMqttReactorClient(mqttBrokerConfig, pipMqttClientConfig);
         var mqttClientConnection = buildClientConnection(mqttClientReactor).share();
-        var clientValues         = new MqttClientValues(clientId, mqttClientReactor, mqttBrokerConfig,
-                mqttClientConnection);
-        MQTT_CLIENT_CACHE.put(brokerConfigHash, clientValues);
-        return clientValues;
+        return new MqttClientValues(clientId, mqttClientReactor, mqttBrokerConfig, mqttClientConnection);
     }
 
     private Mqtt5ReactorClient buildMqttReactorClient(JsonNode mqttBrokerConfig, JsonNode pipMqttClientConfig) {
@@ -17,8 +17,8 @@
  */
 package io.sapl.extensions.mqtt.util;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
@@ -56,7 +56,7 @@ public MqttClientValues(String clientId, Mqtt5ReactorClient mqttReactorClient, O
         this.mqttReactorClient          = mqttReactorClient;
         this.mqttBrokerConfig           = mqttBrokerConfig.deepCopy();
         this.clientConnection           = clientConnection;
-        this.topicSubscriptionsCountMap = new HashMap<>();
+        this.topicSubscriptionsCountMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -87,12 +87,8 @@ public void countTopicSubscriptionsCountMapUp(String topic) {
      *         otherwise returns false
      */
     public boolean countTopicSubscriptionsCountMapDown(String topic) {
-        int count = topicSubscriptionsCountMap.remove(topic);
-        if (count > 1) {
-            topicSubscriptionsCountMap.put(topic, count - 1);
-            return true;
-        }
-        return false;
+        var count = topicSubscriptionsCountMap.computeIfPresent(topic, (key, value) -> value > 1 ? value - 1 : null);
+        return count != null;
     }
 
     /**
@@ -22,6 +22,7 @@
 import static io.sapl.extensions.mqtt.MqttTestUtility.buildVariables;
 import static io.sapl.extensions.mqtt.MqttTestUtility.startClient;
 import static io.sapl.extensions.mqtt.MqttTestUtility.stopBroker;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.file.Path;
 import java.time.Duration;
@@ -260,4 +261,54 @@ void when_unsubscribingSingleLevelWildcardTopicOnSharedConnectionWithSimpleTopic
                 .then(() -> mqttClient.publish(buildMqttPublishMessage("level1/xxx/level3", "message1", false)))
                 .expectNoEvent(Duration.ofMillis(2 * DELAY_MS)).thenCancel().verify();
     }
+
+    @Test
+    void when_subscribingToSameTopicOnDifferentFlux_then_shareSubscriptionAtBroker() {
+        // GIVEN
+        var saplMqttMessageFluxFirst  = saplMqttClient.buildSaplMqttMessageFlux(Val.of("topic"), buildVariables());
+        var saplMqttMessageFluxSecond = saplMqttClient.buildSaplMqttMessageFlux(Val.of("topic"), buildVariables());
+
+        // WHEN
+        var saplMqttMessageFluxMerge = Flux.merge(saplMqttMessageFluxFirst, saplMqttMessageFluxSecond)
+                .filter(val -> !val.isUndefined());
+
+        // THEN
+        StepVerifier.create(saplMqttMessageFluxMerge).thenAwait(Duration.ofMillis(2 * DELAY_MS))
+                .then(() -> assertEquals(1, SaplMqttClient.TOPIC_SUBSCRIPTION_CACHE.size()))
+                .then(() -> mqttClient.publish(buildMqttPublishMessage("topic", "message", false)))
+                .expectNext(Val.of("message")).expectNext(Val.of("message")).thenCancel().verify();
+    }
+
+    @Test
+    void when_subscribingToActiveSharedSubscription_then_getLatestMessage() {
+        // GIVEN
+        var saplMqttMessageFluxFirst  = saplMqttClient.buildSaplMqttMessageFlux(Val.of("topic"), buildVariables())
+                .filter(val -> !val.isUndefined());
+        var saplMqttMessageFluxSecond = saplMqttClient.buildSaplMqttMessageFlux(Val.of("topic"), buildVariables())
+                .filter(val -> !val.isUndefined());
+
+        // WHEN
+        var saplMqttMessageFluxMerge = Flux.merge(saplMqttMessageFluxFirst,
+                saplMqttMessageFluxSecond.delaySubscription(Duration.ofMillis(4 * DELAY_MS)));
+
+        // THEN
+        StepVerifier.create(saplMqttMessageFluxMerge).thenAwait(Duration.ofMillis(2 * DELAY_MS))
+                .then(() -> mqttClient.publish(buildMqttPublishMessage("topic", "message", false)))
+                .expectNext(Val.of("message")).expectNext(Val.of("message")).thenCancel().verify();
+    }
+
+    @Test
+    void when_allFluxOfSharedSubscriptionAreCancelled_then_removeSharedSubscription() {
+        // GIVEN
+        var saplMqttMessageFlux = saplMqttClient.buildSaplMqttMessageFlux(Val.of("topic"), buildVariables())
+                .filter(val -> !val.isUndefined());
+
+        // WHEN
+        StepVerifier.create(saplMqttMessageFlux).thenAwait(Duration.ofMillis(2 * DELAY_MS))
+                .then(() -> mqttClient.publish(buildMqttPublishMessage("topic", "message", false)))
+                .expectNext(Val.of("message")).thenCancel().verify();
+
+        // THEN
+        assertEquals(0, SaplMqttClient.TOPIC_SUBSCRIPTION_CACHE.size());
+    }
 }
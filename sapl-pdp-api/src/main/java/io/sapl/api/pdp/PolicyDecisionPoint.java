@@ -56,6 +56,22 @@ default Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authzSu
         return Mono.from(decide(authzSubscription));
     }
 
+    /**
+     * Synchronous variant of {@link #decideOnce(AuthorizationSubscription)} for
+     * callers on blocking threads, e.g., servlet request threads or thread pools
+     * executing method security checks. The call blocks until the first decision
+     * is available.
+     * <p>
+     * Must not be called from a non-blocking thread of a reactive scheduler.
+     *
+     * @param authzSubscription the SAPL authorization subscription object
+     * @return the first authorization decision for the given authorization
+     *         subscription, or null if the PDP did not produce a decision.
+     */
+    default AuthorizationDecision decideOnceBlocking(AuthorizationSubscription authzSubscription) {
+        return decideOnce(authzSubscription).block();
+    }
+
     /**
      * Multi-subscription variant of {@link #decide(AuthorizationSubscription)}.
      *
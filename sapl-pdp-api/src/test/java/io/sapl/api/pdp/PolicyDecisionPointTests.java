@@ -17,6 +17,8 @@
  */
 package io.sapl.api.pdp;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 
 import org.junit.jupiter.api.Test;
@@ -51,5 +53,6 @@ public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription
         var pdp = new SomePDP();
         StepVerifier.create(pdp.decideOnce(mock(AuthorizationSubscription.class)))
                 .expectNext(AuthorizationDecision.DENY).verifyComplete();
+        assertThat(pdp.decideOnceBlocking(mock(AuthorizationSubscription.class)), is(AuthorizationDecision.DENY));
     }
 }
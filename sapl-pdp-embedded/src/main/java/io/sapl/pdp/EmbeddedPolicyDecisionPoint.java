@@ -33,50 +33,136 @@
 import io.sapl.api.pdp.TracedDecision;
 import io.sapl.interpreter.CombinedDecision;
 import io.sapl.interpreter.combinators.CombiningAlgorithmFactory;
+import io.sapl.interpreter.combinators.DecisionKey;
 import io.sapl.interpreter.context.AuthorizationContext;
 import io.sapl.pdp.config.PDPConfiguration;
 import io.sapl.pdp.config.PDPConfigurationProvider;
+import io.sapl.prp.PolicyRetrievalPoint;
 import io.sapl.prp.PolicyRetrievalResult;
+import io.sapl.prp.ReferencedSubscriptionPaths;
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.context.Context;
 
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class EmbeddedPolicyDecisionPoint implements PolicyDecisionPoint {
 
     private final PDPConfigurationProvider configurationProvider;
+    private final boolean                  subscriptionPruning;
 
+    private volatile ReferencedPathsOfPrp referencedPaths;
+
+    public EmbeddedPolicyDecisionPoint(PDPConfigurationProvider configurationProvider) {
+        this(configurationProvider, false);
+    }
+
+    /**
+     * Returns a PDP for the same configuration which removes all fields of a
+     * subscription no document refers to before evaluation, e.g., timestamps or
+     * request ids. Note that attribute finders with a variables parameter then
+     * only see the pruned subject, action, resource and environment. Only enable
+     * pruning if no policy information point depends on unreferenced fields of
+     * the subscription. Both PDPs share the configuration provider, i.e.,
+     * destroying one of them destroys the provider of both.
+     *
+     * @return a PDP evaluating pruned subscriptions
+     */
+    public EmbeddedPolicyDecisionPoint withSubscriptionPruning() {
+        return new EmbeddedPolicyDecisionPoint(configurationProvider, true);
+    }
+
+    /**
+     * Evaluates the subscription and emits a decision whenever it changes. As
+     * traces are not emitted, emissions of a matching document which do not change
+     * its own decision, e.g., attribute updates only visible in its trace, do not
+     * trigger the combination of all matching documents. Thus, the traces seen by
+     * decision interceptors may show attribute values older than the ones the
+     * decision is based on.
+     */
     @Override
     public Flux<AuthorizationDecision> decide(AuthorizationSubscription authorizationSubscription) {
-        return decideTraced(authorizationSubscription).map(TracedDecision::getAuthorizationDecision)
-                .distinctUntilChanged();
+        return configurationProvider.pdpConfiguration()
+                .switchMap(decideSubscription(authorizationSubscription, true))
+                .map(TracedDecision::getAuthorizationDecision).distinctUntilChanged(DecisionKey::of);
     }
 
+    /**
+     * Evaluates the subscription once against the current configuration without
+     * setting up a streaming subscription, i.e., without following configuration
+     * changes and without deduplication of subsequent decisions.
+     */
+    @Override
+    public Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authorizationSubscription) {
+        return configurationProvider.pdpConfiguration().next()
+                .flatMap(pdpConfiguration -> Mono
+                        .from(decideSubscription(authorizationSubscription, false).apply(pdpConfiguration)))
+                .map(TracedDecision::getAuthorizationDecision);
+    }
+
+    /**
+     * Evaluates the subscription and emits a traced decision whenever one of the
+     * matching documents emits, including emissions which only change its trace.
+     */
     public Flux<TracedDecision> decideTraced(AuthorizationSubscription authorizationSubscription) {
-        return configurationProvider.pdpConfiguration().switchMap(decideSubscription(authorizationSubscription));
+        return configurationProvider.pdpConfiguration()
+                .switchMap(decideSubscription(authorizationSubscription, false));
     }
 
     private Function<? super PDPConfiguration, Publisher<? extends TracedDecision>> decideSubscription(
-            AuthorizationSubscription authorizationSubscription) {
+            AuthorizationSubscription authorizationSubscription, boolean decisionOnly) {
         return pdpConfiguration -> {
             var subscription = pdpConfiguration.subscriptionInterceptorChain().apply(authorizationSubscription);
             return retrieveAndCombineDocuments(pdpConfiguration, subscription)
-                    .map(pdpConfiguration.decisionInterceptorChain())
-                    .contextWrite(buildSubscriptionScopedContext(pdpConfiguration, authorizationSubscription));
+                    .map(pdpConfiguration.decisionInterceptorChain()).contextWrite(
+                            buildSubscriptionScopedContext(pdpConfiguration, authorizationSubscription, decisionOnly));
         };
     }
 
     private Function<Context, Context> buildSubscriptionScopedContext(PDPConfiguration pdpConfiguration,
-            AuthorizationSubscription authorizationSubscription) {
+            AuthorizationSubscription authorizationSubscription, boolean decisionOnly) {
         return ctx -> {
+            if (decisionOnly)
+                ctx = AuthorizationContext.setDecisionOnly(ctx);
             ctx = AuthorizationContext.setAttributeContext(ctx, pdpConfiguration.attributeContext());
             ctx = AuthorizationContext.setFunctionContext(ctx, pdpConfiguration.functionContext());
             ctx = AuthorizationContext.setVariables(ctx, pdpConfiguration.variables());
-            ctx = AuthorizationContext.setSubscriptionVariables(ctx, authorizationSubscription);
+            ctx = AuthorizationContext.setSubscriptionVariables(ctx, subscriptionPruning
+                    ? prune(pdpConfiguration, authorizationSubscription)
+                    : authorizationSubscription);
             return ctx;
         };
     }
 
+    /**
+     * Fields of the subscription no document refers to cannot influence the
+     * decision unless an attribute finder reads them from the variables. Thus,
+     * with pruning enabled, they are removed before evaluation.
+     */
+    private AuthorizationSubscription prune(PDPConfiguration pdpConfiguration,
+            AuthorizationSubscription authorizationSubscription) {
+        return referencedPaths(pdpConfiguration.policyRetrievalPoint()).prune(authorizationSubscription);
+    }
+
+    private ReferencedSubscriptionPaths referencedPaths(PolicyRetrievalPoint policyRetrievalPoint) {
+        if (policyRetrievalPoint == null || !policyRetrievalPoint.isConsistent())
+            return ReferencedSubscriptionPaths.ALL;
+
+        var cached = referencedPaths;
+        if (cached != null && cached.policyRetrievalPoint() == policyRetrievalPoint)
+            return cached.paths();
+
+        var documents = policyRetrievalPoint.allDocuments();
+        var paths     = documents == null || documents.isEmpty() ? ReferencedSubscriptionPaths.ALL
+                : ReferencedSubscriptionPaths.of(documents);
+        referencedPaths = new ReferencedPathsOfPrp(policyRetrievalPoint, paths);
+        return paths;
+    }
+
+    private record ReferencedPathsOfPrp(PolicyRetrievalPoint policyRetrievalPoint,
+            ReferencedSubscriptionPaths paths) {}
+
     private Flux<PDPDecision> retrieveAndCombineDocuments(PDPConfiguration pdpConfiguration,
             AuthorizationSubscription authorizationSubscription) {
         if (pdpConfiguration.policyRetrievalPoint().isConsistent()) {
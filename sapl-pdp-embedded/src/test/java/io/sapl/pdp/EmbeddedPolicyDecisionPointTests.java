@@ -17,6 +17,7 @@
  */
 package io.sapl.pdp;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -112,6 +113,21 @@ void decide_withAllowedAction_shouldReturnPermit() {
                 .verify();
     }
 
+    @Test
+    void decideOnce_withAllowedAction_shouldReturnPermitAndComplete() {
+        var simpleAuthzSubscription = new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("read"),
+                JSON.textNode("something"), JSON.nullNode());
+        StepVerifier.create(pdp.decideOnce(simpleAuthzSubscription))
+                .expectNextMatches(authzDecision -> authzDecision.getDecision() == Decision.PERMIT).verifyComplete();
+    }
+
+    @Test
+    void decideOnceBlocking_withEmptyRequest_shouldBeDenyForDenyUnlessPermitAlgorithm() {
+        var emptyAuthzSubscription = new AuthorizationSubscription(JSON.nullNode(), JSON.nullNode(), JSON.nullNode(),
+                JSON.nullNode());
+        assertThat(pdp.decideOnceBlocking(emptyAuthzSubscription).getDecision()).isEqualTo(Decision.DENY);
+    }
+
     @Test
     void decide_withInvalidPrpState_shouldReturnIntermediate() {
         var prpMock   = mock(PolicyRetrievalPoint.class);
@@ -280,4 +296,39 @@ void when_errorsInTarget_then_returnError() {
                 .expectNextMatches(combinedDecision -> combinedDecision.getDecision() == Decision.INDETERMINATE)
                 .verifyComplete();
     }
+
+    @Test
+    void when_subscriptionPruningDisabled_then_attributeFindersSeeWholeSubscription() throws Exception {
+        var pip          = new TestPIP();
+        var sut          = PolicyDecisionPointFactory.resourcesPolicyDecisionPoint("/policies", () -> List.of(pip),
+                List::of, List::of, List::of, List.of(), List.of());
+        var subscription = subscriptionWithUnreferencedFields();
+
+        StepVerifier.create(sut.decide(subscription))
+                .expectNextMatches(authzDecision -> authzDecision.getDecision() == Decision.PERMIT).thenCancel()
+                .verify();
+        assertThat(pip.getVariables().get("resource").get()).isEqualTo(subscription.getResource());
+        assertThat(pip.getVariables().get("environment").get()).isEqualTo(subscription.getEnvironment());
+        sut.destroy();
+    }
+
+    @Test
+    void when_subscriptionPruningEnabled_then_unreferencedFieldsAreRemoved() throws Exception {
+        var pip = new TestPIP();
+        var sut = PolicyDecisionPointFactory.resourcesPolicyDecisionPoint("/policies", () -> List.of(pip), List::of,
+                List::of, List::of, List.of(), List.of()).withSubscriptionPruning();
+
+        StepVerifier.create(sut.decide(subscriptionWithUnreferencedFields()))
+                .expectNextMatches(authzDecision -> authzDecision.getDecision() == Decision.PERMIT).thenCancel()
+                .verify();
+        assertThat(pip.getVariables().get("subject").get()).isEqualTo(JSON.textNode("willi"));
+        assertThat(pip.getVariables().get("resource").isNull()).isTrue();
+        sut.destroy();
+    }
+
+    private static AuthorizationSubscription subscriptionWithUnreferencedFields() {
+        return new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("read"),
+                JSON.objectNode().put("type", "record").put("requestId", "abc"),
+                JSON.objectNode().put("timestamp", "2024-01-01T00:00:00Z"));
+    }
 }
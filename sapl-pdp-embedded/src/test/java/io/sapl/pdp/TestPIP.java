@@ -23,6 +23,7 @@
 import io.sapl.api.pip.Attribute;
 import io.sapl.api.pip.PolicyInformationPoint;
 import io.sapl.api.validation.Text;
+import lombok.Getter;
 import reactor.core.publisher.Flux;
 
 @PolicyInformationPoint(name = TestPIP.NAME, description = TestPIP.DESCRIPTION)
@@ -32,8 +33,12 @@ public class TestPIP {
 
     public static final String DESCRIPTION = "Policy information Point for testing";
 
+    @Getter
+    private volatile Map<String, Val> variables;
+
     @Attribute
     public Flux<Val> upper(@Text Val leftHandValue, Map<String, Val> variables) {
+        this.variables = variables;
         return Flux.just(Val.of(leftHandValue.get().asText().toUpperCase()));
     }
 
@@ -44,6 +44,25 @@ public class SAPLServerLTProperties {
     private String       apiKeyHeaderName = "API_KEY";
     private List<String> allowedApiKeys   = List.of();
 
+    // Cluster mode
+    private ClusterProperties cluster = new ClusterProperties();
+
+    @Data
+    public static class ClusterProperties {
+        /**
+         * If set to true, several server instances sharing the same Infinispan
+         * cluster distribute the evaluation of streaming subscriptions among
+         * themselves.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of positions each cluster member occupies on the consistent hash
+         * ring used to assign subscription ownership.
+         */
+        private int virtualNodes = 128;
+    }
+
     public List<String> getAllowedApiKeys() {
         return Collections.unmodifiableList(allowedApiKeys);
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.pdp.EmbeddedPolicyDecisionPoint;
+import io.sapl.pdp.config.PDPConfigurationProvider;
+import io.sapl.server.lt.SAPLServerLTProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the embedded PDP by a {@link ClusteredPolicyDecisionPoint} if the
+ * cluster mode is enabled with {@code io.sapl.server-lt.cluster.enabled=true}.
+ * The cluster itself is configured in the Infinispan configuration referenced
+ * by {@code infinispan.embedded.config-xml}, e.g., the bundled
+ * {@code infinispan-cluster.xml}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "io.sapl.server-lt.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    @Bean(destroyMethod = "destroy")
+    ClusteredPolicyDecisionPoint clusteredPolicyDecisionPoint(PDPConfigurationProvider configurationProvider,
+            EmbeddedCacheManager cacheManager, ObjectMapper mapper, SAPLServerLTProperties properties) {
+        if (!cacheManager.getCacheManagerConfiguration().isClustered()) {
+            log.warn("Cluster mode enabled, but the Infinispan cache manager has no transport configured. "
+                    + "The server will run as a single node cluster.");
+        }
+        return new ClusteredPolicyDecisionPoint(new EmbeddedPolicyDecisionPoint(configurationProvider), cacheManager,
+                mapper, properties.getCluster().getVirtualNodes());
+    }
+
+    @Bean(destroyMethod = "destroy")
+    PolicyGenerationTracker policyGenerationTracker(PDPConfigurationProvider configurationProvider,
+            EmbeddedCacheManager cacheManager, ClusteredPolicyDecisionPoint pdp) {
+        return new PolicyGenerationTracker(configurationProvider, cacheManager, pdp.localNode());
+    }
+
+    @Bean
+    ClusterHealthIndicator clusterHealthIndicator(ClusteredPolicyDecisionPoint pdp,
+            PolicyGenerationTracker generationTracker) {
+        return new ClusterHealthIndicator(pdp, generationTracker);
+    }
+
+}
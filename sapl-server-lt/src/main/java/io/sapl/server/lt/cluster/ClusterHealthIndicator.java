@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports the cluster membership, the subscriptions owned by this node, and
+ * whether all members evaluate the same policy generation. As long as the
+ * policy generations of the members diverge, the node is reported out of
+ * service, because the decisions depend on the member owning a subscription.
+ */
+@RequiredArgsConstructor
+public class ClusterHealthIndicator implements HealthIndicator {
+
+    private final ClusteredPolicyDecisionPoint pdp;
+    private final PolicyGenerationTracker      generationTracker;
+
+    @Override
+    public Health health() {
+        var consistent = generationTracker.isConsistent();
+        var health     = consistent ? Health.up() : Health.outOfService();
+        return health.withDetail("node", pdp.localNode()).withDetail("members", pdp.memberNames())
+                .withDetail("ownedSubscriptions", pdp.numberOfOwnedSubscriptions())
+                .withDetail("policyGenerations", generationTracker.generations())
+                .withDetail("consistentPolicies", consistent).build();
+    }
+
+}
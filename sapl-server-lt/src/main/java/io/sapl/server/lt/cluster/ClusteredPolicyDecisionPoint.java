@@ -0,0 +1,494 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
+import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
+import org.infinispan.remoting.transport.Address;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.IdentifiableAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * A policy decision point distributing the evaluation of streaming
+ * subscriptions among the members of an Infinispan cluster.
+ * <p>
+ * Every distinct subscription is owned by exactly one member, determined by
+ * consistent hashing of the serialized subscription. Only the owner evaluates
+ * the subscription with its local PDP and publishes the decisions into a
+ * replicated cache. All members serving clients for the subscription, including
+ * the owner, forward the replicated decisions to their local subscribers. When
+ * a member joins or leaves the cluster, ownership is recomputed and the new
+ * owners resume the evaluation of the subscriptions handed over to them.
+ * <p>
+ * The owner releases a subscription once no member shows interest in it
+ * anymore. As a member may register its interest while the owner releases the
+ * subscription, both sides re-check after their write: the member restores a
+ * subscription removed in the meantime, and the owner restores a subscription
+ * that gained interest in the meantime. Thus, at least one of them notices the
+ * other and the subscription is evaluated again.
+ * <p>
+ * Only JSON strings are stored in the caches, so no custom marshalling is
+ * required.
+ */
+@Slf4j
+public class ClusteredPolicyDecisionPoint implements PolicyDecisionPoint {
+
+    static final String SUBSCRIPTIONS_CACHE = "sapl-cluster-subscriptions";
+    static final String INTEREST_CACHE      = "sapl-cluster-interest";
+    static final String DECISIONS_CACHE     = "sapl-cluster-decisions";
+
+    private static final String   LOCAL_NODE         = "local";
+    private static final char     INTEREST_SEPARATOR = '@';
+    private static final Duration EMIT_TIMEOUT       = Duration.ofMillis(500);
+    private static final Duration MIN_RETRY_BACKOFF  = Duration.ofMillis(500);
+    private static final Duration MAX_RETRY_BACKOFF  = Duration.ofSeconds(30);
+
+    private final PolicyDecisionPoint   delegate;
+    private final EmbeddedCacheManager  cacheManager;
+    private final ObjectMapper          mapper;
+    private final int                   virtualNodes;
+    private final Cache<String, String> subscriptions;
+    private final Cache<String, String> interest;
+    private final Cache<String, String> decisions;
+    private final Object                clusterListener  = new ClusterListener();
+    private final Object                entryListener    = new EntryListener();
+    private final Object                decisionListener = new DecisionListener();
+
+    private final Map<String, LocalSubscription> localSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Disposable>        ownedEvaluations   = new ConcurrentHashMap<>();
+
+    private volatile RingView ringView;
+
+    /**
+     * @param delegate     the local PDP used for evaluating owned subscriptions
+     * @param cacheManager the cache manager connecting this node to the cluster
+     * @param mapper       the mapper used to serialize subscriptions and decisions
+     * @param virtualNodes the number of hash ring positions per member
+     */
+    public ClusteredPolicyDecisionPoint(PolicyDecisionPoint delegate, EmbeddedCacheManager cacheManager,
+            ObjectMapper mapper, int virtualNodes) {
+        this.delegate      = delegate;
+        this.cacheManager  = cacheManager;
+        this.mapper        = mapper;
+        this.virtualNodes  = virtualNodes;
+        this.subscriptions = replicatedCache(cacheManager, SUBSCRIPTIONS_CACHE);
+        this.interest      = replicatedCache(cacheManager, INTEREST_CACHE);
+        this.decisions     = replicatedCache(cacheManager, DECISIONS_CACHE);
+        var members = memberNames();
+        this.ringView = new RingView(members, new ConsistentHashRing(members, virtualNodes));
+        subscriptions.addListener(entryListener);
+        interest.addListener(entryListener);
+        decisions.addListener(decisionListener);
+        cacheManager.addListener(clusterListener);
+        log.info("Cluster mode active. Node '{}' joined cluster with members: {}", localNode(), members);
+    }
+
+    static Cache<String, String> replicatedCache(EmbeddedCacheManager cacheManager, String name) {
+        if (cacheManager.getCacheConfiguration(name) == null) {
+            var cacheMode = cacheManager.getCacheManagerConfiguration().isClustered() ? CacheMode.REPL_SYNC
+                    : CacheMode.LOCAL;
+            cacheManager.defineConfiguration(name,
+                    new ConfigurationBuilder().clustering().cacheMode(cacheMode).build());
+        }
+        return cacheManager.getCache(name);
+    }
+
+    @Override
+    public Flux<AuthorizationDecision> decide(AuthorizationSubscription authzSubscription) {
+        return Flux.defer(() -> {
+            var subscriptionJson = toJson(authzSubscription);
+            var key              = keyOf(subscriptionJson);
+            var local            = attach(key, subscriptionJson);
+            return local.sink().asFlux().distinctUntilChanged().doFinally(signal -> detach(key));
+        });
+    }
+
+    /**
+     * One-shot decisions are not shared across the cluster and are always
+     * evaluated by the local PDP.
+     */
+    @Override
+    public Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authzSubscription) {
+        return delegate.decideOnce(authzSubscription);
+    }
+
+    @Override
+    public Flux<IdentifiableAuthorizationDecision> decide(MultiAuthorizationSubscription multiAuthzSubscription) {
+        if (!multiAuthzSubscription.hasAuthorizationSubscriptions()) {
+            return Flux.just(IdentifiableAuthorizationDecision.INDETERMINATE);
+        }
+        return Flux.merge(identifiableDecisionFluxes(multiAuthzSubscription));
+    }
+
+    @Override
+    public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription multiAuthzSubscription) {
+        if (!multiAuthzSubscription.hasAuthorizationSubscriptions()) {
+            return Flux.just(MultiAuthorizationDecision.indeterminate());
+        }
+        return Flux.combineLatest(identifiableDecisionFluxes(multiAuthzSubscription), values -> {
+            var multiDecision = new MultiAuthorizationDecision();
+            for (var value : values) {
+                var decision = (IdentifiableAuthorizationDecision) value;
+                multiDecision.setAuthorizationDecisionForSubscriptionWithId(decision.getAuthorizationSubscriptionId(),
+                        decision.getAuthorizationDecision());
+            }
+            return multiDecision;
+        });
+    }
+
+    private List<Flux<IdentifiableAuthorizationDecision>> identifiableDecisionFluxes(
+            MultiAuthorizationSubscription multiAuthzSubscription) {
+        var fluxes = new ArrayList<Flux<IdentifiableAuthorizationDecision>>();
+        for (var identifiable : multiAuthzSubscription) {
+            var id = identifiable.authorizationSubscriptionId();
+            fluxes.add(decide(identifiable.authorizationSubscription())
+                    .map(decision -> new IdentifiableAuthorizationDecision(id, decision)));
+        }
+        return fluxes;
+    }
+
+    /**
+     * @param authzSubscription an authorization subscription
+     * @return the name of the cluster member currently responsible for evaluating
+     *         the subscription
+     */
+    public String ownerOf(AuthorizationSubscription authzSubscription) {
+        return currentRing().ownerOf(keyOf(toJson(authzSubscription)));
+    }
+
+    /**
+     * @return the name of this cluster member
+     */
+    public String localNode() {
+        return nameOf(cacheManager.getAddress());
+    }
+
+    /**
+     * @return the names of all current cluster members
+     */
+    public List<String> memberNames() {
+        var members = cacheManager.getMembers();
+        if (members == null || members.isEmpty()) {
+            return List.of(localNode());
+        }
+        return members.stream().map(ClusteredPolicyDecisionPoint::nameOf).toList();
+    }
+
+    /**
+     * @return the number of subscriptions currently evaluated by this member
+     */
+    public int numberOfOwnedSubscriptions() {
+        return ownedEvaluations.size();
+    }
+
+    private LocalSubscription attach(String key, String subscriptionJson) {
+        var isNew = new boolean[] { false };
+        var local = localSubscriptions.compute(key, (k, existing) -> {
+            if (existing == null) {
+                isNew[0] = true;
+                return new LocalSubscription(Sinks.many().replay().latest(), 1);
+            }
+            return new LocalSubscription(existing.sink(), existing.subscribers() + 1);
+        });
+        if (isNew[0]) {
+            subscriptions.putIfAbsent(key, subscriptionJson);
+            interest.put(interestKey(key, localNode()), key);
+            // the owner may have released the subscription before it saw the interest
+            subscriptions.putIfAbsent(key, subscriptionJson);
+            var latestDecision = decisions.get(key);
+            if (latestDecision != null) {
+                emit(local, latestDecision);
+            }
+            if (isOwner(key)) {
+                startEvaluation(key, subscriptionJson);
+            }
+        }
+        return local;
+    }
+
+    private void detach(String key) {
+        var removed = new boolean[] { false };
+        localSubscriptions.computeIfPresent(key, (k, existing) -> {
+            if (existing.subscribers() > 1) {
+                return new LocalSubscription(existing.sink(), existing.subscribers() - 1);
+            }
+            existing.sink().tryEmitComplete();
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            interest.removeAsync(interestKey(key, localNode()));
+        }
+    }
+
+    /**
+     * Evaluates the subscription and publishes its decisions. An error of the
+     * evaluation is published as INDETERMINATE and the evaluation is retried with
+     * backoff. A decision is only published after the previous one has been
+     * replicated, so members cannot receive decisions out of order.
+     */
+    private void startEvaluation(String key, String subscriptionJson) {
+        ownedEvaluations.computeIfAbsent(key, k -> {
+            log.debug("Node '{}' takes over evaluation of subscription {}", localNode(), key);
+            return delegate.decide(fromJson(subscriptionJson, AuthorizationSubscription.class))
+                    .onErrorResume(error -> Flux.concat(Flux.just(AuthorizationDecision.INDETERMINATE),
+                            Flux.error(error)))
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RETRY_BACKOFF).maxBackoff(MAX_RETRY_BACKOFF)
+                            .doBeforeRetry(retry -> log.warn("Evaluation of subscription {} failed. Retrying.", key,
+                                    retry.failure())))
+                    .concatMap(decision -> publishDecision(key, decision)).subscribe();
+        });
+    }
+
+    private Mono<String> publishDecision(String key, AuthorizationDecision decision) {
+        return Mono.fromCompletionStage(() -> decisions.putAsync(key, toJson(decision))).onErrorResume(error -> {
+            log.warn("Publishing a decision of subscription {} failed.", key, error);
+            return Mono.empty();
+        });
+    }
+
+    private void stopEvaluation(String key) {
+        var evaluation = ownedEvaluations.remove(key);
+        if (evaluation != null) {
+            log.debug("Node '{}' stops evaluation of subscription {}", localNode(), key);
+            evaluation.dispose();
+        }
+    }
+
+    private void rebalance() {
+        for (var entry : localView(subscriptions).entrySet()) {
+            if (isOwner(entry.getKey())) {
+                if (hasNoInterest(entry.getKey())) {
+                    releaseSubscription(entry.getKey(), entry.getValue());
+                } else {
+                    startEvaluation(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (var key : List.copyOf(ownedEvaluations.keySet())) {
+            if (!isOwner(key)) {
+                stopEvaluation(key);
+            }
+        }
+    }
+
+    /**
+     * Releases a subscription after no interest in it has been observed. If a
+     * member registered its interest in the meantime, the subscription is
+     * restored and evaluated again.
+     */
+    void releaseSubscription(String key, String subscriptionJson) {
+        stopEvaluation(key);
+        if (!subscriptions.remove(key, subscriptionJson)) {
+            return;
+        }
+        decisions.remove(key);
+        if (!hasNoInterest(key)) {
+            log.debug("Subscription {} gained interest while being released", key);
+            subscriptions.putIfAbsent(key, subscriptionJson);
+            if (isOwner(key)) {
+                startEvaluation(key, subscriptionJson);
+            }
+        }
+    }
+
+    private void removeInterestOfDepartedMembers(List<Address> oldMembers, List<Address> newMembers) {
+        for (var departed : oldMembers) {
+            if (!newMembers.contains(departed)) {
+                var suffix = INTEREST_SEPARATOR + nameOf(departed);
+                for (var interestKey : List.copyOf(localView(interest).keySet())) {
+                    if (interestKey.endsWith(suffix)) {
+                        interest.removeAsync(interestKey);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean hasNoInterest(String key) {
+        var prefix = key + INTEREST_SEPARATOR;
+        return localView(interest).keySet().stream().noneMatch(interestKey -> interestKey.startsWith(prefix));
+    }
+
+    private boolean isOwner(String key) {
+        return localNode().equals(currentRing().ownerOf(key));
+    }
+
+    private ConsistentHashRing currentRing() {
+        var members = memberNames();
+        var view    = ringView;
+        if (!view.members().equals(members)) {
+            view     = new RingView(members, new ConsistentHashRing(members, virtualNodes));
+            ringView = view;
+        }
+        return view.ring();
+    }
+
+    private void emit(LocalSubscription local, String decisionJson) {
+        local.sink().emitNext(fromJson(decisionJson, AuthorizationDecision.class),
+                Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    private static Map<String, String> localView(Cache<String, String> cache) {
+        return cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL);
+    }
+
+    private static String interestKey(String key, String node) {
+        return key + INTEREST_SEPARATOR + node;
+    }
+
+    private static String nameOf(Address address) {
+        return address == null ? LOCAL_NODE : address.toString();
+    }
+
+    static String keyOf(String subscriptionJson) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(subscriptionJson.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported by the JVM.", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize value for cluster distribution.", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return mapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize value received from the cluster.", e);
+        }
+    }
+
+    /**
+     * Stops all evaluations owned by this node and detaches from the cluster
+     * caches. Owned subscriptions are picked up by the remaining members after the
+     * resulting view change.
+     */
+    public void destroy() {
+        cacheManager.removeListener(clusterListener);
+        subscriptions.removeListener(entryListener);
+        interest.removeListener(entryListener);
+        decisions.removeListener(decisionListener);
+        List.copyOf(ownedEvaluations.keySet()).forEach(this::stopEvaluation);
+    }
+
+    private record LocalSubscription(Sinks.Many<AuthorizationDecision> sink, int subscribers) {}
+
+    private record RingView(List<String> members, ConsistentHashRing ring) {}
+
+    @Listener(sync = false)
+    public class ClusterListener {
+
+        @ViewChanged
+        public void onViewChanged(ViewChangedEvent event) {
+            log.info("Cluster view changed. Members: {}", event.getNewMembers());
+            if (cacheManager.isCoordinator()) {
+                removeInterestOfDepartedMembers(event.getOldMembers(), event.getNewMembers());
+            }
+            rebalance();
+        }
+
+    }
+
+    @Listener(sync = false)
+    public class EntryListener {
+
+        @CacheEntryCreated
+        public void onSubscriptionCreated(CacheEntryEvent<String, String> event) {
+            if (SUBSCRIPTIONS_CACHE.equals(event.getCache().getName()) && isOwner(event.getKey())) {
+                startEvaluation(event.getKey(), event.getValue());
+            }
+        }
+
+        @CacheEntryRemoved
+        public void onInterestRemoved(CacheEntryRemovedEvent<String, String> event) {
+            if (!INTEREST_CACHE.equals(event.getCache().getName())) {
+                return;
+            }
+            var key = event.getOldValue();
+            if (key == null || !isOwner(key) || !hasNoInterest(key)) {
+                return;
+            }
+            var subscriptionJson = localView(subscriptions).get(key);
+            if (subscriptionJson != null) {
+                releaseSubscription(key, subscriptionJson);
+            }
+        }
+
+    }
+
+    @Listener(sync = false)
+    public class DecisionListener {
+
+        @CacheEntryCreated
+        @CacheEntryModified
+        public void onDecision(CacheEntryEvent<String, String> event) {
+            if (event.getValue() == null) {
+                return;
+            }
+            var local = localSubscriptions.get(event.getKey());
+            if (local != null) {
+                emit(local, event.getValue());
+            }
+        }
+
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import lombok.NonNull;
+
+/**
+ * Immutable consistent hash ring assigning string keys to cluster members. Each
+ * member occupies a number of virtual positions on the ring so that keys are
+ * spread evenly and only the keys of joining or leaving members move.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param members      the names of the current cluster members
+     * @param virtualNodes the number of ring positions per member
+     */
+    public ConsistentHashRing(@NonNull Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring requires at least one member.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("The number of virtual nodes must be positive.");
+        }
+        for (var member : members) {
+            for (var i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + '#' + i), member);
+            }
+        }
+    }
+
+    /**
+     * @param key a key
+     * @return the name of the member owning the key
+     */
+    public String ownerOf(@NonNull String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        if (entry == null) {
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    static long hash(String value) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported by the JVM.", e);
+        }
+        var result = 0L;
+        for (var i = 0; i < Long.BYTES; i++) {
+            result = (result << 8) | (digest[i] & 0xFFL);
+        }
+        return result;
+    }
+
+}
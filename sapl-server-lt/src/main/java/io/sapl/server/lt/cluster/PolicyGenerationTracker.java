@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+
+import io.sapl.pdp.config.PDPConfiguration;
+import io.sapl.pdp.config.PDPConfigurationProvider;
+import io.sapl.prp.Document;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * Publishes a fingerprint of the policies, variables, and combining algorithm
+ * currently loaded by this node into a replicated cache. As all members
+ * evaluate the subscriptions they own with their local policies, the
+ * fingerprints allow detecting members that diverge from the rest of the
+ * cluster. The policies themselves are not distributed, i.e., every member
+ * still loads them from its own policy source.
+ */
+@Slf4j
+public class PolicyGenerationTracker {
+
+    static final String GENERATIONS_CACHE = "sapl-cluster-generations";
+
+    private final String                localNode;
+    private final Cache<String, String> generations;
+    private final Disposable            configurationSubscription;
+
+    /**
+     * @param configurationProvider the configuration provider of the local PDP
+     * @param cacheManager          the cache manager connecting this node to the
+     *                              cluster
+     * @param localNode             the name of this cluster member
+     */
+    public PolicyGenerationTracker(PDPConfigurationProvider configurationProvider, EmbeddedCacheManager cacheManager,
+            String localNode) {
+        this.localNode                 = localNode;
+        this.generations               = ClusteredPolicyDecisionPoint.replicatedCache(cacheManager,
+                GENERATIONS_CACHE);
+        this.configurationSubscription = configurationProvider.pdpConfiguration()
+                .map(PolicyGenerationTracker::fingerprint).distinctUntilChanged().subscribe(this::publish);
+    }
+
+    private void publish(String fingerprint) {
+        log.info("Node '{}' publishes policy generation {}", localNode, fingerprint);
+        generations.put(localNode, fingerprint);
+    }
+
+    /**
+     * @return the policy generation fingerprints of all cluster members
+     */
+    public Map<String, String> generations() {
+        return new TreeMap<>(generations.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL));
+    }
+
+    /**
+     * @return true, if all cluster members currently report the same policy
+     *         generation
+     */
+    public boolean isConsistent() {
+        return new HashSet<>(generations().values()).size() <= 1;
+    }
+
+    /**
+     * Removes the generation entry of this node and stops tracking.
+     */
+    public void destroy() {
+        configurationSubscription.dispose();
+        generations.remove(localNode);
+    }
+
+    static String fingerprint(PDPConfiguration configuration) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported by the JVM.", e);
+        }
+        update(digest, String.valueOf(configuration.documentsCombinator()));
+        if (configuration.variables() != null) {
+            update(digest, new TreeMap<>(configuration.variables()).toString());
+        }
+        var prp = configuration.policyRetrievalPoint();
+        if (prp != null) {
+            prp.allDocuments().stream().sorted(Comparator.comparing(Document::name)).forEach(document -> {
+                update(digest, document.name());
+                update(digest, document.isInvalid() ? document.errorMessage() : document.source());
+            });
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+class ClusterHealthIndicatorTests {
+
+    @Test
+    void when_policyGenerationsAgree_then_up() {
+        assertThat(healthWithGenerations(Map.of("a", "1", "b", "1"), true).getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void when_policyGenerationsDiverge_then_outOfService() {
+        var health = healthWithGenerations(Map.of("a", "1", "b", "2"), false);
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("consistentPolicies", false);
+    }
+
+    private static Health healthWithGenerations(Map<String, String> generations, boolean consistent) {
+        var pdp     = mock(ClusteredPolicyDecisionPoint.class);
+        var tracker = mock(PolicyGenerationTracker.class);
+        when(pdp.localNode()).thenReturn("a");
+        when(pdp.memberNames()).thenReturn(List.of("a", "b"));
+        when(tracker.generations()).thenReturn(generations);
+        when(tracker.isConsistent()).thenReturn(consistent);
+        return new ClusterHealthIndicator(pdp, tracker).health();
+    }
+
+}
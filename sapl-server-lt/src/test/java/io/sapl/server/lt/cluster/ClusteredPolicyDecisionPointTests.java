@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class ClusteredPolicyDecisionPointTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new Jdk8Module());
+
+    private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>();
+    private final List<PolicyDecisionPoint>  delegates     = new ArrayList<>();
+
+    private ClusteredPolicyDecisionPoint permittingNode;
+    private ClusteredPolicyDecisionPoint denyingNode;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        permittingNode = startNode("permitting-node", AuthorizationDecision.PERMIT);
+        denyingNode    = startNode("denying-node", AuthorizationDecision.DENY);
+        awaitMembers(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManagers.forEach(EmbeddedCacheManager::stop);
+    }
+
+    @Test
+    void when_subscribingOnNonOwner_then_decisionOfOwnerIsReceived() {
+        var subscription = subscriptionOwnedBy(denyingNode, "denying-node");
+        StepVerifier.create(permittingNode.decide(subscription)).expectNext(AuthorizationDecision.DENY).thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void when_subscribingOnOwner_then_subscriptionIsEvaluatedOnlyOnce() {
+        var subscription = subscriptionOwnedBy(permittingNode, "permitting-node");
+        StepVerifier.create(Flux.merge(permittingNode.decide(subscription), denyingNode.decide(subscription)))
+                .expectNext(AuthorizationDecision.PERMIT, AuthorizationDecision.PERMIT)
+                .then(() -> assertThat(permittingNode.numberOfOwnedSubscriptions()).isOne())
+                .then(() -> assertThat(denyingNode.numberOfOwnedSubscriptions()).isZero()).thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void when_ownerLeaves_then_subscriptionIsHandedOver() {
+        var subscription = subscriptionOwnedBy(denyingNode, "denying-node");
+        StepVerifier.create(permittingNode.decide(subscription)).expectNext(AuthorizationDecision.DENY)
+                .then(() -> {
+                    denyingNode.destroy();
+                    cacheManagers.get(1).stop();
+                }).expectNext(AuthorizationDecision.PERMIT)
+                .then(() -> assertThat(permittingNode.numberOfOwnedSubscriptions()).isOne()).thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void when_interestRegisteredWhileOwnerReleases_then_subscriptionIsEvaluatedAgain() throws Exception {
+        var subscription     = subscriptionOwnedBy(denyingNode, "denying-node");
+        var subscriptionJson = mapper.writeValueAsString(subscription);
+        var key              = ClusteredPolicyDecisionPoint.keyOf(subscriptionJson);
+        var subscriptions    = cacheManagers.get(0).<String, String>getCache(
+                ClusteredPolicyDecisionPoint.SUBSCRIPTIONS_CACHE);
+        StepVerifier.create(permittingNode.decide(subscription)).expectNext(AuthorizationDecision.DENY)
+                // the owner observed no interest before the permitting node registered
+                .then(() -> denyingNode.releaseSubscription(key, subscriptionJson))
+                .then(() -> assertThat(subscriptions.get(key)).isEqualTo(subscriptionJson))
+                .then(() -> assertThat(denyingNode.numberOfOwnedSubscriptions()).isOne()).thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void when_evaluationFails_then_indeterminateAndEvaluationIsRetried() {
+        var subscription = subscriptionOwnedBy(denyingNode, "denying-node");
+        when(delegates.get(1).decide(any(AuthorizationSubscription.class))).thenReturn(
+                Flux.error(new IllegalStateException("evaluation failed")),
+                Flux.concat(Flux.just(AuthorizationDecision.DENY), Flux.never()));
+        StepVerifier.create(permittingNode.decide(subscription)).expectNext(AuthorizationDecision.INDETERMINATE)
+                .expectNext(AuthorizationDecision.DENY).thenCancel().verify(TIMEOUT);
+    }
+
+    @Test
+    void when_oneShotDecision_then_evaluatedLocally() {
+        var subscription = subscriptionOwnedBy(denyingNode, "denying-node");
+        StepVerifier.create(permittingNode.decideOnce(subscription)).expectNext(AuthorizationDecision.PERMIT)
+                .verifyComplete();
+    }
+
+    private ClusteredPolicyDecisionPoint startNode(String name, AuthorizationDecision decision) {
+        var global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+        global.transport().clusterName("sapl-cluster-test").nodeName(name).addProperty("configurationFile",
+                "jgroups-localhost.xml");
+        var cacheManager = new DefaultCacheManager(global.build());
+        cacheManagers.add(cacheManager);
+        var delegate = mock(PolicyDecisionPoint.class);
+        delegates.add(delegate);
+        when(delegate.decide(any(AuthorizationSubscription.class)))
+                .thenAnswer(invocation -> Flux.concat(Flux.just(decision), Flux.never()));
+        when(delegate.decideOnce(any(AuthorizationSubscription.class)))
+                .thenAnswer(invocation -> Flux.just(decision).next());
+        return new ClusteredPolicyDecisionPoint(delegate, cacheManager, mapper, 64);
+    }
+
+    private void awaitMembers(int expectedMembers) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + TIMEOUT.toMillis();
+        while (permittingNode.memberNames().size() < expectedMembers
+                || denyingNode.memberNames().size() < expectedMembers) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Cluster did not form in time.");
+            }
+            Thread.sleep(100L);
+        }
+    }
+
+    private AuthorizationSubscription subscriptionOwnedBy(ClusteredPolicyDecisionPoint node, String owner) {
+        for (var i = 0; i < 1000; i++) {
+            var subscription = AuthorizationSubscription.of("subject", "action", "resource" + i, mapper);
+            if (owner.equals(node.ownerOf(subscription))) {
+                return subscription;
+            }
+        }
+        throw new IllegalStateException("No subscription owned by " + owner);
+    }
+
+}
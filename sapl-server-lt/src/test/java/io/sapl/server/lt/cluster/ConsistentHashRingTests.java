@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTests {
+
+    @Test
+    void when_emptyMembers_then_throws() {
+        var members = List.<String>of();
+        assertThatThrownBy(() -> new ConsistentHashRing(members, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void when_noVirtualNodes_then_throws() {
+        var members = List.of("a");
+        assertThatThrownBy(() -> new ConsistentHashRing(members, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void when_singleMember_then_ownsAllKeys() {
+        var ring = new ConsistentHashRing(List.of("a"), 16);
+        IntStream.range(0, 100).forEach(i -> assertThat(ring.ownerOf("key" + i)).isEqualTo("a"));
+    }
+
+    @Test
+    void when_sameMembersInDifferentOrder_then_sameOwners() {
+        var ring1 = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        var ring2 = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+        IntStream.range(0, 1000).forEach(i -> assertThat(ring1.ownerOf("key" + i)).isEqualTo(ring2.ownerOf("key" + i)));
+    }
+
+    @Test
+    void when_severalMembers_then_keysAreSpreadAmongAllMembers() {
+        var ring   = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        var counts = new HashMap<String, Integer>();
+        IntStream.range(0, 3000).forEach(i -> counts.merge(ring.ownerOf("key" + i), 1, Integer::sum));
+        assertThat(counts).containsOnlyKeys("a", "b", "c");
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(600, 1400));
+    }
+
+    @Test
+    void when_memberLeaves_then_onlyItsKeysMove() {
+        var before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        var after  = new ConsistentHashRing(List.of("a", "b"), 128);
+        IntStream.range(0, 1000).mapToObj(i -> "key" + i).forEach(key -> {
+            var owner = before.ownerOf(key);
+            if (!"c".equals(owner)) {
+                assertThat(after.ownerOf(key)).isEqualTo(owner);
+            }
+        });
+    }
+
+}
@@ -31,7 +31,6 @@
 import io.sapl.spring.constraints.providers.ContentFilterPredicateProvider;
 import io.sapl.spring.constraints.providers.ContentFilteringProvider;
 import io.sapl.springdatacommon.sapl.utils.OidObjectMapper;
-import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 
 /**
@@ -43,15 +42,43 @@
  *
  * @param <T> is the type of the domain object.
  */
-@RequiredArgsConstructor
 public class DataManipulationHandler<T> {
-    private final Class<T> domainType;
-    private final boolean  isRelationalDatabase;
+    private final Class<T>                       domainType;
+    private final boolean                        isRelationalDatabase;
+    private final ContentFilteringProvider       contentFilteringProvider;
+    private final ContentFilterPredicateProvider contentFilterPredicateProvider;
 
-    private static final OidObjectMapper   OID_MAPPER = new OidObjectMapper();
-    private static final ObjectMapper      MAPPER     = new ObjectMapper();
-    private ContentFilteringProvider       contentFilteringProvider;
-    private ContentFilterPredicateProvider contentFilterPredicateProvider;
+    private static final OidObjectMapper OID_MAPPER = new OidObjectMapper();
+    private static final ObjectMapper    MAPPER     = new ObjectMapper();
+
+    /*
+     * The providers are stateless apart from their caches of compiled constraints
+     * and are therefore shared by all handlers of the same database type.
+     */
+    private static final ContentFilteringProvider       RELATIONAL_FILTER    = new ContentFilteringProvider(MAPPER);
+    private static final ContentFilterPredicateProvider RELATIONAL_PREDICATE = new ContentFilterPredicateProvider(MAPPER);
+    private static final ContentFilteringProvider       DOCUMENT_FILTER      = new ContentFilteringProvider(OID_MAPPER);
+    private static final ContentFilterPredicateProvider DOCUMENT_PREDICATE   = new ContentFilterPredicateProvider(OID_MAPPER);
+
+    public DataManipulationHandler(Class<T> domainType, boolean isRelationalDatabase) {
+        this.domainType           = domainType;
+        this.isRelationalDatabase = isRelationalDatabase;
+        if (isRelationalDatabase) {
+            this.contentFilteringProvider       = RELATIONAL_FILTER;
+            this.contentFilterPredicateProvider = RELATIONAL_PREDICATE;
+        } else {
+            this.contentFilteringProvider       = DOCUMENT_FILTER;
+            this.contentFilterPredicateProvider = DOCUMENT_PREDICATE;
+        }
+    }
+
+    /**
+     * @return the ObjectMapper which marshals the database objects for the
+     *         in-memory filtering and transformation.
+     */
+    public ObjectMapper getMapper() {
+        return isRelationalDatabase ? MAPPER : OID_MAPPER;
+    }
 
     /**
      * Initiates the manipulation of the database objects. It checks which providers
@@ -63,14 +90,6 @@
      */
     public Function<Flux<T>, Flux<T>> manipulate(JsonNode obligations) {
         return data -> {
-            if (this.isRelationalDatabase) {
-                this.contentFilteringProvider       = new ContentFilteringProvider(MAPPER);
-                this.contentFilterPredicateProvider = new ContentFilterPredicateProvider(MAPPER);
-            } else {
-                this.contentFilteringProvider       = new ContentFilteringProvider(OID_MAPPER);
-                this.contentFilterPredicateProvider = new ContentFilterPredicateProvider(OID_MAPPER);
-            }
-
             var filterJsonContentObligation = getConstraintHandlerByTypeIfResponsible(obligations, FILTER_JSON_CONTENT);
             var isContentFilterResponsible  = filterJsonContentObligation != JsonNodeFactory.instance.nullNode();
 
@@ -28,25 +28,40 @@
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * This service is responsible for processing the {@link Enforce} annotation.
+ * <p>
+ * The handler is shared by all invocations of the repositories. Therefore, the
+ * values of an invocation are kept in an {@link EvaluationContext} created per
+ * invocation, while the parsed expressions and the parameter names of the
+ * methods are cached.
  */
 public class EnforceAnnotationHandler {
 
-    private final BeanFactory               beanFactory;
-    private final SpelExpressionParser      parser  = new SpelExpressionParser();
-    private final StandardEvaluationContext context = new StandardEvaluationContext();
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    private static final Pattern      JSON_STRING = Pattern.compile("\\{.*\\}", Pattern.CASE_INSENSITIVE);
+    private static final Pattern      METHOD_CALL = Pattern.compile("^#.{1,50}\\(.{0,50}\\)$",
+            Pattern.CASE_INSENSITIVE); // e.g. #testMethod(123, 'argument')
+
+    private final SpelExpressionParser    parser         = new SpelExpressionParser();
+    private final Map<String, Expression> expressions    = new ConcurrentHashMap<>();
+    private final Map<Method, String[]>   parameterNames = new ConcurrentHashMap<>();
+    private final BeanFactoryResolver     beanResolver;
 
     public EnforceAnnotationHandler(BeanFactory beanFactory) {
-        this.beanFactory = beanFactory;
+        this.beanResolver = new BeanFactoryResolver(beanFactory);
     }
 
     /**
@@ -67,21 +82,29 @@ public AuthorizationSubscription enforceAnnotation(MethodInvocation methodInvoca
     }
 
     /**
-     * The EvaluationContext must be populated with the parameters of the method in
-     * order to be resolved.
+     * Creates the EvaluationContext of an invocation. The EvaluationContext must be
+     * populated with the parameters of the method in order to be resolved.
      *
-     * @param context          is the {@link EvaluationContext}
      * @param methodInvocation from the interface
      *                         {@link org.aopalliance.intercept.MethodInterceptor}
+     * @return the {@link EvaluationContext} of the invocation.
      */
-    private void setMethodParameterInEvaluationContext(EvaluationContext context, MethodInvocation methodInvocation) {
-        var methodParameters = Arrays.stream(methodInvocation.getMethod().getParameters()).map(Parameter::getName)
-                .toList();
+    private StandardEvaluationContext createEvaluationContext(MethodInvocation methodInvocation) {
+        var context          = new StandardEvaluationContext();
+        var methodParameters = parameterNames.computeIfAbsent(methodInvocation.getMethod(),
+                method -> Arrays.stream(method.getParameters()).map(Parameter::getName).toArray(String[]::new));
         var methodArguments  = methodInvocation.getArguments();
 
-        for (int i = 0; i < methodParameters.size(); i++) {
-            context.setVariable(methodParameters.get(i), methodArguments[i]);
+        for (int i = 0; i < methodParameters.length; i++) {
+            context.setVariable(methodParameters[i], methodArguments[i]);
         }
+        context.setBeanResolver(beanResolver);
+
+        return context;
+    }
+
+    private Expression parseExpression(String annotationValue) {
+        return expressions.computeIfAbsent(annotationValue, parser::parseExpression);
     }
 
     /**
@@ -94,14 +117,15 @@ private void setMethodParameterInEvaluationContext(EvaluationContext context, Me
      */
     private AuthorizationSubscription enforceAnnotationValueToAuthorizationSubscription(Enforce enforceAnnotation,
             MethodInvocation methodInvocation) {
+        var context     = createEvaluationContext(methodInvocation);
         var subject     = enforceAnnotationValueResolver(enforceAnnotation.subject(), enforceAnnotation.staticClasses(),
-                methodInvocation);
+                context);
         var action      = enforceAnnotationValueResolver(enforceAnnotation.action(), enforceAnnotation.staticClasses(),
-                methodInvocation);
+                context);
         var resource    = enforceAnnotationValueResolver(enforceAnnotation.resource(),
-                enforceAnnotation.staticClasses(), methodInvocation);
+                enforceAnnotation.staticClasses(), context);
         var environment = enforceAnnotationValueResolver(enforceAnnotation.environment(),
-                enforceAnnotation.staticClasses(), methodInvocation);
+                enforceAnnotation.staticClasses(), context);
 
         return AuthorizationSubscription.of(subject, action, resource, environment);
     }
@@ -123,22 +147,22 @@ private AuthorizationSubscription enforceAnnotationValueToAuthorizationSubscript
      *         {@link AuthorizationSubscription}.
      */
     private Object enforceAnnotationValueResolver(String annotationValue, Class<?>[] staticClasses,
-            MethodInvocation methodInvocation) {
+            StandardEvaluationContext context) {
 
         if (annotationValue.startsWith("T(")) {
-            return getObjectByStaticClassWhenValueStartsWithLetterT(annotationValue, methodInvocation);
+            return getObjectByStaticClassWhenValueStartsWithLetterT(annotationValue, context);
         }
 
         if (referenceMethod(annotationValue) && staticClasses.length > 0) {
-            return getObjectByStaticClassWhenValueStartsWithHash(annotationValue, staticClasses, methodInvocation);
+            return getObjectByStaticClassWhenValueStartsWithHash(annotationValue, staticClasses, context);
         }
 
         if (annotationValue.startsWith("#")) {
-            return parseMethodParameterInEvaluationContext(annotationValue, methodInvocation);
+            return parseMethodParameterInEvaluationContext(annotationValue, context);
         }
 
         if (annotationValue.startsWith("@")) {
-            return getObjectByBeanWhenValueStartsWithAt(annotationValue, methodInvocation);
+            return getObjectByBeanWhenValueStartsWithAt(annotationValue, context);
         }
 
         if (referenceJsonString(annotationValue)) {
@@ -149,16 +173,11 @@ private Object enforceAnnotationValueResolver(String annotationValue, Class<?>[]
     }
 
     private boolean referenceJsonString(String jsonString) {
-        var pattern = Pattern.compile("\\{.*\\}", Pattern.CASE_INSENSITIVE);
-        var matcher = pattern.matcher(jsonString);
-        return matcher.matches();
+        return JSON_STRING.matcher(jsonString).matches();
     }
 
     private boolean referenceMethod(String methodAsString) {
-        var pattern = Pattern.compile("^#.{1,50}\\(.{0,50}\\)$", Pattern.CASE_INSENSITIVE); // e.g. #testMethod(123,
-                                                                                            // 'argument')
-        var matcher = pattern.matcher(methodAsString);
-        return matcher.matches();
+        return METHOD_CALL.matcher(methodAsString).matches();
     }
 
     /**
@@ -169,8 +188,7 @@ private boolean referenceMethod(String methodAsString) {
      */
     @SneakyThrows // throws JsonMappingException, JsonProcessingException
     private JsonNode buildJsonNodeByString(Object jsonString) {
-        var objectMapper = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
-        return objectMapper.readTree(jsonString.toString());
+        return JSON_MAPPER.readTree(jsonString.toString());
     }
 
     /**
@@ -180,10 +198,8 @@ private JsonNode buildJsonNodeByString(Object jsonString) {
      *                        annotation.
      * @return the value of the method parameter.
      */
-    private String parseMethodParameterInEvaluationContext(String annotationValue, MethodInvocation methodInvocation) {
-        setMethodParameterInEvaluationContext(context, methodInvocation);
-
-        return parser.parseExpression(annotationValue).getValue(context, String.class);
+    private String parseMethodParameterInEvaluationContext(String annotationValue, EvaluationContext context) {
+        return parseExpression(annotationValue).getValue(context, String.class);
     }
 
     /**
@@ -197,10 +213,10 @@ private String parseMethodParameterInEvaluationContext(String annotationValue, M
      *      value from the {@link EvaluationContext} is extracted.
      */
     private Object getObjectByStaticClassWhenValueStartsWithHash(String annotationValue, Class<?>[] staticClasses,
-            MethodInvocation methodInvocation) {
+            StandardEvaluationContext context) {
         var methodName = StringUtils.substringBetween(annotationValue, "#", "(");
 
-        return findMethodAndParseExpression(methodName, staticClasses, annotationValue, methodInvocation);
+        return findMethodAndParseExpression(methodName, staticClasses, annotationValue, context);
     }
 
     /**
@@ -214,7 +230,7 @@ private Object getObjectByStaticClassWhenValueStartsWithHash(String annotationVa
      */
     @SneakyThrows // NoSuchMethodException
     private Object findMethodAndParseExpression(String methodName, Class<?>[] staticClasses, String annotationValue,
-            MethodInvocation methodInvocation) {
+            StandardEvaluationContext context) {
         for (Class<?> clazz : staticClasses) {
             var methods = clazz.getDeclaredMethods();
 
@@ -222,9 +238,8 @@ private Object findMethodAndParseExpression(String methodName, Class<?>[] static
 
                 if (method.getName().equals(methodName)) {
                     context.registerFunction(methodName, method);
-                    setMethodParameterInEvaluationContext(context, methodInvocation);
 
-                    return parser.parseExpression(annotationValue).getValue(context, Object.class);
+                    return parseExpression(annotationValue).getValue(context, Object.class);
                 }
             }
         }
@@ -246,10 +261,8 @@ private Object findMethodAndParseExpression(String methodName, Class<?>[] static
      * @return the value returned by the static class method.
      */
     private Object getObjectByStaticClassWhenValueStartsWithLetterT(String annotationValue,
-            MethodInvocation methodInvocation) {
-        setMethodParameterInEvaluationContext(context, methodInvocation);
-
-        return parser.parseExpression(annotationValue).getValue(context, Object.class);
+            EvaluationContext context) {
+        return parseExpression(annotationValue).getValue(context, Object.class);
     }
 
     /**
@@ -261,11 +274,7 @@ private Object getObjectByStaticClassWhenValueStartsWithLetterT(String annotatio
      *                        annotation.
      * @return the value returned by the bean.
      */
-    private Object getObjectByBeanWhenValueStartsWithAt(String annotationValue, MethodInvocation methodInvocation) {
-        setMethodParameterInEvaluationContext(context, methodInvocation);
-        context.setBeanResolver(new BeanFactoryResolver(this.beanFactory));
-        var expression = parser.parseExpression(annotationValue);
-
-        return expression.getValue(context, Object.class);
+    private Object getObjectByBeanWhenValueStartsWithAt(String annotationValue, EvaluationContext context) {
+        return parseExpression(annotationValue).getValue(context, Object.class);
     }
 }
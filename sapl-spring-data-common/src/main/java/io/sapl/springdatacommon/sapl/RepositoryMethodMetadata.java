@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.sapl;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Set;
+
+/**
+ * The information about a repository method which is needed to enforce its
+ * invocations. It only depends on the method and is therefore discovered once
+ * per method by the proxy interceptors instead of on every invocation.
+ *
+ * @param isProtected        true, if invocations of the method are enforced.
+ * @param repository         is the repository declaring the method.
+ * @param returnType         is the return type of the method.
+ * @param enforceAnnotation  is the {@link Enforce} annotation of the method, or
+ *                           null if there is none.
+ * @param domainType         is the domain type of the repository, or null if
+ *                           the repository does not extend one of the supported
+ *                           repository interfaces.
+ * @param hasAnnotationQuery true, if the method has a query annotation.
+ * @param isMethodNameValid  true, if the query can be derived from the name of
+ *                           the method.
+ * @param <T>                is the domain type.
+ */
+public record RepositoryMethodMetadata<T>(boolean isProtected, Class<?> repository, Class<?> returnType,
+        Enforce enforceAnnotation, Class<T> domainType, boolean hasAnnotationQuery, boolean isMethodNameValid) {
+
+    /**
+     * @param repository is the repository declaring the method.
+     * @param <T>        is the domain type.
+     * @return the metadata of a method whose invocations are merely forwarded.
+     */
+    public static <T> RepositoryMethodMetadata<T> unprotected(Class<?> repository) {
+        return new RepositoryMethodMetadata<>(false, repository, null, null, null, false, false);
+    }
+
+    /**
+     * Searches the generic interfaces of the repository for one of the supported
+     * repository interfaces and returns its domain type.
+     *
+     * @param repository          is the repository.
+     * @param repositoryTypeNames are the names of the supported repository
+     *                            interfaces.
+     * @param <T>                 is the domain type.
+     * @return the domain type, or null if the repository does not extend one of
+     *         the supported repository interfaces.
+     */
+    @SuppressWarnings("unchecked") // casting domain type from Class<?> to Class<T>
+    public static <T> Class<T> findDomainType(Class<?> repository, Set<String> repositoryTypeNames) {
+        for (var interfaceType : repository.getGenericInterfaces()) {
+            var isSupportedRepository = repositoryTypeNames.stream()
+                    .anyMatch(typeName -> interfaceType.getTypeName().contains(typeName));
+
+            if (isSupportedRepository && interfaceType instanceof ParameterizedType parameterizedType) {
+                return (Class<T>) parameterizedType.getActualTypeArguments()[0];
+            }
+        }
+        return null;
+    }
+}
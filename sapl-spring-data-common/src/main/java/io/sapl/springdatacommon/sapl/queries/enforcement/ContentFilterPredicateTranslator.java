@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.sapl.queries.enforcement;
+
+import static io.sapl.springdatacommon.sapl.utils.Utilities.CONDITIONS;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.FILTER_JSON_CONTENT_PREDICATE;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.TYPE;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Translates the conditions of a jsonContentFilterPredicate obligation into
+ * conditions of the query language of the database, so that most of the rows
+ * or documents which do not satisfy the predicate are already excluded by the
+ * database.
+ * <p>
+ * The translated conditions only narrow down the data read from the database.
+ * The {@link io.sapl.springdatacommon.handlers.DataManipulationHandler} still
+ * enforces all conditions in memory afterwards, as the database may compare
+ * differently, e.g., text under a case or accent insensitive collation. Thus, a
+ * condition is only translated if the database keeps every row the in-memory
+ * filter keeps, i.e., a condition on a plain property of the domain type with a
+ * value matching the type of the property. Text is only compared for equality,
+ * as an insensitive collation keeps more rows for equality but fewer for
+ * inequality. Regular expressions are never translated, as the regular
+ * expression dialects of the databases differ from the one of Java. The
+ * properties are resolved with the ObjectMapper of the in-memory filter, so
+ * that a condition addresses the same property in the query and in memory.
+ *
+ * @param <C> is the type of the conditions of the query language.
+ */
+public abstract class ContentFilterPredicateTranslator<C> {
+
+    private static final Pattern PROPERTY_PATH = Pattern.compile("^\\$\\.([A-Za-z_]\\w*)$");
+    private static final String  PATH          = "path";
+    private static final String  VALUE         = "value";
+
+    private final Map<String, Field> properties;
+
+    /**
+     * @param domainType is the domain type the conditions refer to.
+     * @param mapper     is the ObjectMapper the in-memory filter marshals the
+     *                   domain objects with.
+     */
+    protected ContentFilterPredicateTranslator(Class<?> domainType, ObjectMapper mapper) {
+        this.properties = plainProperties(domainType, mapper);
+    }
+
+    /**
+     * The comparison operators of the jsonContentFilterPredicate obligation.
+     */
+    public enum Operator {
+        EQUALS("=="), NOT_EQUALS("!="), LESS_THAN("<"), LESS_THAN_EQUAL("<="), GREATER_THAN(">"),
+        GREATER_THAN_EQUAL(">="), REGEX("=~");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Optional<Operator> ofSymbol(String symbol) {
+            for (var operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return Optional.of(operator);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A condition of the jsonContentFilterPredicate obligation which can be
+     * evaluated by the database.
+     *
+     * @param field    is the field of the domain type the condition refers to.
+     * @param operator is the comparison operator.
+     * @param value    is the textual or numeric value to compare with.
+     */
+    public record PredicateCondition(Field field, Operator operator, JsonNode value) {
+    }
+
+    /**
+     * Translates the conditions of the jsonContentFilterPredicate obligation which
+     * is enforced by the
+     * {@link io.sapl.springdatacommon.handlers.DataManipulationHandler}.
+     *
+     * @param obligations are the obligations of the decision.
+     * @return the translated conditions, which all have to be satisfied.
+     */
+    public List<C> translate(ArrayNode obligations) {
+        var index = indexOfPredicateObligation(obligations);
+        if (index == -1) {
+            return List.of();
+        }
+
+        var conditions = obligations.get(index).get(CONDITIONS);
+        if (conditions == null || !conditions.isArray()) {
+            return List.of();
+        }
+
+        var translated = new ArrayList<C>();
+        for (var condition : conditions) {
+            toPredicateCondition(condition).flatMap(this::translate).ifPresent(translated::add);
+        }
+        return List.copyOf(translated);
+    }
+
+    /**
+     * Translates a single condition into the query language of the database.
+     *
+     * @param condition is a condition of the jsonContentFilterPredicate obligation.
+     * @return the translated condition, or empty if the database might drop rows
+     *         the in-memory filter keeps.
+     */
+    protected abstract Optional<C> translate(PredicateCondition condition);
+
+    private int indexOfPredicateObligation(ArrayNode obligations) {
+        for (var i = 0; i < obligations.size(); i++) {
+            var type = obligations.get(i).get(TYPE);
+            if (obligations.get(i).isObject() && type != null && type.isTextual()
+                    && FILTER_JSON_CONTENT_PREDICATE.equals(type.asText())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Optional<PredicateCondition> toPredicateCondition(JsonNode condition) {
+        if (!condition.isObject() || !condition.path(PATH).isTextual() || !condition.path(TYPE).isTextual()
+                || !condition.has(VALUE)) {
+            return Optional.empty();
+        }
+
+        var matcher = PROPERTY_PATH.matcher(condition.get(PATH).textValue());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        var field    = properties.get(matcher.group(1));
+        var operator = Operator.ofSymbol(condition.get(TYPE).textValue());
+        var value    = condition.get(VALUE);
+        if (field == null || operator.isEmpty() || !isApplicable(operator.get(), value, field.getType())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new PredicateCondition(field, operator.get(), value));
+    }
+
+    private static boolean isApplicable(Operator operator, JsonNode value, Class<?> fieldType) {
+        return switch (operator) {
+        case EQUALS -> (value.isTextual() && String.class == fieldType) || (value.isNumber() && isNumeric(fieldType));
+        case NOT_EQUALS, LESS_THAN, LESS_THAN_EQUAL, GREATER_THAN, GREATER_THAN_EQUAL ->
+            value.isNumber() && isNumeric(fieldType);
+        case REGEX -> false;
+        };
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return Number.class.isAssignableFrom(type)
+                || (type.isPrimitive() && type != boolean.class && type != char.class);
+    }
+
+    /**
+     * Collects the properties of the domain type, which are serialized under the
+     * name of the field backing them. Only these can be addressed in a query the
+     * same way the in-memory filter addresses them.
+     */
+    private static Map<String, Field> plainProperties(Class<?> domainType, ObjectMapper mapper) {
+        var result      = new HashMap<String, Field>();
+        var description = mapper.getSerializationConfig().introspect(mapper.constructType(domainType));
+        for (var property : description.findProperties()) {
+            var field = property.getField();
+            if (property.couldSerialize() && field != null && property.getName().equals(field.getName())) {
+                result.put(property.getName(), field.getAnnotated());
+            }
+        }
+        return Map.copyOf(result);
+    }
+}
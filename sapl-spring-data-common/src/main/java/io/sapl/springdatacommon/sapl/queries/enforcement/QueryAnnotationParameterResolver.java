@@ -18,7 +18,6 @@
 package io.sapl.springdatacommon.sapl.queries.enforcement;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -36,6 +35,19 @@
 @UtilityClass
 public class QueryAnnotationParameterResolver {
 
+    /**
+     * The query of a query annotation and the method parameters it refers to.
+     *
+     * @param query          is the value of the query annotation.
+     * @param parameterNames are the names of the method parameters.
+     * @param parameterTypes are the types of the method parameters.
+     * @param placeholders   are the placeholders of the method parameters within
+     *                       the query, in the order of the method parameters.
+     */
+    public record AnnotationQuery(String query, List<String> parameterNames, List<Class<?>> parameterTypes,
+            List<String> placeholders) {
+    }
+
     /**
      * In the query annotation of a method, where the query can be found, parameters
      * with the parameters from the method are followed by a question mark and an
@@ -52,30 +64,60 @@ public class QueryAnnotationParameterResolver {
      */
     public static String resolveBoundedMethodParametersAndAnnotationParameters(Method method, Object[] args,
             boolean isRelationalDatabase) {
-        var parameterNameList = new ArrayList<String>();
-        var parameters        = Arrays.stream(method.getParameters()).toList();
-        var query             = "";
+        return resolveBoundedMethodParametersAndAnnotationParameters(
+                resolveAnnotationQuery(method, isRelationalDatabase), args);
+    }
+
+    /**
+     * Links the parameters of an already resolved query annotation to the
+     * arguments of the method.
+     *
+     * @param annotationQuery is the query of the annotation of the original
+     *                        repository method.
+     * @param args            are the original parameters of the method.
+     * @return the new query with the correct values as a string, since the query
+     *         from the annotation is also a string.
+     */
+    public static String resolveBoundedMethodParametersAndAnnotationParameters(AnnotationQuery annotationQuery,
+            Object[] args) {
+        var finalArgs = convertArgumentsOfTypeString(args);
+
+        return StringUtils.replaceEach(annotationQuery.query(), annotationQuery.placeholders().toArray(String[]::new),
+                finalArgs.toArray(String[]::new));
+    }
+
+    /**
+     * Reads the query annotation of a method and the parameters of the method. As
+     * the result does not change between invocations, the enforcement point
+     * factories keep it per method.
+     *
+     * @param method               is the original repository method.
+     * @param isRelationalDatabase selects the R2DBC or the MongoDB query
+     *                             annotation.
+     * @return the query of the annotation and the parameters it refers to.
+     */
+    public static AnnotationQuery resolveAnnotationQuery(Method method, boolean isRelationalDatabase) {
+        var parameters     = method.getParameters();
+        var parameterNames = new ArrayList<String>(parameters.length);
+        var placeholders   = new ArrayList<String>(parameters.length);
+        String query;
 
         if (isRelationalDatabase) {
             query = method.getAnnotation(Query.class).value();
-            for (Parameter parameter : parameters) {
-                parameterNameList.add("(:" + parameter.getName() + ")");
+            for (var parameter : parameters) {
+                parameterNames.add(parameter.getName());
+                placeholders.add("(:" + parameter.getName() + ")");
             }
         } else {
             query = method.getAnnotation(org.springframework.data.mongodb.repository.Query.class).value();
-            for (Parameter parameter : parameters) {
-                parameterNameList.add("?" + parameters.indexOf(parameter));
+            for (var i = 0; i < parameters.length; i++) {
+                parameterNames.add(parameters[i].getName());
+                placeholders.add("?" + i);
             }
         }
 
-        var finalArgs          = convertArgumentsOfTypeString(args);
-        var parameterNameArray = new String[parameterNameList.size()];
-
-        parameterNameArray = parameterNameList.toArray(parameterNameArray);
-        var finalArgsArray = new String[finalArgs.size()];
-        finalArgsArray = finalArgs.toArray(finalArgsArray);
-
-        return StringUtils.replaceEach(query, parameterNameArray, finalArgsArray);
+        return new AnnotationQuery(query, List.copyOf(parameterNames), List.of(method.getParameterTypes()),
+                List.copyOf(placeholders));
     }
 
     /**
@@ -85,7 +127,7 @@ public static String resolveBoundedMethodParametersAndAnnotationParameters(Metho
      * @param args are the original parameters of the method.
      * @return all parameters including the manipulated strings.
      */
-    private List<String> convertArgumentsOfTypeString(Object[] args) {
+    private static List<String> convertArgumentsOfTypeString(Object[] args) {
         return Arrays.stream(args).map(arg -> {
             if (Utilities.isString(arg)) {
                 return "'" + arg + "'";
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import io.sapl.springdatacommon.database.Person;
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator;
+
+class ContentFilterPredicateTranslatorTests {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    final ContentFilterPredicateTranslator<String> translator = new ContentFilterPredicateTranslator<>(
+            Person.class, MAPPER) {
+        @Override
+        protected Optional<String> translate(PredicateCondition condition) {
+            return Optional.of(condition.field().getName() + ' ' + condition.operator() + ' ' + condition.value());
+        }
+    };
+
+    @Test
+    void when_conditionsAreTranslatable_then_allConditionsAreTranslatedAndKeptInObligation()
+            throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "==", "path": "$.firstname", "value": "Malinda" },
+                      { "type": ">=", "path": "$.age", "value": 18 },
+                      { "type": "!=", "path": "$.age", "value": 42 }
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+        var original    = obligations.deepCopy();
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        assertEquals(List.of("firstname EQUALS \"Malinda\"", "age GREATER_THAN_EQUAL 18", "age NOT_EQUALS 42"),
+                conditions);
+        assertEquals(original, obligations);
+    }
+
+    @Test
+    void when_conditionsAreNotTranslatable_then_onlyTranslatableConditionsAreReturned()
+            throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "filterJsonContent",
+                    "actions": [ { "type": "delete", "path": "$.lastname" } ]
+                  },
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "==", "path": "$.firstname", "value": "Malinda" },
+                      { "type": "<", "path": "$.firstname", "value": 18 },
+                      { "type": "==", "path": "$.age", "value": "18" },
+                      { "type": "==", "path": "$.unknown", "value": "x" },
+                      { "type": "==", "path": "$..firstname", "value": "Malinda" },
+                      { "type": "!=", "path": "$.lastname", "value": "Pierce" },
+                      { "type": "=~", "path": "$.lastname", "value": "^P.*" },
+                      { "type": "~", "path": "$.lastname", "value": "x" },
+                      "not an object"
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+
+        var original    = obligations.deepCopy();
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        assertEquals(List.of("firstname EQUALS \"Malinda\""), conditions);
+        assertEquals(original, obligations);
+    }
+
+    @Test
+    void when_mapperRenamesProperties_then_conditionsAreNotTranslated() throws JsonProcessingException {
+        // GIVEN
+        var renamingMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE);
+        var obligations    = MAPPER.readValue("""
+                [
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "==", "path": "$.firstname", "value": "Malinda" },
+                      { "type": "==", "path": "$.Lastname", "value": "Pierce" }
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+        var sut            = new ContentFilterPredicateTranslator<String>(Person.class, renamingMapper) {
+            @Override
+            protected Optional<String> translate(PredicateCondition condition) {
+                return Optional.of(condition.field().getName());
+            }
+        };
+
+        // WHEN
+        var conditions = sut.translate(obligations);
+
+        // THEN
+        assertTrue(conditions.isEmpty());
+    }
+
+    @Test
+    void when_noTranslatablePredicateObligation_then_noConditionIsTranslated() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "r2dbcQueryManipulation",
+                    "conditions": [ "age > 18" ]
+                  },
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": "not an array"
+                  }
+                ]
+                """, ArrayNode.class);
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        assertTrue(conditions.isEmpty());
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.sapl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.sapl.springdatacommon.database.MongoReactiveUserRepository;
+import io.sapl.springdatacommon.database.Person;
+import io.sapl.springdatacommon.database.R2dbcPersonRepository;
+import io.sapl.springdatacommon.database.User;
+
+class RepositoryMethodMetadataTests {
+
+    private static final Set<String> R2DBC_REPOSITORIES = Set.of("R2dbcRepository");
+    private static final Set<String> MONGO_REPOSITORIES = Set.of("ReactiveMongoRepository");
+
+    @Test
+    void when_repositoryExtendsSupportedRepository_then_findDomainType() {
+        // GIVEN
+
+        // WHEN
+        var r2dbcDomainType = RepositoryMethodMetadata.findDomainType(R2dbcPersonRepository.class, R2DBC_REPOSITORIES);
+        var mongoDomainType = RepositoryMethodMetadata.findDomainType(MongoReactiveUserRepository.class,
+                MONGO_REPOSITORIES);
+
+        // THEN
+        assertEquals(Person.class, r2dbcDomainType);
+        assertEquals(User.class, mongoDomainType);
+    }
+
+    @Test
+    void when_repositoryDoesNotExtendSupportedRepository_then_returnNull() {
+        // GIVEN
+
+        // WHEN
+        var domainType = RepositoryMethodMetadata.findDomainType(R2dbcPersonRepository.class, MONGO_REPOSITORIES);
+
+        // THEN
+        assertNull(domainType);
+    }
+
+    @Test
+    void when_unprotected_then_metadataIsNotProtected() {
+        // GIVEN
+
+        // WHEN
+        var metadata = RepositoryMethodMetadata.unprotected(R2dbcPersonRepository.class);
+
+        // THEN
+        assertFalse(metadata.isProtected());
+        assertEquals(R2dbcPersonRepository.class, metadata.repository());
+        assertNull(metadata.domainType());
+    }
+
+}
@@ -17,20 +17,30 @@
  */
 package io.sapl.springdatamongoreactive.sapl;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.stereotype.Service;
 
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
 import io.sapl.springdatacommon.sapl.queries.enforcement.ProceededDataFilterEnforcementPoint;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoAnnotationQueryManipulationEnforcementPoint;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoMethodNameQueryManipulationEnforcementPoint;
 
 @Service
 public class QueryManipulationEnforcementPointFactory {
 
+    private final Map<Method, AnnotationQuery> annotationQueries = new ConcurrentHashMap<>();
+
     public <T> QueryManipulationEnforcementPoint<T> createMongoAnnotationQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new MongoAnnotationQueryManipulationEnforcementPoint<>(enforcementData);
+        var annotationQuery = annotationQueries.computeIfAbsent(enforcementData.getMethodInvocation().getMethod(),
+                method -> QueryAnnotationParameterResolver.resolveAnnotationQuery(method, false));
+        return new MongoAnnotationQueryManipulationEnforcementPoint<>(enforcementData, annotationQuery);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createMongoMethodNameQueryManipulationEnforcementPoint(
@@ -23,9 +23,10 @@
 import static io.sapl.springdatamongoreactive.sapl.utils.annotation.AnnotationUtilities.hasAnnotationQuery;
 import static io.sapl.springdatamongoreactive.sapl.utils.annotation.AnnotationUtilities.hasAnnotationSaplProtected;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.Objects;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -40,6 +41,7 @@
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.springdatacommon.handlers.AuthorizationSubscriptionHandlerProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
+import io.sapl.springdatacommon.sapl.RepositoryMethodMetadata;
 import io.sapl.springdatacommon.sapl.utils.Utilities;
 import io.sapl.springdatamongoreactive.sapl.QueryManipulationEnforcementPointFactory;
 import io.sapl.springdatamongoreactive.sapl.utils.annotation.EnforceMongoReactive;
@@ -69,43 +71,47 @@
 @Service
 public class MongoProxyInterceptor<T> implements MethodInterceptor {
     private final AuthorizationSubscriptionHandlerProvider authSubHandler;
-    private final QueryManipulationEnforcementData<T>      enforcementData;
+    private final BeanFactory                              beanFactory;
+    private final PolicyDecisionPoint                      pdp;
     private final QueryManipulationEnforcementPointFactory factory;
+    private final Map<Method, RepositoryMethodMetadata<T>> repositoryMethods = new ConcurrentHashMap<>();
 
     private static final String REACTIVE_MONGO_REPOSITORY_PATH = "org.springframework.data.mongodb.repository.ReactiveMongoRepository";
     private static final String REACTIVE_CRUD_REPOSITORY_PATH  = "org.springframework.data.repository.reactive.ReactiveCrudRepository";
 
     public MongoProxyInterceptor(AuthorizationSubscriptionHandlerProvider authSubHandler, BeanFactory beanFactory,
             PolicyDecisionPoint pdp, QueryManipulationEnforcementPointFactory factory) {
-        this.authSubHandler  = authSubHandler;
-        this.factory         = factory;
-        this.enforcementData = new QueryManipulationEnforcementData<>(null, beanFactory, null, pdp, null);
+        this.authSubHandler = authSubHandler;
+        this.beanFactory    = beanFactory;
+        this.pdp            = pdp;
+        this.factory        = factory;
     }
 
     @SneakyThrows // // Throwable by proceed() method, ClassNotFoundException
     public Object invoke(MethodInvocation methodInvocation) {
 
         var repositoryMethod = methodInvocation.getMethod();
-        var repository       = methodInvocation.getMethod().getDeclaringClass();
+        var metadata         = repositoryMethods.computeIfAbsent(repositoryMethod, this::discoverRepositoryMethod);
 
-        if (hasAnnotationSaplProtected(repository) || hasAnnotationSaplProtected(repositoryMethod)
-                || hasAnnotationEnforce(repositoryMethod)) {
+        if (metadata.isProtected()) {
 
-            var returnClassOfMethod  = Objects.requireNonNull(repositoryMethod).getReturnType();
-            var enforceMongoReactive = AnnotationUtils.findAnnotation(repositoryMethod, EnforceMongoReactive.class);
-            var enforceAnnotation    = convertToEnforce(enforceMongoReactive);
-            var authSub              = this.authSubHandler.getAuthSub(repository, methodInvocation, enforceAnnotation);
+            var repository          = metadata.repository();
+            var returnClassOfMethod = metadata.returnType();
+            var authSub             = this.authSubHandler.getAuthSub(repository, methodInvocation,
+                    metadata.enforceAnnotation());
 
             if (authSub == null) {
                 throw new IllegalStateException(
                         "The Sapl implementation for the manipulation of the database queries was recognised, but no AuthorizationSubscription was found.");
             }
 
-            var domainType = extractDomainType(repository);
+            if (metadata.domainType() == null) {
+                throw new ClassNotFoundException("The " + ReactiveMongoRepository.class + " or "
+                        + ReactiveCrudRepository.class + " could not be found as an extension of the " + repository);
+            }
 
-            enforcementData.setMethodInvocation(methodInvocation);
-            enforcementData.setDomainType(domainType);
-            enforcementData.setAuthSub(authSub);
+            var enforcementData = new QueryManipulationEnforcementData<>(methodInvocation, beanFactory,
+                    metadata.domainType(), pdp, authSub);
 
             /*
              * Introduce {@link MongoAnnotationQueryManipulationEnforcementPoint} if method
@@ -113,7 +119,7 @@ public Object invoke(MethodInvocation methodInvocation) {
              * annotation is only extended with the conditions that were specified in the
              * policy's obligation.
              */
-            if (hasAnnotationQuery(repositoryMethod)) {
+            if (metadata.hasAnnotationQuery()) {
                 var annotationQueryEnforcementPoint = factory
                         .createMongoAnnotationQueryManipulationEnforcementPoint(enforcementData);
 
@@ -132,7 +138,7 @@ public Object invoke(MethodInvocation methodInvocation) {
              * method with the domain object attribute 'firstname':
              * findAllByFirstname(String firstname)
              */
-            if (Utilities.isMethodNameValid(repositoryMethod.getName())) {
+            if (metadata.isMethodNameValid()) {
                 var methodNameQueryEnforcementPoint = factory
                         .createMongoMethodNameQueryManipulationEnforcementPoint(enforcementData);
 
@@ -157,20 +163,29 @@ public Object invoke(MethodInvocation methodInvocation) {
         return methodInvocation.proceed();
     }
 
-    @SuppressWarnings("unchecked") // casting domain type from Class<?> to Class<T>
-    private Class<T> extractDomainType(Class<?> repository) throws ClassNotFoundException {
-        var repositoryTypes = repository.getGenericInterfaces();
-
-        for (Type interfaceType : repositoryTypes) {
-            if ((interfaceType.getTypeName().contains(REACTIVE_MONGO_REPOSITORY_PATH)
-                    || interfaceType.getTypeName().contains(REACTIVE_CRUD_REPOSITORY_PATH))) {
-                var parameterizedType = (ParameterizedType) interfaceType;
-                return (Class<T>) parameterizedType.getActualTypeArguments()[0];
-            }
+    /**
+     * Collects the information about a repository method, which does not change
+     * between invocations, i.e., the annotations, the return type and the domain
+     * type of the repository.
+     *
+     * @param repositoryMethod is the invoked repository method.
+     * @return the metadata of the method.
+     */
+    private RepositoryMethodMetadata<T> discoverRepositoryMethod(Method repositoryMethod) {
+        var repository = repositoryMethod.getDeclaringClass();
+
+        if (!(hasAnnotationSaplProtected(repository) || hasAnnotationSaplProtected(repositoryMethod)
+                || hasAnnotationEnforce(repositoryMethod))) {
+            return RepositoryMethodMetadata.unprotected(repository);
         }
 
-        throw new ClassNotFoundException("The " + ReactiveMongoRepository.class + " or " + ReactiveCrudRepository.class
-                + " could not be found as an extension of the " + repository);
+        var enforceMongoReactive = AnnotationUtils.findAnnotation(repositoryMethod, EnforceMongoReactive.class);
+        var domainType           = RepositoryMethodMetadata.<T>findDomainType(repository,
+                Set.of(REACTIVE_MONGO_REPOSITORY_PATH, REACTIVE_CRUD_REPOSITORY_PATH));
+
+        return new RepositoryMethodMetadata<>(true, repository, repositoryMethod.getReturnType(),
+                convertToEnforce(enforceMongoReactive), domainType, hasAnnotationQuery(repositoryMethod),
+                Utilities.isMethodNameValid(repositoryMethod.getName()));
     }
 
 }
@@ -17,10 +17,13 @@
  */
 package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
 
+import java.util.List;
 import java.util.function.Function;
 
+import org.bson.Document;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.security.access.AccessDeniedException;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -35,6 +38,7 @@
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
 import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
 import io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils;
 import io.sapl.springdatacommon.sapl.utils.HandleProceedingData;
 import reactor.core.publisher.Flux;
@@ -50,24 +54,31 @@
 public class MongoAnnotationQueryManipulationEnforcementPoint<T> implements QueryManipulationEnforcementPoint<T> {
     private static final String MONGO_QUERY_MANIPULATION = "mongoQueryManipulation";
 
-    private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
-    private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
-    private final DataManipulationHandler<T>          dataManipulationHandler;
-    private final ReactiveMongoTemplate               reactiveMongoTemplate;
+    private final LoggingConstraintHandlerProvider         loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
+    private final QueryManipulationObligationProvider      queryManipulationObligationProvider = new QueryManipulationObligationProvider();
+    private final DataManipulationHandler<T>               dataManipulationHandler;
+    private final ReactiveMongoTemplate                    reactiveMongoTemplate;
+    private final MongoContentFilterPredicateTranslator<T> predicateTranslator;
 
     private final QueryManipulationEnforcementData<T> enforcementData;
     private final BasicQuery                          basicQuery;
 
-    public MongoAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    /**
+     * @param enforcementData is the data of the current invocation.
+     * @param annotationQuery is the query of the query annotation of the method.
+     */
+    public MongoAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            AnnotationQuery annotationQuery) {
         this.enforcementData         = new QueryManipulationEnforcementData<>(enforcementData.getMethodInvocation(),
                 enforcementData.getBeanFactory(), enforcementData.getDomainType(), enforcementData.getPdp(),
                 enforcementData.getAuthSub());
         this.dataManipulationHandler = new DataManipulationHandler<>(this.enforcementData.getDomainType(), false);
         this.reactiveMongoTemplate   = this.enforcementData.getBeanFactory().getBean(ReactiveMongoTemplate.class);
+        this.predicateTranslator     = new MongoContentFilterPredicateTranslator<>(
+                this.enforcementData.getDomainType(), dataManipulationHandler.getMapper());
 
         var queryAnnotation = QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                enforcementData.getMethodInvocation().getMethod(), enforcementData.getMethodInvocation().getArguments(),
-                false);
+                annotationQuery, enforcementData.getMethodInvocation().getArguments());
         basicQuery = new BasicQuery(queryAnnotation);
     }
 
@@ -99,7 +110,15 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
 
             if (decisionIsPermit) {
                 var obligations = ConstraintHandlerUtils.getObligations(decision);
-                var data        = retrieveData(obligations, basicQuery);
+
+                if (queryManipulationObligationProvider.isResponsible(obligations, MONGO_QUERY_MANIPULATION)) {
+                    var conditions = predicateTranslator.translate(obligations);
+                    var data       = retrieveManipulatedData(obligations, conditions, basicQuery);
+
+                    return dataManipulationHandler.manipulate(obligations).apply(data);
+                }
+
+                var data = HandleProceedingData.proceed(enforcementData);
 
                 return dataManipulationHandler.manipulate(obligations).apply(data);
             } else {
@@ -109,29 +128,48 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
     }
 
     /**
-     * If desired, the query is manipulated and then the database is called with it.
-     * Otherwise, receives the data from the database by original method and
-     * forwards it.
+     * The query is manipulated and then the database is called with it.
      *
-     * @param obligations     are the obligations from the {@link Decision}.
-     * @param annotationQuery is the original value from the
-     *                        {@link org.springframework.data.mongodb.repository.Query}
-     *                        annotation.
+     * @param obligations         are the obligations from the {@link Decision}.
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
+     * @param annotationQuery     is the original value from the
+     *                            {@link org.springframework.data.mongodb.repository.Query}
+     *                            annotation.
      * @return objects from the database that were queried with the manipulated
      *         query.
      */
-    private Flux<T> retrieveData(ArrayNode obligations, BasicQuery annotationQuery) {
-        if (queryManipulationObligationProvider.isResponsible(obligations, MONGO_QUERY_MANIPULATION)) {
-            var mongoQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
-                    MONGO_QUERY_MANIPULATION);
-            var conditions                       = queryManipulationObligationProvider
-                    .getConditions(mongoQueryManipulationObligation);
-            var query                            = enforceQueryManipulation(annotationQuery, conditions);
-
-            return reactiveMongoTemplate.find(query, enforcementData.getDomainType());
-        } else {
-            return HandleProceedingData.proceed(enforcementData);
+    private Flux<T> retrieveManipulatedData(ArrayNode obligations, List<Criteria> predicateConditions,
+            BasicQuery annotationQuery) {
+        var mongoQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
+                MONGO_QUERY_MANIPULATION);
+        var conditions                       = queryManipulationObligationProvider
+                .getConditions(mongoQueryManipulationObligation);
+        var query                            = addPredicateConditions(
+                enforceQueryManipulation(annotationQuery, conditions), predicateConditions);
+
+        return reactiveMongoTemplate.find(query, enforcementData.getDomainType());
+    }
+
+    /**
+     * Adds the translated conditions of the jsonContentFilterPredicate obligation
+     * to the manipulated query. The conditions are combined by $and, as adding them
+     * to the query object would override conditions on the same fields.
+     *
+     * @param manipulatedQuery    is the query manipulated by the conditions of the
+     *                            mongoQueryManipulation obligation.
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
+     * @return the query with all conditions.
+     */
+    private BasicQuery addPredicateConditions(BasicQuery manipulatedQuery, List<Criteria> predicateConditions) {
+        if (predicateConditions.isEmpty()) {
+            return manipulatedQuery;
         }
+
+        var predicateQueryObject = new Criteria().andOperator(predicateConditions).getCriteriaObject();
+
+        return new BasicQuery(new Document("$and", List.of(manipulatedQuery.getQueryObject(), predicateQueryObject)));
     }
 
     /**
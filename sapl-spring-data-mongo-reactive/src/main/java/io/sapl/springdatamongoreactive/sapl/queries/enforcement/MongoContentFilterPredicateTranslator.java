@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator;
+
+/**
+ * Translates the conditions of a jsonContentFilterPredicate obligation into
+ * {@link Criteria}. The field names are the property names of the domain type
+ * and are mapped to the document fields by the {@link
+ * org.springframework.data.mongodb.core.ReactiveMongoTemplate}.
+ *
+ * @param <T> is the domain type.
+ */
+public class MongoContentFilterPredicateTranslator<T> extends ContentFilterPredicateTranslator<Criteria> {
+
+    public MongoContentFilterPredicateTranslator(Class<T> domainType, ObjectMapper mapper) {
+        super(domainType, mapper);
+    }
+
+    @Override
+    protected Optional<Criteria> translate(PredicateCondition condition) {
+        var criteria = Criteria.where(condition.field().getName());
+        var value    = toMongoValue(condition.value());
+
+        return Optional.of(switch (condition.operator()) {
+        case EQUALS -> criteria.is(value);
+        case NOT_EQUALS -> criteria.ne(value);
+        case LESS_THAN -> criteria.lt(value);
+        case LESS_THAN_EQUAL -> criteria.lte(value);
+        case GREATER_THAN -> criteria.gt(value);
+        case GREATER_THAN_EQUAL -> criteria.gte(value);
+        case REGEX -> throw new IllegalStateException("Regular expressions are not translated into criteria.");
+        });
+    }
+
+    private Object toMongoValue(JsonNode value) {
+        if (value.isTextual()) {
+            return value.textValue();
+        }
+        if (value.isIntegralNumber() && value.canConvertToLong()) {
+            return value.longValue();
+        }
+        return value.doubleValue();
+    }
+}
@@ -17,9 +17,11 @@
  */
 package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
 
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.security.access.AccessDeniedException;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -47,12 +49,13 @@
 public class MongoMethodNameQueryManipulationEnforcementPoint<T> implements QueryManipulationEnforcementPoint<T> {
     private static final String MONGO_QUERY_MANIPULATION = "mongoQueryManipulation";
 
-    private final QueryManipulationObligationProvider mongoQueryManipulationObligationProvider = new QueryManipulationObligationProvider();
-    private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider         = new LoggingConstraintHandlerProvider();
-    private final SaplPartTreeCriteriaCreator<T>      saplPartTreeCriteriaCreator;
-    private final ReactiveMongoTemplate               reactiveMongoTemplate;
-    private final DataManipulationHandler<T>          dataManipulationHandler;
-    private final QueryManipulationEnforcementData<T> enforcementData;
+    private final QueryManipulationObligationProvider      mongoQueryManipulationObligationProvider = new QueryManipulationObligationProvider();
+    private final LoggingConstraintHandlerProvider         loggingConstraintHandlerProvider         = new LoggingConstraintHandlerProvider();
+    private final SaplPartTreeCriteriaCreator<T>           saplPartTreeCriteriaCreator;
+    private final ReactiveMongoTemplate                    reactiveMongoTemplate;
+    private final DataManipulationHandler<T>               dataManipulationHandler;
+    private final MongoContentFilterPredicateTranslator<T> predicateTranslator;
+    private final QueryManipulationEnforcementData<T>      enforcementData;
 
     public MongoMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
         this.enforcementData             = new QueryManipulationEnforcementData<>(enforcementData.getMethodInvocation(),
@@ -62,6 +65,8 @@ public MongoMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforce
         this.dataManipulationHandler     = new DataManipulationHandler<>(enforcementData.getDomainType(), false);
         this.saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplate,
                 enforcementData.getMethodInvocation(), enforcementData.getDomainType());
+        this.predicateTranslator         = new MongoContentFilterPredicateTranslator<>(enforcementData.getDomainType(),
+                dataManipulationHandler.getMapper());
     }
 
     /**
@@ -92,7 +97,15 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
 
             if (decisionIsPermit) {
                 var obligations = ConstraintHandlerUtils.getObligations(decision);
-                var data        = retrieveData(obligations);
+
+                if (mongoQueryManipulationObligationProvider.isResponsible(obligations, MONGO_QUERY_MANIPULATION)) {
+                    var conditions = predicateTranslator.translate(obligations);
+                    var data       = retrieveManipulatedData(obligations, conditions);
+
+                    return dataManipulationHandler.manipulate(obligations).apply(data);
+                }
+
+                var data = HandleProceedingData.proceed(enforcementData);
 
                 return dataManipulationHandler.manipulate(obligations).apply(data);
             } else {
@@ -104,33 +117,33 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
     /**
      * Manipulates the original query and calls the database with it.
      *
-     * @param conditions are the query conditions of the {@link Decision}
+     * @param conditions          are the query conditions of the {@link Decision}
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
      * @return the queried data from the database.
      */
-    private Flux<T> executeMongoQueryManipulation(ArrayNode conditions) {
-        var query = saplPartTreeCriteriaCreator.createManipulatedQuery(conditions);
+    private Flux<T> executeMongoQueryManipulation(ArrayNode conditions, List<Criteria> predicateConditions) {
+        var query = predicateConditions.isEmpty() ? saplPartTreeCriteriaCreator.createManipulatedQuery(conditions)
+                : saplPartTreeCriteriaCreator.createManipulatedQuery(conditions, predicateConditions);
 
         return reactiveMongoTemplate.find(query, enforcementData.getDomainType());
     }
 
     /**
-     * Receives the data from the database, if desired, and forwards it. If desired,
-     * the query is manipulated and then the database is called with it.
+     * The query is manipulated and then the database is called with it.
      *
-     * @param obligations are the obligations from the {@link Decision}.
+     * @param obligations         are the obligations from the {@link Decision}.
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
      * @return objects from the database that were queried with the manipulated
      *         query.
      */
-    private Flux<T> retrieveData(ArrayNode obligations) {
-        if (mongoQueryManipulationObligationProvider.isResponsible(obligations, MONGO_QUERY_MANIPULATION)) {
-            var mongoQueryManipulationObligation = mongoQueryManipulationObligationProvider.getObligation(obligations,
-                    MONGO_QUERY_MANIPULATION);
-            var conditions                       = mongoQueryManipulationObligationProvider
-                    .getConditions(mongoQueryManipulationObligation);
-
-            return executeMongoQueryManipulation(conditions);
-        } else {
-            return HandleProceedingData.proceed(enforcementData);
-        }
+    private Flux<T> retrieveManipulatedData(ArrayNode obligations, List<Criteria> predicateConditions) {
+        var mongoQueryManipulationObligation = mongoQueryManipulationObligationProvider.getObligation(obligations,
+                MONGO_QUERY_MANIPULATION);
+        var conditions                       = mongoQueryManipulationObligationProvider
+                .getConditions(mongoQueryManipulationObligation);
+
+        return executeMongoQueryManipulation(conditions, predicateConditions);
     }
 }
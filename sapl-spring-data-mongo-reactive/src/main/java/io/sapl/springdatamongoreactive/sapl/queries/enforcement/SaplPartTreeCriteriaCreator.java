@@ -73,6 +73,20 @@ public SaplPartTreeCriteriaCreator(ReactiveMongoTemplate reactiveMongoTemplate,
      * @return a manipulated {@link Query}
      */
     public Query createManipulatedQuery(ArrayNode conditions) {
+        return createManipulatedQuery(conditions, List.of());
+    }
+
+    /**
+     * Creates the {@link Query} like {@link #createManipulatedQuery(ArrayNode)}
+     * and additionally requires the given {@link Criteria} to be satisfied.
+     *
+     * @param conditions          are the query condition from the
+     *                            {@link io.sapl.api.pdp.Decision}
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
+     * @return a manipulated {@link Query}
+     */
+    public Query createManipulatedQuery(ArrayNode conditions, List<Criteria> predicateConditions) {
         // Converts Parameters of the repository method to SaplConditions for further
         // operations.
         var saplParametersFromMethod = SaplConditionOperation.methodToSaplConditions(args, repositoryMethod,
@@ -109,6 +123,13 @@ public Query createManipulatedQuery(ArrayNode conditions) {
                     "The parameters specified in the policy do not appear to match the desired changes to the query.");
         }
 
+        if (!predicateConditions.isEmpty()) {
+            var allConditions = new ArrayList<Criteria>();
+            allConditions.add(criteria);
+            allConditions.addAll(predicateConditions);
+            criteria = new Criteria().andOperator(allConditions);
+        }
+
         return createNewQuery(criteria);
     }
 
@@ -127,7 +148,7 @@ private Query createNewQuery(CriteriaDefinition criteria) {
      *                            {@link io.sapl.api.pdp.Decision}.
      * @return a new {@link Criteria}.
      */
-    private CriteriaDefinition buildCriteria(PartTree manipulatedPartTree, List<Object> parameters) {
+    private Criteria buildCriteria(PartTree manipulatedPartTree, List<Object> parameters) {
 
         Criteria base     = null;
         var      iterator = parameters.iterator();
@@ -60,8 +60,10 @@ void createMongoAnnotationQueryManipulationEnforcementPoint() {
                 MongoAnnotationQueryManipulationEnforcementPoint.class)) {
 
             // GIVEN
-            var authSub         = AuthorizationSubscription.of("subject", "permitTest", "resource", "environment");
-            var enforcementData = new QueryManipulationEnforcementData<>(mongoMethodInvocationTest, beanFactoryMock,
+            var methodInvocation = new MethodInvocationForTesting("findAllUsersTest",
+                    new ArrayList<>(List.of(String.class)), null, null);
+            var authSub          = AuthorizationSubscription.of("subject", "permitTest", "resource", "environment");
+            var enforcementData  = new QueryManipulationEnforcementData<>(methodInvocation, beanFactoryMock,
                     TestUser.class, pdpMock, authSub);
 
             // WHEN
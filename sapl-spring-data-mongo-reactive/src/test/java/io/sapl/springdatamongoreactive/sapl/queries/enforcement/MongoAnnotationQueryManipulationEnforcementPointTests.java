@@ -26,7 +26,6 @@
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -55,6 +54,7 @@
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
 import io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils;
 import io.sapl.springdatamongoreactive.sapl.database.MethodInvocationForTesting;
 import io.sapl.springdatamongoreactive.sapl.database.TestUser;
@@ -78,6 +78,9 @@ class MongoAnnotationQueryManipulationEnforcementPointTests {
     final Flux<TestUser> data           = Flux.just(aaron, brian, cathrin);
     final ArrayNode      emptyArrayNode = MAPPER.createArrayNode();
 
+    final AnnotationQuery annotationQuery = new AnnotationQuery("{'firstname':  {'$in': [ ?0 ]}}", List.of("user"),
+            List.of(String.class), List.of("?0"));
+
     EmbeddedPolicyDecisionPoint pdpMock;
     ReactiveMongoTemplate       reactiveMongoTemplateMock;
     BeanFactory                 beanFactoryMock;
@@ -173,12 +176,12 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                         .thenReturn(OBLIGATIONS);
                 queryAnnotationParameterResolverMockedStatic
                         .when(() -> QueryAnnotationParameterResolver
-                                .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                        any(Object[].class), any(Boolean.class)))
+                                .resolveBoundedMethodParametersAndAnnotationParameters(any(AnnotationQuery.class),
+                                        any(Object[].class)))
                         .thenReturn("{'firstname':  {'$in': [ 'Cathrin' ]}}");
 
                 var mongoAnnotationQueryManipulationEnforcementPoint = new MongoAnnotationQueryManipulationEnforcementPoint<>(
-                        enforcementData);
+                        enforcementData, annotationQuery);
 
                 var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                         .constructed().get(0);
@@ -208,7 +211,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                         () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
                 queryAnnotationParameterResolverMockedStatic.verify(
                         () -> QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                                any(Method.class), any(Object[].class), any(Boolean.class)),
+                                any(AnnotationQuery.class), any(Object[].class)),
                         times(1));
             }
         }
@@ -229,7 +232,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
         when(beanFactoryMock.getBean(ReactiveMongoTemplate.class)).thenReturn(reactiveMongoTemplateMock);
 
         var mongoAnnotationQueryManipulationEnforcementPoint = new MongoAnnotationQueryManipulationEnforcementPoint<>(
-                enforcementData);
+                enforcementData, annotationQuery);
         var accessDeniedException                            = mongoAnnotationQueryManipulationEnforcementPoint
                 .enforce();
 
@@ -271,12 +274,12 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                         .thenReturn(OBLIGATIONS);
                 queryAnnotationParameterResolverMockedStatic
                         .when(() -> QueryAnnotationParameterResolver
-                                .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                        any(Object[].class), any(Boolean.class)))
+                                .resolveBoundedMethodParametersAndAnnotationParameters(any(AnnotationQuery.class),
+                                        any(Object[].class)))
                         .thenReturn("{'firstname':  {'$in': [ 'Cathrin' ]}}");
 
                 var mongoAnnotationQueryManipulationEnforcementPoint = new MongoAnnotationQueryManipulationEnforcementPoint<>(
-                        enforcementData);
+                        enforcementData, annotationQuery);
 
                 var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                         .constructed().get(0);
@@ -303,7 +306,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                         () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
                 queryAnnotationParameterResolverMockedStatic.verify(
                         () -> QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                                any(Method.class), any(Object[].class), any(Boolean.class)),
+                                any(AnnotationQuery.class), any(Object[].class)),
                         times(1));
             }
         }
@@ -338,12 +341,12 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                         .thenReturn(OBLIGATIONS);
                 queryAnnotationParameterResolverMockedStatic
                         .when(() -> QueryAnnotationParameterResolver
-                                .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                        any(Object[].class), any(Boolean.class)))
+                                .resolveBoundedMethodParametersAndAnnotationParameters(any(AnnotationQuery.class),
+                                        any(Object[].class)))
                         .thenReturn("{'firstname':  {'$in': [ 'Cathrin' ]}}");
 
                 var mongoAnnotationQueryManipulationEnforcementPoint = new MongoAnnotationQueryManipulationEnforcementPoint<>(
-                        enforcementData);
+                        enforcementData, annotationQuery);
 
                 when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                         .thenReturn(obligations -> Flux.just(cathrin));
@@ -370,7 +373,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                         () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
                 queryAnnotationParameterResolverMockedStatic.verify(
                         () -> QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                                any(Method.class), any(Object[].class), any(Boolean.class)),
+                                any(AnnotationQuery.class), any(Object[].class)),
                         times(1));
             }
         }
@@ -404,12 +407,12 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                         .thenReturn(OBLIGATIONS);
                 queryAnnotationParameterResolverMockedStatic
                         .when(() -> QueryAnnotationParameterResolver
-                                .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                        any(Object[].class), any(Boolean.class)))
+                                .resolveBoundedMethodParametersAndAnnotationParameters(any(AnnotationQuery.class),
+                                        any(Object[].class)))
                         .thenReturn("{'firstname':  {'$in': [ 'Cathrin' ]}}");
 
                 var mongoAnnotationQueryManipulationEnforcementPoint = new MongoAnnotationQueryManipulationEnforcementPoint<>(
-                        enforcementData);
+                        enforcementData, annotationQuery);
                 var QueryManipulationObligationProviderMock          = QueryManipulationObligationProviderMockedConstruction
                         .constructed().get(0);
                 when(QueryManipulationObligationProviderMock.isResponsible(OBLIGATIONS, MONGO_QUERY_MANIPULATION_TYPE))
@@ -433,7 +436,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                         () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
                 queryAnnotationParameterResolverMockedStatic.verify(
                         () -> QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                                any(Method.class), any(Object[].class), any(Boolean.class)),
+                                any(AnnotationQuery.class), any(Object[].class)),
                         times(1));
             }
         }
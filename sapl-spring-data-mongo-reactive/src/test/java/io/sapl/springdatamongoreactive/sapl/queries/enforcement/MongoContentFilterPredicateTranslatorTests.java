@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import io.sapl.springdatamongoreactive.sapl.database.TestUser;
+
+class MongoContentFilterPredicateTranslatorTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    final MongoContentFilterPredicateTranslator<TestUser> translator = new MongoContentFilterPredicateTranslator<>(
+            TestUser.class, MAPPER);
+
+    @Test
+    void when_conditionsAreTranslatable_then_translateToCriteria() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "==", "path": "$.firstname", "value": "Cathrin" },
+                      { "type": "!=", "path": "$.age", "value": 30 },
+                      { "type": "<", "path": "$.age", "value": 60.5 },
+                      { "type": ">=", "path": "$.age", "value": 18 },
+                      { "type": "=~", "path": "$.firstname", "value": "C.*" },
+                      { "type": "!=", "path": "$.firstname", "value": "Cathrin" },
+                      { "type": "==", "path": "$.id", "value": "5399aba6e4b0ae375bfdca88" }
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        var criteriaObjects = conditions.stream().map(Criteria::getCriteriaObject).toList();
+        assertEquals(new Document("firstname", "Cathrin"), criteriaObjects.get(0));
+        assertEquals(new Document("age", new Document("$ne", 30L)), criteriaObjects.get(1));
+        assertEquals(new Document("age", new Document("$lt", 60.5)), criteriaObjects.get(2));
+        assertEquals(new Document("age", new Document("$gte", 18L)), criteriaObjects.get(3));
+        assertEquals(4, criteriaObjects.size());
+        assertEquals(7, obligations.get(0).get("conditions").size());
+    }
+
+}
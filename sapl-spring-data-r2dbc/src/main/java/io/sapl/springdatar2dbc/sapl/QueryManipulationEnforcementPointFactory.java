@@ -17,25 +17,40 @@
  */
 package io.sapl.springdatar2dbc.sapl;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.stereotype.Service;
 
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
 import io.sapl.springdatacommon.sapl.queries.enforcement.ProceededDataFilterEnforcementPoint;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.PartTreeToSqlQueryStringConverter;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcAnnotationQueryManipulationEnforcementPoint;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcMethodNameQueryManipulationEnforcementPoint;
 
 @Service
 public class QueryManipulationEnforcementPointFactory {
 
+    private final Map<Method, AnnotationQuery> annotationQueries = new ConcurrentHashMap<>();
+    private final Map<Method, String>          baseQueries       = new ConcurrentHashMap<>();
+
     public <T> QueryManipulationEnforcementPoint<T> createR2dbcAnnotationQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new R2dbcAnnotationQueryManipulationEnforcementPoint<>(enforcementData);
+        var annotationQuery = annotationQueries.computeIfAbsent(enforcementData.getMethodInvocation().getMethod(),
+                method -> QueryAnnotationParameterResolver.resolveAnnotationQuery(method, true));
+        return new R2dbcAnnotationQueryManipulationEnforcementPoint<>(enforcementData, annotationQuery);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createR2dbcMethodNameQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new R2dbcMethodNameQueryManipulationEnforcementPoint<>(enforcementData);
+        var baseQuery = baseQueries.computeIfAbsent(enforcementData.getMethodInvocation().getMethod(),
+                method -> PartTreeToSqlQueryStringConverter.createParameterizedSqlBaseQuery(method,
+                        enforcementData.getDomainType()));
+        return new R2dbcMethodNameQueryManipulationEnforcementPoint<>(enforcementData, baseQuery);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createProceededDataFilterEnforcementPoint(
@@ -23,6 +23,7 @@
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.mapping.Table;
+import org.springframework.r2dbc.core.Parameter;
 
 import reactor.core.publisher.Flux;
 
@@ -47,7 +48,18 @@ public <T> Flux<Map<String, Object>> execute(String query, Class<T> domainType)
         }
     }
 
-    private <T> String getTableName(Class<T> domainType) {
+    /**
+     * Executes a complete sql query with bound parameters.
+     *
+     * @param query    is the sql query.
+     * @param bindings are the parameters of the query by name.
+     * @return the rows of the result.
+     */
+    public Flux<Map<String, Object>> execute(String query, Map<String, Parameter> bindings) {
+        return r2dbcEntityTemplateExecutor.executeQuery(query, bindings);
+    }
+
+    public static <T> String getTableName(Class<T> domainType) {
         boolean hasTableAnnotation = domainType.isAnnotationPresent(Table.class);
 
         if (hasTableAnnotation) {
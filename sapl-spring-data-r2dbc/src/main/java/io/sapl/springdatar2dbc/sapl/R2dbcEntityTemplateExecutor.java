@@ -20,6 +20,7 @@
 import java.util.Map;
 
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.Parameter;
 
 import reactor.core.publisher.Flux;
 
@@ -35,4 +36,14 @@ Flux<Map<String, Object>> executeQuery(String sqlQuery) {
         return r2dbcEntityTemplate.getDatabaseClient().sql(sqlQuery).fetch().all();
     }
 
+    Flux<Map<String, Object>> executeQuery(String sqlQuery, Map<String, Parameter> bindings) {
+        var executeSpec = r2dbcEntityTemplate.getDatabaseClient().sql(sqlQuery);
+
+        for (var binding : bindings.entrySet()) {
+            executeSpec = executeSpec.bind(binding.getKey(), binding.getValue());
+        }
+
+        return executeSpec.fetch().all();
+    }
+
 }
@@ -23,9 +23,11 @@
 import static io.sapl.springdatar2dbc.sapl.utils.annotation.AnnotationUtilities.hasAnnotationQuery;
 import static io.sapl.springdatar2dbc.sapl.utils.annotation.AnnotationUtilities.hasAnnotationSaplProtected;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.Objects;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.beans.factory.BeanFactory;
@@ -39,6 +41,7 @@
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.springdatacommon.handlers.AuthorizationSubscriptionHandlerProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
+import io.sapl.springdatacommon.sapl.RepositoryMethodMetadata;
 import io.sapl.springdatacommon.sapl.utils.Utilities;
 import io.sapl.springdatar2dbc.sapl.QueryManipulationEnforcementPointFactory;
 import io.sapl.springdatar2dbc.sapl.utils.annotation.EnforceR2dbc;
@@ -68,48 +71,52 @@
 @Service
 public class R2dbcProxyInterceptor<T> implements MethodInterceptor {
     private final AuthorizationSubscriptionHandlerProvider authSubHandler;
-    private final QueryManipulationEnforcementData<T>      enforcementData;
+    private final BeanFactory                              beanFactory;
+    private final PolicyDecisionPoint                      pdp;
     private final QueryManipulationEnforcementPointFactory factory;
+    private final Map<Method, RepositoryMethodMetadata<T>> repositoryMethods = new ConcurrentHashMap<>();
 
     private static final String REACTIVE_CRUD_REPOSITORY_PATH = "org.springframework.data.repository.reactive.ReactiveCrudRepository";
     private static final String R2DBC_REPOSITORY_PATH         = "org.springframework.data.r2dbc.repository.R2dbcRepository";
 
     public R2dbcProxyInterceptor(AuthorizationSubscriptionHandlerProvider authSubHandler, BeanFactory beanFactory,
             PolicyDecisionPoint pdp, QueryManipulationEnforcementPointFactory factory) {
-        this.authSubHandler  = authSubHandler;
-        this.factory         = factory;
-        this.enforcementData = new QueryManipulationEnforcementData<>(null, beanFactory, null, pdp, null);
+        this.authSubHandler = authSubHandler;
+        this.beanFactory    = beanFactory;
+        this.pdp            = pdp;
+        this.factory        = factory;
     }
 
     @SneakyThrows // Throwable by proceed() method, ClassNotFoundException
     public Object invoke(MethodInvocation methodInvocation) {
 
         var repositoryMethod = methodInvocation.getMethod();
-        var repository       = methodInvocation.getMethod().getDeclaringClass();
+        var metadata         = repositoryMethods.computeIfAbsent(repositoryMethod, this::discoverRepositoryMethod);
 
-        if (hasAnnotationSaplProtected(repository) || hasAnnotationSaplProtected(repositoryMethod)
-                || hasAnnotationEnforce(repositoryMethod)) {
+        if (metadata.isProtected()) {
 
-            var returnClassOfMethod = Objects.requireNonNull(repositoryMethod).getReturnType();
-            var enforceR2dbc        = AnnotationUtils.findAnnotation(repositoryMethod, EnforceR2dbc.class);
-            var enforceAnnotation   = convertToEnforce(enforceR2dbc);
-            var authSub             = this.authSubHandler.getAuthSub(repository, methodInvocation, enforceAnnotation);
+            var repository          = metadata.repository();
+            var returnClassOfMethod = metadata.returnType();
+            var authSub             = this.authSubHandler.getAuthSub(repository, methodInvocation,
+                    metadata.enforceAnnotation());
 
             if (authSub == null) {
                 throw new IllegalStateException(
                         "The Sapl implementation for the manipulation of the database queries was recognised, but no AuthorizationSubscription was found.");
             }
 
-            var domainType = extractDomainType(repository);
+            if (metadata.domainType() == null) {
+                throw new ClassNotFoundException("The " + R2dbcRepository.class + " or " + ReactiveCrudRepository.class
+                        + " could not be found as an extension of the " + repository);
+            }
 
-            enforcementData.setMethodInvocation(methodInvocation);
-            enforcementData.setDomainType(domainType);
-            enforcementData.setAuthSub(authSub);
+            var enforcementData = new QueryManipulationEnforcementData<>(methodInvocation, beanFactory,
+                    metadata.domainType(), pdp, authSub);
 
             /*
              * Introduce RelationalAtQueryImplementation if method has @Query-Annotation.
              */
-            if (hasAnnotationQuery(repositoryMethod)) {
+            if (metadata.hasAnnotationQuery()) {
                 var annotationQueryEnforcementPoint = factory
                         .createR2dbcAnnotationQueryManipulationEnforcementPoint(enforcementData);
 
@@ -120,7 +127,7 @@ public Object invoke(MethodInvocation methodInvocation) {
              * Introduce MethodBasedImplementation if the query can be derived from the name
              * of the method.
              */
-            if (Utilities.isMethodNameValid(repositoryMethod.getName())) {
+            if (metadata.isMethodNameValid()) {
                 var methodNameQueryEnforcementPoint = factory
                         .createR2dbcMethodNameQueryManipulationEnforcementPoint(enforcementData);
 
@@ -143,20 +150,29 @@ public Object invoke(MethodInvocation methodInvocation) {
         return methodInvocation.proceed();
     }
 
-    @SuppressWarnings("unchecked") // casting domain type from Class<?> to Class<T>
-    private Class<T> extractDomainType(Class<?> repository) throws ClassNotFoundException {
-        var repositoryTypes = repository.getGenericInterfaces();
-
-        for (Type interfaceType : repositoryTypes) {
-            if ((interfaceType.getTypeName().contains(R2DBC_REPOSITORY_PATH)
-                    || interfaceType.getTypeName().contains(REACTIVE_CRUD_REPOSITORY_PATH))) {
-                var parameterizedType = (ParameterizedType) interfaceType;
-                return (Class<T>) parameterizedType.getActualTypeArguments()[0];
-            }
+    /**
+     * Collects the information about a repository method, which does not change
+     * between invocations, i.e., the annotations, the return type and the domain
+     * type of the repository.
+     *
+     * @param repositoryMethod is the invoked repository method.
+     * @return the metadata of the method.
+     */
+    private RepositoryMethodMetadata<T> discoverRepositoryMethod(Method repositoryMethod) {
+        var repository = repositoryMethod.getDeclaringClass();
+
+        if (!(hasAnnotationSaplProtected(repository) || hasAnnotationSaplProtected(repositoryMethod)
+                || hasAnnotationEnforce(repositoryMethod))) {
+            return RepositoryMethodMetadata.unprotected(repository);
         }
 
-        throw new ClassNotFoundException("The " + R2dbcRepository.class + " or " + ReactiveCrudRepository.class
-                + " could not be found as an extension of the " + repository);
+        var enforceR2dbc = AnnotationUtils.findAnnotation(repositoryMethod, EnforceR2dbc.class);
+        var domainType   = RepositoryMethodMetadata.<T>findDomainType(repository,
+                Set.of(R2DBC_REPOSITORY_PATH, REACTIVE_CRUD_REPOSITORY_PATH));
+
+        return new RepositoryMethodMetadata<>(true, repository, repositoryMethod.getReturnType(),
+                convertToEnforce(enforceR2dbc), domainType, hasAnnotationQuery(repositoryMethod),
+                Utilities.isMethodNameValid(repositoryMethod.getName()));
     }
 
 }
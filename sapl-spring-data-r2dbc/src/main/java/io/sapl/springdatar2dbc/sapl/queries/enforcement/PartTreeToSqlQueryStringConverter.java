@@ -17,10 +17,8 @@
  */
 package io.sapl.springdatar2dbc.sapl.queries.enforcement;
 
-import static io.sapl.springdatacommon.sapl.utils.Utilities.isString;
-
+import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -28,9 +26,8 @@
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
 
-import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatar2dbc.sapl.OperatorR2dbc;
-import lombok.SneakyThrows;
+import io.sapl.springdatar2dbc.sapl.QueryManipulationExecutor;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -40,36 +37,62 @@
 public class PartTreeToSqlQueryStringConverter {
 
     /**
-     * Builds the corresponding Sql-Query with the information of a
-     * {@link QueryManipulationEnforcementData} object.
+     * Builds the Sql-Query of a repository method, in which the arguments of the
+     * method are named parameters instead of literals, i.e., {@code :arg0},
+     * {@code :arg1} and so on. As the query does not depend on the arguments, the
+     * enforcement point factory creates it only once per method.
      *
-     * @param enforcementData which contains the necessary information.
-     * @param <T>             the domain type
-     * @return SQL query of a {@link PartTree}.
+     * @param method     is the repository method.
+     * @param domainType is the domain type.
+     * @param <T>        the domain type
+     * @return the parameterized SQL query of a {@link PartTree}.
      */
-    public <T> String createSqlBaseQuery(QueryManipulationEnforcementData<T> enforcementData) {
-        var methodName       = enforcementData.getMethodInvocation().getMethod().getName();
-        var arguments        = enforcementData.getMethodInvocation().getArguments();
-        var domainType       = enforcementData.getDomainType();
-        var partTree         = new PartTree(methodName, domainType);
-        var baseConditions   = new ArrayList<SqlCondition>();
-        var argumentIterator = Arrays.stream(arguments).iterator();
+    public <T> String createParameterizedSqlBaseQuery(Method method, Class<T> domainType) {
+        var partTree       = new PartTree(method.getName(), domainType);
+        var baseConditions = new ArrayList<SqlCondition>();
+        var argumentIndex  = 0;
 
         for (PartTree.OrPart node : partTree) {
+            var conjunction = baseConditions.isEmpty() ? Conjunction.AND : Conjunction.OR;
 
-            var partsIterator = node.iterator();
-
-            var currentOrPart = new ArrayList<SqlCondition>();
-            currentOrPart.add(and(partsIterator.next(), argumentIterator.next(), domainType));
-
-            while (partsIterator.hasNext()) {
-                currentOrPart.add(and(partsIterator.next(), argumentIterator.next(), domainType));
+            for (Part part : node) {
+                baseConditions.add(new SqlCondition(conjunction, parameterizedCondition(part, argumentIndex)));
+                argumentIndex += part.getNumberOfArguments();
+                conjunction = Conjunction.AND;
             }
+        }
+
+        var conditions = toString(baseConditions, partTree.getSort().get());
+        var tableName  = QueryManipulationExecutor.getTableName(domainType);
 
-            baseConditions = baseConditions.isEmpty() ? currentOrPart : or(baseConditions, currentOrPart);
+        if (baseConditions.isEmpty()) {
+            return "SELECT * FROM " + tableName + conditions;
         }
+        return "SELECT * FROM " + tableName + " WHERE " + conditions;
+    }
 
-        return toString(baseConditions, partTree.getSort().get());
+    /**
+     * Builds the condition of a {@link Part}, in which the arguments are named
+     * parameters.
+     *
+     * @param part          is the current {@link Part}
+     * @param argumentIndex is the index of the first argument of the part.
+     * @return the condition.
+     */
+    private String parameterizedCondition(Part part, int argumentIndex) {
+        var operator = OperatorR2dbc.valueOf(part.getType().name());
+        var property = part.getProperty().toDotPath();
+        var keyword  = operator.getSqlQueryBasedKeywords().get(0);
+        var argument = ":" + SqlQueryTemplate.argumentParameterName(argumentIndex);
+
+        if (part.getNumberOfArguments() == 2) {
+            var upperBound = ":" + SqlQueryTemplate.argumentParameterName(argumentIndex + 1);
+            return property + " " + keyword + " " + argument + " AND " + upperBound;
+        }
+        if (operator.isArray()) {
+            return property + " " + keyword + " (" + argument + ")";
+        }
+        return property + " " + keyword + " " + argument;
     }
 
     /**
@@ -107,98 +130,4 @@ private String toString(List<SqlCondition> conditions, Stream<Sort.Order> sortOr
 
         return stringBuilder.toString();
     }
-
-    /**
-     * If the {@link PartTree} has {@link PartTree.OrPart}, respectively if the
-     * query method has an Or-Conjunction, the corresponding {@link SqlCondition} is
-     * adjusted here.
-     *
-     * @param baseConditions the already built {@link SqlCondition}s.
-     * @param currentOrPart  the current SqlConditions, where the last
-     *                       {@link SqlCondition} is adjusted.
-     * @return the composite {@link SqlCondition}s.
-     */
-    private ArrayList<SqlCondition> or(ArrayList<SqlCondition> baseConditions, ArrayList<SqlCondition> currentOrPart) {
-        var conditionsSize = currentOrPart.size();
-        currentOrPart.get(conditionsSize - 1).setConjunction(Conjunction.OR);
-        baseConditions.addAll(currentOrPart);
-        return baseConditions;
-    }
-
-    /**
-     * In an SQL query, strings are enclosed in quotation marks.
-     *
-     * @param value is the string which is enclosed.
-     * @return the enclosed value.
-     */
-    private String toSqlConditionString(String value) {
-        return "'" + value + "'";
-    }
-
-    /**
-     * Accepts an object which is supposed to be a list of strings. The values are
-     * enclosed in quotation marks and round brackets, since lists are specified
-     * this way within sql queries.
-     *
-     * @param arg which is supposed to be a list of strings.
-     * @return the transformed list as string.
-     */
-    private String createSqlArgumentArray(Object arg) {
-        if (!(arg instanceof List<?> arguments)) {
-            throw new IllegalStateException("Operator requires array of arguments.");
-        }
-
-        var arrayList = new ArrayList<String>();
-
-        for (Object argument : arguments) {
-            if (argument instanceof String stringArgument) {
-                arrayList.add(toSqlConditionString(stringArgument));
-            }
-        }
-
-        return replaceSquareBracketsWithRoundBrackets(arrayList);
-    }
-
-    /**
-     * Accepts an object which is supposed to be a list. The list is converted to a
-     * string and the square brackets are replaced with round brackets.
-     *
-     * @param arrayList which is supposed to be a list.
-     * @return the transformed list as string.
-     */
-    private String replaceSquareBracketsWithRoundBrackets(Object arrayList) {
-        return arrayList.toString().replace(']', ')').replace('[', '(');
-    }
-
-    /**
-     * Builds a {@link SqlCondition} from the available parameters.
-     *
-     * @param part       is the current {@link Part}
-     * @param argument   is the corresponding value of the part.
-     * @param domainType is the domain type.
-     * @return created {@link SqlCondition}.
-     */
-    @SneakyThrows // NoSuchFieldException, NullPointerException
-    public <T> SqlCondition and(Part part, Object argument, Class<T> domainType) {
-        if (argument == null) {
-            throw new NullPointerException("The appropriate argument is missing for this part of the method. ");
-        }
-        var operator  = OperatorR2dbc.valueOf(part.getType().name());
-        var fieldType = domainType.getDeclaredField(part.getProperty().toDotPath()).getType();
-
-        if (isString(fieldType) && operator.isArray()) {
-            argument = createSqlArgumentArray(argument);
-        }
-
-        if (!isString(fieldType) && operator.isArray()) {
-            argument = replaceSquareBracketsWithRoundBrackets(argument);
-        }
-
-        if (isString(fieldType) && !operator.isArray()) {
-            argument = toSqlConditionString(argument.toString());
-        }
-
-        return new SqlCondition(Conjunction.AND,
-                part.getProperty().toDotPath() + " " + operator.getSqlQueryBasedKeywords().get(0) + " " + argument);
-    }
 }
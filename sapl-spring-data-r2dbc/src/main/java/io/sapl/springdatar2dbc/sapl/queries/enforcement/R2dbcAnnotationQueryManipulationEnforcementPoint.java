@@ -20,6 +20,7 @@
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getAdvice;
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getObligations;
 
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.security.access.AccessDeniedException;
@@ -34,7 +35,7 @@
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
-import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
 import io.sapl.springdatacommon.sapl.utils.HandleProceedingData;
 import io.sapl.springdatar2dbc.sapl.QueryManipulationExecutor;
 import reactor.core.publisher.Flux;
@@ -50,21 +51,26 @@
 public class R2dbcAnnotationQueryManipulationEnforcementPoint<T> implements QueryManipulationEnforcementPoint<T> {
     private static final String R2DBC_QUERY_MANIPULATION_TYPE = "r2dbcQueryManipulation";
 
-    private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
-    private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
-    private final DataManipulationHandler<T>          dataManipulationHandler;
-    private final QueryManipulationExecutor           queryManipulationExecutor;
-    private final QueryManipulationEnforcementData<T> enforcementData;
-    private final String                              query;
+    private final QueryManipulationObligationProvider    queryManipulationObligationProvider = new QueryManipulationObligationProvider();
+    private final LoggingConstraintHandlerProvider       loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
+    private final DataManipulationHandler<T>             dataManipulationHandler;
+    private final QueryManipulationExecutor              queryManipulationExecutor;
+    private final SqlContentFilterPredicateTranslator<T> predicateTranslator;
+    private final QueryManipulationEnforcementData<T>    enforcementData;
+    private final AnnotationQuery                        annotationQuery;
 
-    public R2dbcAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    /**
+     * @param enforcementData is the data of the current invocation.
+     * @param annotationQuery is the query of the query annotation of the method.
+     */
+    public R2dbcAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            AnnotationQuery annotationQuery) {
         this.enforcementData           = enforcementData;
+        this.annotationQuery           = annotationQuery;
         this.dataManipulationHandler   = new DataManipulationHandler<>(enforcementData.getDomainType(), true);
         this.queryManipulationExecutor = new QueryManipulationExecutor(enforcementData.getBeanFactory());
-
-        this.query = QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                enforcementData.getMethodInvocation().getMethod(), enforcementData.getMethodInvocation().getArguments(),
-                true);
+        this.predicateTranslator       = new SqlContentFilterPredicateTranslator<>(enforcementData.getDomainType(),
+                dataManipulationHandler.getMapper());
     }
 
     /**
@@ -96,7 +102,15 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
 
             if (decisionIsPermit) {
                 var obligations = getObligations(decision);
-                var data        = retrieveData(obligations, query);
+
+                if (queryManipulationObligationProvider.isResponsible(obligations, R2DBC_QUERY_MANIPULATION_TYPE)) {
+                    var conditions = predicateTranslator.translate(obligations);
+                    var data       = retrieveManipulatedData(obligations, conditions);
+
+                    return dataManipulationHandler.manipulate(obligations).apply(data);
+                }
+
+                var data = HandleProceedingData.proceed(enforcementData);
 
                 return dataManipulationHandler.manipulate(obligations).apply(data);
             } else {
@@ -106,109 +120,28 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
     }
 
     /**
-     * Receives the data from the database, if desired, and forwards it. If desired,
-     * the query is manipulated and then the database is called with it.
+     * Manipulates the query and then calls the database with it. The manipulated
+     * query is taken from the template cache and the arguments of the method as
+     * well as the values of the predicate conditions are bound as parameters.
      *
-     * @param obligations are the obligations from the {@link Decision}.
-     * @param query       is the original value from the
-     *                    {@link org.springframework.data.r2dbc.repository.Query}
-     *                    annotation.
+     * @param obligations         are the obligations from the {@link Decision}.
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
      * @return objects from the database that were queried with the manipulated
      *         query.
      */
-    private Flux<T> retrieveData(ArrayNode obligations, String query) {
-
-        if (queryManipulationObligationProvider.isResponsible(obligations, R2DBC_QUERY_MANIPULATION_TYPE)) {
-            var r2dbcQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
-                    R2DBC_QUERY_MANIPULATION_TYPE);
-            var condition                        = queryManipulationObligationProvider
-                    .getConditions(r2dbcQueryManipulationObligation);
-            var manipulatedCondition             = enforceQueryManipulation(query, condition);
-
-            return queryManipulationExecutor.execute(manipulatedCondition, enforcementData.getDomainType())
-                    .map(dataManipulationHandler.toDomainObject(true));
-        } else {
-            return HandleProceedingData.proceed(enforcementData);
-        }
-    }
-
-    /**
-     * Enforces the conditions of the decision on the query and returning the
-     * manipulated query.
-     *
-     * @param query     is the original value from the
-     *                  {@link org.springframework.data.r2dbc.repository.Query}
-     *                  annotation.
-     * @param condition are the query conditions from the {@link Decision}.
-     * @return the manipulated query.
-     */
-    private String enforceQueryManipulation(String query, ArrayNode condition) {
-        return manipulateQuery(query, condition);
-    }
-
-    /**
-     * Manipulates the original query by appending the conditions from the decision,
-     * if the original query contains the keyword ' where '. Else just append the
-     * conditions from the obligation.
-     *
-     * @param query     is the original value from the
-     *                  {@link org.springframework.data.r2dbc.repository.Query}
-     *                  annotation.
-     * @param condition are the query conditions from the {@link Decision}.
-     * @return the manipulated query.
-     */
-    private String manipulateQuery(String query, ArrayNode condition) {
-        var conditionObligationAsString = condition.get(0).asText();
-
-        if (query.toLowerCase().contains(" where ")) {
-            var indexWithoutWhere = query.toLowerCase().indexOf(" where ");
-            var indexWithWhere    = indexWithoutWhere + 7;
-
-            var originalConditions    = query.substring(indexWithWhere);
-            var queryBeforeConditions = query.substring(0, indexWithWhere);
-
-            return queryBeforeConditions + getConditionWithoutConjunction(conditionObligationAsString)
-                    + getConjunction(conditionObligationAsString) + originalConditions;
-        }
-
-        return query + " WHERE " + getConditionWithoutConjunction(conditionObligationAsString);
-    }
-
-    /**
-     * Returning conjunction of the condition.
-     *
-     * @param condition is the condition of the sql-query.
-     * @return the conjunction.
-     */
-    private String getConjunction(String condition) {
-        var adjustedCondition = condition.toLowerCase().trim();
-
-        if (adjustedCondition.startsWith("or ")) {
-            return " OR ";
-        }
-
-        return " AND ";
-    }
-
-    /**
-     * When condition contains any conjunction, then this method removes the
-     * conjunction from the condition and returns the condition only.
-     *
-     * @param condition is the condition of the sql-query.
-     * @return the manipulated query.
-     */
-    private String getConditionWithoutConjunction(String condition) {
-        var adjustedCondition = condition.toLowerCase().trim();
-
-        if (adjustedCondition.startsWith("and ")) {
-            return condition.substring(4);
-        }
-
-        if (adjustedCondition.startsWith("or ")) {
-            return condition.substring(3);
-        }
-
-        return condition;
+    private Flux<T> retrieveManipulatedData(ArrayNode obligations, List<SqlPredicate> predicateConditions) {
+        var r2dbcQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
+                R2DBC_QUERY_MANIPULATION_TYPE);
+        var condition                        = queryManipulationObligationProvider
+                .getConditions(r2dbcQueryManipulationObligation);
+        var template                         = SqlQueryTemplates.templateFor(annotationQuery.query(),
+                SqlQueryTemplate.namedArguments(annotationQuery), condition.path(0).asText(), predicateConditions);
+        var bindings                         = template.bind(enforcementData.getMethodInvocation().getArguments(),
+                predicateConditions);
+
+        return queryManipulationExecutor.execute(template.sql(), bindings)
+                .map(dataManipulationHandler.toDomainObject(true));
     }
 
 }
@@ -20,6 +20,7 @@
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getAdvice;
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getObligations;
 
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.security.access.AccessDeniedException;
@@ -49,17 +50,29 @@
 public class R2dbcMethodNameQueryManipulationEnforcementPoint<T> implements QueryManipulationEnforcementPoint<T> {
     private static final String R2DBC_QUERY_MANIPULATION_TYPE = "r2dbcQueryManipulation";
 
-    private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
-    private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
-    private final DataManipulationHandler<T>          dataManipulationHandler;
-    private final QueryManipulationExecutor           queryManipulationExecutor;
+    private final QueryManipulationObligationProvider    queryManipulationObligationProvider = new QueryManipulationObligationProvider();
+    private final LoggingConstraintHandlerProvider       loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
+    private final DataManipulationHandler<T>             dataManipulationHandler;
+    private final QueryManipulationExecutor              queryManipulationExecutor;
+    private final SqlContentFilterPredicateTranslator<T> predicateTranslator;
 
     private final QueryManipulationEnforcementData<T> enforcementData;
+    private final String                              baseQuery;
 
-    public R2dbcMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    /**
+     * @param enforcementData is the data of the current invocation.
+     * @param baseQuery       is the parameterized query derived from the method
+     *                        name, see
+     *                        {@link PartTreeToSqlQueryStringConverter#createParameterizedSqlBaseQuery}.
+     */
+    public R2dbcMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            String baseQuery) {
         this.enforcementData           = enforcementData;
+        this.baseQuery                 = baseQuery;
         this.dataManipulationHandler   = new DataManipulationHandler<>(enforcementData.getDomainType(), true);
         this.queryManipulationExecutor = new QueryManipulationExecutor(enforcementData.getBeanFactory());
+        this.predicateTranslator       = new SqlContentFilterPredicateTranslator<>(enforcementData.getDomainType(),
+                dataManipulationHandler.getMapper());
     }
 
     /**
@@ -91,7 +104,15 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
 
             if (decisionIsPermit) {
                 var obligations = getObligations(decision);
-                var data        = retrieveData(obligations);
+
+                if (queryManipulationObligationProvider.isResponsible(obligations, R2DBC_QUERY_MANIPULATION_TYPE)) {
+                    var conditions = predicateTranslator.translate(obligations);
+                    var data       = enforceQueryManipulation(obligations, conditions);
+
+                    return dataManipulationHandler.manipulate(obligations).apply(data);
+                }
+
+                var data = HandleProceedingData.proceed(enforcementData);
 
                 return dataManipulationHandler.manipulate(obligations).apply(data);
             } else {
@@ -101,70 +122,32 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
     }
 
     /**
-     * Receives the data from the database, if desired, and forwards it. If desired,
-     * the query is manipulated and then the database is called with it.
+     * Calling the database with the manipulated query. The condition of the
+     * obligation is added to the base query derived from the method name. The
+     * manipulated query is taken from the template cache and the arguments of the
+     * method as well as the values of the predicate conditions are bound as
+     * parameters.
      *
-     * @param obligations are the obligations from the {@link Decision}.
+     * @param obligations         are the obligations from the {@link Decision}.
+     * @param predicateConditions are the translated conditions of the
+     *                            jsonContentFilterPredicate obligation.
      * @return objects from the database that were queried with the manipulated
      *         query.
      */
-    private Flux<T> retrieveData(ArrayNode obligations) {
-        if (queryManipulationObligationProvider.isResponsible(obligations, R2DBC_QUERY_MANIPULATION_TYPE)) {
-            return enforceQueryManipulation(obligations);
-        } else {
-            return HandleProceedingData.proceed(enforcementData);
-        }
-    }
-
-    /**
-     * Calling the database with the manipulated query.
-     *
-     * @param obligations are the obligations from the {@link Decision}.
-     * @return objects from the database that were queried with the manipulated
-     *         query.
-     */
-    private Flux<T> enforceQueryManipulation(ArrayNode obligations) {
-        var manipulatedCondition = createSqlQuery(obligations);
-
-        return queryManipulationExecutor.execute(manipulatedCondition, enforcementData.getDomainType())
-                .map(dataManipulationHandler.toDomainObject(true));
-    }
-
-    /**
-     * The method fetches the matching obligation and extracts the condition from
-     * it. This condition is appended to the end of the sql query. The base query is
-     * converted from the method name.
-     *
-     * @param obligations are the obligations from the {@link Decision}.
-     * @return created sql query.
-     */
-    private String createSqlQuery(ArrayNode obligations) {
+    private Flux<T> enforceQueryManipulation(ArrayNode obligations, List<SqlPredicate> predicateConditions) {
         var r2dbcQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
                 R2DBC_QUERY_MANIPULATION_TYPE);
         var condition                        = queryManipulationObligationProvider
                 .getConditions(r2dbcQueryManipulationObligation);
-        var sqlConditionFromDecision         = addMissingConjunction(condition.get(0).asText());
-        var baseQuery                        = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
-
-        return baseQuery + sqlConditionFromDecision;
-    }
-
-    /**
-     * If the condition from the obligation does not have a conjunction, an "AND"
-     * conjunction is automatically assumed and appended to the base query.
-     *
-     * @param sqlConditionFromDecision represents the condition
-     * @return the condition with conjunction or not
-     */
-    private String addMissingConjunction(String sqlConditionFromDecision) {
-        var conditionStartsWithConjunction = sqlConditionFromDecision.toLowerCase().trim().startsWith("and ")
-                || sqlConditionFromDecision.toLowerCase().trim().startsWith("or ");
-
-        if (conditionStartsWithConjunction) {
-            return " " + sqlConditionFromDecision;
-        } else {
-            return " AND " + sqlConditionFromDecision;
-        }
+        var method                           = enforcementData.getMethodInvocation().getMethod();
+        var template                         = SqlQueryTemplates.templateFor(baseQuery,
+                SqlQueryTemplate.indexedArguments(method.getParameterTypes()), condition.path(0).asText(),
+                predicateConditions);
+        var bindings                         = template.bind(enforcementData.getMethodInvocation().getArguments(),
+                predicateConditions);
+
+        return queryManipulationExecutor.execute(template.sql(), bindings)
+                .map(dataManipulationHandler.toDomainObject(true));
     }
 
 }
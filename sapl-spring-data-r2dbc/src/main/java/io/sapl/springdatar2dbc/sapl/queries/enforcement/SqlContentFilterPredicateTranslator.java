@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.util.Optional;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator;
+
+/**
+ * Translates the conditions of a jsonContentFilterPredicate obligation into
+ * {@link SqlPredicate}s.
+ *
+ * @param <T> is the domain type.
+ */
+public class SqlContentFilterPredicateTranslator<T> extends ContentFilterPredicateTranslator<SqlPredicate> {
+
+    public SqlContentFilterPredicateTranslator(Class<T> domainType, ObjectMapper mapper) {
+        super(domainType, mapper);
+    }
+
+    @Override
+    protected Optional<SqlPredicate> translate(PredicateCondition condition) {
+        return Optional
+                .of(new SqlPredicate(columnName(condition), condition.operator(), toSqlValue(condition.value())));
+    }
+
+    private String columnName(PredicateCondition condition) {
+        var column = condition.field().getAnnotation(Column.class);
+        if (column != null && !column.value().isEmpty()) {
+            return column.value();
+        }
+        return condition.field().getName();
+    }
+
+    private Object toSqlValue(JsonNode value) {
+        if (value.isTextual()) {
+            return value.textValue();
+        }
+        return value.numberValue();
+    }
+}
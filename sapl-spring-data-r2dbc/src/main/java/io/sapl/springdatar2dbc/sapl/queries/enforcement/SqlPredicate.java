@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator.Operator;
+
+/**
+ * A condition of a jsonContentFilterPredicate obligation translated into sql.
+ * The value is not part of the sql condition but bound to a parameter, so the
+ * sql condition only depends on the column and the operator.
+ *
+ * @param column   is the column the condition refers to.
+ * @param operator is the comparison operator.
+ * @param value    is the value bound to the parameter of the condition.
+ */
+public record SqlPredicate(String column, Operator operator, Object value) {
+
+    /**
+     * @param parameterName is the name of the parameter the value is bound to.
+     * @return the sql condition.
+     */
+    public String toSql(String parameterName) {
+        var parameter = ":" + parameterName;
+        return switch (operator) {
+        case EQUALS -> column + " = " + parameter;
+        case NOT_EQUALS -> "(" + column + " <> " + parameter + " OR " + column + " IS NULL)";
+        case LESS_THAN -> column + " < " + parameter;
+        case LESS_THAN_EQUAL -> column + " <= " + parameter;
+        case GREATER_THAN -> column + " > " + parameter;
+        case GREATER_THAN_EQUAL -> column + " >= " + parameter;
+        case REGEX -> throw new IllegalStateException("Regular expressions are not translated into sql.");
+        };
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.util.ClassUtils;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
+
+/**
+ * A manipulated sql query, in which the arguments of the repository method and
+ * the values of the jsonContentFilterPredicate obligation are bind variables.
+ * As the sql text does not change with the values, the database can reuse its
+ * prepared statement.
+ *
+ * @param sql                is the manipulated sql query.
+ * @param arguments          are the arguments of the repository method, which
+ *                           are referenced by the sql query.
+ * @param numberOfPredicates is the number of translated predicate conditions.
+ */
+record SqlQueryTemplate(String sql, List<ArgumentBinding> arguments, int numberOfPredicates) {
+
+    private static final String ARGUMENT_PARAMETER_PREFIX  = "arg";
+    private static final String PREDICATE_PARAMETER_PREFIX = "saplPredicate";
+
+    /**
+     * An argument of the repository method bound to a named parameter.
+     *
+     * @param name  is the name of the parameter within the sql query.
+     * @param index is the index of the argument of the repository method.
+     * @param type  is the type of the argument.
+     */
+    record ArgumentBinding(String name, int index, Class<?> type) {
+    }
+
+    /**
+     * @param annotationQuery is the query of the query annotation.
+     * @return the arguments bound to the parameters of the method by name.
+     */
+    static List<ArgumentBinding> namedArguments(AnnotationQuery annotationQuery) {
+        var arguments = new ArrayList<ArgumentBinding>(annotationQuery.parameterNames().size());
+        for (var i = 0; i < annotationQuery.parameterNames().size(); i++) {
+            arguments.add(new ArgumentBinding(annotationQuery.parameterNames().get(i), i,
+                    annotationQuery.parameterTypes().get(i)));
+        }
+        return arguments;
+    }
+
+    /**
+     * @param parameterTypes are the parameter types of the repository method.
+     * @return the arguments bound to the parameters of the method by index, as
+     *         created by
+     *         {@link PartTreeToSqlQueryStringConverter#createParameterizedSqlBaseQuery}.
+     */
+    static List<ArgumentBinding> indexedArguments(Class<?>[] parameterTypes) {
+        var arguments = new ArrayList<ArgumentBinding>(parameterTypes.length);
+        for (var i = 0; i < parameterTypes.length; i++) {
+            arguments.add(new ArgumentBinding(argumentParameterName(i), i,
+                    parameterTypes[i]));
+        }
+        return arguments;
+    }
+
+    /**
+     * @param index is the index of the argument of the repository method.
+     * @return the name of the parameter the argument is bound to.
+     */
+    static String argumentParameterName(int index) {
+        return ARGUMENT_PARAMETER_PREFIX + index;
+    }
+
+    /**
+     * @param index is the index of the translated predicate condition.
+     * @return the name of the parameter the value of the condition is bound to.
+     */
+    static String predicateParameterName(int index) {
+        return PREDICATE_PARAMETER_PREFIX + index;
+    }
+
+    /**
+     * Binds the arguments of the current invocation and the values of the
+     * translated predicate conditions to the parameters of the sql query.
+     *
+     * @param methodArguments are the arguments of the repository method.
+     * @param predicates      are the translated predicate conditions.
+     * @return the parameters by name.
+     */
+    Map<String, Parameter> bind(Object[] methodArguments, List<SqlPredicate> predicates) {
+        var bindings = new HashMap<String, Parameter>();
+
+        for (var argument : arguments) {
+            bindings.put(argument.name(), Parameter.fromOrEmpty(methodArguments[argument.index()],
+                    ClassUtils.resolvePrimitiveIfNecessary(argument.type())));
+        }
+
+        for (var i = 0; i < numberOfPredicates; i++) {
+            bindings.put(predicateParameterName(i), Parameter.from(predicates.get(i).value()));
+        }
+
+        return bindings;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.SqlQueryTemplate.ArgumentBinding;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates the {@link SqlQueryTemplate}s of manipulated queries and caches them
+ * by the base query of the repository method and the shape of the conditions
+ * of the decision. The conditions of the r2dbcQueryManipulation obligation are
+ * part of the policy and therefore added to the sql text, whereas the
+ * arguments of the method and the values of the jsonContentFilterPredicate
+ * obligation are bound as parameters.
+ */
+@UtilityClass
+class SqlQueryTemplates {
+
+    private static final int    MAXIMUM_NUMBER_OF_TEMPLATES = 1_000;
+    private static final String DERIVED_TABLE               = "SELECT * FROM (%s) AS sapl_query";
+
+    private static final List<String> SET_OPERATORS    = List.of("UNION", "INTERSECT", "EXCEPT", "MINUS");
+    private static final List<String> TRAILING_CLAUSES = List.of("GROUP", "HAVING", "WINDOW", "ORDER", "LIMIT",
+            "OFFSET", "FETCH", "FOR");
+
+    private static final Cache<TemplateKey, SqlQueryTemplate> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_NUMBER_OF_TEMPLATES).build();
+
+    private record TemplateKey(String baseQuery, List<ArgumentBinding> arguments, String condition,
+            List<String> predicates) {
+    }
+
+    /**
+     * The parts of a select statement around the conditions of its top-level
+     * where clause.
+     *
+     * @param head       is the statement up to the WHERE keyword.
+     * @param conditions are the conditions of the where clause, or an empty
+     *                   string if there are none.
+     * @param tail       are the clauses following the conditions, like ORDER BY.
+     */
+    record SelectStatement(String head, String conditions, String tail) {
+    }
+
+    /**
+     * Returns the cached template of a manipulated query, or creates it.
+     *
+     * @param baseQuery  is the query of the repository method.
+     * @param arguments  are the arguments of the repository method, which may be
+     *                   referenced by the query.
+     * @param condition  is the condition of the r2dbcQueryManipulation obligation.
+     * @param predicates are the translated conditions of the
+     *                   jsonContentFilterPredicate obligation.
+     * @return the template of the manipulated query.
+     */
+    static SqlQueryTemplate templateFor(String baseQuery, List<ArgumentBinding> arguments, String condition,
+            List<SqlPredicate> predicates) {
+        var predicateConditions = new ArrayList<String>(predicates.size());
+        for (var i = 0; i < predicates.size(); i++) {
+            predicateConditions.add(predicates.get(i).toSql(SqlQueryTemplate.predicateParameterName(i)));
+        }
+
+        var key      = new TemplateKey(baseQuery, arguments, condition, predicateConditions);
+        var template = TEMPLATES.getIfPresent(key);
+        if (template == null) {
+            template = createTemplate(baseQuery, arguments, condition, predicateConditions);
+            TEMPLATES.put(key, template);
+        }
+        return template;
+    }
+
+    private static SqlQueryTemplate createTemplate(String baseQuery, List<ArgumentBinding> arguments,
+            String condition, List<String> predicateConditions) {
+        var statement  = split(baseQuery);
+        var conditions = addCondition(statement.conditions(), condition.trim());
+
+        if (!predicateConditions.isEmpty()) {
+            var predicates = String.join(" AND ", predicateConditions);
+            conditions = conditions.isEmpty() ? predicates : predicates + " AND (" + conditions + ")";
+        }
+
+        var sql = new StringBuilder(statement.head());
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(conditions);
+        }
+        if (!statement.tail().isEmpty()) {
+            sql.append(' ').append(statement.tail());
+        }
+
+        var query              = sql.toString();
+        var referencedNames    = parameterNames(query);
+        var referencedBindings = arguments.stream().filter(argument -> referencedNames.contains(argument.name()))
+                .toList();
+
+        return new SqlQueryTemplate(query, referencedBindings, predicateConditions.size());
+    }
+
+    /**
+     * Combines the original conditions with the condition of the obligation. The
+     * original conditions are put into brackets, so that an OR conjunction within
+     * them cannot bypass the condition of the obligation. If the condition starts
+     * with a conjunction, it is used to combine the conditions, else AND is
+     * assumed.
+     */
+    private static String addCondition(String originalConditions, String condition) {
+        if (condition.isEmpty()) {
+            return originalConditions;
+        }
+
+        var conditionWithoutConjunction = getConditionWithoutConjunction(condition);
+        if (originalConditions.isEmpty()) {
+            return conditionWithoutConjunction;
+        }
+        return "(" + originalConditions + ")" + getConjunction(condition) + "(" + conditionWithoutConjunction + ")";
+    }
+
+    /**
+     * Returning conjunction of the condition.
+     *
+     * @param condition is the condition of the sql-query.
+     * @return the conjunction.
+     */
+    private static String getConjunction(String condition) {
+        if (condition.toLowerCase().startsWith("or ")) {
+            return " OR ";
+        }
+        return " AND ";
+    }
+
+    /**
+     * When condition contains any conjunction, then this method removes the
+     * conjunction from the condition and returns the condition only.
+     *
+     * @param condition is the condition of the sql-query.
+     * @return the condition without conjunction.
+     */
+    private static String getConditionWithoutConjunction(String condition) {
+        var adjustedCondition = condition.toLowerCase();
+
+        if (adjustedCondition.startsWith("and ")) {
+            return condition.substring(4).trim();
+        }
+        if (adjustedCondition.startsWith("or ")) {
+            return condition.substring(3).trim();
+        }
+        return condition;
+    }
+
+    /**
+     * Splits a select statement at the WHERE keyword of its top-level where
+     * clause and at the first top-level clause following the conditions. Keywords
+     * within literals, quoted identifiers, comments and brackets are ignored. A
+     * statement combining several selects, e.g., by UNION, is wrapped into a
+     * derived table, so that the conditions apply to the whole result.
+     *
+     * @param query is the select statement.
+     * @return the parts of the statement.
+     */
+    static SelectStatement split(String query) {
+        var statement  = stripTrailingSemicolon(query.trim());
+        var whereIndex = -1;
+        var tailIndex  = statement.length();
+        var depth      = 0;
+        var index      = 0;
+
+        while (index < statement.length()) {
+            var character = statement.charAt(index);
+            var skipped   = skipLiteralOrComment(statement, index);
+
+            if (skipped != index) {
+                index = skipped;
+                continue;
+            }
+
+            if (character == '(') {
+                depth++;
+            } else if (character == ')') {
+                depth--;
+            } else if (depth == 0 && isStartOfWord(statement, index)) {
+                if (startsWithAnyKeyword(statement, index, SET_OPERATORS)) {
+                    return new SelectStatement(DERIVED_TABLE.formatted(statement), "", "");
+                }
+                if (whereIndex < 0 && startsWithKeyword(statement, index, "WHERE")) {
+                    whereIndex = index;
+                } else if (tailIndex == statement.length()
+                        && startsWithAnyKeyword(statement, index, TRAILING_CLAUSES)) {
+                    tailIndex = index;
+                }
+            }
+            index++;
+        }
+
+        var tail = statement.substring(tailIndex).trim();
+        if (whereIndex < 0) {
+            return new SelectStatement(statement.substring(0, tailIndex).trim(), "", tail);
+        }
+        return new SelectStatement(statement.substring(0, whereIndex).trim(),
+                statement.substring(whereIndex + "WHERE".length(), tailIndex).trim(), tail);
+    }
+
+    /**
+     * @param query is a sql query.
+     * @return the names of all named parameters, like :name, within the query.
+     */
+    static Set<String> parameterNames(String query) {
+        var names = new LinkedHashSet<String>();
+        var index = 0;
+
+        while (index < query.length()) {
+            var skipped = skipLiteralOrComment(query, index);
+
+            if (skipped != index) {
+                index = skipped;
+            } else if (query.charAt(index) == ':' && index + 1 < query.length()
+                    && query.charAt(index + 1) == ':') {
+                index += 2;
+            } else if (query.charAt(index) == ':' && index + 1 < query.length()
+                    && Character.isJavaIdentifierStart(query.charAt(index + 1))) {
+                var end = index + 1;
+                while (end < query.length() && Character.isJavaIdentifierPart(query.charAt(end))) {
+                    end++;
+                }
+                names.add(query.substring(index + 1, end));
+                index = end;
+            } else {
+                index++;
+            }
+        }
+        return names;
+    }
+
+    private static String stripTrailingSemicolon(String statement) {
+        if (statement.endsWith(";")) {
+            return statement.substring(0, statement.length() - 1).trim();
+        }
+        return statement;
+    }
+
+    /**
+     * @return the index after the literal, quoted identifier or comment starting
+     *         at the index, or the index itself if there is none.
+     */
+    private static int skipLiteralOrComment(String query, int index) {
+        var character = query.charAt(index);
+
+        if (character == '\'' || character == '"' || character == '`') {
+            var end = query.indexOf(character, index + 1);
+            return end < 0 ? query.length() : end + 1;
+        }
+        if (query.startsWith("--", index)) {
+            var end = query.indexOf('\n', index);
+            return end < 0 ? query.length() : end + 1;
+        }
+        if (query.startsWith("/*", index)) {
+            var end = query.indexOf("*/", index + 2);
+            return end < 0 ? query.length() : end + 2;
+        }
+        return index;
+    }
+
+    private static boolean isStartOfWord(String query, int index) {
+        return index == 0 || !isWordCharacter(query.charAt(index - 1));
+    }
+
+    private static boolean startsWithAnyKeyword(String query, int index, List<String> keywords) {
+        for (var keyword : keywords) {
+            if (startsWithKeyword(query, index, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithKeyword(String query, int index, String keyword) {
+        var end = index + keyword.length();
+        return query.regionMatches(true, index, keyword, 0, keyword.length())
+                && (end == query.length() || !isWordCharacter(query.charAt(end)));
+    }
+
+    private static boolean isWordCharacter(char character) {
+        return Character.isLetterOrDigit(character) || character == '_' || character == '$' || character == ':';
+    }
+}
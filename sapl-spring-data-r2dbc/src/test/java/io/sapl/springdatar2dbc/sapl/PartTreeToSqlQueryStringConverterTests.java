@@ -25,101 +25,53 @@
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 
-import org.aopalliance.intercept.MethodInvocation;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.platform.commons.util.ReflectionUtils;
-import org.mockito.Answers;
-import org.springframework.beans.factory.BeanFactory;
-import org.springframework.data.repository.query.parser.Part;
 
-import io.sapl.api.pdp.AuthorizationSubscription;
-import io.sapl.pdp.EmbeddedPolicyDecisionPoint;
-import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatar2dbc.database.Person;
+import io.sapl.springdatar2dbc.database.R2dbcPersonRepository;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.PartTreeToSqlQueryStringConverter;
 
 class PartTreeToSqlQueryStringConverterTests {
 
-    EmbeddedPolicyDecisionPoint pdpMock;
-    BeanFactory                 beanFactoryMock;
-    MethodInvocation            methodInvocationMock;
-
-    final AuthorizationSubscription authSubPermit = AuthorizationSubscription.of("subject", "permitTest", "resource",
-            "environment");
-
-    @BeforeEach
-    void beforeEach() {
-        pdpMock              = mock(EmbeddedPolicyDecisionPoint.class);
-        beanFactoryMock      = mock(BeanFactory.class);
-        methodInvocationMock = mock(MethodInvocation.class, Answers.RETURNS_DEEP_STUBS);
-    }
-
     @ParameterizedTest
     @MethodSource("methodNameToSqlQuery")
-    void when_sqlQueryCanBeDerivedFromMethodName_then_createSqlBaseQuery(String methodName, Object[] arguments,
+    void when_sqlQueryCanBeDerivedFromMethodName_then_createParameterizedSqlBaseQuery(String methodName,
             String sqlQueryResult) {
         // GIVEN
-        var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
-                Person.class, pdpMock, authSubPermit);
-
-        // WHEN
-        when(methodInvocationMock.getMethod().getName()).thenReturn(methodName);
-        when(methodInvocationMock.getArguments()).thenReturn(arguments);
-
-        var result = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
-
-        // THEN
-        assertEquals(sqlQueryResult, result);
-    }
-
-    @Test
-    void when_partTreeHasNoOrPartAtAll_then_throwNoSuchElementException() {
-        // GIVEN
-        var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
-                Person.class, pdpMock, authSubPermit);
+        var method = mock(Method.class);
 
         // WHEN
-        when(methodInvocationMock.getMethod().getName()).thenReturn("findAllByAge");
-        when(methodInvocationMock.getArguments()).thenReturn(new Object[] {});
-
-        // THEN
-        assertThrows(NoSuchElementException.class,
-                () -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData));
-    }
+        when(method.getName()).thenReturn(methodName);
 
-    @Test
-    void when_operatorRequiresArrayOfArgumentsButItIsNoArray_then_throwIllegalStateException() {
-        // GIVEN
-        var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
-                Person.class, pdpMock, authSubPermit);
-
-        // WHEN
-        when(methodInvocationMock.getMethod().getName()).thenReturn("findAllByFirstnameIn");
-        when(methodInvocationMock.getArguments()).thenReturn(new Object[] { "Aaron" });
+        var result = PartTreeToSqlQueryStringConverter.createParameterizedSqlBaseQuery(method, Person.class);
 
         // THEN
-        assertThrows(IllegalStateException.class,
-                () -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData));
+        assertEquals("SELECT * FROM person WHERE " + sqlQueryResult, result);
     }
 
     @Test
-    void when_partOfPartTreeHasNoArgument_then_throwNullPointerException() {
+    void when_parameterizedSqlQueryIsDerivedFromMethodName_then_argumentsAreNamedParameters()
+            throws NoSuchMethodException {
         // GIVEN
-        Part part = new Part("firstname", Person.class);
+        var findWithOr = R2dbcPersonRepository.class.getMethod("findAllByFirstnameOrAgeBefore", String.class,
+                int.class);
+        var findAll    = R2dbcPersonRepository.class.getMethod("findAllBy");
 
         // WHEN
+        var withOr        = PartTreeToSqlQueryStringConverter.createParameterizedSqlBaseQuery(findWithOr, Person.class);
+        var allWithoutArg = PartTreeToSqlQueryStringConverter.createParameterizedSqlBaseQuery(findAll, Person.class);
 
         // THEN
-        assertThrows(NullPointerException.class, () -> PartTreeToSqlQueryStringConverter.and(part, null, Person.class));
+        assertEquals("SELECT * FROM person WHERE firstname = :arg0 OR age < :arg1", withOr);
+        assertEquals("SELECT * FROM person", allWithoutArg);
     }
 
     @Test
@@ -134,23 +86,17 @@ void when_classIsStaticUtilityClass_then_instantiateThisTestForCoverageReasonsOf
 
     private static Stream<Arguments> methodNameToSqlQuery() {
 
-        return Stream.of(arguments("readByAgeIs", new Object[] { 30 }, "age = 30"),
-                arguments("getByAgeAfter", new Object[] { 30 }, "age > 30"),
-                arguments("readByAgeIsLessThanEqual", new Object[] { 30 }, "age <= 30"),
-                arguments("queryByAgeIsGreaterThanEqual", new Object[] { 30 }, "age >= 30"),
-                arguments("findByFirstnameIsNot", new Object[] { "Aaron" }, "firstname <> 'Aaron'"),
-                arguments("findByFirstnameExists", new Object[] { "Aaron" }, "firstname EXISTS 'Aaron'"),
-                arguments("streamAllByFirstnameLike", new Object[] { "Aaron" }, "firstname LIKE 'Aaron'"),
-                arguments("streamAllByAgeIn", new Object[] { List.of(20, 30, 40) }, "age IN (20, 30, 40)"),
-                arguments("searchAllByFirstnameIsNotLike", new Object[] { "Aaron" }, "firstname NOT LIKE 'Aaron'"),
-                arguments("findAllByFirstnameAndAgeBefore", new Object[] { '2', 30 }, "firstname = '2' AND age < 30"),
-                arguments("findAllByAgeOrderByAgeAscFirstnameDesc", new Object[] { 30 },
-                        "age = 30 ORDER BY age ASC, firstname DESC"),
-                arguments("queryByAgeIsGreaterThanEqualOrFirstnameIs", new Object[] { 30, "Aaron" },
-                        "age >= 30 OR firstname = 'Aaron'"),
-                arguments("streamAllByAgeBetweenAndFirstname", new Object[] { List.of(1, 30), "Aaron" },
-                        "age BETWEEN (1, 30) AND firstname = 'Aaron'"),
-                arguments("streamAllByFirstnameIsNotIn", new Object[] { List.of("Aaron", 123, "Brian", "Cathrin") },
-                        "firstname NIN ('Aaron', 'Brian', 'Cathrin')"));
+        return Stream.of(arguments("readByAgeIs", "age = :arg0"), arguments("getByAgeAfter", "age > :arg0"),
+                arguments("readByAgeIsLessThanEqual", "age <= :arg0"),
+                arguments("queryByAgeIsGreaterThanEqual", "age >= :arg0"),
+                arguments("findByFirstnameIsNot", "firstname <> :arg0"),
+                arguments("streamAllByFirstnameLike", "firstname LIKE :arg0"),
+                arguments("streamAllByAgeIn", "age IN (:arg0)"),
+                arguments("searchAllByFirstnameIsNotLike", "firstname NOT LIKE :arg0"),
+                arguments("findAllByFirstnameAndAgeBefore", "firstname = :arg0 AND age < :arg1"),
+                arguments("findAllByAgeOrderByAgeAscFirstnameDesc", "age = :arg0 ORDER BY age ASC, firstname DESC"),
+                arguments("queryByAgeIsGreaterThanEqualOrFirstnameIs", "age >= :arg0 OR firstname = :arg1"),
+                arguments("streamAllByAgeBetweenAndFirstname", "age BETWEEN :arg0 AND :arg1 AND firstname = :arg2"),
+                arguments("streamAllByFirstnameIsNotIn", "firstname NIN (:arg0)"));
     }
 }
@@ -19,13 +19,18 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -36,6 +41,7 @@
 import io.sapl.springdatacommon.sapl.queries.enforcement.ProceededDataFilterEnforcementPoint;
 import io.sapl.springdatar2dbc.database.MethodInvocationForTesting;
 import io.sapl.springdatar2dbc.database.Person;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.PartTreeToSqlQueryStringConverter;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcAnnotationQueryManipulationEnforcementPoint;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcMethodNameQueryManipulationEnforcementPoint;
 
@@ -58,7 +64,7 @@ void createR2dbcAnnotationQueryManipulationEnforcementPoint() {
             QueryManipulationEnforcementPointFactory queryManipulationEnforcementPointFactory = new QueryManipulationEnforcementPointFactory();
 
             // GIVEN
-            var methodInvocationMock = new MethodInvocationForTesting("findAllByFirstname",
+            var methodInvocationMock = new MethodInvocationForTesting("findUserTest",
                     new ArrayList<>(List.of(String.class)), null, null);
             var authSub              = AuthorizationSubscription.of("subject", "permitTest", "resource", "environment");
             var enforcementData      = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
@@ -98,6 +104,40 @@ void createR2dbcMethodNameQueryManipulationEnforcementPoint() {
         }
     }
 
+    @Test
+    void when_enforcementPointsAreCreatedForSameMethod_then_baseQueryIsDerivedOnce() {
+
+        try (MockedConstruction<R2dbcMethodNameQueryManipulationEnforcementPoint> enforcementPointMockedConstruction = Mockito
+                .mockConstruction(R2dbcMethodNameQueryManipulationEnforcementPoint.class);
+                MockedStatic<PartTreeToSqlQueryStringConverter> partTreeToSqlQueryStringConverterMock = Mockito
+                        .mockStatic(PartTreeToSqlQueryStringConverter.class)) {
+            QueryManipulationEnforcementPointFactory queryManipulationEnforcementPointFactory = new QueryManipulationEnforcementPointFactory();
+
+            // GIVEN
+            var methodInvocationMock = new MethodInvocationForTesting("findAllByAge",
+                    new ArrayList<>(List.of(int.class)), null, null);
+            var authSub              = AuthorizationSubscription.of("subject", "permitTest", "resource", "environment");
+            var enforcementData      = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
+                    Person.class, pdpMock, authSub);
+
+            // WHEN
+            partTreeToSqlQueryStringConverterMock
+                    .when(() -> PartTreeToSqlQueryStringConverter.createParameterizedSqlBaseQuery(any(Method.class),
+                            eq(Person.class)))
+                    .thenReturn("SELECT * FROM person WHERE age = :arg0");
+
+            queryManipulationEnforcementPointFactory
+                    .createR2dbcMethodNameQueryManipulationEnforcementPoint(enforcementData);
+            queryManipulationEnforcementPointFactory
+                    .createR2dbcMethodNameQueryManipulationEnforcementPoint(enforcementData);
+
+            // THEN
+            assertEquals(2, enforcementPointMockedConstruction.constructed().size());
+            partTreeToSqlQueryStringConverterMock.verify(() -> PartTreeToSqlQueryStringConverter
+                    .createParameterizedSqlBaseQuery(any(Method.class), eq(Person.class)), times(1));
+        }
+    }
+
     @Test
     void createProceededDataFilterEnforcementPoint() {
 
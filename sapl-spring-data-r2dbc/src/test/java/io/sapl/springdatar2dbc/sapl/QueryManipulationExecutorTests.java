@@ -30,6 +30,7 @@
 import org.mockito.Mockito;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.Parameter;
 
 import io.sapl.springdatar2dbc.database.Person;
 import io.sapl.springdatar2dbc.database.PersonWithoutTableAnnotation;
@@ -125,4 +126,32 @@ void when_r2dbcEntityTemplateWasFoundAndPersonHasNoAtTableAnnotation_then_execut
             Mockito.verify(r2dbcEntityTemplateExecutor, times(1)).executeQuery(completeQuery);
         }
     }
+
+    @Test
+    void when_queryHasBindings_then_executeQueryWithBindings() {
+        // GIVEN
+        var beanFactoryMock = mock(BeanFactory.class);
+        var query           = "SELECT * FROM person WHERE firstname = :arg0";
+        var bindings        = Map.of("arg0", Parameter.from("Melinda"));
+
+        try (MockedConstruction<R2dbcEntityTemplateExecutor> r2dbcEntityTemplateExecutorMockedConstruction = Mockito
+                .mockConstruction(R2dbcEntityTemplateExecutor.class)) {
+
+            // WHEN
+            when(beanFactoryMock.getBean(R2dbcEntityTemplate.class)).thenReturn(r2dbcEntityTemplateMock);
+
+            QueryManipulationExecutor queryManipulationExecutor   = new QueryManipulationExecutor(beanFactoryMock);
+            var                       r2dbcEntityTemplateExecutor = r2dbcEntityTemplateExecutorMockedConstruction
+                    .constructed().get(0);
+
+            when(r2dbcEntityTemplateExecutor.executeQuery(query, bindings)).thenReturn(Flux.just(userHashMap));
+
+            var result = queryManipulationExecutor.execute(query, bindings);
+
+            // THEN
+            StepVerifier.create(result).expectNext(userHashMap).verifyComplete();
+
+            Mockito.verify(r2dbcEntityTemplateExecutor, times(1)).executeQuery(query, bindings);
+        }
+    }
 }
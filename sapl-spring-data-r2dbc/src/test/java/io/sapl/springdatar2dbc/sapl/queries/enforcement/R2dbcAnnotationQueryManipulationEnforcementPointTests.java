@@ -18,8 +18,8 @@
 package io.sapl.springdatar2dbc.sapl.queries.enforcement;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
@@ -27,7 +27,6 @@
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -56,7 +55,7 @@
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
-import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
 import io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils;
 import io.sapl.springdatar2dbc.database.MethodInvocationForTesting;
 import io.sapl.springdatar2dbc.database.Person;
@@ -91,8 +90,7 @@ class R2dbcAnnotationQueryManipulationEnforcementPointTests {
     @SuppressWarnings("unchecked") // mocking of generic type
     final Flux<Map<String, Object>> fluxMap                 = mock(Flux.class);
 
-    MockedStatic<ConstraintHandlerUtils>           constraintHandlerUtilsMock;
-    MockedStatic<QueryAnnotationParameterResolver> queryAnnotationParameterResolverMockedStatic;
+    MockedStatic<ConstraintHandlerUtils> constraintHandlerUtilsMock;
 
     @BeforeAll
     public static void setUp() throws JsonProcessingException {
@@ -152,14 +150,12 @@ public static void setUp() throws JsonProcessingException {
 
     @BeforeEach
     public void initBeforeEach() {
-        constraintHandlerUtilsMock                   = mockStatic(ConstraintHandlerUtils.class);
-        queryAnnotationParameterResolverMockedStatic = mockStatic(QueryAnnotationParameterResolver.class);
+        constraintHandlerUtilsMock = mockStatic(ConstraintHandlerUtils.class);
     }
 
     @AfterEach
     public void cleanUp() {
         constraintHandlerUtilsMock.close();
-        queryAnnotationParameterResolverMockedStatic.close();
     }
 
     @Test
@@ -180,11 +176,6 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age > 30");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -196,7 +187,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery("SELECT * FROM testUser WHERE age > 30"));
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(any(JsonNode.class)))
@@ -213,7 +204,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .thenReturn(CONDITIONS);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -229,10 +220,6 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -255,11 +242,6 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age = 30 AND id = '2'");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -271,7 +253,7 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery("SELECT * FROM testUser WHERE age = 30 AND id = '2'"));
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(OBLIGATIONS)).thenReturn(obligations -> Flux.just(malinda));
@@ -288,7 +270,7 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             .thenReturn(CONDITION_WITH_AND_CONJUNCTION);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -305,10 +287,6 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -331,11 +309,6 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age = 30 AND id = '2'");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -347,7 +320,7 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery("SELECT * FROM testUser WHERE age = 30 AND id = '2'"));
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(OBLIGATIONS)).thenReturn(obligations -> Flux.just(malinda));
@@ -364,7 +337,7 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             .thenReturn(CONDITION_WITH_OR_CONJUNCTION);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -381,10 +354,6 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -404,7 +373,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
                 .thenReturn(Flux.just(new AuthorizationDecision(Decision.DENY)));
 
         var mongoAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                enforcementData);
+                enforcementData, annotationQuery("SELECT * FROM testUser"));
         var accessDeniedException                            = mongoAnnotationQueryManipulationEnforcementPoint
                 .enforce();
 
@@ -436,10 +405,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -451,7 +416,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery(expectedQuery));
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -478,10 +443,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -506,10 +467,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -521,7 +478,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery(expectedQuery));
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -547,10 +504,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -577,10 +530,6 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -592,7 +541,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery(expectedQuery));
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -618,10 +567,6 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -645,11 +590,6 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -661,7 +601,7 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, annotationQuery("SELECT * FROM testUser"));
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(any(JsonNode.class)))
@@ -678,7 +618,7 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             .thenReturn(CONDITIONS);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -694,12 +634,13 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
     }
+
+    private static AnnotationQuery annotationQuery(String query) {
+        return new AnnotationQuery(query, List.of(), List.of(), List.of());
+    }
+
 }
@@ -19,8 +19,8 @@
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -85,14 +85,14 @@ class R2dbcMethodNameQueryManipulationEnforcementPointTests {
 
     final Person    malinda        = new Person(1, "Malinda", "Perrot", 53, Role.ADMIN, true);
     final ArrayNode emptyArrayNode = MAPPER.createArrayNode();
+    final String    baseQuery      = "SELECT * FROM person WHERE firstname = :arg0";
 
     final EmbeddedPolicyDecisionPoint pdpMock         = mock(EmbeddedPolicyDecisionPoint.class);
     final BeanFactory                 beanFactoryMock = mock(BeanFactory.class, Answers.RETURNS_DEEP_STUBS);
     final Flux<Map<String, Object>>   fluxMap         = mock(Flux.class);
 
-    MockedStatic<ConstraintHandlerUtils>            constraintHandlerUtilsMock;
-    MockedStatic<PartTreeToSqlQueryStringConverter> partTreeToSqlQueryStringConverterMock;
-    MockedStatic<QueryManipulationExecutor>         queryExecutorMock;
+    MockedStatic<ConstraintHandlerUtils>    constraintHandlerUtilsMock;
+    MockedStatic<QueryManipulationExecutor> queryExecutorMock;
 
     @BeforeAll
     public static void setUp() throws JsonProcessingException, InitializationException {
@@ -209,15 +209,13 @@ public static void setUp() throws JsonProcessingException, InitializationExcepti
 
     @BeforeEach
     public void initBeforeEach() {
-        constraintHandlerUtilsMock            = mockStatic(ConstraintHandlerUtils.class);
-        partTreeToSqlQueryStringConverterMock = mockStatic(PartTreeToSqlQueryStringConverter.class);
-        queryExecutorMock                     = mockStatic(QueryManipulationExecutor.class);
+        constraintHandlerUtilsMock = mockStatic(ConstraintHandlerUtils.class);
+        queryExecutorMock          = mockStatic(QueryManipulationExecutor.class);
     }
 
     @AfterEach
     public void cleanUp() {
         constraintHandlerUtilsMock.close();
-        partTreeToSqlQueryStringConverterMock.close();
         queryExecutorMock.close();
     }
 
@@ -252,12 +250,9 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)))
                             .thenReturn(OBLIGATIONS);
-                    partTreeToSqlQueryStringConverterMock
-                            .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -273,7 +268,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -321,12 +316,9 @@ void when_thereAreConditionsInTheDecisionWithConjunctionAnd_then_enforce() {
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)))
                             .thenReturn(OBLIGATION_WITH_CONJUNCTION_AND);
-                    partTreeToSqlQueryStringConverterMock
-                            .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -343,7 +335,7 @@ void when_thereAreConditionsInTheDecisionWithConjunctionAnd_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -391,12 +383,9 @@ void when_thereAreConditionsInTheDecisionWithConjunctionOr_then_enforce() {
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)))
                             .thenReturn(OBLIGATION_WITH_CONJUNCTION_OR);
-                    partTreeToSqlQueryStringConverterMock
-                            .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -413,7 +402,7 @@ void when_thereAreConditionsInTheDecisionWithConjunctionOr_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(anyString(), anyMap())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -456,7 +445,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
 
                     // WHEN
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
                     var accessDeniedException                            = r2dbcMethodNameQueryManipulationEnforcementPoint
                             .enforce();
 
@@ -503,7 +492,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -528,8 +517,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    partTreeToSqlQueryStringConverterMock.verify(() -> PartTreeToSqlQueryStringConverter
-                            .createSqlBaseQuery(any(QueryManipulationEnforcementData.class)), never());
                 }
             }
         }
@@ -564,7 +551,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -589,8 +576,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    partTreeToSqlQueryStringConverterMock.verify(() -> PartTreeToSqlQueryStringConverter
-                            .createSqlBaseQuery(any(QueryManipulationEnforcementData.class)), never());
                 }
             }
         }
@@ -624,7 +609,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, baseQuery);
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviders.constructed()
                             .get(0);
@@ -648,8 +633,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    partTreeToSqlQueryStringConverterMock.verify(() -> PartTreeToSqlQueryStringConverter
-                            .createSqlBaseQuery(any(QueryManipulationEnforcementData.class)), never());
                 }
             }
         }
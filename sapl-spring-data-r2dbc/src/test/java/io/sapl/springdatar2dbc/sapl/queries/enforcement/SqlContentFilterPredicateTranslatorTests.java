@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator.Operator;
+import io.sapl.springdatar2dbc.database.Person;
+
+class SqlContentFilterPredicateTranslatorTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    final SqlContentFilterPredicateTranslator<Person> translator = new SqlContentFilterPredicateTranslator<>(
+            Person.class, MAPPER);
+
+    @Test
+    void when_conditionsAreComparisons_then_translateToSqlConditions() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "==", "path": "$.firstname", "value": "O'Neil" },
+                      { "type": "!=", "path": "$.age", "value": 42 },
+                      { "type": "<", "path": "$.age", "value": 60 },
+                      { "type": "<=", "path": "$.age", "value": 59.5 },
+                      { "type": ">", "path": "$.id", "value": 1 },
+                      { "type": ">=", "path": "$.id", "value": 2 }
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        assertEquals(List.of(new SqlPredicate("firstname", Operator.EQUALS, "O'Neil"),
+                new SqlPredicate("age", Operator.NOT_EQUALS, 42),
+                new SqlPredicate("age", Operator.LESS_THAN, 60),
+                new SqlPredicate("age", Operator.LESS_THAN_EQUAL, 59.5),
+                new SqlPredicate("id", Operator.GREATER_THAN, 1),
+                new SqlPredicate("id", Operator.GREATER_THAN_EQUAL, 2)), conditions);
+        assertEquals(6, obligations.get(0).get("conditions").size());
+    }
+
+    @Test
+    void when_conditionIsRegexOrTextInequality_then_conditionIsNotTranslated() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readValue("""
+                [
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [
+                      { "type": "=~", "path": "$.firstname", "value": "^M.*" },
+                      { "type": "!=", "path": "$.lastname", "value": "Perrot" }
+                    ]
+                  }
+                ]
+                """, ArrayNode.class);
+
+        // WHEN
+        var conditions = translator.translate(obligations);
+
+        // THEN
+        assertEquals(List.of(), conditions);
+    }
+
+    @Test
+    void when_predicateIsConvertedToSql_then_valueIsBoundToParameter() {
+        // GIVEN
+        var equals    = new SqlPredicate("firstname", Operator.EQUALS, "O'Neil");
+        var notEquals = new SqlPredicate("lastname", Operator.NOT_EQUALS, "Perrot");
+
+        // WHEN
+        var equalsSql    = equals.toSql("p0");
+        var notEqualsSql = notEquals.toSql("p1");
+
+        // THEN
+        assertEquals("firstname = :p0", equalsSql);
+        assertEquals("(lastname <> :p1 OR lastname IS NULL)", notEqualsSql);
+    }
+
+}
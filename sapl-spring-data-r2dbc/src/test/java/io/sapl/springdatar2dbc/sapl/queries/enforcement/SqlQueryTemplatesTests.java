@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.Parameter;
+
+import io.sapl.springdatacommon.sapl.queries.enforcement.ContentFilterPredicateTranslator.Operator;
+import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver.AnnotationQuery;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.SqlQueryTemplate.ArgumentBinding;
+
+class SqlQueryTemplatesTests {
+
+    final List<SqlPredicate> predicates = List.of(new SqlPredicate("age", Operator.LESS_THAN, 60),
+            new SqlPredicate("firstname", Operator.EQUALS, "O'Neil"));
+
+    @Test
+    void when_queryHasWhereAndTrailingClause_then_conditionsAreAddedBeforeTrailingClause() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person WHERE role = :role OR active = true ORDER BY age DESC";
+        var arguments = List.of(new ArgumentBinding("role", 0, String.class));
+
+        // WHEN
+        var template = SqlQueryTemplates.templateFor(baseQuery, arguments, "lastname = 'Perrot'", predicates);
+
+        // THEN
+        assertEquals("SELECT * FROM person WHERE age < :saplPredicate0 AND firstname = :saplPredicate1"
+                + " AND ((role = :role OR active = true) AND (lastname = 'Perrot')) ORDER BY age DESC",
+                template.sql());
+        assertEquals(arguments, template.arguments());
+        assertEquals(2, template.numberOfPredicates());
+    }
+
+    @Test
+    void when_conditionStartsWithConjunction_then_conjunctionIsUsed() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person WHERE age > 30";
+
+        // WHEN
+        var withOr  = SqlQueryTemplates.templateFor(baseQuery, List.of(), "OR firstname = 'Aaron'", List.of());
+        var withAnd = SqlQueryTemplates.templateFor(baseQuery, List.of(), "and firstname = 'Aaron'", List.of());
+
+        // THEN
+        assertEquals("SELECT * FROM person WHERE (age > 30) OR (firstname = 'Aaron')", withOr.sql());
+        assertEquals("SELECT * FROM person WHERE (age > 30) AND (firstname = 'Aaron')", withAnd.sql());
+    }
+
+    @Test
+    void when_queryHasNoWhere_then_whereIsAdded() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person ORDER BY age;";
+
+        // WHEN
+        var template = SqlQueryTemplates.templateFor(baseQuery, List.of(), "AND firstname = 'Aaron'", List.of());
+
+        // THEN
+        assertEquals("SELECT * FROM person WHERE firstname = 'Aaron' ORDER BY age", template.sql());
+    }
+
+    @Test
+    void when_keywordsAreWithinLiteralsOrSubqueries_then_onlyTopLevelWhereIsUsed() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person p WHERE p.note <> ' where x order by y' AND p.id IN "
+                + "(SELECT id FROM admin WHERE level > 1 ORDER BY id) LIMIT 10";
+
+        // WHEN
+        var statement = SqlQueryTemplates.split(baseQuery);
+
+        // THEN
+        assertEquals("SELECT * FROM person p", statement.head());
+        assertEquals("p.note <> ' where x order by y' AND p.id IN (SELECT id FROM admin WHERE level > 1 ORDER BY id)",
+                statement.conditions());
+        assertEquals("LIMIT 10", statement.tail());
+    }
+
+    @Test
+    void when_queryCombinesSelects_then_queryIsWrappedIntoDerivedTable() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person WHERE age > 30 UNION SELECT * FROM person WHERE active = true";
+
+        // WHEN
+        var template = SqlQueryTemplates.templateFor(baseQuery, List.of(), "firstname = 'Aaron'", List.of());
+
+        // THEN
+        assertEquals("SELECT * FROM (" + baseQuery + ") AS sapl_query WHERE firstname = 'Aaron'", template.sql());
+    }
+
+    @Test
+    void when_templateIsRequestedTwice_then_cachedTemplateIsReturned() {
+        // GIVEN
+        var baseQuery = "SELECT * FROM person WHERE age > :age";
+        var arguments = List.of(new ArgumentBinding("age", 0, int.class));
+
+        // WHEN
+        var first  = SqlQueryTemplates.templateFor(baseQuery, arguments, "active = true",
+                List.of(new SqlPredicate("age", Operator.LESS_THAN, 60)));
+        var second = SqlQueryTemplates.templateFor(baseQuery, arguments, "active = true",
+                List.of(new SqlPredicate("age", Operator.LESS_THAN, 40)));
+
+        // THEN
+        assertSame(first, second);
+    }
+
+    @Test
+    void when_templateIsBound_then_onlyReferencedArgumentsAndPredicateValuesAreBound() {
+        // GIVEN
+        var annotationQuery = new AnnotationQuery("SELECT * FROM person WHERE firstname = (:firstname)",
+                List.of("firstname", "lastname"), List.of(String.class, String.class),
+                List.of("(:firstname)", "(:lastname)"));
+        var template        = SqlQueryTemplates.templateFor(annotationQuery.query(),
+                SqlQueryTemplate.namedArguments(annotationQuery), "", predicates);
+
+        // WHEN
+        var bindings = template.bind(new Object[] { null, "Perrot" }, predicates);
+
+        // THEN
+        assertEquals(Set.of("firstname", "saplPredicate0", "saplPredicate1"), bindings.keySet());
+        assertEquals(Parameter.empty(String.class), bindings.get("firstname"));
+        assertEquals(Parameter.from(60), bindings.get("saplPredicate0"));
+        assertEquals(Parameter.from("O'Neil"), bindings.get("saplPredicate1"));
+    }
+
+    @Test
+    void when_argumentOfDerivedQueryIsNull_then_argumentIsBoundAsNull() {
+        // GIVEN
+        var template = SqlQueryTemplates.templateFor("SELECT * FROM person WHERE firstname = :arg0 AND age < :arg1",
+                SqlQueryTemplate.indexedArguments(new Class<?>[] { String.class, int.class }), "active = true",
+                List.of());
+
+        // WHEN
+        var bindings = template.bind(new Object[] { null, 30 }, List.of());
+
+        // THEN
+        assertEquals(Parameter.empty(String.class), bindings.get("arg0"));
+        assertEquals(Parameter.from(30), bindings.get("arg1"));
+    }
+
+    @Test
+    void when_queryContainsNamedParameters_then_parameterNamesAreFound() {
+        // GIVEN
+        var query = "SELECT * FROM person WHERE id = :arg0 AND created::date = :arg1 AND note = ':ignored'";
+
+        // WHEN
+        var names = SqlQueryTemplates.parameterNames(query);
+
+        // THEN
+        assertTrue(names.containsAll(Set.of("arg0", "arg1")));
+        assertEquals(2, names.size());
+    }
+
+}
@@ -141,4 +141,13 @@ public enum IndexType {
      */
     private boolean printTextReport = false;
 
+    /**
+     * If this property is set to true, all fields of a subscription no document
+     * refers to are removed before evaluation, e.g., timestamps or request ids.
+     * Attribute finders with a variables parameter then only see the pruned
+     * subscription. Thus, only enable pruning if no policy information point
+     * reads unreferenced fields of the subscription.
+     */
+    private boolean subscriptionPruning = false;
+
 }
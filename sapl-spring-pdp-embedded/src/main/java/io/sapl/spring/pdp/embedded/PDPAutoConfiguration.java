@@ -21,6 +21,7 @@
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Role;
 
@@ -33,10 +34,12 @@
 @Slf4j
 @AutoConfiguration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(EmbeddedPDPProperties.class)
 @AutoConfigureAfter({ FunctionLibrariesAutoConfiguration.class, PolicyInformationPointsAutoConfiguration.class })
 public class PDPAutoConfiguration {
 
     private final PDPConfigurationProvider configurationProvider;
+    private final EmbeddedPDPProperties    pdpProperties;
 
     @Bean
     @ConditionalOnMissingBean
@@ -44,7 +47,12 @@ public class PDPAutoConfiguration {
     PolicyDecisionPoint policyDecisionPoint() {
         log.info("Deploying embedded Policy Decision Point. ConfigProvider: {} ",
                 configurationProvider.getClass().getSimpleName());
-        return new EmbeddedPolicyDecisionPoint(configurationProvider);
+        var pdp = new EmbeddedPolicyDecisionPoint(configurationProvider);
+        if (pdpProperties.isSubscriptionPruning()) {
+            log.info("Subscription pruning enabled. Fields no document refers to are removed before evaluation.");
+            pdp = pdp.withSubscriptionPruning();
+        }
+        return pdp;
     }
 
 }
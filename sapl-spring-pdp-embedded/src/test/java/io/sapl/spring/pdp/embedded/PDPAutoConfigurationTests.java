@@ -45,6 +45,24 @@ void whenContextLoads_thenOneIsCreated() {
         });
     }
 
+    @Test
+    void whenContextLoads_thenSubscriptionPruningIsDisabled() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(EmbeddedPolicyDecisionPoint.class))
+                    .hasFieldOrPropertyWithValue("subscriptionPruning", false);
+        });
+    }
+
+    @Test
+    void whenSubscriptionPruningEnabled_thenPDPPrunesSubscriptions() {
+        contextRunner.withPropertyValues("io.sapl.pdp.embedded.subscription-pruning=true").run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(EmbeddedPolicyDecisionPoint.class))
+                    .hasFieldOrPropertyWithValue("subscriptionPruning", true);
+        });
+    }
+
     @Test
     void whenAnotherPDPIsAlreadyPresent_thenDoNotLoadANewOne() {
         contextRunner.withBean(PolicyDecisionPoint.class, () -> mock(PolicyDecisionPoint.class)).run(context -> {
@@ -25,11 +25,14 @@
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.reactivestreams.Subscription;
 import org.springframework.aop.framework.ReflectiveMethodInvocation;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -37,6 +40,8 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
@@ -49,6 +54,7 @@
 import io.sapl.spring.constraints.api.MappingConstraintHandlerProvider;
 import io.sapl.spring.constraints.api.MethodInvocationConstraintHandlerProvider;
 import io.sapl.spring.constraints.api.RequestHandlerProvider;
+import io.sapl.spring.constraints.api.Responsible;
 import io.sapl.spring.constraints.api.RunnableConstraintHandlerProvider;
 import io.sapl.spring.constraints.api.RunnableConstraintHandlerProvider.Signal;
 import io.sapl.spring.constraints.api.SubscriptionHandlerProvider;
@@ -64,11 +70,21 @@
  * constraint handlers in bundles for the PEP whenever the PDP sends a new
  * decision. The PEP in return will execute the matching handlers in the
  * protected code path.
+ * <p>
+ * As the same obligations and advice are typically sent by the PDP over and
+ * over again, bundles are memoized in a bounded cache keyed by the constraints,
+ * the bundle type, and the type of the protected resource. A bundle is only
+ * cached, if all providers responsible for its constraints are stateless, see
+ * {@link Responsible#isStateless()}. Bundles for decisions containing a
+ * replacement resource are not cached. The cache is cleared whenever the
+ * application context is refreshed.
  */
 @Slf4j
 @Service
 public class ConstraintEnforcementService {
 
+    static final int BUNDLE_CACHE_SIZE = 1_000;
+
     private final List<ConsumerConstraintHandlerProvider<?>>          globalConsumerProviders;
     private final List<SubscriptionHandlerProvider>                   globalSubscriptionHandlerProviders;
     private final List<RequestHandlerProvider>                        globalRequestHandlerProviders;
@@ -79,6 +95,14 @@ public class ConstraintEnforcementService {
     private final List<MethodInvocationConstraintHandlerProvider>     methodInvocationHandlerProviders;
     private final ObjectMapper                                        mapper;
     private final Multimap<Signal, RunnableConstraintHandlerProvider> globalRunnableIndex;
+    private final List<Responsible>                                   allProviders;
+    private final Cache<BundleKey, Object>                            bundleCache         = CacheBuilder
+            .newBuilder().maximumSize(BUNDLE_CACHE_SIZE).build();
+
+    private enum BundleType { REACTIVE, BLOCKING_PRE_ENFORCE, BLOCKING_POST_ENFORCE, ACCESS_MANAGER }
+
+    private record BundleKey(BundleType type, Optional<ArrayNode> obligations, Optional<ArrayNode> advice,
+            Class<?> clazz) {}
 
     /**
      * Constructor with dependency injection of all beans implementing handler
@@ -127,6 +151,17 @@ public ConstraintEnforcementService(List<RunnableConstraintHandlerProvider> glob
         globalRunnableIndex = ArrayListMultimap.create();
         for (var provider : globalRunnableProviders)
             globalRunnableIndex.put(provider.getSignal(), provider);
+
+        allProviders = new ArrayList<>();
+        allProviders.addAll(globalRunnableProviders);
+        allProviders.addAll(globalConsumerProviders);
+        allProviders.addAll(globalSubscriptionHandlerProviders);
+        allProviders.addAll(globalRequestHandlerProviders);
+        allProviders.addAll(globalMappingHandlerProviders);
+        allProviders.addAll(globalErrorMappingHandlerProviders);
+        allProviders.addAll(globalErrorHandlerProviders);
+        allProviders.addAll(filterPredicateProviders);
+        allProviders.addAll(methodInvocationHandlerProviders);
     }
 
     /**
@@ -161,6 +196,11 @@ public <T> Flux<T> enforceConstraintsOfDecisionOnResourceAccessPoint(Authorizati
      */
     public <T> ReactiveConstraintHandlerBundle<T> reactiveTypeBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        return cachedBundle(BundleType.REACTIVE, decision, clazz, () -> buildReactiveTypeBundle(decision, clazz));
+    }
+
+    private <T> ReactiveConstraintHandlerBundle<T> buildReactiveTypeBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
 
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
 
@@ -197,6 +237,12 @@ public <T> ReactiveConstraintHandlerBundle<T> reactiveTypeBundleFor(Authorizatio
      */
     public <T> BlockingConstraintHandlerBundle<T> blockingPostEnforceBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        return cachedBundle(BundleType.BLOCKING_POST_ENFORCE, decision, clazz,
+                () -> buildBlockingPostEnforceBundle(decision, clazz));
+    }
+
+    private <T> BlockingConstraintHandlerBundle<T> buildBlockingPostEnforceBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
 
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
 
@@ -233,6 +279,12 @@ private AccessDeniedException missingHandlerError(HashSet<JsonNode> unhandledObl
      */
     public <T> BlockingConstraintHandlerBundle<T> blockingPreEnforceBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        return cachedBundle(BundleType.BLOCKING_PRE_ENFORCE, decision, clazz,
+                () -> buildBlockingPreEnforceBundle(decision, clazz));
+    }
+
+    private <T> BlockingConstraintHandlerBundle<T> buildBlockingPreEnforceBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
         var bundle               = BlockingConstraintHandlerBundle.preEnforceConstraintHandlerBundle(
                 runnableHandlersForSignal(Signal.ON_DECISION, decision, unhandledObligations),
@@ -259,12 +311,62 @@ public <T> BlockingConstraintHandlerBundle<T> blockingPreEnforceBundleFor(Author
      *         bundle cannot be constructed.
      */
     public <T> BlockingConstraintHandlerBundle<T> accessManagerBundleFor(AuthorizationDecision decision) {
-        var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
-        var bundle               = BlockingConstraintHandlerBundle.<T>accessManagerConstraintHandlerBundle(
-                runnableHandlersForSignal(Signal.ON_DECISION, decision, unhandledObligations));
-        if (!unhandledObligations.isEmpty())
-            throw missingHandlerError(unhandledObligations);
-        return bundle;
+        return cachedBundle(BundleType.ACCESS_MANAGER, decision, Object.class, () -> {
+            var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
+            var bundle               = BlockingConstraintHandlerBundle.<T>accessManagerConstraintHandlerBundle(
+                    runnableHandlersForSignal(Signal.ON_DECISION, decision, unhandledObligations));
+            if (!unhandledObligations.isEmpty())
+                throw missingHandlerError(unhandledObligations);
+            return bundle;
+        });
+    }
+
+    /**
+     * Drops all memoized constraint handler bundles. Invoked on refresh of the
+     * application context, so that handlers obtained before the refresh are not
+     * reused afterwards.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void invalidateBundleCache() {
+        bundleCache.invalidateAll();
+    }
+
+    /**
+     * Looks up a bundle for the constraints of the decision or builds and memoizes
+     * it. Failing constructions, i.e., AccessDeniedExceptions for unhandled
+     * obligations, are not memoized. Bundles replacing the resource or containing
+     * handlers of providers which are not stateless are always built freshly, so
+     * that replacement objects and handlers are never shared between invocations.
+     */
+    @SuppressWarnings("unchecked")
+    private <B> B cachedBundle(BundleType type, AuthorizationDecision decision, Class<?> clazz,
+            Supplier<B> bundleFactory) {
+        if (type != BundleType.REACTIVE && decision.getResource().isPresent())
+            return bundleFactory.get();
+
+        var key    = new BundleKey(type, decision.getObligations(), decision.getAdvice(), clazz);
+        var bundle = bundleCache.getIfPresent(key);
+        if (bundle == null) {
+            bundle = bundleFactory.get();
+            if (onlyStatelessProvidersResponsible(decision.getObligations())
+                    && onlyStatelessProvidersResponsible(decision.getAdvice()))
+                bundleCache.put(new BundleKey(type, decision.getObligations().map(ArrayNode::deepCopy),
+                        decision.getAdvice().map(ArrayNode::deepCopy), clazz), bundle);
+        }
+        return (B) bundle;
+    }
+
+    private boolean onlyStatelessProvidersResponsible(Optional<ArrayNode> constraints) {
+        if (constraints.isEmpty())
+            return true;
+
+        for (var constraint : constraints.get()) {
+            for (var provider : allProviders) {
+                if (!provider.isStateless() && provider.isResponsible(constraint))
+                    return false;
+            }
+        }
+        return true;
     }
 
     private Consumer<MethodInvocation> methodInvocationHandlers(AuthorizationDecision decision,
@@ -19,8 +19,25 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Base interface of all constraint handler providers.
+ */
 public interface Responsible {
 
     boolean isResponsible(JsonNode constraint);
 
+    /**
+     * The ConstraintEnforcementService only memoizes and reuses the handlers for
+     * a set of constraints across invocations and threads, if all providers
+     * responsible for these constraints opt in by returning true. A provider may
+     * only opt in, if its handlers are stateless or thread-safe, and do not depend
+     * on anything but the constraint they were created for.
+     *
+     * @return true, if the handlers of this provider may be reused. Defaults to
+     *         false.
+     */
+    default boolean isStateless() {
+        return false;
+    }
+
 }
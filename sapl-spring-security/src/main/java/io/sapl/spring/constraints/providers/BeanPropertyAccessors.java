@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.constraints.providers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+
+/**
+ * Reads properties of Java beans the way the ObjectMapper would serialize them,
+ * without converting the whole bean into a JSON tree. The property accessors
+ * are taken from the bean serializers of the ObjectMapper and are cached per
+ * class.
+ * <p>
+ * Only plain bean properties are supported. Whenever the serialized form of a
+ * property may differ from the value returned by its accessor, e.g., due to
+ * custom serializers, formats, inclusion rules, or filters, the read is
+ * reported as empty and the caller has to fall back to a full conversion.
+ */
+final class BeanPropertyAccessors {
+
+    private static final Pattern         PROPERTY_CHAIN = Pattern.compile("^\\$((?:\\.[A-Za-z_]\\w*)+)$");
+    private static final JsonNodeFactory JSON           = JsonNodeFactory.instance;
+
+    private final ObjectMapper                                objectMapper;
+    private final ClassValue<Map<String, BeanPropertyWriter>> accessors;
+
+    BeanPropertyAccessors(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.accessors    = new ClassValue<>() {
+                              @Override
+                              protected Map<String, BeanPropertyWriter> computeValue(Class<?> type) {
+                                  return introspect(type);
+                              }
+                          };
+    }
+
+    /**
+     * @param path a JsonPath expression
+     * @return the property names if the path is a plain chain of properties like
+     *         {@code $.a.b}, else empty
+     */
+    static Optional<List<String>> propertyChain(String path) {
+        var matcher = PROPERTY_CHAIN.matcher(path);
+        if (!matcher.matches())
+            return Optional.empty();
+
+        return Optional.of(List.of(matcher.group(1).substring(1).split("\\.")));
+    }
+
+    /**
+     * @param bean          a Java bean
+     * @param propertyChain the names of the nested properties to read
+     * @return the value of the property as JSON, or empty if the value cannot be
+     *         read without a full conversion of the bean
+     */
+    Optional<JsonNode> read(Object bean, List<String> propertyChain) {
+        var current = bean;
+        for (var propertyName : propertyChain) {
+            if (current == null)
+                return Optional.empty();
+
+            var accessor = accessors.get(current.getClass()).get(propertyName);
+            if (accessor == null)
+                return Optional.empty();
+
+            try {
+                current = accessor.get(current);
+            } catch (Exception e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(toJsonNode(current));
+    }
+
+    private JsonNode toJsonNode(Object value) {
+        if (value == null)
+            return null;
+        if (value instanceof String text)
+            return JSON.textNode(text);
+        if (value instanceof Boolean bool)
+            return JSON.booleanNode(bool);
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            return JSON.numberNode(((Number) value).longValue());
+        if (value instanceof Double || value instanceof Float)
+            return JSON.numberNode(((Number) value).doubleValue());
+        if (value instanceof BigDecimal decimal)
+            return JSON.numberNode(decimal);
+        if (value instanceof BigInteger integer)
+            return JSON.numberNode(integer);
+
+        return objectMapper.valueToTree(value);
+    }
+
+    private Map<String, BeanPropertyWriter> introspect(Class<?> type) {
+        JsonSerializer<Object> serializer;
+        try {
+            serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(type);
+        } catch (JsonMappingException e) {
+            return Map.of();
+        }
+
+        if (serializer.getClass() != BeanSerializer.class || hasFilterOrRestrictedInclusion(type))
+            return Map.of();
+
+        var result = new HashMap<String, BeanPropertyWriter>();
+        serializer.properties().forEachRemaining(property -> {
+            if (property.getClass() == BeanPropertyWriter.class && isPlainProperty((BeanPropertyWriter) property))
+                result.put(property.getName(), (BeanPropertyWriter) property);
+        });
+        return Map.copyOf(result);
+    }
+
+    private boolean hasFilterOrRestrictedInclusion(Class<?> type) {
+        var config      = objectMapper.getSerializationConfig();
+        var description = config.introspect(objectMapper.constructType(type));
+        if (config.getAnnotationIntrospector().findFilterId(description.getClassInfo()) != null)
+            return true;
+
+        var inclusion = description.findPropertyInclusion(config.getDefaultPropertyInclusion(type));
+        return !isNullOrAlwaysIncluded(inclusion);
+    }
+
+    private static boolean isPlainProperty(BeanPropertyWriter property) {
+        if (property.getViews() != null || property.getAnnotation(JsonSerialize.class) != null
+                || property.getAnnotation(JsonFormat.class) != null
+                || property.getAnnotation(JsonRawValue.class) != null)
+            return false;
+
+        var inclusion = property.getAnnotation(JsonInclude.class);
+        return inclusion == null || isNullOrAlwaysIncluded(JsonInclude.Value.from(inclusion));
+    }
+
+    private static boolean isNullOrAlwaysIncluded(JsonInclude.Value inclusion) {
+        return switch (inclusion.getValueInclusion()) {
+        case ALWAYS, NON_NULL, USE_DEFAULTS -> true;
+        default -> false;
+        };
+    }
+
+}
@@ -18,11 +18,14 @@
 package io.sapl.spring.constraints.providers;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
@@ -37,6 +40,7 @@
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.PathNotFoundException;
@@ -80,13 +84,25 @@ public class ContentFilter {
     private static final String UNKNOWN_ACTION_S                = "Unknown action type: '%s'.";
     private static final String ACTION_NOT_AN_OBJECT            = "An action in 'actions' is not an object.";
     private static final String ACTIONS_NOT_AN_ARRAY            = "'actions' is not an array.";
+    private static final String PATH_NOT_PRESENT                = "Constraint enforcement failed. Error evaluating a constraint predicate. The path defined in the constraint is not present in the data.";
     private static final int    BLACKEN_LENGTH_INVALID_VALUE    = -1;
 
     private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
 
+    /**
+     * Compiles a filter constraint into a handler. JsonPath expressions are parsed
+     * once, the JsonPath configuration is shared by all conditions and actions of
+     * the constraint, and conditions with simple property paths are evaluated
+     * directly on Java beans without converting the payload into a JSON tree.
+     *
+     * @param constraint   a filter constraint
+     * @param objectMapper the ObjectMapper used for converting payloads
+     * @return a handler applying the constraint to a payload
+     */
     public static UnaryOperator<Object> getHandler(JsonNode constraint, ObjectMapper objectMapper) {
-        var predicate      = predicateFromConditions(constraint, objectMapper);
-        var transformation = getTransformationHandler(constraint, objectMapper);
+        var jsonPathConfiguration = jsonPathConfiguration(objectMapper);
+        var predicate             = predicateFromConditions(constraint, objectMapper, jsonPathConfiguration);
+        var transformation        = getTransformationHandler(constraint, objectMapper, jsonPathConfiguration);
 
         return payload -> {
             if (payload == null)
@@ -146,6 +162,15 @@ private static Set<?> mapSetContents(Collection<?> payload, UnaryOperator<Object
     }
 
     public static Predicate<Object> predicateFromConditions(JsonNode constraint, ObjectMapper objectMapper) {
+        return predicateFromConditions(constraint, objectMapper, jsonPathConfiguration(objectMapper));
+    }
+
+    private static Configuration jsonPathConfiguration(ObjectMapper objectMapper) {
+        return Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper)).build();
+    }
+
+    private static Predicate<Object> predicateFromConditions(JsonNode constraint, ObjectMapper objectMapper,
+            Configuration jsonPathConfiguration) {
         assertConstraintIsAnObjectNode(constraint);
         Predicate<Object> predicate = anything -> true;
         if (noConditionsPresent(constraint))
@@ -153,16 +178,18 @@ public static Predicate<Object> predicateFromConditions(JsonNode constraint, Obj
 
         assertConditionsIsAnArrayNode(constraint);
 
-        var conditions = (ArrayNode) constraint.get(CONDITIONS);
+        var conditions    = (ArrayNode) constraint.get(CONDITIONS);
+        var beanAccessors = new BeanPropertyAccessors(objectMapper);
         for (var condition : conditions) {
-            var newPredicate      = conditionToPredicate(condition, objectMapper);
+            var newPredicate      = conditionToPredicate(condition, objectMapper, jsonPathConfiguration,
+                    beanAccessors);
             var previousPredicate = predicate;
             predicate = x -> previousPredicate.test(x) && newPredicate.test(x);
         }
         return mapPathNotFoundToAccessDeniedException(predicate);
     }
 
-    private static void assertConstraintIsAnObjectNode(JsonNode constraint) {
+    static void assertConstraintIsAnObjectNode(JsonNode constraint) {
         if (constraint == null || !constraint.isObject())
             throw new AccessConstraintViolationException("Not a valid constraint. Expected a JSON Object");
 
@@ -180,7 +207,8 @@ private static Predicate<Object> mapPathNotFoundToAccessDeniedException(Predicat
         };
     }
 
-    private static Predicate<Object> conditionToPredicate(JsonNode condition, ObjectMapper objectMapper) {
+    private static Predicate<Object> conditionToPredicate(JsonNode condition, ObjectMapper objectMapper,
+            Configuration jsonPathConfiguration, BeanPropertyAccessors beanAccessors) {
         if (!condition.isObject())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
@@ -197,126 +225,118 @@ private static Predicate<Object> conditionToPredicate(JsonNode condition, Object
         if (!condition.has(VALUE))
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
-        var jsonPathConfiguration = Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper))
-                .build();
+        var nodeAtPath = nodeAtPathReader(condition, path, jsonPathConfiguration, objectMapper, beanAccessors);
 
         if (EQUALS.equals(type))
-            return equalsCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return equalsCondition(condition, nodeAtPath);
 
         if (NEQ.equals(type))
-            return Predicate.not(equalsCondition(condition, path, jsonPathConfiguration, objectMapper));
+            return Predicate.not(equalsCondition(condition, nodeAtPath));
 
         if (GEQ.equals(type))
-            return geqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return geqCondition(condition, nodeAtPath);
 
         if (LEQ.equals(type))
-            return leqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return leqCondition(condition, nodeAtPath);
 
         if (LT.equals(type))
-            return ltCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return ltCondition(condition, nodeAtPath);
 
         if (GT.equals(type))
-            return gtCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return gtCondition(condition, nodeAtPath);
 
         if (REGEX.equals(type))
-            return regexCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return regexCondition(condition, nodeAtPath);
 
         throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
     }
 
-    private static Predicate<Object> regexCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
+    private static Predicate<Object> regexCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
 
         if (!condition.get(VALUE).isTextual())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
-        var regex = Pattern.compile(condition.get(VALUE).textValue());
+        var regex = Pattern.compile(condition.get(VALUE).textValue()).asMatchPredicate();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isTextual())
                 return false;
-            return regex.asMatchPredicate().test(node.textValue());
+            return regex.test(node.textValue());
         };
     }
 
-    private static Predicate<Object> leqCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
+    private static Predicate<Object> leqCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         if (!condition.get(VALUE).isNumber())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
             return node.asDouble() <= value;
         };
     }
 
-    private static Predicate<Object> geqCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
+    private static Predicate<Object> geqCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         if (!condition.get(VALUE).isNumber())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
             return node.asDouble() >= value;
         };
     }
 
-    private static Predicate<Object> ltCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
+    private static Predicate<Object> ltCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         if (!condition.get(VALUE).isNumber())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
             return node.asDouble() < value;
         };
     }
 
-    private static Predicate<Object> gtCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
+    private static Predicate<Object> gtCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         if (!condition.get(VALUE).isNumber())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
             return node.asDouble() > value;
         };
     }
 
-    private static Predicate<Object> numberEqCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
+    private static Predicate<Object> numberEqCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
             return value == node.asDouble();
         };
     }
 
-    private static Predicate<Object> equalsCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
+    private static Predicate<Object> equalsCondition(JsonNode condition, Function<Object, JsonNode> nodeAtPath) {
         var valueNode = condition.get(VALUE);
         if (valueNode.isNumber())
-            return numberEqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberEqCondition(condition, nodeAtPath);
 
         if (!valueNode.isTextual())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
@@ -324,18 +344,36 @@ private static Predicate<Object> equalsCondition(JsonNode condition, String path
         var value = valueNode.textValue();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isTextual())
                 return false;
             return value.equals(node.textValue());
         };
     }
 
-    private static JsonNode getNodeAtPath(Object original, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
-        var originalJsonNode = objectMapper.valueToTree(original);
-        var jsonContext      = JsonPath.using(jsonPathConfiguration).parse(originalJsonNode);
-        return jsonContext.read(path);
+    private static Function<Object, JsonNode> nodeAtPathReader(JsonNode condition, String path,
+            Configuration jsonPathConfiguration, ObjectMapper objectMapper, BeanPropertyAccessors beanAccessors) {
+        JsonPath jsonPath;
+        try {
+            jsonPath = JsonPath.compile(path);
+        } catch (InvalidPathException e) {
+            throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition, e);
+        }
+        var propertyChain = BeanPropertyAccessors.propertyChain(path);
+
+        return original -> {
+            if (original instanceof JsonNode json)
+                return JsonPath.using(jsonPathConfiguration).parse(json).read(jsonPath);
+
+            if (propertyChain.isPresent()) {
+                var value = beanAccessors.read(original, propertyChain.get());
+                if (value.isPresent())
+                    return value.get();
+            }
+
+            var originalJsonNode = objectMapper.valueToTree(original);
+            return JsonPath.using(jsonPathConfiguration).parse(originalJsonNode).read(jsonPath);
+        };
     }
 
     private static boolean noConditionsPresent(JsonNode constraint) {
@@ -349,22 +387,34 @@ private static void assertConditionsIsAnArrayNode(JsonNode constraint) {
     }
 
     public static UnaryOperator<Object> getTransformationHandler(JsonNode constraint, ObjectMapper objectMapper) {
-        return original -> {
-            var actions               = constraint.get(ACTIONS);
-            var jsonPathConfiguration = Configuration.builder()
-                    .jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper)).build();
-            if (actions == null)
-                return original;
+        return getTransformationHandler(constraint, objectMapper, jsonPathConfiguration(objectMapper));
+    }
+
+    private static UnaryOperator<Object> getTransformationHandler(JsonNode constraint, ObjectMapper objectMapper,
+            Configuration jsonPathConfiguration) {
+        var actions = constraint.get(ACTIONS);
+        if (actions == null)
+            return original -> original;
 
-            if (!actions.isArray())
+        if (!actions.isArray())
+            return original -> {
                 throw new AccessConstraintViolationException(ACTIONS_NOT_AN_ARRAY);
+            };
 
-            var originalJsonNode = objectMapper.valueToTree(original);
+        var compiledActions = new ArrayList<Consumer<DocumentContext>>(actions.size());
+        for (var action : actions)
+            compiledActions.add(compileAction(action));
 
-            var jsonContext = JsonPath.using(jsonPathConfiguration).parse(originalJsonNode);
+        return original -> {
+            if (original instanceof JsonNode json) {
+                var jsonContext = JsonPath.using(jsonPathConfiguration).parse(json.deepCopy());
+                compiledActions.forEach(action -> action.accept(jsonContext));
+                return jsonContext.json();
+            }
 
-            for (var action : actions)
-                applyAction(jsonContext, action);
+            var originalJsonNode = objectMapper.valueToTree(original);
+            var jsonContext      = JsonPath.using(jsonPathConfiguration).parse(originalJsonNode);
+            compiledActions.forEach(action -> action.accept(jsonContext));
 
             JsonNode modifiedJsonNode = jsonContext.json();
 
@@ -377,6 +427,55 @@ public static UnaryOperator<Object> getTransformationHandler(JsonNode constraint
         };
     }
 
+    /*
+     * Parses the path and validates the parameters of an action once. Actions which
+     * cannot be compiled fall back to the interpreting applyAction, so that errors
+     * are still reported when the handler is applied, and in the same order as
+     * before.
+     */
+    private static Consumer<DocumentContext> compileAction(JsonNode action) {
+        try {
+            if (!action.isObject())
+                throw new AccessConstraintViolationException(ACTION_NOT_AN_OBJECT);
+
+            var path       = JsonPath.compile(getTextualValueOfActionKey(action, PATH));
+            var actionType = getTextualValueOfActionKey(action, TYPE).trim().toLowerCase();
+
+            if (DELETE.equals(actionType))
+                return jsonContext -> {
+                    assertPathPresent(jsonContext, path);
+                    jsonContext.delete(path);
+                };
+
+            if (BLACKEN.equals(actionType)) {
+                var blacken = compiledBlackenNode(action);
+                return jsonContext -> {
+                    assertPathPresent(jsonContext, path);
+                    jsonContext.map(path, blacken);
+                };
+            }
+
+            if (REPLACE.equals(actionType) && action.has(REPLACEMENT)) {
+                var replacement = action.get(REPLACEMENT);
+                return jsonContext -> {
+                    assertPathPresent(jsonContext, path);
+                    jsonContext.map(path, (original, configuration) -> replacement);
+                };
+            }
+        } catch (AccessConstraintViolationException | InvalidPathException e) {
+            // reported by applyAction
+        }
+        return jsonContext -> applyAction(jsonContext, action);
+    }
+
+    private static void assertPathPresent(DocumentContext jsonContext, JsonPath path) {
+        try {
+            jsonContext.read(path);
+        } catch (PathNotFoundException e) {
+            throw new AccessConstraintViolationException(PATH_NOT_PRESENT, e);
+        }
+    }
+
     private static void applyAction(DocumentContext jsonContext, JsonNode action) {
         if (!action.isObject())
             throw new AccessConstraintViolationException(ACTION_NOT_AN_OBJECT);
@@ -387,9 +486,7 @@ private static void applyAction(DocumentContext jsonContext, JsonNode action) {
         try {
             jsonContext.read(path);
         } catch (PathNotFoundException e) {
-            throw new AccessConstraintViolationException(
-                    "Constraint enforcement failed. Error evaluating a constraint predicate. The path defined in the constraint is not present in the data.",
-                    e);
+            throw new AccessConstraintViolationException(PATH_NOT_PRESENT, e);
         }
 
         if (DELETE.equals(actionType)) {
@@ -430,17 +527,7 @@ private static void blacken(DocumentContext jsonContext, String path, JsonNode a
 
     private static MapFunction blackenNode(JsonNode action) {
         return (original, configuration) -> {
-
-            String originalString;
-
-            if (original instanceof String stringValue) {
-                originalString = stringValue;
-            } else if (original instanceof JsonNode json && json.isTextual()) {
-                originalString = json.textValue();
-            } else {
-                throw new AccessConstraintViolationException(PATH_NOT_TEXTUAL);
-            }
-
+            var originalString    = textualValueToBlacken(original);
             var replacementString = determineReplacementString(action);
             var discloseRight     = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_RIGHT);
             var discloseLeft      = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_LEFT);
@@ -451,6 +538,26 @@ private static MapFunction blackenNode(JsonNode action) {
         };
     }
 
+    private static MapFunction compiledBlackenNode(JsonNode action) {
+        var replacementString = determineReplacementString(action);
+        var discloseRight     = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_RIGHT);
+        var discloseLeft      = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_LEFT);
+        var blackenLength     = determineBlackenLength(action);
+
+        return (original, configuration) -> JSON.textNode(blackenUtil(textualValueToBlacken(original),
+                replacementString, discloseRight, discloseLeft, blackenLength));
+    }
+
+    private static String textualValueToBlacken(Object original) {
+        if (original instanceof String stringValue)
+            return stringValue;
+
+        if (original instanceof JsonNode json && json.isTextual())
+            return json.textValue();
+
+        throw new AccessConstraintViolationException(PATH_NOT_TEXTUAL);
+    }
+
     private static int determineBlackenLength(JsonNode action) {
         var replacementNode = action.get(LENGTH);
 
@@ -21,6 +21,8 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import io.sapl.spring.constraints.api.FilterPredicateConstraintHandlerProvider;
 import lombok.RequiredArgsConstructor;
@@ -28,17 +30,32 @@
 @RequiredArgsConstructor
 public class ContentFilterPredicateProvider implements FilterPredicateConstraintHandlerProvider {
 
-    private static final String CONSTRAINT_TYPE = "jsonContentFilterPredicate";
+    private static final String CONSTRAINT_TYPE    = "jsonContentFilterPredicate";
+    private static final int    HANDLER_CACHE_SIZE = 256;
 
     private final ObjectMapper objectMapper;
 
+    private final Cache<JsonNode, Predicate<Object>> compiledHandlers = CacheBuilder.newBuilder()
+            .maximumSize(HANDLER_CACHE_SIZE).build();
+
     @Override
     public boolean isResponsible(JsonNode constraint) {
         return ConstraintResponsibility.isResponsible(constraint, CONSTRAINT_TYPE);
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public Predicate<Object> getHandler(JsonNode constraint) {
-        return ContentFilter.predicateFromConditions(constraint, objectMapper);
+        ContentFilter.assertConstraintIsAnObjectNode(constraint);
+        var handler = compiledHandlers.getIfPresent(constraint);
+        if (handler == null) {
+            handler = ContentFilter.predicateFromConditions(constraint, objectMapper);
+            compiledHandlers.put(constraint.deepCopy(), handler);
+        }
+        return handler;
     }
 }
@@ -21,6 +21,8 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import io.sapl.spring.constraints.api.MappingConstraintHandlerProvider;
 import lombok.RequiredArgsConstructor;
@@ -28,15 +30,24 @@
 @RequiredArgsConstructor
 public class ContentFilteringProvider implements MappingConstraintHandlerProvider<Object> {
 
-    private static final String CONSTRAINT_TYPE = "filterJsonContent";
+    private static final String CONSTRAINT_TYPE    = "filterJsonContent";
+    private static final int    HANDLER_CACHE_SIZE = 256;
 
     private final ObjectMapper objectMapper;
 
+    private final Cache<JsonNode, UnaryOperator<Object>> compiledHandlers = CacheBuilder.newBuilder()
+            .maximumSize(HANDLER_CACHE_SIZE).build();
+
     @Override
     public boolean isResponsible(JsonNode constraint) {
         return ConstraintResponsibility.isResponsible(constraint, CONSTRAINT_TYPE);
     }
 
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     @Override
     public Class<Object> getSupportedType() {
         return Object.class;
@@ -44,7 +55,13 @@ public Class<Object> getSupportedType() {
 
     @Override
     public UnaryOperator<Object> getHandler(JsonNode constraint) {
-        return ContentFilter.getHandler(constraint, objectMapper);
+        ContentFilter.assertConstraintIsAnObjectNode(constraint);
+        var handler = compiledHandlers.getIfPresent(constraint);
+        if (handler == null) {
+            handler = ContentFilter.getHandler(constraint, objectMapper);
+            compiledHandlers.put(constraint.deepCopy(), handler);
+        }
+        return handler;
     }
 
 }
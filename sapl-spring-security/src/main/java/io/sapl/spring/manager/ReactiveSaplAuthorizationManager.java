@@ -24,6 +24,7 @@
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.web.server.authorization.AuthorizationContext;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.sapl.api.pdp.AuthorizationDecision;
@@ -31,7 +32,7 @@
 import io.sapl.api.pdp.Decision;
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.spring.constraints.ConstraintEnforcementService;
-import lombok.RequiredArgsConstructor;
+import io.sapl.spring.subscriptions.SerializedAuthenticationCache;
 import reactor.core.publisher.Mono;
 
 /**
@@ -55,14 +56,22 @@
  * The {@link #check check} method is then called by the Spring Security
  * framework whenever a request needs to be authorized.
  */
-@RequiredArgsConstructor
 public class ReactiveSaplAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
     private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymous",
             AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
 
-    private final PolicyDecisionPoint          pdp;
-    private final ConstraintEnforcementService constraintEnforcementService;
-    private final ObjectMapper                 mapper;
+    private final PolicyDecisionPoint           pdp;
+    private final ConstraintEnforcementService  constraintEnforcementService;
+    private final ObjectMapper                  mapper;
+    private final SerializedAuthenticationCache authentications;
+
+    public ReactiveSaplAuthorizationManager(PolicyDecisionPoint pdp,
+            ConstraintEnforcementService constraintEnforcementService, ObjectMapper mapper) {
+        this.pdp                          = pdp;
+        this.constraintEnforcementService = constraintEnforcementService;
+        this.mapper                       = mapper;
+        this.authentications              = new SerializedAuthenticationCache(mapper);
+    }
 
     /**
      * Determines if access is granted for a specific authentication and context
@@ -87,7 +96,7 @@ public Mono<org.springframework.security.authorization.AuthorizationDecision> ch
     }
 
     private Mono<Boolean> isPermitted(AuthorizationSubscription authzSubscription) {
-        return pdp.decide(authzSubscription).next().defaultIfEmpty(AuthorizationDecision.DENY)
+        return pdp.decideOnce(authzSubscription).defaultIfEmpty(AuthorizationDecision.DENY)
                 .map(this::enforceDecision);
     }
 
@@ -107,8 +116,11 @@ private boolean enforceDecision(AuthorizationDecision authzDecision) {
     private Mono<AuthorizationSubscription> reactiveConstructAuthorizationSubscription(
             Mono<Authentication> authentication, AuthorizationContext context) {
         var request = context.getExchange().getRequest();
-        return authentication.defaultIfEmpty(ANONYMOUS)
-                .map(authn -> AuthorizationSubscription.of(authn, request, request, mapper));
+        return authentication.defaultIfEmpty(ANONYMOUS).map(authn -> {
+            JsonNode requestJson = mapper.valueToTree(request);
+            return new AuthorizationSubscription(authentications.serialize(authn), requestJson, requestJson.deepCopy(),
+                    null);
+        });
     }
 
 }
@@ -84,17 +84,10 @@ public Object invoke(MethodInvocation methodInvocation) throws Throwable {
                 .constructAuthorizationSubscriptionWithReturnObject(authentication.get(), methodInvocation,
                         postEnforceAttribute, returnedObjectForAuthzSubscription);
 
-        var authzDecisions = policyDecisionPointProvider.getObject().decide(authzSubscription);
-        if (authzDecisions == null) {
-            throw new AccessDeniedException(
-                    String.format("Access Denied by @PostEnforce PEP. PDP returned null. %s", attribute));
-        }
-
-        var authzDecision = authzDecisions.blockFirst();
-
+        var authzDecision = policyDecisionPointProvider.getObject().decideOnceBlocking(authzSubscription);
         if (authzDecision == null) {
             throw new AccessDeniedException(
-                    String.format("Access Denied by @PostEnforce PEP. PDP decision stream was empty. %s", attribute));
+                    String.format("Access Denied by @PostEnforce PEP. PDP returned no decision. %s", attribute));
         }
 
         return enforceDecision(isOptional, returnedObjectForAuthzSubscription, returnType, authzDecision);
@@ -122,16 +122,10 @@ private AuthorizationDecision getAuthorizationFromPolicyDecisionPoint(MethodInvo
         var authzSubscription = subscriptionBuilderProvider.getObject()
                 .constructAuthorizationSubscription(authenticationSupplier.get(), methodInvocation, attribute);
 
-        var authzDecisions = policyDecisionPointProvider.getObject().decide(authzSubscription);
-        if (authzDecisions == null) {
-            throw new AccessDeniedException(
-                    String.format("Access Denied by @PreEnforce PEP. PDP returned null. %s", attribute));
-        }
-
-        var authzDecision = authzDecisions.blockFirst();
+        var authzDecision = policyDecisionPointProvider.getObject().decideOnceBlocking(authzSubscription);
         if (authzDecision == null) {
             throw new AccessDeniedException(
-                    String.format("Access Denied by @PreEnforce PEP. PDP decision stream was empty. %s", attribute));
+                    String.format("Access Denied by @PreEnforce PEP. PDP returned no decision. %s", attribute));
         }
 
         return authzDecision;
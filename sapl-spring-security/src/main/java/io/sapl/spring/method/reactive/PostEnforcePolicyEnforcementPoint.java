@@ -59,7 +59,7 @@ private Mono<AuthorizationDecision> postEnforceDecision(MethodInvocation invocat
             SaplAttribute postEnforceAttribute, Object returnedObject) {
         return subscriptionBuilder
                 .reactiveConstructAuthorizationSubscription(invocation, postEnforceAttribute, returnedObject)
-                .flatMapMany(pdp::decide).next();
+                .flatMap(pdp::decideOnce);
     }
 
 }
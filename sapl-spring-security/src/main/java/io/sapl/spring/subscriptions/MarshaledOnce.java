@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Marshals an object to JSON lazily on first use and only once. Each use
+ * receives its own copy, as the caller may modify the JSON. Not thread-safe, to
+ * be used during the construction of a single subscription.
+ *
+ * @param <T> the type of the JSON node
+ */
+class MarshaledOnce<T extends JsonNode> {
+
+    private final Supplier<T> marshaller;
+    private T                 json;
+    private boolean           marshaled;
+
+    MarshaledOnce(Supplier<T> marshaller) {
+        this.marshaller = marshaller;
+    }
+
+    /**
+     * @return a copy of the marshaled JSON, or null if there is nothing to marshal
+     */
+    T get() {
+        if (!marshaled) {
+            json      = marshaller.get();
+            marshaled = true;
+        }
+        return json == null ? null : json.deepCopy();
+    }
+
+}
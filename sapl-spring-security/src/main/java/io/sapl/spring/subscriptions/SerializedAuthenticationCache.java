@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import org.springframework.security.core.Authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the JSON representation of Authentication objects.
+ * <p>
+ * The Authentication of a security context is typically the same object for all
+ * requests of a session. Thus, it only has to be marshaled once. Entries are
+ * looked up by identity and are held weakly, i.e., an entry is dropped as soon
+ * as the Authentication is no longer referenced by the application. Callers
+ * always receive a copy of the cached JSON and may modify it.
+ * <p>
+ * As an Authentication is mutable, each entry remembers the authenticated flag
+ * and the identities of principal, credentials, details and authorities it was
+ * marshaled from. If any of them changed, e.g., after setAuthenticated,
+ * eraseCredentials or setDetails, the Authentication is marshaled again.
+ */
+public class SerializedAuthenticationCache {
+
+    static final int CACHE_SIZE = 10_000;
+
+    private final ObjectMapper                                    mapper;
+    private final Cache<Authentication, SerializedAuthentication> serializedAuthentications = CacheBuilder
+            .newBuilder().weakKeys().maximumSize(CACHE_SIZE).build();
+
+    public SerializedAuthenticationCache(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param authentication an Authentication
+     * @return the Authentication marshaled to JSON
+     */
+    public JsonNode serialize(Authentication authentication) {
+        var version    = Version.of(authentication);
+        var serialized = serializedAuthentications.getIfPresent(authentication);
+        if (serialized == null || !serialized.version().isSameAs(version)) {
+            serialized = new SerializedAuthentication(version, mapper.valueToTree(authentication));
+            serializedAuthentications.put(authentication, serialized);
+        }
+        return serialized.json().deepCopy();
+    }
+
+    /**
+     * Marshals the Authentication to JSON and removes credentials and the
+     * password of the principal. Depending on the application context, the
+     * Authentication may still contain such information, which should not be sent
+     * over the wire to the PDP.
+     *
+     * @param authentication an Authentication
+     * @return the sanitized Authentication marshaled to JSON
+     */
+    public JsonNode serializeSanitized(Authentication authentication) {
+        var subject = serialize(authentication);
+        if (subject instanceof ObjectNode objectSubject) {
+            objectSubject.remove("credentials");
+            var principal = objectSubject.get("principal");
+            if (principal instanceof ObjectNode objectPrincipal)
+                objectPrincipal.remove("password");
+        }
+        return subject;
+    }
+
+    private record SerializedAuthentication(Version version, JsonNode json) {}
+
+    private record Version(boolean authenticated, Object principal, Object credentials, Object details,
+            Object authorities) {
+
+        static Version of(Authentication authentication) {
+            return new Version(authentication.isAuthenticated(), authentication.getPrincipal(),
+                    authentication.getCredentials(), authentication.getDetails(), authentication.getAuthorities());
+        }
+
+        boolean isSameAs(Version other) {
+            return authenticated == other.authenticated && principal == other.principal
+                    && credentials == other.credentials && details == other.details
+                    && authorities == other.authorities;
+        }
+
+    }
+
+}
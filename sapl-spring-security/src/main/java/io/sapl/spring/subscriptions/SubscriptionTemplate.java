@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.spel.ast.InlineList;
+import org.springframework.expression.spel.ast.InlineMap;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.spring.method.metadata.SaplAttribute;
+
+/**
+ * Precompiled form of the subscription expressions of a {@link SaplAttribute}.
+ * Constant expressions, e.g., string literals, are evaluated and marshaled only
+ * once. If no expression depends on the invocation, no evaluation context has
+ * to be created at all.
+ */
+record SubscriptionTemplate(Part subject, Part action, Part resource, Part environment) {
+
+    /**
+     * A part of the subscription. Without expression, the default value is used.
+     * With a constant, the expression does not have to be evaluated.
+     */
+    record Part(Expression expression, JsonNode constant) {
+
+        boolean isDefault() {
+            return expression == null;
+        }
+
+        boolean isConstant() {
+            return constant != null;
+        }
+
+        boolean isDynamic() {
+            return expression != null && constant == null;
+        }
+    }
+
+    static SubscriptionTemplate compile(SaplAttribute attribute, ObjectMapper mapper) {
+        return new SubscriptionTemplate(part(attribute.subjectExpression(), mapper),
+                part(attribute.actionExpression(), mapper), part(attribute.resourceExpression(), mapper),
+                part(attribute.environmentExpression(), mapper));
+    }
+
+    boolean needsEvaluationContext() {
+        return subject.isDynamic() || action.isDynamic() || resource.isDynamic() || environment.isDynamic();
+    }
+
+    private static Part part(Expression expression, ObjectMapper mapper) {
+        if (expression == null || !isConstant(expression))
+            return new Part(expression, null);
+
+        try {
+            return new Part(expression, mapper.valueToTree(expression.getValue()));
+        } catch (EvaluationException | IllegalArgumentException e) {
+            // report errors on evaluation, as without template
+            return new Part(expression, null);
+        }
+    }
+
+    private static boolean isConstant(Expression expression) {
+        if (expression instanceof LiteralExpression)
+            return true;
+
+        if (expression instanceof SpelExpression spelExpression) {
+            var ast = spelExpression.getAST();
+            return ast instanceof Literal || (ast instanceof InlineList list && list.isConstant())
+                    || (ast instanceof InlineMap map && map.isConstant());
+        }
+        return false;
+    }
+
+}
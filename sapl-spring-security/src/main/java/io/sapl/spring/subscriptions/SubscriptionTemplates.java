@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.MethodClassKey;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.sapl.spring.method.metadata.SaplAttribute;
+import io.sapl.spring.serialization.MethodInvocationSerializer;
+
+/**
+ * Per method caches for the construction of authorization subscriptions.
+ * Holds the {@link SubscriptionTemplate} of each {@link SaplAttribute} and the
+ * JSON representation of the invoked methods.
+ * <p>
+ * The {@link MethodInvocationSerializer} only writes information about the
+ * method and the class of the target. Thus, its output is cached per method and
+ * target class. If the ObjectMapper uses a different serializer, method
+ * invocations are marshaled on each call.
+ */
+class SubscriptionTemplates {
+
+    static final int CACHE_SIZE = 1_000;
+
+    private final ObjectMapper                               mapper;
+    private final Cache<SaplAttribute, SubscriptionTemplate> templates         = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+    private final Cache<MethodClassKey, JsonNode>            methodInvocations = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+
+    SubscriptionTemplates(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    SubscriptionTemplate templateFor(SaplAttribute attribute) {
+        var template = templates.getIfPresent(attribute);
+        if (template == null) {
+            template = SubscriptionTemplate.compile(attribute, mapper);
+            templates.put(attribute, template);
+        }
+        return template;
+    }
+
+    /**
+     * @param methodInvocation a method invocation
+     * @return a copy of the method invocation marshaled to JSON
+     */
+    ObjectNode methodInvocationToJson(MethodInvocation methodInvocation) {
+        if (!usesDefaultSerializer(methodInvocation))
+            return mapper.valueToTree(methodInvocation);
+
+        var target = methodInvocation.getThis();
+        var key    = new MethodClassKey(methodInvocation.getMethod(), target == null ? null : target.getClass());
+        var json   = methodInvocations.getIfPresent(key);
+        if (json == null) {
+            json = mapper.valueToTree(methodInvocation);
+            methodInvocations.put(key, json);
+        }
+        return json.deepCopy();
+    }
+
+    private boolean usesDefaultSerializer(MethodInvocation methodInvocation) {
+        try {
+            return mapper.getSerializerProviderInstance()
+                    .findValueSerializer(methodInvocation.getClass()) instanceof MethodInvocationSerializer;
+        } catch (JsonMappingException e) {
+            return false;
+        }
+    }
+
+}
@@ -24,7 +24,6 @@
 import org.springframework.context.ApplicationContext;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
-import org.springframework.expression.Expression;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.core.GrantedAuthorityDefaults;
@@ -35,7 +34,6 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.spring.method.metadata.SaplAttribute;
@@ -45,6 +43,11 @@
 /**
  * This class contains the logic for SpEL expression evaluation and retrieving
  * request information from the application context or method invocation.
+ * <p>
+ * The expressions of each {@link SaplAttribute} are precompiled into a
+ * {@link SubscriptionTemplate}. Parts of the request which are not required by
+ * the template are not marshaled at all, and parts required more than once are
+ * only marshaled once per subscription.
  */
 @RequiredArgsConstructor
 public class WebAuthorizationSubscriptionBuilderService {
@@ -58,6 +61,8 @@ public class WebAuthorizationSubscriptionBuilderService {
 
     private MethodSecurityExpressionHandler expressionHandler;
     private ObjectMapper                    mapper;
+    private SubscriptionTemplates           templates;
+    private SerializedAuthenticationCache   authentications;
 
     private MethodSecurityExpressionHandler expressionHandler() {
         if (expressionHandler == null) {
@@ -82,52 +87,70 @@ private ObjectMapper mapper() {
         return mapper;
     }
 
+    private SubscriptionTemplates templates() {
+        if (templates == null) {
+            templates = new SubscriptionTemplates(mapper());
+        }
+        return templates;
+    }
+
+    private SerializedAuthenticationCache authentications() {
+        if (authentications == null) {
+            authentications = new SerializedAuthenticationCache(mapper());
+        }
+        return authentications;
+    }
+
     public AuthorizationSubscription constructAuthorizationSubscriptionWithReturnObject(Authentication authentication,
             MethodInvocation methodInvocation, SaplAttribute attribute, Object returnObject) {
-        var evaluationCtx = expressionHandler().createEvaluationContext(authentication, methodInvocation);
+        var template = templates().templateFor(attribute);
+        if (!template.needsEvaluationContext())
+            return constructAuthorizationSubscription(authentication, methodInvocation, template, null);
+
+        var evaluationCtx = evaluationContext(authentication, methodInvocation);
         expressionHandler().setReturnObject(returnObject, evaluationCtx);
-        evaluationCtx.setVariable("authentication", authentication);
-        evaluationCtx.setVariable("methodInvocation", methodInvocation);
-        return constructAuthorizationSubscription(authentication, methodInvocation, attribute, evaluationCtx);
+        return constructAuthorizationSubscription(authentication, methodInvocation, template, evaluationCtx);
     }
 
     public AuthorizationSubscription constructAuthorizationSubscription(Authentication authentication,
             MethodInvocation methodInvocation, SaplAttribute attribute) {
+        var template      = templates().templateFor(attribute);
+        var evaluationCtx = template.needsEvaluationContext() ? evaluationContext(authentication, methodInvocation)
+                : null;
+        return constructAuthorizationSubscription(authentication, methodInvocation, template, evaluationCtx);
+    }
+
+    private EvaluationContext evaluationContext(Authentication authentication, MethodInvocation methodInvocation) {
         var evaluationCtx = expressionHandler().createEvaluationContext(authentication, methodInvocation);
         evaluationCtx.setVariable("authentication", authentication);
         evaluationCtx.setVariable("methodInvocation", methodInvocation);
-        return constructAuthorizationSubscription(authentication, methodInvocation, attribute, evaluationCtx);
+        return evaluationCtx;
     }
 
     private AuthorizationSubscription constructAuthorizationSubscription(Authentication authentication,
-            MethodInvocation methodInvocation, SaplAttribute attribute, EvaluationContext evaluationCtx) {
-        var subject     = retrieveSubject(authentication, attribute, evaluationCtx);
-        var action      = retrieveAction(methodInvocation, attribute, evaluationCtx, retrieveRequestObject());
-        var resource    = retrieveResource(methodInvocation, attribute, evaluationCtx);
-        var environment = retrieveEnvironment(attribute, evaluationCtx);
-        return new AuthorizationSubscription(mapper().valueToTree(subject), mapper().valueToTree(action),
-                mapper().valueToTree(resource), mapper().valueToTree(environment));
+            MethodInvocation methodInvocation, SubscriptionTemplate template, EvaluationContext evaluationCtx) {
+        var request     = new MarshaledOnce<JsonNode>(
+                () -> retrieveRequestObject().<JsonNode>map(mapper()::valueToTree).orElse(null));
+        var subject     = retrieveSubject(authentication, template.subject(), evaluationCtx);
+        var action      = retrieveAction(methodInvocation, template.action(), evaluationCtx, request);
+        var resource    = retrieveResource(methodInvocation, template.resource(), evaluationCtx, request);
+        var environment = retrieveEnvironment(template.environment(), evaluationCtx);
+        return new AuthorizationSubscription(subject, action, resource, environment);
     }
 
-    private JsonNode retrieveSubject(Authentication authentication, SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.subjectExpression() != null)
-            return evaluateToJson(attr.subjectExpression(), ctx);
+    private JsonNode retrieveSubject(Authentication authentication, SubscriptionTemplate.Part subject,
+            EvaluationContext ctx) {
+        if (subject.isDefault())
+            return authentications().serializeSanitized(authentication);
 
-        ObjectNode subject = mapper().valueToTree(authentication);
-
-        // sanitize the authentication depending on the application context, the
-        // authentication may still contain credentials information, which should not be
-        // sent over the wire to the PDP
-
-        subject.remove("credentials");
-        var principal = subject.get("principal");
-        if (principal instanceof ObjectNode objectPrincipal)
-            objectPrincipal.remove("password");
-
-        return subject;
+        return evaluateToJson(subject, ctx);
     }
 
-    private JsonNode evaluateToJson(Expression expr, EvaluationContext ctx) {
+    private JsonNode evaluateToJson(SubscriptionTemplate.Part part, EvaluationContext ctx) {
+        if (part.isConstant())
+            return part.constant().deepCopy();
+
+        var expr = part.expression();
         try {
             return mapper().valueToTree(expr.getValue(ctx));
         } catch (EvaluationException e) {
@@ -142,17 +165,19 @@ private static Optional<HttpServletRequest> retrieveRequestObject() {
         return Optional.ofNullable(httpRequest);
     }
 
-    private Object retrieveAction(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
-            Optional<?> requestObject) {
-        if (attr.actionExpression() == null)
-            return retrieveAction(mi, requestObject);
-        return evaluateToJson(attr.actionExpression(), ctx);
+    private JsonNode retrieveAction(MethodInvocation mi, SubscriptionTemplate.Part action, EvaluationContext ctx,
+            MarshaledOnce<JsonNode> request) {
+        if (action.isDefault())
+            return retrieveAction(mi, request);
+        return evaluateToJson(action, ctx);
     }
 
-    private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
+    private JsonNode retrieveAction(MethodInvocation mi, MarshaledOnce<JsonNode> request) {
         var actionNode = mapper().createObjectNode();
-        requestObject.ifPresent(request -> actionNode.set("http", mapper().valueToTree(request)));
-        var java      = (ObjectNode) mapper().valueToTree(mi);
+        var http       = request.get();
+        if (http != null)
+            actionNode.set("http", http);
+        var java      = templates().methodInvocationToJson(mi);
         var arguments = mi.getArguments();
         if (arguments.length > 0) {
             var array = JSON.arrayNode();
@@ -170,26 +195,27 @@ private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
         return actionNode;
     }
 
-    private Object retrieveResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.resourceExpression() == null)
-            return retrieveResource(mi);
-        return evaluateToJson(attr.resourceExpression(), ctx);
+    private JsonNode retrieveResource(MethodInvocation mi, SubscriptionTemplate.Part resource,
+            EvaluationContext ctx, MarshaledOnce<JsonNode> request) {
+        if (resource.isDefault())
+            return retrieveResource(mi, request);
+        return evaluateToJson(resource, ctx);
     }
 
-    private Object retrieveResource(MethodInvocation mi) {
-        var resourceNode       = mapper().createObjectNode();
-        var httpServletRequest = retrieveRequestObject();
+    private JsonNode retrieveResource(MethodInvocation mi, MarshaledOnce<JsonNode> request) {
+        var resourceNode = mapper().createObjectNode();
         // The action is in the context of an HTTP request. Adding it to the resource.
-        httpServletRequest.ifPresent(servletRequest -> resourceNode.set("http", mapper().valueToTree(servletRequest)));
-        var java = (ObjectNode) mapper().valueToTree(mi);
-        resourceNode.set("java", java);
+        var http = request.get();
+        if (http != null)
+            resourceNode.set("http", http);
+        resourceNode.set("java", templates().methodInvocationToJson(mi));
         return resourceNode;
     }
 
-    private Object retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.environmentExpression() == null)
-            return null;
-        return evaluateToJson(attr.environmentExpression(), ctx);
+    private JsonNode retrieveEnvironment(SubscriptionTemplate.Part environment, EvaluationContext ctx) {
+        if (environment.isDefault())
+            return JSON.nullNode();
+        return evaluateToJson(environment, ctx);
     }
 
 }
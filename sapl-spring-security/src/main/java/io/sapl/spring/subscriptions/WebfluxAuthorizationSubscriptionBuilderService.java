@@ -22,7 +22,6 @@
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
-import org.springframework.expression.Expression;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -34,19 +33,21 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.spring.method.metadata.SaplAttribute;
-import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 import reactor.util.context.ContextView;
 
 /**
  * This class contains the logic for SpEL expression evaluation and retrieving
  * request information from the application context or method invocation.
+ * <p>
+ * The expressions of each {@link SaplAttribute} are precompiled into a
+ * {@link SubscriptionTemplate}. Parts of the request which are not required by
+ * the template are not marshaled at all, and parts required more than once are
+ * only marshaled once per subscription.
  */
-@RequiredArgsConstructor
 public class WebfluxAuthorizationSubscriptionBuilderService {
 
     private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
@@ -55,8 +56,17 @@ public class WebfluxAuthorizationSubscriptionBuilderService {
             AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
 
     private final MethodSecurityExpressionHandler expressionHandler;
-
-    private final ObjectMapper mapper;
+    private final ObjectMapper                    mapper;
+    private final SubscriptionTemplates           templates;
+    private final SerializedAuthenticationCache   authentications;
+
+    public WebfluxAuthorizationSubscriptionBuilderService(MethodSecurityExpressionHandler expressionHandler,
+            ObjectMapper mapper) {
+        this.expressionHandler = expressionHandler;
+        this.mapper            = mapper;
+        this.templates         = new SubscriptionTemplates(mapper);
+        this.authentications   = new SerializedAuthenticationCache(mapper);
+    }
 
     public Mono<AuthorizationSubscription> reactiveConstructAuthorizationSubscription(MethodInvocation methodInvocation,
             SaplAttribute attribute) {
@@ -86,36 +96,40 @@ private Mono<? extends AuthorizationSubscription> constructAuthorizationSubscrip
     private AuthorizationSubscription constructAuthorizationSubscription(Authentication authentication,
             Optional<ServerHttpRequest> serverHttpRequest, MethodInvocation methodInvocation, SaplAttribute attribute,
             Optional<Object> returnedObject) {
+        var template      = templates.templateFor(attribute);
+        var evaluationCtx = template.needsEvaluationContext()
+                ? evaluationContext(authentication, methodInvocation, returnedObject)
+                : null;
+        var request       = new MarshaledOnce<JsonNode>(
+                () -> serverHttpRequest.<JsonNode>map(mapper::valueToTree).orElse(null));
+
+        var subject     = retrieveSubject(authentication, template.subject(), evaluationCtx);
+        var action      = retrieveAction(methodInvocation, template.action(), evaluationCtx, request);
+        var resource    = retrieveResource(methodInvocation, template.resource(), evaluationCtx, request);
+        var environment = retrieveEnvironment(template.environment(), evaluationCtx);
+        return new AuthorizationSubscription(subject, action, resource, environment);
+    }
+
+    private EvaluationContext evaluationContext(Authentication authentication, MethodInvocation methodInvocation,
+            Optional<Object> returnedObject) {
         var evaluationCtx = expressionHandler.createEvaluationContext(authentication, methodInvocation);
         returnedObject.ifPresent(returnObject -> expressionHandler.setReturnObject(returnObject, evaluationCtx));
-
-        var subject     = retrieveSubject(authentication, attribute, evaluationCtx);
-        var action      = retrieveAction(methodInvocation, attribute, evaluationCtx, serverHttpRequest);
-        var resource    = retrieveResource(methodInvocation, attribute, evaluationCtx, serverHttpRequest);
-        var environment = retrieveEnvironment(attribute, evaluationCtx);
-        return new AuthorizationSubscription(mapper.valueToTree(subject), mapper.valueToTree(action),
-                mapper.valueToTree(resource), mapper.valueToTree(environment));
+        return evaluationCtx;
     }
 
-    private JsonNode retrieveSubject(Authentication authentication, SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.subjectExpression() != null)
-            return evaluateToJson(attr.subjectExpression(), ctx);
-
-        ObjectNode subject = mapper.valueToTree(authentication);
-
-        // sanitize the authentication depending on the application context, the
-        // authentication may still contain credentials information, which should not be
-        // sent over the wire to the PDP
+    private JsonNode retrieveSubject(Authentication authentication, SubscriptionTemplate.Part subject,
+            EvaluationContext ctx) {
+        if (subject.isDefault())
+            return authentications.serializeSanitized(authentication);
 
-        subject.remove("credentials");
-        var principal = subject.get("principal");
-        if (principal instanceof ObjectNode objectPrincipal)
-            objectPrincipal.remove("password");
-
-        return subject;
+        return evaluateToJson(subject, ctx);
     }
 
-    private JsonNode evaluateToJson(Expression expr, EvaluationContext ctx) {
+    private JsonNode evaluateToJson(SubscriptionTemplate.Part part, EvaluationContext ctx) {
+        if (part.isConstant())
+            return part.constant().deepCopy();
+
+        var expr = part.expression();
         try {
             return mapper.valueToTree(expr.getValue(ctx));
         } catch (EvaluationException e) {
@@ -123,17 +137,19 @@ private JsonNode evaluateToJson(Expression expr, EvaluationContext ctx) {
         }
     }
 
-    private Object retrieveAction(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
-            Optional<?> requestObject) {
-        if (attr.actionExpression() == null)
-            return retrieveAction(mi, requestObject);
-        return evaluateToJson(attr.actionExpression(), ctx);
+    private JsonNode retrieveAction(MethodInvocation mi, SubscriptionTemplate.Part action, EvaluationContext ctx,
+            MarshaledOnce<JsonNode> request) {
+        if (action.isDefault())
+            return retrieveAction(mi, request);
+        return evaluateToJson(action, ctx);
     }
 
-    private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
+    private JsonNode retrieveAction(MethodInvocation mi, MarshaledOnce<JsonNode> request) {
         var actionNode = mapper.createObjectNode();
-        requestObject.ifPresent(request -> actionNode.set("http", mapper.valueToTree(request)));
-        var java      = (ObjectNode) mapper.valueToTree(mi);
+        var http       = request.get();
+        if (http != null)
+            actionNode.set("http", http);
+        var java      = templates.methodInvocationToJson(mi);
         var arguments = mi.getArguments();
         if (arguments.length > 0) {
             var array = JSON.arrayNode();
@@ -151,26 +167,27 @@ private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
         return actionNode;
     }
 
-    private Object retrieveResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
-            Optional<ServerHttpRequest> serverHttpRequest) {
-        if (attr.resourceExpression() == null)
-            return retrieveResource(mi, serverHttpRequest);
-        return evaluateToJson(attr.resourceExpression(), ctx);
+    private JsonNode retrieveResource(MethodInvocation mi, SubscriptionTemplate.Part resource,
+            EvaluationContext ctx, MarshaledOnce<JsonNode> request) {
+        if (resource.isDefault())
+            return retrieveResource(mi, request);
+        return evaluateToJson(resource, ctx);
     }
 
-    private Object retrieveResource(MethodInvocation mi, Optional<ServerHttpRequest> serverHttpRequest) {
+    private JsonNode retrieveResource(MethodInvocation mi, MarshaledOnce<JsonNode> request) {
         var resourceNode = mapper.createObjectNode();
         // The action is in the context of an HTTP request. Adding it to the resource.
-        serverHttpRequest.ifPresent(request -> resourceNode.set("http", mapper.valueToTree(request)));
-        var java = (ObjectNode) mapper.valueToTree(mi);
-        resourceNode.set("java", java);
+        var http = request.get();
+        if (http != null)
+            resourceNode.set("http", http);
+        resourceNode.set("java", templates.methodInvocationToJson(mi));
         return resourceNode;
     }
 
-    private Object retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.environmentExpression() == null)
-            return null;
-        return evaluateToJson(attr.environmentExpression(), ctx);
+    private JsonNode retrieveEnvironment(SubscriptionTemplate.Part environment, EvaluationContext ctx) {
+        if (environment.isDefault())
+            return JSON.nullNode();
+        return evaluateToJson(environment, ctx);
     }
 
 }
@@ -17,6 +17,7 @@
  */
 package io.sapl.spring.constraints;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +42,7 @@
 import org.mockito.InOrder;
 import org.reactivestreams.Subscription;
 import org.springframework.aop.framework.ReflectiveMethodInvocation;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.security.access.AccessDeniedException;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -1117,4 +1119,131 @@ public void accept(ReflectiveMethodInvocation invocation) {
         verify(provider, times(0)).accept(any());
     }
 
+    @Test
+    void when_sameConstraintsTwice_then_bundleIsBuiltOnlyOnce() {
+        var provider = onDecisionRunnableProvider();
+        globalRunnableProviders.add(provider);
+        var service = buildConstraintHandlerService();
+        var first   = service.blockingPreEnforceBundleFor(AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT),
+                Integer.class);
+        var second  = service.blockingPreEnforceBundleFor(
+                AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT.deepCopy()), Integer.class);
+        assertThat(second).isSameAs(first);
+        verify(provider, times(1)).getHandler(any());
+    }
+
+    @Test
+    void when_sameConstraintsForDifferentTypesOrBundles_then_bundlesAreNotShared() {
+        globalRunnableProviders.add(onDecisionRunnableProvider());
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+        var integers = service.blockingPreEnforceBundleFor(decision, Integer.class);
+        var strings  = service.blockingPreEnforceBundleFor(decision, String.class);
+        var post     = service.blockingPostEnforceBundleFor(decision, Integer.class);
+        assertThat(strings).isNotSameAs(integers);
+        assertThat(post).isNotSameAs(integers);
+    }
+
+    @Test
+    void when_cacheInvalidated_then_bundleIsRebuilt() {
+        var provider = onDecisionRunnableProvider();
+        globalRunnableProviders.add(provider);
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+        var first    = service.reactiveTypeBundleFor(decision, Integer.class);
+        service.invalidateBundleCache();
+        var second = service.reactiveTypeBundleFor(decision, Integer.class);
+        assertThat(second).isNotSameAs(first);
+        verify(provider, times(2)).getHandler(any());
+    }
+
+    @Test
+    void when_contextRefreshed_then_bundleIsRebuilt() {
+        var provider = onDecisionRunnableProvider();
+        globalRunnableProviders.add(provider);
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+        var first    = service.reactiveTypeBundleFor(decision, Integer.class);
+        new ApplicationContextRunner().withBean(ConstraintEnforcementService.class, () -> service)
+                .run(context -> assertThat(context).hasNotFailed());
+        var second = service.reactiveTypeBundleFor(decision, Integer.class);
+        assertThat(second).isNotSameAs(first);
+        verify(provider, times(2)).getHandler(any());
+    }
+
+    @Test
+    void when_responsibleProviderNotStateless_then_bundleIsNotCached() {
+        var provider = spy(new RunnableConstraintHandlerProvider() {
+
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return true;
+            }
+
+            @Override
+            public Signal getSignal() {
+                return Signal.ON_DECISION;
+            }
+
+            @Override
+            public Runnable getHandler(JsonNode constraint) {
+                return () -> {
+                    // NOOP
+                };
+            }
+        });
+        globalRunnableProviders.add(onDecisionRunnableProvider());
+        globalRunnableProviders.add(provider);
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+        var first    = service.blockingPreEnforceBundleFor(decision, Integer.class);
+        var second   = service.blockingPreEnforceBundleFor(decision, Integer.class);
+        assertThat(second).isNotSameAs(first);
+        verify(provider, times(2)).getHandler(any());
+    }
+
+    @Test
+    void when_decisionWithResource_then_blockingBundleIsNotCached() {
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withResource(JSON.numberNode(69));
+        var first    = service.blockingPostEnforceBundleFor(decision, Integer.class);
+        var second   = service.blockingPostEnforceBundleFor(decision, Integer.class);
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void when_obligationUnhandled_then_failureIsNotCached() {
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+        assertThrows(AccessDeniedException.class, () -> service.accessManagerBundleFor(decision));
+        assertThrows(AccessDeniedException.class, () -> service.accessManagerBundleFor(decision));
+    }
+
+    private static RunnableConstraintHandlerProvider onDecisionRunnableProvider() {
+        return spy(new RunnableConstraintHandlerProvider() {
+
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return true;
+            }
+
+            @Override
+            public boolean isStateless() {
+                return true;
+            }
+
+            @Override
+            public Signal getSignal() {
+                return Signal.ON_DECISION;
+            }
+
+            @Override
+            public Runnable getHandler(JsonNode constraint) {
+                return () -> {
+                    // NOOP
+                };
+            }
+        });
+    }
+
 }
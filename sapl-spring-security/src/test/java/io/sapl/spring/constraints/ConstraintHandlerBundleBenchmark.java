@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.constraints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.spring.constraints.api.ConsumerConstraintHandlerProvider;
+import io.sapl.spring.constraints.api.MappingConstraintHandlerProvider;
+import io.sapl.spring.constraints.api.RunnableConstraintHandlerProvider;
+
+/**
+ * Compares the construction of constraint handler bundles with and without the
+ * bundle cache of the {@link ConstraintEnforcementService}. Not executed by the
+ * test suite. Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConstraintHandlerBundleBenchmark {
+
+    private static final JsonNodeFactory JSON                = JsonNodeFactory.instance;
+    private static final int             NUMBER_OF_PROVIDERS = 20;
+
+    private ConstraintEnforcementService service;
+    private AuthorizationDecision        decision;
+
+    @Setup
+    public void setup() {
+        var runnableProviders = new ArrayList<RunnableConstraintHandlerProvider>();
+        var consumerProviders = new ArrayList<ConsumerConstraintHandlerProvider<?>>();
+        var mappingProviders  = new ArrayList<MappingConstraintHandlerProvider<?>>();
+        for (var i = 0; i < NUMBER_OF_PROVIDERS; i++) {
+            var type = "type" + i;
+            runnableProviders.add(runnableProvider(type));
+            consumerProviders.add(consumerProvider(type));
+            mappingProviders.add(mappingProvider(type));
+        }
+        service = new ConstraintEnforcementService(runnableProviders, consumerProviders, List.of(), List.of(),
+                mappingProviders, List.of(), List.of(), List.of(), List.of(), new ObjectMapper());
+
+        var obligations = JSON.arrayNode();
+        var advice      = JSON.arrayNode();
+        for (var i = 0; i < NUMBER_OF_PROVIDERS; i += 2) {
+            obligations.add(JSON.objectNode().put("type", "type" + i).put("detail", "some detail " + i));
+            advice.add(JSON.objectNode().put("type", "type" + (i + 1)));
+        }
+        decision = AuthorizationDecision.PERMIT.withObligations(obligations).withAdvice(advice);
+    }
+
+    @Benchmark
+    public Object cachedBundle() {
+        return service.blockingPreEnforceBundleFor(decision, String.class);
+    }
+
+    @Benchmark
+    public Object uncachedBundle() {
+        service.invalidateBundleCache();
+        return service.blockingPreEnforceBundleFor(decision, String.class);
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConstraintHandlerBundleBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+
+    private static boolean hasType(JsonNode constraint, String type) {
+        return constraint.has("type") && type.equals(constraint.get("type").asText());
+    }
+
+    private static RunnableConstraintHandlerProvider runnableProvider(String type) {
+        return new RunnableConstraintHandlerProvider() {
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return hasType(constraint, type);
+            }
+
+            @Override
+            public boolean isStateless() {
+                return true;
+            }
+
+            @Override
+            public Signal getSignal() {
+                return Signal.ON_DECISION;
+            }
+
+            @Override
+            public Runnable getHandler(JsonNode constraint) {
+                return () -> {
+                    // NOOP
+                };
+            }
+        };
+    }
+
+    private static ConsumerConstraintHandlerProvider<String> consumerProvider(String type) {
+        return new ConsumerConstraintHandlerProvider<>() {
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return hasType(constraint, type);
+            }
+
+            @Override
+            public boolean isStateless() {
+                return true;
+            }
+
+            @Override
+            public Class<String> getSupportedType() {
+                return String.class;
+            }
+
+            @Override
+            public Consumer<String> getHandler(JsonNode constraint) {
+                return value -> {
+                    // NOOP
+                };
+            }
+        };
+    }
+
+    private static MappingConstraintHandlerProvider<String> mappingProvider(String type) {
+        return new MappingConstraintHandlerProvider<>() {
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return hasType(constraint, type);
+            }
+
+            @Override
+            public boolean isStateless() {
+                return true;
+            }
+
+            @Override
+            public Class<String> getSupportedType() {
+                return String.class;
+            }
+
+            @Override
+            public UnaryOperator<String> getHandler(JsonNode constraint) {
+                return UnaryOperator.identity();
+            }
+        };
+    }
+
+}
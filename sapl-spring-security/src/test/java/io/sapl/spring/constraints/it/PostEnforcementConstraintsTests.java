@@ -55,7 +55,7 @@
 import io.sapl.spring.constraints.it.PostEnforcementConstraintsTests.MethodSecurityConfiguration;
 import io.sapl.spring.constraints.it.PostEnforcementConstraintsTests.TestService;
 import io.sapl.spring.method.metadata.PostEnforce;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest(classes = { Application.class, TestService.class, MethodSecurityConfiguration.class,
         ConstraintHandlerOne.class, ConstraintHandlerTwo.class,
@@ -186,24 +186,24 @@ void contextLoads(ApplicationContext context) {
     @Test
     @WithMockUser()
     void when_testServiceCalled_then_pdpDecideIsInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         service.execute("test");
-        verify(pdp, times(1)).decide(any(AuthorizationSubscription.class));
+        verify(pdp, times(1)).decideOnceBlocking(any(AuthorizationSubscription.class));
     }
 
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpPermits_then_pdpMethodReturnsNormally() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpDenies_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.DENY));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.DENY);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(1)).execute(any());
     }
@@ -211,8 +211,8 @@ void when_testServiceCalledAndPdpDenies_then_pdpMethodThrowsAccessDeniedButWasIn
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpIndeterminate_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.INDETERMINATE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.INDETERMINATE);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(1)).execute(any());
     }
@@ -220,8 +220,8 @@ void when_testServiceCalledAndPdpIndeterminate_then_pdpMethodThrowsAccessDeniedB
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpNotApplicable_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.NOT_APPLICABLE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.NOT_APPLICABLE);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(1)).execute(any());
     }
@@ -229,18 +229,19 @@ void when_testServiceCalledAndPdpNotApplicable_then_pdpMethodThrowsAccessDeniedB
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsEmptyStream_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.empty());
+        when(pdp.decideOnce(any(AuthorizationSubscription.class))).thenReturn(Mono.empty());
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenCallRealMethod();
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsNull_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(null);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -250,9 +251,9 @@ void when_testServiceCalledAndDecisionContainsUnenforceableObligation_then_pdpMe
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(UNKNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -263,9 +264,9 @@ void when_testServiceCalledAndDecisionContainsFailingObligation_then_pdpMethodTh
         obligations.add(JSON.textNode(FAILING_CONSTRAINT));
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -275,9 +276,9 @@ void when_testServiceCalledAndDecisionContainsUnenforceableAdvice_then_accessGra
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(UNKNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -287,9 +288,9 @@ void when_testServiceCalledAndDecisionContainsFailingAdvice_then_normalAccessGra
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(FAILING_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -299,9 +300,9 @@ void when_testServiceCalledAndDecisionContainsEnforceableObligation_then_pdpMeth
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(constraintHandlerTwo).run();
         verify(constraintHandlerOne).run();
     }
@@ -312,9 +313,9 @@ void when_testServiceCalledAndDecisionDenyContainsEnforceableObligation_then_acc
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.DENY.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(constraintHandlerOne).run();
         verify(constraintHandlerTwo).run();
         verify(service, times(1)).execute(any());
@@ -326,9 +327,9 @@ void when_testServiceCalledAndDecisionContainsEnforceableAdvice_then_pdpMethodRe
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(constraintHandlerTwo).run();
         verify(constraintHandlerOne).run();
         verify(service, times(1)).execute(any());
@@ -342,9 +343,9 @@ void when_testServiceCalledAndDecisionContainsEnforceableObligationsAndAdvice_th
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations).withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(constraintHandlerOne, times(2)).run();
         verify(constraintHandlerTwo, times(2)).run();
         verify(service, times(1)).execute(any());
@@ -354,9 +355,9 @@ void when_testServiceCalledAndDecisionContainsEnforceableObligationsAndAdvice_th
     @WithMockUser()
     void when_testServiceCalledOptionalReturnValueAndPermit_then_returnsNormally() {
         var decision = AuthorizationDecision.PERMIT;
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals(Optional.of("Argument: test"), service.executeOptional("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).executeOptional(any());
     }
 
@@ -364,9 +365,9 @@ void when_testServiceCalledOptionalReturnValueAndPermit_then_returnsNormally() {
     @WithMockUser()
     void when_testServiceCalledOptionalEmptyReturnValueAndPermit_then_returnsNormally() {
         var decision = AuthorizationDecision.PERMIT;
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals(Optional.empty(), service.executeOptionalEmpty());
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnceBlocking(any(AuthorizationSubscription.class));
         verify(service, times(1)).executeOptionalEmpty();
     }
 
@@ -61,7 +61,7 @@
 import io.sapl.spring.constraints.it.PreEnforcementConstraintsTests.SuccessfulMethodInvocationConstraintHandler;
 import io.sapl.spring.constraints.it.PreEnforcementConstraintsTests.TestService;
 import io.sapl.spring.method.metadata.PreEnforce;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest(classes = { Application.class, TestService.class, MethodSecurityConfiguration.class,
         ConstraintHandlerOne.class, ConstraintHandlerTwo.class, FailingConstraintHandler.class,
@@ -235,22 +235,22 @@ void contextLoads(ApplicationContext context) {
     @Test
     @WithMockUser()
     void when_testServiceCalled_then_pdpDecideIsInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         service.execute("test");
-        verify(pdp, times(1)).decide(any(AuthorizationSubscription.class));
+        verify(pdp, times(1)).decideOnceBlocking(any(AuthorizationSubscription.class));
     }
 
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpPermits_then_pdpMethodReturnsNormally() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertEquals("Argument: test", service.execute("test"));
     }
 
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpDenies_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.DENY));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.DENY);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -258,8 +258,8 @@ void when_testServiceCalledAndPdpDenies_then_pdpMethodThrowsAccessDenied() {
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpIndeterminate_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.INDETERMINATE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.INDETERMINATE);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -267,8 +267,8 @@ void when_testServiceCalledAndPdpIndeterminate_then_pdpMethodThrowsAccessDenied(
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpNotApplicable_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.NOT_APPLICABLE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.NOT_APPLICABLE);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -276,7 +276,8 @@ void when_testServiceCalledAndPdpNotApplicable_then_pdpMethodThrowsAccessDenied(
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsEmptyStream_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.empty());
+        when(pdp.decideOnce(any(AuthorizationSubscription.class))).thenReturn(Mono.empty());
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenCallRealMethod();
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -284,7 +285,7 @@ void when_testServiceCalledAndPdpReturnsEmptyStream_then_pdpMethodThrowsAccessDe
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsNull_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(null);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -295,7 +296,7 @@ void when_testServiceCalledAndDecisionContainsUnenforceableObligation_then_pdpMe
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(UNKNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -307,7 +308,7 @@ void when_testServiceCalledAndDecisionContainsFailingObligation_then_pdpMethodTh
         obligations.add(JSON.textNode(FAILING_CONSTRAINT));
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -318,7 +319,7 @@ void when_testServiceCalledAndDecisionContainsUnenforceableAdvice_then_pdpMethod
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(UNKNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
     }
 
@@ -328,7 +329,7 @@ void when_testServiceCalledAndDecisionContainsFailingAdvice_then_normalAccessGra
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(FAILING_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
     }
 
@@ -338,7 +339,7 @@ void when_testServiceCalledAndDecisionContainsEnforceableObligation_then_pdpMeth
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
         verify(constraintHandlerTwo).run();
         verify(constraintHandlerOne).run();
@@ -350,7 +351,7 @@ void when_testServiceCalledAndDecisionDenyContainsEnforceableObligation_then_acc
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.DENY.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(constraintHandlerTwo).run();
         verify(constraintHandlerOne).run();
@@ -363,7 +364,7 @@ void when_testServiceCalledAndDecisionContainsEnforceableAdvice_then_pdpMethodRe
         var advice = JSON.arrayNode();
         advice.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         InOrder inOrder = inOrder(constraintHandlerOne, constraintHandlerTwo);
         assertEquals("Argument: test", service.execute("test"));
         inOrder.verify(constraintHandlerOne).run();
@@ -378,7 +379,7 @@ void when_testServiceCalledAndDecisionContainsEnforceableObligationsAndAdvice_th
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(KNOWN_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations).withAdvice(advice);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: test", service.execute("test"));
         verify(constraintHandlerOne, times(2)).run();
         verify(constraintHandlerTwo, times(2)).run();
@@ -390,7 +391,7 @@ void when_testServiceCalledAndDecisionContainsEnforceableMethodInvocationManipul
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(SUCCESSFUL_METHOD_INVOCATION_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("Argument: replaced", service.execute("test"));
         verify(service, times(1)).execute("replaced");
     }
@@ -401,7 +402,7 @@ void when_testServiceCalledAndDecisionContainsFailingMethodInvocationManipulatin
         var obligations = JSON.arrayNode();
         obligations.add(JSON.textNode(FAILING_METHOD_INVOCATION_CONSTRAINT));
         var decision = AuthorizationDecision.PERMIT.withObligations(obligations);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
@@ -410,7 +411,7 @@ void when_testServiceCalledAndDecisionContainsFailingMethodInvocationManipulatin
     @WithMockUser()
     void when_testDecisionHasResource_then_replaced() {
         var decision = AuthorizationDecision.PERMIT.withResource(JSON.textNode("replacement"));
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(decision);
         assertEquals("replacement", service.execute("test"));
         verify(service, times(1)).execute(any());
     }
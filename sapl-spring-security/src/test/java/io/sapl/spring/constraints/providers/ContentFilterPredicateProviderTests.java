@@ -34,6 +34,12 @@
 class ContentFilterPredicateProviderTests {
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    @Test
+    void when_isStateless_then_true() {
+        var sut = new ContentFilterPredicateProvider(MAPPER);
+        assertThat(sut.isStateless(), is(true));
+    }
+
     @Test
     void when_constraintIsNull_then_notResponsible() {
         var      sut        = new ContentFilterPredicateProvider(MAPPER);
@@ -17,11 +17,18 @@
  */
 package io.sapl.spring.constraints.providers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.AllArgsConstructor;
@@ -39,6 +46,18 @@ public static class DataPoint {
         Integer b = 0;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Envelope {
+        @JsonProperty("payload")
+        DataPoint data;
+        @JsonIgnore
+        String    secret;
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        String    note;
+    }
+
     @Test
     void test() throws JsonProcessingException {
         var constraint = MAPPER.readTree("""
@@ -56,4 +75,67 @@ void test() throws JsonProcessingException {
         var data       = new DataPoint("ABC", 100);
         assertTrue(condition.test(data));
     }
+
+    @Test
+    void when_nestedBeanProperty_then_conditionEvaluatedAsOnJson() throws JsonProcessingException {
+        var constraint = MAPPER.readTree("""
+                {
+                	"conditions" : [
+                		{ "path" : "$.payload.a", "type" : "==", "value" : "ABC" },
+                		{ "path" : "$.payload.b", "type" : ">=", "value" : 100 }
+                	]
+                }
+                """);
+        var condition  = ContentFilter.predicateFromConditions(constraint, MAPPER);
+        assertTrue(condition.test(new Envelope(new DataPoint("ABC", 100), "x", "y")));
+        assertFalse(condition.test(new Envelope(new DataPoint("ABC", 99), "x", "y")));
+        assertTrue(condition.test(MAPPER.valueToTree(new Envelope(new DataPoint("ABC", 100), "x", "y"))));
+    }
+
+    @Test
+    void when_propertyNotSerialized_then_pathNotFoundAsOnJson() throws JsonProcessingException {
+        var ignored       = ContentFilter.predicateFromConditions(MAPPER.readTree("""
+                {
+                	"conditions" : [ { "path" : "$.secret", "type" : "==", "value" : "x" } ]
+                }
+                """), MAPPER);
+        var emptyExcluded = ContentFilter.predicateFromConditions(MAPPER.readTree("""
+                {
+                	"conditions" : [ { "path" : "$.note", "type" : "==", "value" : "" } ]
+                }
+                """), MAPPER);
+        var original      = new Envelope(new DataPoint("ABC", 100), "x", "");
+        var withNote      = new Envelope(new DataPoint("ABC", 100), "x", "y");
+        assertThrows(AccessConstraintViolationException.class, () -> ignored.test(original));
+        assertThrows(AccessConstraintViolationException.class, () -> emptyExcluded.test(original));
+        assertFalse(emptyExcluded.test(withNote));
+    }
+
+    @Test
+    void when_transformingJsonNode_then_originalIsNotModified() throws JsonProcessingException {
+        var constraint = MAPPER.readTree("""
+                {
+                	"actions" : [ { "path" : "$.a", "type" : "blacken", "discloseLeft" : 1 } ]
+                }
+                """);
+        var original   = MAPPER.readTree("""
+                { "a" : "ABC", "b" : 1 }
+                """);
+        var handler    = ContentFilter.getHandler(constraint, MAPPER);
+        var filtered   = (JsonNode) handler.apply(original);
+        assertEquals("A██", filtered.get("a").textValue());
+        assertEquals("ABC", original.get("a").textValue());
+        assertEquals(filtered, handler.apply(original));
+    }
+
+    @Test
+    void when_invalidConditionPath_then_errorOnCompilation() throws JsonProcessingException {
+        var constraint = MAPPER.readTree("""
+                {
+                	"conditions" : [ { "path" : "$.a[", "type" : "==", "value" : "x" } ]
+                }
+                """);
+        assertThrows(AccessConstraintViolationException.class,
+                () -> ContentFilter.predicateFromConditions(constraint, MAPPER));
+    }
 }
@@ -21,6 +21,7 @@
 import static com.spotify.hamcrest.jackson.IsJsonObject.jsonObject;
 import static com.spotify.hamcrest.jackson.IsJsonText.jsonText;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -52,6 +53,12 @@ void when_getSupportedType_then_isObject() {
         assertThat(sut.getSupportedType(), is(Object.class));
     }
 
+    @Test
+    void when_isStateless_then_true() {
+        var sut = new ContentFilteringProvider(MAPPER);
+        assertThat(sut.isStateless(), is(true));
+    }
+
     @Test
     void when_constraintIsNull_then_notResponsible() {
         var      sut        = new ContentFilteringProvider(MAPPER);
@@ -123,6 +130,19 @@ void when_noActionsSpecified_then_isIdentity() throws JsonProcessingException {
         assertThat(handler.apply(original), is(original));
     }
 
+    @Test
+    void when_sameConstraintTwice_then_compiledHandlerIsReused() throws JsonProcessingException {
+        var sut        = new ContentFilteringProvider(MAPPER);
+        var constraint = MAPPER.readTree("""
+                {
+                	"type"    : "filterJsonContent",
+                	"actions" : [ { "path" : "$.key1", "type" : "delete" } ]
+                }
+                """);
+        var handler    = sut.getHandler(constraint.deepCopy());
+        assertThat(sut.getHandler(constraint.deepCopy()), is(sameInstance(handler)));
+    }
+
     @Test
     void when_noActionType_then_Error() throws JsonProcessingException {
         var sut        = new ContentFilteringProvider(MAPPER);
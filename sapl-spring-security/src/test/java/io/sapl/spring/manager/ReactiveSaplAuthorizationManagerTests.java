@@ -45,7 +45,6 @@
 import io.sapl.spring.constraints.BlockingConstraintHandlerBundle;
 import io.sapl.spring.constraints.ConstraintEnforcementService;
 import io.sapl.spring.serialization.ServerHttpRequestSerializer;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -84,7 +83,7 @@ void setUpMocks() {
 
     @Test
     void when_PdpPermit_then_IsGranted() {
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(Mono.just(AuthorizationDecision.PERMIT));
         StepVerifier.create(sut.check(AUTHENTICATION, ctx))
                 .expectNextMatches(org.springframework.security.authorization.AuthorizationDecision::isGranted)
                 .verifyComplete();
@@ -93,7 +92,7 @@ void when_PdpPermit_then_IsGranted() {
 
     @Test
     void when_ObligationsFail_then_IsNotGranted() {
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(Mono.just(AuthorizationDecision.PERMIT));
         doThrow(new AccessDeniedException("")).when(bundle).handleOnDecisionConstraints();
         StepVerifier.create(sut.check(AUTHENTICATION, ctx)).expectNextMatches(dec -> !dec.isGranted()).verifyComplete();
         verify(bundle, times(1)).handleOnDecisionConstraints();
@@ -101,15 +100,15 @@ void when_ObligationsFail_then_IsNotGranted() {
 
     @Test
     void when_PdpDeny_then_NotGranted() {
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.DENY));
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(Mono.just(AuthorizationDecision.DENY));
         StepVerifier.create(sut.check(AUTHENTICATION, ctx)).expectNextMatches(dec -> !dec.isGranted()).verifyComplete();
         verify(bundle, times(1)).handleOnDecisionConstraints();
     }
 
     @Test
     void when_PdpPermitWithResource_then_NotGranted() {
-        when(pdp.decide((AuthorizationSubscription) any()))
-                .thenReturn(Flux.just(AuthorizationDecision.PERMIT.withResource(mapper.createObjectNode())));
+        when(pdp.decideOnce((AuthorizationSubscription) any()))
+                .thenReturn(Mono.just(AuthorizationDecision.PERMIT.withResource(mapper.createObjectNode())));
         StepVerifier.create(sut.check(AUTHENTICATION, ctx)).expectNextMatches(dec -> !dec.isGranted()).verifyComplete();
         verify(bundle, times(0)).handleOnDecisionConstraints();
     }
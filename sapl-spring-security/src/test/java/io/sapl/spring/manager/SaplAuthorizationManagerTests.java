@@ -43,7 +43,6 @@
 import io.sapl.spring.constraints.ConstraintEnforcementService;
 import io.sapl.spring.serialization.HttpServletRequestSerializer;
 import jakarta.servlet.http.HttpServletRequest;
-import reactor.core.publisher.Flux;
 
 class SaplAuthorizationManagerTests {
 
@@ -70,7 +69,7 @@ void setUpMocks() {
     @Test
     void whenPermit_thenGranted() {
         var sut = new SaplAuthorizationManager(pdp, constraintHandlers, mapper);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking((AuthorizationSubscription) any())).thenReturn(AuthorizationDecision.PERMIT);
         var ctx = mock(RequestAuthorizationContext.class);
         assertThat(sut.check(() -> authentication, ctx))
                 .matches(org.springframework.security.authorization.AuthorizationDecision::isGranted);
@@ -80,7 +79,7 @@ void whenPermit_thenGranted() {
     @Test
     void whenIndeterminate_thenDenied() {
         var sut = new SaplAuthorizationManager(pdp, constraintHandlers, mapper);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.INDETERMINATE));
+        when(pdp.decideOnceBlocking((AuthorizationSubscription) any())).thenReturn(AuthorizationDecision.INDETERMINATE);
         var ctx = mock(RequestAuthorizationContext.class);
         assertThat(sut.check(() -> authentication, ctx)).matches(dec -> !dec.isGranted());
         verify(bundle, times(1)).handleOnDecisionConstraints();
@@ -89,7 +88,7 @@ void whenIndeterminate_thenDenied() {
     @Test
     void whenNullDecision_thenDenied() {
         var sut = new SaplAuthorizationManager(pdp, constraintHandlers, mapper);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.empty());
+        when(pdp.decideOnceBlocking((AuthorizationSubscription) any())).thenReturn(null);
         var ctx = mock(RequestAuthorizationContext.class);
         assertThat(sut.check(() -> authentication, ctx)).matches(dec -> !dec.isGranted());
     }
@@ -98,7 +97,7 @@ void whenNullDecision_thenDenied() {
     void whenHasResource_thenDenied() {
         var sut      = new SaplAuthorizationManager(pdp, constraintHandlers, mapper);
         var decision = AuthorizationDecision.PERMIT.withResource(mapper.createObjectNode());
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(decision));
+        when(pdp.decideOnceBlocking((AuthorizationSubscription) any())).thenReturn(decision);
         var ctx = mock(RequestAuthorizationContext.class);
         assertThat(sut.check(() -> authentication, ctx)).matches(dec -> !dec.isGranted());
     }
@@ -106,7 +105,7 @@ void whenHasResource_thenDenied() {
     @Test
     void whenObligationsFail_thenAccessDenied() {
         var sut = new SaplAuthorizationManager(pdp, constraintHandlers, mapper);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking((AuthorizationSubscription) any())).thenReturn(AuthorizationDecision.PERMIT);
         doThrow(new AccessDeniedException("")).when(bundle).handleOnDecisionConstraints();
 
         var ctx = mock(RequestAuthorizationContext.class);
@@ -50,7 +50,6 @@
 import io.sapl.spring.method.blocking.PostEnforcePolicyEnforcementPointTests.MethodSecurityConfiguration;
 import io.sapl.spring.method.blocking.PostEnforcePolicyEnforcementPointTests.TestService;
 import io.sapl.spring.method.metadata.PostEnforce;
-import reactor.core.publisher.Flux;
 
 @SpringBootTest(classes = { Application.class, MethodSecurityConfiguration.class, TestService.class }, properties = {
         "spring.main.web-application-type=servlet" })
@@ -104,14 +103,14 @@ public Optional<String> doSomethingOptionalEmpty() {
     void when_errorDuringBundleConstruction_then_AccessDenied() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenThrow(new IllegalStateException("TEST FAILURE"));
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
     @Test
     @WithMockUser()
     void when_bundleIsNull_then_AccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -120,7 +119,7 @@ void when_bundleIsNull_then_AccessDenied() {
     void when_AfterAndDecideIsPermit_then_ReturnOriginalReturnObject() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThat(testService.doSomething(), is(ORIGINAL_RETURN_OBJECT));
     }
 
@@ -129,7 +128,7 @@ void when_AfterAndDecideIsPermit_then_ReturnOriginalReturnObject() {
     void when_AfterAndDecideIsDeny_then_ThrowAccessDeniedException() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.DENY));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.DENY);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -138,8 +137,8 @@ void when_AfterAndDecideIsDeny_then_ThrowAccessDeniedException() {
     void when_AfterBeforeAndDecideNotApplicable_then_ThrowAccessDeniedException() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.NOT_APPLICABLE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.NOT_APPLICABLE);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -148,8 +147,8 @@ void when_AfterBeforeAndDecideNotApplicable_then_ThrowAccessDeniedException() {
     void when_AfterAndDecideIsIndeterminate_then_ThrowAccessDeniedException() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.INDETERMINATE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.INDETERMINATE);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -158,7 +157,7 @@ void when_AfterAndDecideIsIndeterminate_then_ThrowAccessDeniedException() {
     void when_AfterAndDecideIsEmpty_then_ThrowAccessDeniedException() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.empty());
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(null);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -169,8 +168,8 @@ void when_AfterAndDecideIsPermitWithResource_then_ReturnTheReplacementObject() {
                 FunctionUtil.sink(), UnaryOperator.identity(), FunctionUtil.sink(), UnaryOperator.identity(),
                 FunctionUtil.all(), x -> CHANGED_RETURN_OBJECT);
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any())).thenReturn(replaceBundle);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT))));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT)));
         assertThat(testService.doSomething(), is(CHANGED_RETURN_OBJECT));
     }
 
@@ -182,8 +181,8 @@ void when_AfterAndDecideIsPermitWithResourceAndMethodReturnsOptional_then_Return
                 FunctionUtil.all(), x -> CHANGED_RETURN_OBJECT);
 
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any())).thenReturn(replaceBundle);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT))));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT)));
         assertThat(testService.doSomethingOptional(), is(Optional.of(CHANGED_RETURN_OBJECT)));
     }
 
@@ -192,7 +191,7 @@ void when_AfterAndDecideIsPermitWithResourceAndMethodReturnsOptional_then_Return
     void when_AfterAndDecideIsPermitWithResourceAndMethodReturnsEmptyOptional_then_ReturnEmpty() {
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThat(testService.doSomethingOptionalEmpty(), is(Optional.empty()));
     }
 
@@ -206,8 +205,8 @@ void when_AfterAndDecideIsPermitWithResourceAndMethodReturnsEmptyOptionalAndReso
         when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any())).thenReturn(replaceBundle);
         var expectedReturnObject = Optional.of(CHANGED_RETURN_OBJECT);
 
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT))));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT)));
         assertThat(testService.doSomethingOptionalEmpty(), is(expectedReturnObject));
     }
 
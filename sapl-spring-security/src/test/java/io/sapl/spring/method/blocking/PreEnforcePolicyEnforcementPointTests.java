@@ -50,7 +50,6 @@
 import io.sapl.spring.method.blocking.PreEnforcePolicyEnforcementPointTests.MethodSecurityConfiguration;
 import io.sapl.spring.method.blocking.PreEnforcePolicyEnforcementPointTests.TestService;
 import io.sapl.spring.method.metadata.PreEnforce;
-import reactor.core.publisher.Flux;
 
 @SpringBootTest(classes = { Application.class, MethodSecurityConfiguration.class, TestService.class }, properties = {
         "spring.main.web-application-type=servlet" })
@@ -103,7 +102,7 @@ public Optional<String> doSomethingOptionalEmpty() {
     void whenBeforeAndDecideDeny_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.DENY));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.DENY);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -112,7 +111,7 @@ void whenBeforeAndDecideDeny_thenReturnFalse() {
     void whenBeforeAndDecideNull_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(null);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -120,7 +119,7 @@ void whenBeforeAndDecideNull_thenReturnFalse() {
     @WithMockUser()
     void whenBeforeAndDecidePermitButBundleNull_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any())).thenReturn(null);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -129,7 +128,7 @@ void whenBeforeAndDecidePermitButBundleNull_thenReturnFalse() {
     void whenBeforeAndDecidePermit_thenReturnTrue() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThat(testService.doSomething(), is(ORIGINAL_RETURN_OBJECT));
     }
 
@@ -141,7 +140,7 @@ void when_BeforeAndDecidePermit_and_obligationsFail_then_ReturnFalse() {
         }, FunctionUtil.sink(), UnaryOperator.identity(), FunctionUtil.sink(), UnaryOperator.identity(),
                 FunctionUtil.all(), FunctionUtil.sink(), UnaryOperator.identity());
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any())).thenReturn(mockBundle);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(AuthorizationDecision.PERMIT);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -150,8 +149,8 @@ void when_BeforeAndDecidePermit_and_obligationsFail_then_ReturnFalse() {
     void whenBeforeAndDecideNotApplicable_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.NOT_APPLICABLE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.NOT_APPLICABLE);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -160,8 +159,8 @@ void whenBeforeAndDecideNotApplicable_thenReturnFalse() {
     void whenBeforeAndDecideIndeterminate_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.INDETERMINATE));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.INDETERMINATE);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -170,7 +169,7 @@ void whenBeforeAndDecideIndeterminate_thenReturnFalse() {
     void whenBeforeAndDecideEmpty_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.empty());
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class))).thenReturn(null);
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
@@ -182,8 +181,8 @@ void when_AfterAndDecideIsPermitWithResourceAndMethodReturnsOptional_then_Return
                 FunctionUtil.all(), x -> CHANGED_RETURN_OBJECT);
 
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any())).thenReturn(replaceBundle);
-        when(pdp.decide(any(AuthorizationSubscription.class)))
-                .thenReturn(Flux.just(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT))));
+        when(pdp.decideOnceBlocking(any(AuthorizationSubscription.class)))
+                .thenReturn(AuthorizationDecision.PERMIT.withResource(JSON.textNode(CHANGED_RETURN_OBJECT)));
         assertThat(testService.doSomethingOptional(), is(Optional.of(CHANGED_RETURN_OBJECT)));
     }
 
@@ -145,7 +145,7 @@ private ConstraintEnforcementService buildConstraintHandlerService() {
     void when_Deny_ErrorIsRaisedAndStreamCompleteEvenWithOnErrorContinue() {
         var constraintsService = buildConstraintHandlerService();
         var decisions          = Flux.just(AuthorizationDecision.DENY);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var onErrorContinue = errorAndCauseConsumer();
         var doOnError       = errorConsumer();
         var sut             = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
@@ -162,7 +162,7 @@ void when_Deny_ErrorIsRaisedAndStreamCompleteEvenWithOnErrorContinue() {
     void when_Permit_AccessIsGranted() {
         var constraintsService = buildConstraintHandlerService();
         var decisions          = Flux.just(AuthorizationDecision.PERMIT);
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var sut = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
                 .postEnforceOneDecisionOnResourceAccessPoint(resourceAccessPoint, invocation, defaultAttribute)
                 .cast(Integer.class);
@@ -191,7 +191,7 @@ public void accept(Subscription s) {
         this.globalSubscriptionHandlerProviders.add(handler);
         var constraintsService = buildConstraintHandlerService();
         var decisions          = decisionFluxOnePermitWithObligation();
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var sut = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
                 .postEnforceOneDecisionOnResourceAccessPoint(resourceAccessPoint, invocation, defaultAttribute)
                 .cast(Integer.class);
@@ -223,7 +223,7 @@ public UnaryOperator<Integer> getHandler(JsonNode constraint) {
         this.globalMappingHandlerProviders.add(handler);
         var constraintsService = buildConstraintHandlerService();
         var decisions          = decisionFluxOnePermitWithObligation();
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var sut = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
                 .postEnforceOneDecisionOnResourceAccessPoint(resourceAccessPoint, invocation, defaultAttribute)
                 .cast(Integer.class);
@@ -257,7 +257,7 @@ public UnaryOperator<Integer> getHandler(JsonNode constraint) {
         this.globalMappingHandlerProviders.add(handler);
         var constraintsService = buildConstraintHandlerService();
         var decisions          = decisionFluxOnePermitWithObligation();
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var onErrorContinue = errorAndCauseConsumer();
         var doOnError       = errorConsumer();
         var sut             = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
@@ -298,7 +298,7 @@ public UnaryOperator<Integer> getHandler(JsonNode constraint) {
         var onErrorContinue = errorAndCauseConsumer();
         var doOnError       = errorConsumer();
 
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var sut = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
                 .postEnforceOneDecisionOnResourceAccessPoint(resourceAccessPoint, invocation, defaultAttribute)
                 .cast(Integer.class);
@@ -318,7 +318,7 @@ void when_PermitWithResource_and_typeMismatch_thenAccessIsGrantedAndOnlyResource
         var onErrorContinue    = errorAndCauseConsumer();
         var doOnError          = errorConsumer();
 
-        when(pdp.decide((AuthorizationSubscription) any())).thenReturn(decisions);
+        when(pdp.decideOnce((AuthorizationSubscription) any())).thenReturn(decisions.next());
         var sut = new PostEnforcePolicyEnforcementPoint(pdp, constraintsService, subscriptionBuilderService)
                 .postEnforceOneDecisionOnResourceAccessPoint(resourceAccessPoint, invocation, defaultAttribute)
                 .doOnError(doOnError).onErrorContinue(onErrorContinue).cast(Integer.class);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonBoolean;
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonMissing;
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonNull;
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonObject;
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonText;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SerializedAuthenticationCacheTests {
+
+    private static final UsernamePasswordAuthenticationToken AUTHENTICATION = new UsernamePasswordAuthenticationToken(
+            new User("the username", "the password", AuthorityUtils.createAuthorityList("ROLE_USER")),
+            "the credentials");
+
+    @Test
+    void when_sameAuthenticationTwice_then_marshaledOnlyOnce() {
+        var mapper = spy(new ObjectMapper());
+        var sut    = new SerializedAuthenticationCache(mapper);
+        var first  = sut.serialize(AUTHENTICATION);
+        var second = sut.serialize(AUTHENTICATION);
+        assertThat(second, is(first));
+        assertThat(second, is(not(sameInstance(first))));
+        verify(mapper, times(1)).valueToTree(AUTHENTICATION);
+    }
+
+    @Test
+    void when_authenticationModified_then_marshaledAgain() {
+        var authentication = new UsernamePasswordAuthenticationToken("the username", "the credentials",
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        var sut            = new SerializedAuthenticationCache(new ObjectMapper());
+        assertThat(sut.serialize(authentication), is(jsonObject().where("authenticated", is(jsonBoolean(true)))));
+
+        authentication.setAuthenticated(false);
+        assertThat(sut.serialize(authentication), is(jsonObject().where("authenticated", is(jsonBoolean(false)))));
+
+        authentication.setDetails("the details");
+        assertThat(sut.serialize(authentication), is(jsonObject().where("details", is(jsonText("the details")))));
+
+        authentication.eraseCredentials();
+        assertThat(sut.serialize(authentication), is(jsonObject().where("credentials", is(jsonNull()))));
+    }
+
+    @Test
+    void when_copyIsModified_then_cacheIsNotAffected() {
+        var sut   = new SerializedAuthenticationCache(new ObjectMapper());
+        var first = (ObjectNode) sut.serialize(AUTHENTICATION);
+        first.remove("name");
+        assertThat(sut.serialize(AUTHENTICATION), is(jsonObject().where("name", is(jsonText("the username")))));
+    }
+
+    @Test
+    void when_serializeSanitized_then_credentialsAndPasswordAreRemoved() {
+        var sut = new SerializedAuthenticationCache(new ObjectMapper());
+        // @formatter:off
+        assertThat(sut.serializeSanitized(AUTHENTICATION),
+                is(jsonObject()
+                        .where("name", is(jsonText("the username")))
+                        .where("credentials", is(jsonMissing()))
+                        .where("principal", is(jsonObject()
+                                .where("password", is(jsonMissing()))))));
+        assertThat(sut.serialize(AUTHENTICATION),
+                is(jsonObject()
+                        .where("credentials", is(jsonText("the credentials")))));
+        // @formatter:on
+    }
+
+}
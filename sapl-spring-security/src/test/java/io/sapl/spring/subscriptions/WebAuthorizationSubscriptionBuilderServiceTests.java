@@ -18,6 +18,7 @@
 package io.sapl.spring.subscriptions;
 
 import static com.spotify.hamcrest.jackson.JsonMatchers.jsonArray;
+import static com.spotify.hamcrest.jackson.JsonMatchers.jsonInt;
 import static com.spotify.hamcrest.jackson.JsonMatchers.jsonMissing;
 import static com.spotify.hamcrest.jackson.JsonMatchers.jsonNull;
 import static com.spotify.hamcrest.jackson.JsonMatchers.jsonObject;
@@ -30,6 +31,7 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -145,8 +147,8 @@ void when_expressionHandlerProvided_then_FactoryThrows() {
         var defaultsProvider               = new Provider<>(defaults);
         var webBuilderUnderTest            = new WebAuthorizationSubscriptionBuilderService(
                 emptyExpressionHandlerProvider, mockMapperProvider, defaultsProvider, mockContext);
-        var attribute                      = attribute("'a subject'", "'an action'", "'a resource'", "'an environment'",
-                Object.class);
+        var attribute                      = attribute("#authentication.name", "'an action'", "'a resource'",
+                "'an environment'", Object.class);
         webBuilderUnderTest.constructAuthorizationSubscription(authentication, invocation, attribute);
         verify(defaults, times(1)).getRolePrefix();
     }
@@ -182,6 +184,57 @@ void when_expressionResultCannotBeMarshalledToJson_then_FactoryThrows() {
                 () -> sut.constructAuthorizationSubscription(authentication, invocation, attribute));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void when_onlyConstantExpressions_then_noEvaluationContextIsCreated() {
+        var expressionHandler         = mock(MethodSecurityExpressionHandler.class);
+        var expressionHandlerProvider = mock(ObjectProvider.class);
+        when(expressionHandlerProvider.getIfAvailable(any())).thenReturn(expressionHandler);
+        var mapperProvider = mock(ObjectProvider.class);
+        when(mapperProvider.getIfAvailable(any())).thenReturn(mapper);
+        var sut          = new WebAuthorizationSubscriptionBuilderService(expressionHandlerProvider, mapperProvider,
+                mock(ObjectProvider.class), mock(ApplicationContext.class));
+        var attribute    = attribute("'a subject'", "{'an', 'action'}", null, "42", Object.class);
+        var subscription = sut.constructAuthorizationSubscription(authentication, invocation, attribute);
+        // @formatter:off
+		assertAll(() -> assertThat(subscription.getSubject(), is(jsonText("a subject"))),
+				() -> assertThat(subscription.getAction(),
+						is(jsonArray(containsInAnyOrder(jsonText("an"), jsonText("action"))))),
+				() -> assertThat(subscription.getResource(),
+						is(jsonObject()
+								.where("java", is(jsonObject()
+										.where("name", jsonText("publicVoid")))))),
+				() -> assertThat(subscription.getEnvironment(), is(jsonInt(42))));
+		// @formatter:on
+        verify(expressionHandler, never()).createEvaluationContext(any(Authentication.class), any());
+    }
+
+    @Test
+    void when_defaultActionAndResource_then_argumentsOnlyInAction() {
+        var attribute      = attribute(null, null, null, null, Object.class);
+        var argsInvocation = MethodInvocationUtils.createFromClass(new TestClass(), TestClass.class,
+                "publicVoidArgs", new Class<?>[] { Integer.class }, new Object[] { 1 });
+        var first          = defaultWebBuilderUnderTest.constructAuthorizationSubscription(authentication,
+                argsInvocation, attribute);
+        var second         = defaultWebBuilderUnderTest.constructAuthorizationSubscription(authentication,
+                argsInvocation, attribute);
+        // @formatter:off
+		assertAll(() -> assertThat(first.getAction(),
+						is(jsonObject()
+								.where("java", is(jsonObject()
+										.where("arguments", is(jsonArray())))))),
+				() -> assertThat(first.getResource(),
+						is(jsonObject()
+								.where("java", is(jsonObject()
+										.where("arguments", is(jsonMissing())))))),
+				() -> assertThat(second.getResource(),
+						is(jsonObject()
+								.where("java", is(jsonObject()
+										.where("arguments", is(jsonMissing())))))),
+				() -> assertThat(second.getSubject(), is(first.getSubject())));
+		// @formatter:on
+    }
+
     @Test
     void when_nullParameters_then_FactoryConstructsFromContext() {
         var attribute    = attribute(null, null, null, null, Object.class);